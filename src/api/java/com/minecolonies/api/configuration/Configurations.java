@@ -102,6 +102,24 @@ public class Configurations
         @Config.Comment("Max amount of schematics to be cached on the server")
         public int maxCachedSchematics = 100;
 
+        @Config.Comment("Max size in kilobytes of the compressed schematics kept in memory by the server")
+        public int maxCachedSchematicsMemory = 16_384;
+
+        @Config.Comment("Max amount of milliseconds per world tick the server spends on pasting structures")
+        public int maxPlacementTimePerTick = 10;
+
+        @Config.Comment("Max amount of chunk sections (16x16x16 blocks) per world tick the server captures for scans of the scan tool")
+        public int maxScanSectionsPerTick = 4;
+
+        @Config.Comment("Max amount of milliseconds per server tick the server spends on deleting colonies")
+        public int maxDeletionTimePerTick = 5;
+
+        @Config.Comment("Ticks between the AI updates of citizens resting at home at night")
+        public int restingCitizenUpdateInterval = 20;
+
+        @Config.Comment("Max size in kilobytes of the vertex data of the structure previews kept by the client")
+        public int maxPreviewVertexMemory = 65_536;
+
         @Config.Comment("Should players be allowed to change names? -1 for false, 0 for specific groups, 1 for true")
         public  int allowGlobalNameChanges = 1;
 
@@ -181,6 +199,9 @@ public class Configurations
         @Config.Comment("Should citizen name tags be rendered?")
         public boolean alwaysRenderNameTag = true;
 
+        @Config.Comment("Check the running happiness totals of the colonies against a full recount (for debugging)")
+        public boolean debugHappinessTotals = false;
+
         @Config.Comment("Amount of blocks the builder checks (to decrease lag by builder)")
         public int maxBlocksCheckedByBuilder = 1000;
 
@@ -4,6 +4,9 @@ import com.google.common.collect.ImmutableMap;
 import com.minecolonies.api.colony.requestsystem.token.IToken;
 import net.minecraft.nbt.NBTTagCompound;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
 
 /**
  * The Interface describing the recipeManager which takes care of the recipes discovered by the colonies in this world.
@@ -16,6 +19,28 @@ public interface IRecipeManager
      */
     ImmutableMap<IToken, IRecipeStorage> getRecipes();
 
+    /**
+     * Get a recipe by its token, without copying the recipes map.
+     * @param token the token of the recipe.
+     * @return the recipe or null if inexistent.
+     */
+    @Nullable
+    IRecipeStorage getRecipe(@NotNull final IToken token);
+
+    /**
+     * Get the recipes producing an output.
+     * @param output the fingerprint of the output, see {@link ItemFingerprint#withoutNBT(net.minecraft.item.ItemStack)}.
+     * @return an unmodifiable list of the recipe tokens.
+     */
+    @NotNull
+    List<IToken> getRecipesFor(@NotNull final ItemFingerprint output);
+
+    /**
+     * Get a counter which changes whenever a recipe is added, so lookups built on the recipes know when to refresh.
+     * @return the current version.
+     */
+    int getVersion();
+
     /**
      * Add a recipe to the map.
      * @param storage the recipe to add
@@ -30,6 +30,14 @@ public interface IRecipeStorage
      */
     ItemStack getPrimaryOutput();
 
+    /**
+     * Getter for the fingerprint of the primary output, without its NBT.
+     *
+     * @return the fingerprint, see {@link ItemFingerprint#withoutNBT(ItemStack)}.
+     */
+    @NotNull
+    ItemFingerprint getOutputFingerprint();
+
     /**
      * Get the grid size.
      *
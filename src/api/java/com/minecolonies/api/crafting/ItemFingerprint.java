@@ -0,0 +1,171 @@
+package com.minecolonies.api.crafting;
+
+import com.minecolonies.api.util.ItemStackUtils;
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import net.minecraft.nbt.NBTTagCompound;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Objects;
+
+/**
+ * Immutable identity of an item: the item, its damage value and a digest of its NBT, computed once.
+ * Comparisons check the cheap parts first and only compare the NBT trees when the digests match.
+ * The NBT is not copied, the stack it was taken from must not be changed afterwards.
+ */
+public final class ItemFingerprint
+{
+    /**
+     * Prime used to combine the hash parts.
+     */
+    private static final int HASH_PRIME = 31;
+
+    /**
+     * The item.
+     */
+    @Nullable
+    private final Item item;
+
+    /**
+     * The damage value.
+     */
+    private final int damage;
+
+    /**
+     * The NBT, null if there is none.
+     */
+    @Nullable
+    private final NBTTagCompound tag;
+
+    /**
+     * Digest of the NBT, 0 if there is none.
+     */
+    private final int tagDigest;
+
+    /**
+     * Hash of the item alone.
+     */
+    private final int itemHash;
+
+    /**
+     * Create a fingerprint.
+     *
+     * @param item   the item.
+     * @param damage the damage value.
+     * @param tag    the NBT, may be null.
+     */
+    public ItemFingerprint(@Nullable final Item item, final int damage, @Nullable final NBTTagCompound tag)
+    {
+        this.item = item;
+        this.damage = damage;
+        this.tag = tag;
+        this.tagDigest = tag == null ? 0 : tag.hashCode();
+        this.itemHash = Objects.hashCode(item);
+    }
+
+    /**
+     * Create the fingerprint of a stack.
+     *
+     * @param stack the stack.
+     * @return the fingerprint.
+     */
+    @NotNull
+    public static ItemFingerprint of(@NotNull final ItemStack stack)
+    {
+        if (ItemStackUtils.isEmpty(stack))
+        {
+            return new ItemFingerprint(null, 0, null);
+        }
+        return new ItemFingerprint(stack.getItem(), stack.getItemDamage(), stack.getTagCompound());
+    }
+
+    /**
+     * Create the fingerprint of the item and damage value of a stack, leaving out the NBT.
+     * Two stacks have equal fingerprints exactly when {@link ItemStack#isItemEqual(ItemStack)} holds.
+     *
+     * @param stack the stack.
+     * @return the fingerprint.
+     */
+    @NotNull
+    public static ItemFingerprint withoutNBT(@NotNull final ItemStack stack)
+    {
+        if (ItemStackUtils.isEmpty(stack))
+        {
+            return new ItemFingerprint(null, 0, null);
+        }
+        return new ItemFingerprint(stack.getItem(), stack.getItemDamage(), null);
+    }
+
+    /**
+     * Hash of the fingerprint, leaving out the ignored parts.
+     *
+     * @param ignoreDamage leave out the damage value.
+     * @param ignoreNBT    leave out the NBT.
+     * @return the hash.
+     */
+    public int hashCode(final boolean ignoreDamage, final boolean ignoreNBT)
+    {
+        return itemHash + (ignoreDamage ? 0 : (damage * HASH_PRIME)) + (ignoreNBT ? 0 : tagDigest);
+    }
+
+    /**
+     * Compare with another fingerprint, leaving out the ignored parts.
+     *
+     * @param other        the other fingerprint.
+     * @param ignoreDamage leave out the damage value.
+     * @param ignoreNBT    leave out the NBT.
+     * @return true if they match.
+     */
+    public boolean matches(@NotNull final ItemFingerprint other, final boolean ignoreDamage, final boolean ignoreNBT)
+    {
+        if (item != other.item || (!ignoreDamage && damage != other.damage))
+        {
+            return false;
+        }
+
+        if (ignoreNBT || tag == other.tag)
+        {
+            return true;
+        }
+
+        return tagDigest == other.tagDigest && tag != null && tag.equals(other.tag);
+    }
+
+    /**
+     * Getter for the item.
+     *
+     * @return the item.
+     */
+    @Nullable
+    public Item getItem()
+    {
+        return item;
+    }
+
+    /**
+     * Getter for the damage value.
+     *
+     * @return the damage value.
+     */
+    public int getDamage()
+    {
+        return damage;
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return hashCode(false, false);
+    }
+
+    @Override
+    public boolean equals(final Object o)
+    {
+        if (this == o)
+        {
+            return true;
+        }
+        return o instanceof ItemFingerprint && matches((ItemFingerprint) o, false, false);
+    }
+}
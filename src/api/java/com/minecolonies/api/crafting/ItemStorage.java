@@ -6,7 +6,6 @@ import net.minecraft.item.ItemStack;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.List;
-import java.util.Objects;
 import java.util.function.Predicate;
 
 /**
@@ -29,6 +28,11 @@ public class ItemStorage
      */
     private final boolean shouldIgnoreNBTValue;
 
+    /**
+     * Fingerprint of the stack, used for hashing and equality.
+     */
+    private final ItemFingerprint fingerprint;
+
     /**
      * Amount of the storage.
      */
@@ -44,6 +48,7 @@ public class ItemStorage
     public ItemStorage(@NotNull final ItemStack stack, final int amount, final boolean ignoreDamageValue)
     {
         this.stack = stack;
+        this.fingerprint = ItemFingerprint.of(stack);
         this.shouldIgnoreDamageValue = ignoreDamageValue;
         this.shouldIgnoreNBTValue = ignoreDamageValue;
         this.amount = amount;
@@ -59,6 +64,7 @@ public class ItemStorage
     public ItemStorage(@NotNull final ItemStack stack, final boolean ignoreDamageValue, final boolean shouldIgnoreNBTValue)
     {
         this.stack = stack;
+        this.fingerprint = ItemFingerprint.of(stack);
         this.shouldIgnoreDamageValue = ignoreDamageValue;
         this.shouldIgnoreNBTValue = shouldIgnoreNBTValue;
         this.amount = amount;
@@ -73,6 +79,7 @@ public class ItemStorage
     public ItemStorage(@NotNull final ItemStack stack, final boolean ignoreDamageValue)
     {
         this.stack = stack;
+        this.fingerprint = ItemFingerprint.of(stack);
         this.shouldIgnoreDamageValue = ignoreDamageValue;
         this.shouldIgnoreNBTValue = ignoreDamageValue;
         this.amount = ItemStackUtils.getSize(stack);
@@ -86,6 +93,7 @@ public class ItemStorage
     public ItemStorage(@NotNull final ItemStack stack)
     {
         this.stack = stack;
+        this.fingerprint = ItemFingerprint.of(stack);
         this.shouldIgnoreDamageValue = false;
         this.shouldIgnoreNBTValue = false;
         this.amount = ItemStackUtils.getSize(stack);
@@ -150,12 +158,21 @@ public class ItemStorage
         return shouldIgnoreDamageValue;
     }
 
+    /**
+     * Getter for the fingerprint of the stack.
+     *
+     * @return the fingerprint.
+     */
+    @NotNull
+    public ItemFingerprint getFingerprint()
+    {
+        return fingerprint;
+    }
+
     @Override
     public int hashCode()
     {
-        return Objects.hash(stack.getItem())
-                + (this.shouldIgnoreDamageValue ? 0 : (this.stack.getItemDamage() * 31))
-                + (this.shouldIgnoreNBTValue ? 0 : ((this.stack.getTagCompound() == null) ? 0 : this.stack.getTagCompound().hashCode()));
+        return fingerprint.hashCode(this.shouldIgnoreDamageValue, this.shouldIgnoreNBTValue);
     }
 
     @Override
@@ -172,10 +189,7 @@ public class ItemStorage
 
         final ItemStorage that = (ItemStorage) o;
 
-
-        return stack.isItemEqual(that.getItemStack())
-                && (this.shouldIgnoreDamageValue || that.getDamageValue() == this.getDamageValue())
-                && (this.shouldIgnoreNBTValue || that.getItemStack().getTagCompound() == this.getItemStack().getTagCompound());
+        return !ItemStackUtils.isEmpty(that.getItemStack()) && fingerprint.matches(that.fingerprint, false, this.shouldIgnoreNBTValue);
     }
 
     /**
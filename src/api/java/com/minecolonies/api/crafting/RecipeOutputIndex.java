@@ -0,0 +1,90 @@
+package com.minecolonies.api.crafting;
+
+import com.minecolonies.api.colony.requestsystem.token.IToken;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+
+/**
+ * Index of recipe tokens by the fingerprint of their primary output.
+ * The tokens of one output are kept in the order they were added.
+ */
+public class RecipeOutputIndex
+{
+    /**
+     * The tokens per output.
+     */
+    private final Map<ItemFingerprint, List<IToken>> tokensByOutput = new HashMap<>();
+
+    /**
+     * The output per token, to remove tokens without knowing their recipe.
+     */
+    private final Map<IToken, ItemFingerprint> outputByToken = new HashMap<>();
+
+    /**
+     * Add a recipe to the index, moving it if it was indexed under another output before.
+     *
+     * @param token  the token of the recipe.
+     * @param output the fingerprint of its primary output.
+     */
+    public void add(@NotNull final IToken token, @NotNull final ItemFingerprint output)
+    {
+        remove(token);
+        outputByToken.put(token, output);
+        tokensByOutput.computeIfAbsent(output, key -> new ArrayList<>()).add(token);
+    }
+
+    /**
+     * Remove a recipe from the index.
+     *
+     * @param token the token of the recipe.
+     */
+    public void remove(@NotNull final IToken token)
+    {
+        final ItemFingerprint output = outputByToken.remove(token);
+        if (output == null)
+        {
+            return;
+        }
+
+        final List<IToken> tokens = tokensByOutput.get(output);
+        tokens.remove(token);
+        if (tokens.isEmpty())
+        {
+            tokensByOutput.remove(output);
+        }
+    }
+
+    /**
+     * Get the recipes producing an output.
+     *
+     * @param output the fingerprint of the output, see {@link ItemFingerprint#withoutNBT(net.minecraft.item.ItemStack)}.
+     * @return an unmodifiable view of the tokens, in the order they were added.
+     */
+    @NotNull
+    public List<IToken> get(@NotNull final ItemFingerprint output)
+    {
+        final List<IToken> tokens = tokensByOutput.get(output);
+        return tokens == null ? Collections.emptyList() : Collections.unmodifiableList(tokens);
+    }
+
+    /**
+     * Check if a recipe is indexed.
+     *
+     * @param token the token of the recipe.
+     * @return true if so.
+     */
+    public boolean contains(@NotNull final IToken token)
+    {
+        return outputByToken.containsKey(token);
+    }
+
+    /**
+     * Remove all recipes.
+     */
+    public void clear()
+    {
+        tokensByOutput.clear();
+        outputByToken.clear();
+    }
+}
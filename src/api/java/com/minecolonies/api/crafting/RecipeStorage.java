@@ -29,6 +29,12 @@ public class RecipeStorage implements IRecipeStorage
     @NotNull
     private final ItemStack primaryOutput;
 
+    /**
+     * Fingerprint of the primary output, used to index the recipe.
+     */
+    @NotNull
+    private final ItemFingerprint outputFingerprint;
+
     /**
      * The intermediate required for the recipe (e.g furnace).
      */
@@ -57,6 +63,7 @@ public class RecipeStorage implements IRecipeStorage
     {
         this.input = Collections.unmodifiableList(input);
         this.primaryOutput = primaryOutput;
+        this.outputFingerprint = ItemFingerprint.withoutNBT(primaryOutput);
         this.gridSize = gridSize;
         this.intermediate = intermediate;
         this.token = token;
@@ -74,6 +81,13 @@ public class RecipeStorage implements IRecipeStorage
         return primaryOutput;
     }
 
+    @NotNull
+    @Override
+    public ItemFingerprint getOutputFingerprint()
+    {
+        return outputFingerprint;
+    }
+
     @Override
     public int getGridSize()
     {
@@ -0,0 +1,27 @@
+package com.minecolonies.api.util;
+
+import net.minecraft.item.Item;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Inventory which keeps an index of its slots by item, used by {@link InventoryUtils} to avoid probing every slot.
+ */
+public interface IIndexedInventory
+{
+    /**
+     * Get the next slot which might hold a certain item.
+     * Every slot holding the item is returned in increasing order, but the stacks still have to be checked.
+     *
+     * @param item the item.
+     * @param from the first slot to consider.
+     * @return the slot or -1 if there is none.
+     */
+    int getNextCandidateSlot(@NotNull Item item, int from);
+
+    /**
+     * Get the first empty slot of the inventory.
+     *
+     * @return the slot or -1 if the inventory is full.
+     */
+    int getFirstEmptySlot();
+}
@@ -0,0 +1,22 @@
+package com.minecolonies.api.util;
+
+import net.minecraft.item.ItemStack;
+import net.minecraftforge.items.IItemHandler;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Callback of the slot scans of {@link InventoryUtils}, called for every matching slot.
+ */
+@FunctionalInterface
+public interface ISlotVisitor
+{
+    /**
+     * Visit a matching slot.
+     *
+     * @param handler the handler the slot belongs to.
+     * @param slot    the slot.
+     * @param stack   the stack in the slot, which must not be modified.
+     * @return true to stop the scan.
+     */
+    boolean visit(@NotNull IItemHandler handler, int slot, @NotNull ItemStack stack);
+}
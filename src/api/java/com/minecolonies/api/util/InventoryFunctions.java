@@ -58,7 +58,7 @@ public final class InventoryFunctions
         }
 
         boolean foundOne = false;
-        for (final IItemHandler handler : InventoryUtils.getItemHandlersFromProvider(provider))
+        for (final IItemHandler handler : ItemHandlerCache.getHandlers(provider))
         {
             final int size = handler.getSlots();
             for (int slot = 0; slot < size; slot++)
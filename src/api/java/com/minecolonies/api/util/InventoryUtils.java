@@ -11,13 +11,12 @@ import net.minecraft.world.World;
 import net.minecraftforge.common.capabilities.Capability;
 import net.minecraftforge.common.capabilities.ICapabilityProvider;
 import net.minecraftforge.items.IItemHandler;
+import net.minecraftforge.items.wrapper.InvWrapper;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
 import java.util.function.Predicate;
-import java.util.stream.Collectors;
-import java.util.stream.IntStream;
 
 import static net.minecraftforge.items.CapabilityItemHandler.ITEM_HANDLER_CAPABILITY;
 
@@ -125,9 +124,38 @@ public class InventoryUtils
     @NotNull
     public static List<ItemStack> filterItemHandler(@NotNull final IItemHandler itemHandler, @NotNull final Item targetItem, final int itemDamage)
     {
+        final IIndexedInventory indexedInventory = getIndexedInventory(itemHandler);
+        if (indexedInventory != null)
+        {
+            @NotNull final List<ItemStack> filtered = new ArrayList<>();
+            for (int slot = indexedInventory.getNextCandidateSlot(targetItem, 0); slot >= 0; slot = indexedInventory.getNextCandidateSlot(targetItem, slot + 1))
+            {
+                if (slot < itemHandler.getSlots() && compareItems(itemHandler.getStackInSlot(slot), targetItem, itemDamage))
+                {
+                    filtered.add(itemHandler.getStackInSlot(slot));
+                }
+            }
+            return filtered;
+        }
         return filterItemHandler(itemHandler, (ItemStack stack) -> compareItems(stack, targetItem, itemDamage));
     }
 
+    /**
+     * Get the indexed inventory behind an {@link IItemHandler}, if there is one whose slots match the handler slots.
+     *
+     * @param itemHandler the handler.
+     * @return the indexed inventory or null.
+     */
+    @Nullable
+    private static IIndexedInventory getIndexedInventory(@NotNull final IItemHandler itemHandler)
+    {
+        if (itemHandler instanceof InvWrapper && ((InvWrapper) itemHandler).getInv() instanceof IIndexedInventory)
+        {
+            return (IIndexedInventory) ((InvWrapper) itemHandler).getInv();
+        }
+        return null;
+    }
+
     /**
      * Returns the index of the first occurrence of the block in the {@link
      * IItemHandler}.
@@ -153,6 +181,18 @@ public class InventoryUtils
      */
     public static int findFirstSlotInItemHandlerWith(@NotNull final IItemHandler itemHandler, @NotNull final Item targetItem, final int itemDamage)
     {
+        final IIndexedInventory indexedInventory = getIndexedInventory(itemHandler);
+        if (indexedInventory != null)
+        {
+            for (int slot = indexedInventory.getNextCandidateSlot(targetItem, 0); slot >= 0; slot = indexedInventory.getNextCandidateSlot(targetItem, slot + 1))
+            {
+                if (slot < itemHandler.getSlots() && compareItems(itemHandler.getStackInSlot(slot), targetItem, itemDamage))
+                {
+                    return slot;
+                }
+            }
+            return -1;
+        }
         return findFirstSlotInItemHandlerWith(itemHandler, (ItemStack stack) -> compareItems(stack, targetItem, itemDamage));
     }
 
@@ -204,7 +244,7 @@ public class InventoryUtils
      */
     public static int getItemCountInItemHandler(@NotNull final IItemHandler itemHandler, @NotNull final Item targetItem, final int itemDamage)
     {
-        return getItemCountInItemHandler(itemHandler, (ItemStack stack) -> compareItems(stack, targetItem, itemDamage));
+        return filterItemHandler(itemHandler, targetItem, itemDamage).stream().mapToInt(ItemStackUtils::getSize).sum();
     }
 
     /**
@@ -217,7 +257,16 @@ public class InventoryUtils
      */
     public static int getItemCountInItemHandler(@NotNull final IItemHandler itemHandler, @NotNull final Predicate<ItemStack> itemStackSelectionPredicate)
     {
-        return filterItemHandler(itemHandler, itemStackSelectionPredicate).stream().mapToInt(ItemStackUtils::getSize).sum();
+        int count = 0;
+        for (int slot = 0; slot < itemHandler.getSlots(); slot++)
+        {
+            final ItemStack stack = itemHandler.getStackInSlot(slot);
+            if (!ItemStackUtils.isEmpty(stack) && itemStackSelectionPredicate.test(stack))
+            {
+                count += ItemStackUtils.getSize(stack);
+            }
+        }
+        return count;
     }
 
     /**
@@ -245,7 +294,7 @@ public class InventoryUtils
      */
     public static boolean hasItemInItemHandler(@NotNull final IItemHandler itemHandler, @NotNull final Item item, final int itemDamage)
     {
-        return hasItemInItemHandler(itemHandler, (ItemStack stack) -> compareItems(stack, item, itemDamage));
+        return findFirstSlotInItemHandlerWith(itemHandler, item, itemDamage) != -1;
     }
 
     /**
@@ -260,7 +309,7 @@ public class InventoryUtils
      */
     public static boolean hasItemInItemHandler(@NotNull final IItemHandler itemHandler, @NotNull final Predicate<ItemStack> itemStackSelectionPredicate)
     {
-        return getItemCountInItemHandler(itemHandler, itemStackSelectionPredicate) > 0;
+        return findFirstSlotInItemHandlerNotEmptyWith(itemHandler, itemStackSelectionPredicate) != -1;
     }
 
     /**
@@ -282,11 +331,21 @@ public class InventoryUtils
      */
     public static int getFirstOpenSlotFromItemHandler(@NotNull final IItemHandler itemHandler)
     {
-        //Test with two different ItemStacks to insert in simulation mode.
-        return IntStream.range(0, itemHandler.getSlots())
-                 .filter(slot -> ItemStackUtils.isEmpty(itemHandler.getStackInSlot(slot)))
-                 .findFirst()
-                 .orElse(-1);
+        final IIndexedInventory indexedInventory = getIndexedInventory(itemHandler);
+        if (indexedInventory != null)
+        {
+            final int slot = indexedInventory.getFirstEmptySlot();
+            return slot < itemHandler.getSlots() ? slot : -1;
+        }
+
+        for (int slot = 0; slot < itemHandler.getSlots(); slot++)
+        {
+            if (ItemStackUtils.isEmpty(itemHandler.getStackInSlot(slot)))
+            {
+                return slot;
+            }
+        }
+        return -1;
     }
 
     /**
@@ -406,14 +465,11 @@ public class InventoryUtils
     private static List<ItemStack> getFromProviderForAllSides(@NotNull final ICapabilityProvider provider, @NotNull final Predicate<ItemStack> predicate)
     {
         final ArrayList<ItemStack> combinedList = new ArrayList<>();
-
-        for (final IItemHandler handler : getItemHandlersFromProvider(provider))
+        scanProvider(provider, predicate, (handler, slot, stack) ->
         {
-            if(handler != null)
-            {
-                combinedList.addAll(filterItemHandler(handler, predicate));
-            }
-        }
+            combinedList.add(stack);
+            return false;
+        });
         return combinedList;
     }
 
@@ -426,24 +482,49 @@ public class InventoryUtils
     @NotNull
     public static Set<IItemHandler> getItemHandlersFromProvider(@NotNull final ICapabilityProvider provider)
     {
-        final Set<IItemHandler> handlerList = Arrays.stream(EnumFacing.VALUES)
-                                                .filter(facing -> provider.hasCapability(ITEM_HANDLER_CAPABILITY, facing))
-                                                .map(facing -> provider.getCapability(ITEM_HANDLER_CAPABILITY, facing))
-                                                .filter(Objects::nonNull)
-                                                .collect(Collectors.toSet());
+        return new HashSet<>(Arrays.asList(ItemHandlerCache.getHandlers(provider)));
+    }
 
-        if (provider.hasCapability(ITEM_HANDLER_CAPABILITY, null))
+    /**
+     * Visits all non empty stacks matching a predicate in the {@link IItemHandler}s of a provider,
+     * in the order of the sides followed by the internal handler, without creating intermediate lists.
+     *
+     * @param provider  the provider to scan.
+     * @param predicate the predicate the stacks have to match.
+     * @param visitor   the visitor called for every matching slot.
+     * @return true if the visitor stopped the scan.
+     */
+    public static boolean scanProvider(@NotNull final ICapabilityProvider provider, @NotNull final Predicate<ItemStack> predicate, @NotNull final ISlotVisitor visitor)
+    {
+        for (final IItemHandler handler : ItemHandlerCache.getHandlers(provider))
         {
-            final IItemHandler nullHandler = provider.getCapability(ITEM_HANDLER_CAPABILITY, null);
-            if (!handlerList.contains(nullHandler))
+            if (scanItemHandler(handler, predicate, visitor))
             {
-                handlerList.add(nullHandler);
+                return true;
             }
         }
+        return false;
+    }
 
-        handlerList.removeIf(Objects::isNull);
-
-        return handlerList;
+    /**
+     * Visits all non empty stacks matching a predicate in an {@link IItemHandler}, without creating intermediate lists.
+     *
+     * @param itemHandler the handler to scan.
+     * @param predicate   the predicate the stacks have to match.
+     * @param visitor     the visitor called for every matching slot.
+     * @return true if the visitor stopped the scan.
+     */
+    public static boolean scanItemHandler(@NotNull final IItemHandler itemHandler, @NotNull final Predicate<ItemStack> predicate, @NotNull final ISlotVisitor visitor)
+    {
+        for (int slot = 0; slot < itemHandler.getSlots(); slot++)
+        {
+            final ItemStack stack = itemHandler.getStackInSlot(slot);
+            if (!ItemStackUtils.isEmpty(stack) && predicate.test(stack) && visitor.visit(itemHandler, slot, stack))
+            {
+                return true;
+            }
+        }
+        return false;
     }
 
     /**
@@ -500,7 +581,7 @@ public class InventoryUtils
      */
     public static int findFirstSlotInProviderWith(@NotNull final ICapabilityProvider provider, final Predicate<ItemStack> itemStackSelectionPredicate)
     {
-        for (final IItemHandler handler : getItemHandlersFromProvider(provider))
+        for (final IItemHandler handler : ItemHandlerCache.getHandlers(provider))
         {
             final int foundSlot = findFirstSlotInItemHandlerWith(handler, itemStackSelectionPredicate);
             //TODO: When contract is hardened later: Replace this -1 check with a try-catch block.
@@ -525,7 +606,7 @@ public class InventoryUtils
      */
     public static int findFirstSlotInProviderNotEmptyWith(@NotNull final ICapabilityProvider provider, final Predicate<ItemStack> itemStackSelectionPredicate)
     {
-        for (final IItemHandler handler : getItemHandlersFromProvider(provider))
+        for (final IItemHandler handler : ItemHandlerCache.getHandlers(provider))
         {
             final int foundSlot = findFirstSlotInItemHandlerNotEmptyWith(handler, itemStackSelectionPredicate);
             if (foundSlot > -1)
@@ -548,11 +629,10 @@ public class InventoryUtils
      */
     public static int findFirstSlotInItemHandlerNotEmptyWith(@NotNull final IItemHandler itemHandler, @NotNull final Predicate<ItemStack> itemStackSelectionPredicate)
     {
-        @NotNull final Predicate<ItemStack> firstWorthySlotPredicate = ItemStackUtils.NOT_EMPTY_PREDICATE.and(itemStackSelectionPredicate);
-
         for (int slot = 0; slot < itemHandler.getSlots(); slot++)
         {
-            if (firstWorthySlotPredicate.test(itemHandler.getStackInSlot(slot)))
+            final ItemStack stack = itemHandler.getStackInSlot(slot);
+            if (!ItemStackUtils.isEmpty(stack) && itemStackSelectionPredicate.test(stack))
             {
                 return slot;
             }
@@ -601,9 +681,12 @@ public class InventoryUtils
      */
     public static int getItemCountInProvider(@NotNull final ICapabilityProvider provider, @NotNull final Predicate<ItemStack> itemStackSelectionPredicate)
     {
-        return getItemHandlersFromProvider(provider).stream().filter(Objects::nonNull)
-                 .mapToInt(handler -> filterItemHandler(handler, itemStackSelectionPredicate).stream().mapToInt(ItemStackUtils::getSize).sum())
-                 .sum();
+        int count = 0;
+        for (final IItemHandler handler : ItemHandlerCache.getHandlers(provider))
+        {
+            count += getItemCountInItemHandler(handler, itemStackSelectionPredicate);
+        }
+        return count;
     }
 
     /**
@@ -648,7 +731,7 @@ public class InventoryUtils
      */
     public static boolean hasItemInProvider(@NotNull final ICapabilityProvider Provider, @NotNull final Predicate<ItemStack> itemStackSelectionPredicate)
     {
-        return getItemCountInProvider(Provider, itemStackSelectionPredicate) > 0;
+        return findFirstSlotInProviderNotEmptyWith(Provider, itemStackSelectionPredicate) != -1;
     }
 
     /**
@@ -670,11 +753,15 @@ public class InventoryUtils
      */
     public static int getFirstOpenSlotFromProvider(@NotNull final ICapabilityProvider provider)
     {
-        return getItemHandlersFromProvider(provider).stream()
-                 .mapToInt(InventoryUtils::getFirstOpenSlotFromItemHandler)
-                 .filter(slotIndex -> slotIndex > -1)
-                 .findFirst()
-                 .orElse(-1);
+        for (final IItemHandler handler : ItemHandlerCache.getHandlers(provider))
+        {
+            final int slot = getFirstOpenSlotFromItemHandler(handler);
+            if (slot > -1)
+            {
+                return slot;
+            }
+        }
+        return -1;
     }
 
     /**
@@ -702,7 +789,14 @@ public class InventoryUtils
      */
     public static boolean addItemStackToProvider(@NotNull final ICapabilityProvider provider, @Nullable final ItemStack itemStack)
     {
-        return getItemHandlersFromProvider(provider).stream().anyMatch(handler -> addItemStackToItemHandler(handler, itemStack));
+        for (final IItemHandler handler : ItemHandlerCache.getHandlers(provider))
+        {
+            if (addItemStackToItemHandler(handler, itemStack))
+            {
+                return true;
+            }
+        }
+        return false;
     }
 
     /**
@@ -771,7 +865,7 @@ public class InventoryUtils
             return ItemStackUtils.EMPTY;
         }
 
-        for (final IItemHandler handler : getItemHandlersFromProvider(provider))
+        for (final IItemHandler handler : ItemHandlerCache.getHandlers(provider))
         {
             activeStack = addItemStackToItemHandlerWithResult(handler, activeStack);
         }
@@ -850,10 +944,10 @@ public class InventoryUtils
         if (!ItemStackUtils.isEmpty(standardInsertionResult))
         {
             ItemStack resultStack = standardInsertionResult.copy();
-            final Iterator<IItemHandler> iterator = getItemHandlersFromProvider(provider).iterator();
-            while (iterator.hasNext() && !ItemStackUtils.isEmpty(resultStack))
+            final IItemHandler[] handlers = ItemHandlerCache.getHandlers(provider);
+            for (int i = 0; i < handlers.length && !ItemStackUtils.isEmpty(resultStack); i++)
             {
-                resultStack = forceItemStackToItemHandler(iterator.next(), resultStack, itemStackToKeepPredicate);
+                resultStack = forceItemStackToItemHandler(handlers[i], resultStack, itemStackToKeepPredicate);
             }
 
             return resultStack;
@@ -897,7 +991,7 @@ public class InventoryUtils
     @NotNull
     public static boolean hasProviderIItemHandler(@NotNull final ICapabilityProvider provider)
     {
-        return !getItemHandlersFromProvider(provider).isEmpty();
+        return ItemHandlerCache.getHandlers(provider).length > 0;
     }
 
     /**
@@ -911,7 +1005,7 @@ public class InventoryUtils
     @NotNull
     public static boolean isProviderSided(@NotNull final ICapabilityProvider provider)
     {
-        return getItemHandlersFromProvider(provider).size() > 1;
+        return ItemHandlerCache.getHandlers(provider).length > 1;
     }
 
     /**
@@ -1327,7 +1421,7 @@ public class InventoryUtils
                                                                        @NotNull final int sourceIndex,
                                                                        @NotNull final ICapabilityProvider targetProvider)
     {
-        for (final IItemHandler handler : getItemHandlersFromProvider(targetProvider))
+        for (final IItemHandler handler : ItemHandlerCache.getHandlers(targetProvider))
         {
             if (transferItemStackIntoNextFreeSlotInItemHandlers(sourceHandler, sourceIndex, handler))
             {
@@ -1395,7 +1489,7 @@ public class InventoryUtils
     {
         int currentAmount = amount;
 
-        for(final IItemHandler handler : getItemHandlersFromProvider(targetProvider))
+        for (final IItemHandler handler : ItemHandlerCache.getHandlers(targetProvider))
         {
             currentAmount = transferXOfFirstSlotInProviderWithIntoNextFreeSlotInItemHandlerWithResult(sourceProvider, itemStackSelectionPredicate, amount, handler);
 
@@ -1422,7 +1516,7 @@ public class InventoryUtils
       @NotNull final int amount, @NotNull final IItemHandler targetHandler)
     {
         int currentAmount = amount;
-        for (final IItemHandler handler : getItemHandlersFromProvider(sourceProvider))
+        for (final IItemHandler handler : ItemHandlerCache.getHandlers(sourceProvider))
         {
             currentAmount = transferXOfFirstSlotInItemHandlerWithIntoNextFreeSlotInItemHandlerWithResult(handler, itemStackSelectionPredicate, currentAmount, targetHandler);
 
@@ -1529,7 +1623,7 @@ public class InventoryUtils
                                                                          @NotNull final int sourceIndex,
                                                                          @NotNull final IItemHandler targetHandler)
     {
-        for (final IItemHandler handler : getItemHandlersFromProvider(sourceProvider))
+        for (final IItemHandler handler : ItemHandlerCache.getHandlers(sourceProvider))
         {
             if (transferItemStackIntoNextFreeSlotInItemHandlers(handler, sourceIndex, targetHandler))
             {
@@ -1585,7 +1679,7 @@ public class InventoryUtils
      */
     public static boolean removeStacksFromProvider(final ICapabilityProvider provider, final List<ItemStack> input)
     {
-        for (final IItemHandler handler : getItemHandlersFromProvider(provider))
+        for (final IItemHandler handler : ItemHandlerCache.getHandlers(provider))
         {
             if (!removeStacksFromItemHandler(handler, input))
             {
@@ -1697,7 +1791,7 @@ public class InventoryUtils
      */
     public static int findSlotInProviderNotFullWithItem(final ICapabilityProvider provider, final Item item, final int itemDamage, final int amount)
     {
-        for (final IItemHandler handler : getItemHandlersFromProvider(provider))
+        for (final IItemHandler handler : ItemHandlerCache.getHandlers(provider))
         {
             final int foundSlot = findSlotInItemHandlerNotFullWithItem(handler, (ItemStack stack) -> compareItems(stack, item, itemDamage), amount);
             //TODO: When contract is hardened later: Replace this -1 check with a try-catch block.
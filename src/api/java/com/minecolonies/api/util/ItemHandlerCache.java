@@ -0,0 +1,223 @@
+package com.minecolonies.api.util;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import net.minecraft.tileentity.TileEntity;
+import net.minecraft.util.EnumFacing;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraftforge.common.capabilities.ICapabilityProvider;
+import net.minecraftforge.items.IItemHandler;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+
+import static net.minecraftforge.items.CapabilityItemHandler.ITEM_HANDLER_CAPABILITY;
+
+/**
+ * Cache of the distinct {@link IItemHandler}s of capability providers, used by {@link InventoryUtils}.
+ * Only tile entities are cached, their handlers only change when a neighbour changes (double chests)
+ * or when the tile itself says so through {@link #invalidate(ICapabilityProvider)}.
+ * Tiles building a new handler on every call (like a double rack wrapping both halves) are never cached,
+ * and every lookup checks the tile still returns the same internal handler, so a tile which swapped it
+ * (like a double chest whose other half was reloaded with its chunk) is resolved again.
+ * Other providers (entities, buildings) are resolved on every call.
+ */
+public final class ItemHandlerCache
+{
+    /**
+     * Shared result of providers without any item handler.
+     */
+    private static final IItemHandler[] NO_HANDLERS = new IItemHandler[0];
+
+    /**
+     * The resolved handlers per tile entity, the tiles are compared by identity and not kept alive.
+     */
+    private static final Cache<ICapabilityProvider, Entry> cache = CacheBuilder.newBuilder().weakKeys().build();
+
+    /**
+     * Private constructor to hide the implicit public one.
+     */
+    private ItemHandlerCache()
+    {
+        //Hide implicit public constructor.
+    }
+
+    /**
+     * Get the distinct item handlers of a provider: the ones of all sides followed by the internal one.
+     * The returned array is shared and must not be modified.
+     *
+     * @param provider the provider.
+     * @return the handlers, deduplicated by equality.
+     */
+    @NotNull
+    static IItemHandler[] getHandlers(@NotNull final ICapabilityProvider provider)
+    {
+        if (!(provider instanceof TileEntity) || ((TileEntity) provider).isInvalid())
+        {
+            return resolve(provider, false);
+        }
+
+        final Entry cached = cache.getIfPresent(provider);
+        if (cached != null && cached.internal == getInternalHandler(provider))
+        {
+            return cached.handlers;
+        }
+
+        final IItemHandler[] handlers = resolve(provider, true);
+        if (handlers == null)
+        {
+            cache.invalidate(provider);
+            return resolve(provider, false);
+        }
+
+        final IItemHandler internal = getInternalHandler(provider);
+        if (internal == getInternalHandler(provider))
+        {
+            cache.put(provider, new Entry(internal, handlers));
+        }
+        else
+        {
+            cache.invalidate(provider);
+        }
+        return handlers;
+    }
+
+    /**
+     * Get the internal handler of a provider, the one without a side.
+     *
+     * @param provider the provider.
+     * @return the handler or null if there is none.
+     */
+    @Nullable
+    private static IItemHandler getInternalHandler(@NotNull final ICapabilityProvider provider)
+    {
+        return provider.hasCapability(ITEM_HANDLER_CAPABILITY, null) ? provider.getCapability(ITEM_HANDLER_CAPABILITY, null) : null;
+    }
+
+    /**
+     * Drop the cached handlers of a provider, to be called when its capabilities change.
+     *
+     * @param provider the provider.
+     */
+    public static void invalidate(@NotNull final ICapabilityProvider provider)
+    {
+        cache.invalidate(provider);
+    }
+
+    /**
+     * Drop the cached handlers of the tile entity at a position and of its direct neighbours.
+     * Only loaded chunks are looked at and no tile entities are created.
+     *
+     * @param world the world.
+     * @param pos   the position which changed.
+     */
+    public static void invalidate(@NotNull final World world, @NotNull final BlockPos pos)
+    {
+        if (cache.size() == 0)
+        {
+            return;
+        }
+
+        invalidateAt(world, pos);
+        for (final EnumFacing facing : EnumFacing.VALUES)
+        {
+            invalidateAt(world, pos.offset(facing));
+        }
+    }
+
+    /**
+     * Drop the cached handlers of the tile entity at a position, if its chunk is loaded.
+     */
+    private static void invalidateAt(@NotNull final World world, @NotNull final BlockPos pos)
+    {
+        final Chunk chunk = world.getChunkProvider().getLoadedChunk(pos.getX() >> 4, pos.getZ() >> 4);
+        if (chunk != null)
+        {
+            final TileEntity tileEntity = chunk.getTileEntity(pos, Chunk.EnumCreateEntityType.CHECK);
+            if (tileEntity != null)
+            {
+                cache.invalidate(tileEntity);
+            }
+        }
+    }
+
+    /**
+     * Resolve the handlers of a provider.
+     *
+     * @param provider the provider.
+     * @param strict   if a side claiming the capability without returning a handler makes the result null.
+     * @return the handlers, or null in strict mode if the provider is in a transitional state
+     * (like a double rack whose other half is not loaded yet) which must not be cached.
+     */
+    @Nullable
+    private static IItemHandler[] resolve(@NotNull final ICapabilityProvider provider, final boolean strict)
+    {
+        final IItemHandler[] found = new IItemHandler[EnumFacing.VALUES.length + 1];
+        int size = 0;
+        for (int i = 0; i <= EnumFacing.VALUES.length; i++)
+        {
+            final EnumFacing facing = i < EnumFacing.VALUES.length ? EnumFacing.VALUES[i] : null;
+            if (provider.hasCapability(ITEM_HANDLER_CAPABILITY, facing))
+            {
+                final IItemHandler handler = provider.getCapability(ITEM_HANDLER_CAPABILITY, facing);
+                if (handler == null)
+                {
+                    if (strict)
+                    {
+                        return null;
+                    }
+                }
+                else if (!contains(found, size, handler))
+                {
+                    found[size++] = handler;
+                }
+            }
+        }
+        return size == 0 ? NO_HANDLERS : Arrays.copyOf(found, size);
+    }
+
+    private static boolean contains(@NotNull final IItemHandler[] handlers, final int size, @NotNull final IItemHandler handler)
+    {
+        for (int i = 0; i < size; i++)
+        {
+            if (handlers[i].equals(handler))
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * The cached handlers of a tile entity.
+     */
+    private static final class Entry
+    {
+        /**
+         * The internal handler when the handlers were resolved, compared by identity on lookup.
+         */
+        @Nullable
+        private final IItemHandler internal;
+
+        /**
+         * The distinct handlers.
+         */
+        @NotNull
+        private final IItemHandler[] handlers;
+
+        /**
+         * Create a new entry.
+         *
+         * @param internal the internal handler.
+         * @param handlers the distinct handlers.
+         */
+        private Entry(@Nullable final IItemHandler internal, @NotNull final IItemHandler[] handlers)
+        {
+            this.internal = internal;
+            this.handlers = handlers;
+        }
+    }
+}
@@ -529,11 +529,11 @@ public final class ItemStackUtils
               itemStack1.getItem() == itemStack2.getItem() &&
               (itemStack1.getItemDamage() == itemStack2.getItemDamage() || !matchMeta))
         {
-            // Then sort on NBT
-            if (itemStack1.hasTagCompound() && itemStack2.hasTagCompound())
+            // Then sort on NBT, skipping the tree walk when it is ignored or shared.
+            if (matchNBT && itemStack1.hasTagCompound() && itemStack2.hasTagCompound() && itemStack1.getTagCompound() != itemStack2.getTagCompound())
             {
                 // Then sort on stack size
-                return ItemStack.areItemStackTagsEqual(itemStack1, itemStack2) || !matchNBT;
+                return ItemStack.areItemStackTagsEqual(itemStack1, itemStack2);
             }
             else
             {
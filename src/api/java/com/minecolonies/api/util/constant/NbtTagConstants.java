@@ -179,6 +179,11 @@ public final class NbtTagConstants
      */
     public static final String TAG_INVENTORY = "inventory";
 
+    /**
+     * Tag to store the seed of a field.
+     */
+    public static final String TAG_SEED = "seed";
+
     /**
      * Tag used when a Compound wraps a list.
      */
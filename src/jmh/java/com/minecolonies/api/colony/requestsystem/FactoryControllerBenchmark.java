@@ -0,0 +1,71 @@
+package com.minecolonies.api.colony.requestsystem;
+
+import com.minecolonies.api.colony.requestsystem.token.IToken;
+import com.minecolonies.api.colony.requestsystem.token.StandardToken;
+import com.minecolonies.api.colony.requestsystem.token.StandardTokenFactory;
+import net.minecraft.nbt.NBTTagCompound;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the serialization of request system objects through the {@link StandardFactoryController}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class FactoryControllerBenchmark
+{
+    private static final int SEED   = 42;
+    private static final int TOKENS = 128;
+
+    private IToken[]         tokens;
+    private NBTTagCompound[] compounds;
+
+    @Setup
+    public void setup()
+    {
+        StandardFactoryController.getInstance().registerNewFactory(new StandardTokenFactory());
+
+        final Random random = new Random(SEED);
+        tokens = new IToken[TOKENS];
+        compounds = new NBTTagCompound[TOKENS];
+        for (int i = 0; i < TOKENS; i++)
+        {
+            tokens[i] = new StandardToken(new UUID(random.nextLong(), random.nextLong()));
+            compounds[i] = StandardFactoryController.getInstance().serialize(tokens[i]);
+        }
+    }
+
+    @TearDown
+    public void tearDown()
+    {
+        StandardFactoryController.reset();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TOKENS)
+    public int serialize()
+    {
+        int size = 0;
+        for (final IToken token : tokens)
+        {
+            size += StandardFactoryController.getInstance().serialize(token).getSize();
+        }
+        return size;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TOKENS)
+    public int deserialize()
+    {
+        int hash = 0;
+        for (final NBTTagCompound compound : compounds)
+        {
+            hash += StandardFactoryController.getInstance().deserialize(compound).hashCode();
+        }
+        return hash;
+    }
+}
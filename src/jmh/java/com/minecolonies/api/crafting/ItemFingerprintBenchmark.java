@@ -0,0 +1,112 @@
+package com.minecolonies.api.crafting;
+
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.nbt.NBTTagList;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the former per call hashing of item storages with the precomputed fingerprints, on NBT rich stacks.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ItemFingerprintBenchmark
+{
+    private static final int KEYS        = 256;
+    private static final int TAG_ENTRIES = 40;
+    private static final int DAMAGES     = 16;
+    private static final int HASH_PRIME  = 31;
+
+    private NBTTagCompound[]              tags;
+    private ItemFingerprint[]             fingerprints;
+    private Map<Integer, Integer>         oldMap;
+    private Map<ItemFingerprint, Integer> newMap;
+
+    @Setup
+    public void setup()
+    {
+        tags = new NBTTagCompound[KEYS];
+        fingerprints = new ItemFingerprint[KEYS];
+        oldMap = new HashMap<>();
+        newMap = new HashMap<>();
+        for (int i = 0; i < KEYS; i++)
+        {
+            tags[i] = createRichTag(i);
+            fingerprints[i] = new ItemFingerprint(null, i % DAMAGES, tags[i]);
+            oldMap.put(oldHash(i % DAMAGES, tags[i]), i);
+            newMap.put(fingerprints[i], i);
+        }
+    }
+
+    /**
+     * The hashing ItemStorage did before: the whole tag tree is walked on every call.
+     */
+    @Benchmark
+    @OperationsPerInvocation(KEYS)
+    public long perCallHashing()
+    {
+        long found = 0;
+        for (int i = 0; i < KEYS; i++)
+        {
+            found += oldMap.get(oldHash(i % DAMAGES, tags[i]));
+        }
+        return found;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(KEYS)
+    public long fingerprintLookup()
+    {
+        long found = 0;
+        for (final ItemFingerprint fingerprint : fingerprints)
+        {
+            found += newMap.get(fingerprint);
+        }
+        return found;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(KEYS)
+    public long fingerprintCreation()
+    {
+        long hash = 0;
+        for (int i = 0; i < KEYS; i++)
+        {
+            hash += new ItemFingerprint(null, i % DAMAGES, tags[i]).hashCode(false, false);
+        }
+        return hash;
+    }
+
+    private static int oldHash(final int damage, final NBTTagCompound tag)
+    {
+        return Objects.hash((Object) null) + damage * HASH_PRIME + tag.hashCode();
+    }
+
+    /**
+     * Create a tag looking like the ones of enchanted, named modded tools.
+     */
+    private static NBTTagCompound createRichTag(final int seed)
+    {
+        final NBTTagCompound tag = new NBTTagCompound();
+        final NBTTagList list = new NBTTagList();
+        for (int i = 0; i < TAG_ENTRIES; i++)
+        {
+            final NBTTagCompound entry = new NBTTagCompound();
+            entry.setShort("id", (short) i);
+            entry.setShort("lvl", (short) (seed + i));
+            entry.setString("source", "modid:component_" + i);
+            list.appendTag(entry);
+        }
+        tag.setTag("ench", list);
+        final NBTTagCompound display = new NBTTagCompound();
+        display.setString("Name", "Tool " + seed);
+        tag.setTag("display", display);
+        tag.setInteger("seed", seed);
+        return tag;
+    }
+}
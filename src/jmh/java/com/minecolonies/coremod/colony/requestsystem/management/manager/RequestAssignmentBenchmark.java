@@ -0,0 +1,301 @@
+package com.minecolonies.coremod.colony.requestsystem.management.manager;
+
+import com.google.common.collect.ImmutableCollection;
+import com.google.common.collect.ImmutableList;
+import com.google.common.reflect.TypeToken;
+import com.minecolonies.api.colony.requestsystem.StandardFactoryController;
+import com.minecolonies.api.colony.requestsystem.factory.IFactoryController;
+import com.minecolonies.api.colony.requestsystem.location.ILocation;
+import com.minecolonies.api.colony.requestsystem.manager.IRequestManager;
+import com.minecolonies.api.colony.requestsystem.manager.RequestMappingHandler;
+import com.minecolonies.api.colony.requestsystem.request.IRequest;
+import com.minecolonies.api.colony.requestsystem.request.IRequestFactory;
+import com.minecolonies.api.colony.requestsystem.request.RequestState;
+import com.minecolonies.api.colony.requestsystem.requestable.IRequestable;
+import com.minecolonies.api.colony.requestsystem.requester.IRequester;
+import com.minecolonies.api.colony.requestsystem.resolver.IRequestResolver;
+import com.minecolonies.api.colony.requestsystem.resolver.IRequestResolverProvider;
+import com.minecolonies.api.colony.requestsystem.token.IToken;
+import com.minecolonies.api.util.constant.TypeConstants;
+import com.minecolonies.coremod.colony.Colony;
+import com.minecolonies.coremod.colony.managers.IBuildingManager;
+import com.minecolonies.coremod.colony.requestsystem.init.StandardFactoryControllerInitializer;
+import com.minecolonies.coremod.colony.requestsystem.requests.AbstractRequest;
+import net.minecraft.item.ItemStack;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.text.ITextComponent;
+import net.minecraft.util.text.TextComponentString;
+import net.minecraft.world.World;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.minecolonies.api.util.RSConstants.CONST_DEFAULT_RESOLVER_PRIORITY;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Measures the assignment of requests to resolvers by the {@link com.minecolonies.coremod.colony.requestsystem.management.handlers.RequestHandler}
+ * through a {@link StandardRequestManager} of a stubbed colony.
+ * Only the resolver with the lowest priority accepts the requests, so every assignment checks all resolvers.
+ * They all rank above the player resolver of the manager, which would take any request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RequestAssignmentBenchmark
+{
+    @Param({"2", "32"})
+    public int resolverAmount;
+
+    private StandardRequestManager requestManager;
+    private Requester              requester;
+
+    @Setup
+    public void setup()
+    {
+        StandardFactoryControllerInitializer.onPreInit();
+        StandardFactoryController.getInstance().registerNewFactory(new CountRequestFactory());
+        RequestMappingHandler.registerRequestableTypeMapping(CountRequestable.class, CountRequest.class);
+
+        final Colony colony = mock(Colony.class);
+        final IBuildingManager buildingManager = mock(IBuildingManager.class);
+        when(colony.getWorld()).thenReturn(mock(World.class));
+        when(colony.getID()).thenReturn(1);
+        when(colony.getCenter()).thenReturn(BlockPos.ORIGIN);
+        when(colony.getBuildingManager()).thenReturn(buildingManager);
+        when(buildingManager.getBuildings()).thenReturn(new HashMap<>());
+        requestManager = new StandardRequestManager(colony);
+
+        final ImmutableList.Builder<IRequestResolver<?>> resolvers = ImmutableList.builder();
+        for (int i = 0; i < resolverAmount; i++)
+        {
+            resolvers.add(new CountResolver(CONST_DEFAULT_RESOLVER_PRIORITY + i, i == 0));
+        }
+        final ImmutableCollection<IRequestResolver<?>> resolverList = resolvers.build();
+        final IToken<?> providerToken = StandardFactoryController.getInstance().getNewInstance(TypeConstants.ITOKEN);
+        requestManager.onProviderAddedToColony(new IRequestResolverProvider()
+        {
+            @Override
+            public IToken<?> getToken()
+            {
+                return providerToken;
+            }
+
+            @Override
+            public ImmutableCollection<IRequestResolver<?>> getResolvers()
+            {
+                return resolverList;
+            }
+        });
+        requester = new Requester();
+    }
+
+    @TearDown
+    public void tearDown()
+    {
+        StandardFactoryController.reset();
+    }
+
+    /**
+     * Create and assign a request, the resolver completes it right away, then the requester receives it.
+     */
+    @Benchmark
+    public IToken<?> createAssignAndReceive()
+    {
+        final IToken<?> token = requestManager.createAndAssignRequest(requester, new CountRequestable(1));
+        requestManager.updateRequestState(token, RequestState.RECEIVED);
+        return token;
+    }
+
+    private static final class CountRequestable implements IRequestable
+    {
+        private final int count;
+
+        private CountRequestable(final int count)
+        {
+            this.count = count;
+        }
+    }
+
+    private static final class CountRequest extends AbstractRequest<CountRequestable>
+    {
+        private CountRequest(
+          @NotNull final IRequester requester,
+          @NotNull final IToken<?> token,
+          @NotNull final RequestState state,
+          @NotNull final CountRequestable requested)
+        {
+            super(requester, token, state, requested);
+        }
+
+        @NotNull
+        @Override
+        public ITextComponent getShortDisplayString()
+        {
+            return new TextComponentString(Integer.toString(getRequest().count));
+        }
+
+        @NotNull
+        @Override
+        public List<ItemStack> getDisplayStacks()
+        {
+            return Collections.emptyList();
+        }
+    }
+
+    /**
+     * Creates the requests, they are never saved in the benchmark.
+     */
+    private static final class CountRequestFactory implements IRequestFactory<CountRequestable, CountRequest>
+    {
+        @Override
+        public CountRequest getNewInstance(
+          @NotNull final CountRequestable input,
+          @NotNull final IRequester location,
+          @NotNull final IToken<?> token,
+          @NotNull final RequestState initialState)
+        {
+            return new CountRequest(location, token, initialState, input);
+        }
+
+        @NotNull
+        @Override
+        public TypeToken<CountRequest> getFactoryOutputType()
+        {
+            return TypeToken.of(CountRequest.class);
+        }
+
+        @NotNull
+        @Override
+        public TypeToken<CountRequestable> getFactoryInputType()
+        {
+            return TypeToken.of(CountRequestable.class);
+        }
+
+        @NotNull
+        @Override
+        public NBTTagCompound serialize(@NotNull final IFactoryController controller, @NotNull final CountRequest request)
+        {
+            throw new UnsupportedOperationException("Requests are not saved in the benchmark.");
+        }
+
+        @NotNull
+        @Override
+        public CountRequest deserialize(@NotNull final IFactoryController controller, @NotNull final NBTTagCompound nbt)
+        {
+            throw new UnsupportedOperationException("Requests are not saved in the benchmark.");
+        }
+    }
+
+    private static class Requester implements IRequester
+    {
+        private final IToken<?> token = StandardFactoryController.getInstance().getNewInstance(TypeConstants.ITOKEN);
+
+        @Override
+        public IToken<?> getRequesterId()
+        {
+            return token;
+        }
+
+        @NotNull
+        @Override
+        public ILocation getRequesterLocation()
+        {
+            return null;
+        }
+
+        @Override
+        public void onRequestComplete(@NotNull final IRequestManager manager, @NotNull final IToken<?> token)
+        {
+            //NOOP
+        }
+
+        @Override
+        public void onRequestCancelled(@NotNull final IRequestManager manager, @NotNull final IToken<?> token)
+        {
+            //NOOP
+        }
+
+        @NotNull
+        @Override
+        public ITextComponent getDisplayName(@NotNull final IRequestManager manager, @NotNull final IToken<?> token)
+        {
+            return new TextComponentString("Benchmark");
+        }
+    }
+
+    /**
+     * Resolver completing the requests right away, if it accepts them.
+     */
+    private static final class CountResolver extends Requester implements IRequestResolver<CountRequestable>
+    {
+        private final int     priority;
+        private final boolean accepts;
+
+        private CountResolver(final int priority, final boolean accepts)
+        {
+            this.priority = priority;
+            this.accepts = accepts;
+        }
+
+        @Override
+        public TypeToken<? extends CountRequestable> getRequestType()
+        {
+            return TypeToken.of(CountRequestable.class);
+        }
+
+        @Override
+        public boolean canResolve(@NotNull final IRequestManager manager, final IRequest<? extends CountRequestable> requestToCheck)
+        {
+            return accepts;
+        }
+
+        @Nullable
+        @Override
+        public List<IToken<?>> attemptResolve(@NotNull final IRequestManager manager, @NotNull final IRequest<? extends CountRequestable> request)
+        {
+            return Collections.emptyList();
+        }
+
+        @Override
+        public void resolve(@NotNull final IRequestManager manager, @NotNull final IRequest<? extends CountRequestable> request)
+        {
+            manager.updateRequestState(request.getToken(), RequestState.COMPLETED);
+        }
+
+        @Nullable
+        @Override
+        public IRequest<?> getFollowupRequestForCompletion(
+          @NotNull final IRequestManager manager,
+          @NotNull final IRequest<? extends CountRequestable> completedRequest)
+        {
+            return null;
+        }
+
+        @Nullable
+        @Override
+        public IRequest<?> onRequestCancelled(@NotNull final IRequestManager manager, @NotNull final IRequest<? extends CountRequestable> request)
+        {
+            return null;
+        }
+
+        @Override
+        public void onRequestBeingOverruled(@NotNull final IRequestManager manager, @NotNull final IRequest<? extends CountRequestable> request)
+        {
+            //NOOP
+        }
+
+        @Override
+        public int getPriority()
+        {
+            return priority;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.minecolonies.coremod.entity.pathfinding;
+
+import net.minecraft.block.Block;
+import net.minecraft.block.material.Material;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.chunk.IChunkProvider;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Measures the computation of a barbarian flow field over a stubbed world: rolling terrain with random walls.
+ * The world is a mockito stub like in the tests, so the absolute numbers include the stub overhead.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class FlowFieldBenchmark
+{
+    private static final int SEED        = 42;
+    private static final int GROUND      = 64;
+    private static final int WALL_RATIO  = 12;
+    private static final int WALL_HEIGHT = 3;
+    private static final int HILL_PERIOD = 16;
+
+    @Param({"32", "96"})
+    public int radius;
+
+    private World    world;
+    private BlockPos center;
+
+    @Setup
+    public void setup()
+    {
+        final Random random = new Random(SEED);
+        final int size = radius * 2 + 1;
+        final int[] heights = new int[size * size];
+        for (int x = 0; x < size; x++)
+        {
+            for (int z = 0; z < size; z++)
+            {
+                final int hill = (x / HILL_PERIOD + z / HILL_PERIOD) % 2;
+                heights[x * size + z] = GROUND + hill + (random.nextInt(WALL_RATIO) == 0 ? WALL_HEIGHT : 0);
+            }
+        }
+
+        final IBlockState solid = mockState(Material.GROUND);
+        final IBlockState air = mockState(Material.AIR);
+        final Chunk chunk = mock(Chunk.class);
+        when(chunk.getBlockState(anyInt(), anyInt(), anyInt())).thenAnswer(invocation -> {
+            final int x = (Integer) invocation.getArguments()[0] + radius;
+            final int y = (Integer) invocation.getArguments()[1];
+            final int z = (Integer) invocation.getArguments()[2] + radius;
+            if (x < 0 || z < 0 || x >= size || z >= size)
+            {
+                return air;
+            }
+            return y < heights[x * size + z] ? solid : air;
+        });
+
+        final IChunkProvider provider = mock(IChunkProvider.class);
+        when(provider.getLoadedChunk(anyInt(), anyInt())).thenReturn(chunk);
+        world = mock(World.class);
+        when(world.getChunkProvider()).thenReturn(provider);
+        center = new BlockPos(0, GROUND, 0);
+    }
+
+    private static IBlockState mockState(final Material material)
+    {
+        final IBlockState state = mock(IBlockState.class);
+        final Block block = mock(Block.class);
+        when(state.getMaterial()).thenReturn(material);
+        when(state.getBlock()).thenReturn(block);
+        return state;
+    }
+
+    @Benchmark
+    public FlowField compute()
+    {
+        return new FlowField(world, center, center, radius).call();
+    }
+}
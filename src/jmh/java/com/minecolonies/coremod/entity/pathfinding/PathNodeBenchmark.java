@@ -0,0 +1,81 @@
+package com.minecolonies.coremod.entity.pathfinding;
+
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.init.Blocks;
+import net.minecraft.init.Bootstrap;
+import net.minecraft.pathfinding.Path;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.Chunk;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Measures the node handling of the path jobs: runs a {@link PathJobMoveToLocation} over a stubbed world,
+ * flat stone ground with random walls two blocks high.
+ * The world is a mockito stub like in the tests, so the absolute numbers include the stub overhead.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PathNodeBenchmark
+{
+    private static final int SEED        = 42;
+    private static final int WALL_RATIO  = 5;
+    private static final int WALL_HEIGHT = 2;
+    private static final int GROUND      = 64;
+
+    @Param({"32", "64"})
+    public int range;
+
+    private World    world;
+    private BlockPos start;
+    private BlockPos end;
+
+    @Setup
+    public void setup()
+    {
+        Bootstrap.register();
+
+        final Random random = new Random(SEED);
+        final boolean[] walls = new boolean[range * range];
+        for (int i = 0; i < walls.length; i++)
+        {
+            walls[i] = random.nextInt(WALL_RATIO) == 0;
+        }
+        walls[0] = false;
+        walls[walls.length - 1] = false;
+
+        final IBlockState stone = Blocks.STONE.getDefaultState();
+        final IBlockState air = Blocks.AIR.getDefaultState();
+        final Chunk chunk = mock(Chunk.class);
+        when(chunk.getBlockState(any(BlockPos.class))).thenAnswer(invocation -> {
+            final BlockPos pos = (BlockPos) invocation.getArguments()[0];
+            if (pos.getY() < GROUND)
+            {
+                return stone;
+            }
+            final boolean inside = pos.getX() >= 0 && pos.getZ() >= 0 && pos.getX() < range && pos.getZ() < range;
+            return inside && pos.getY() < GROUND + WALL_HEIGHT && walls[pos.getX() * range + pos.getZ()] ? stone : air;
+        });
+
+        world = mock(World.class);
+        when(world.getChunkFromChunkCoords(anyInt(), anyInt())).thenReturn(chunk);
+        start = new BlockPos(0, GROUND, 0);
+        end = new BlockPos(range - 1, GROUND, range - 1);
+    }
+
+    @Benchmark
+    public int search()
+    {
+        final Path path = new PathJobMoveToLocation(world, start, end, range * 2).call();
+        return path == null ? -1 : path.getCurrentPathLength();
+    }
+}
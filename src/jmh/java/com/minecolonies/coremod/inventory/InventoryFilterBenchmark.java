@@ -0,0 +1,107 @@
+package com.minecolonies.coremod.inventory;
+
+import com.minecolonies.api.util.InventoryUtils;
+import net.minecraft.init.Bootstrap;
+import net.minecraft.init.Items;
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import net.minecraftforge.items.IItemHandler;
+import net.minecraftforge.items.ItemStackHandler;
+import net.minecraftforge.items.wrapper.InvWrapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the item filters of {@link InventoryUtils} over a citizen inventory, which uses its slot index,
+ * against the same contents in a plain handler, which is scanned slot by slot.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class InventoryFilterBenchmark
+{
+    private static final int SEED       = 42;
+    private static final int MAIN_SLOTS = 36;
+    private static final int MAX_STACK  = 16;
+
+    /**
+     * The amount of items looked up per invocation.
+     */
+    private static final int ITEM_AMOUNT = 8;
+
+    private Item[]       items;
+    private IItemHandler indexed;
+    private IItemHandler plain;
+
+    @Setup
+    public void setup()
+    {
+        Bootstrap.register();
+        items = new Item[] {Items.STICK, Items.APPLE, Items.BREAD, Items.IRON_INGOT, Items.COAL, Items.WHEAT, Items.STRING, Items.BONE};
+
+        final Random random = new Random(SEED);
+        final InventoryCitizen inventory = new InventoryCitizen("Citizen", false);
+        final ItemStackHandler handler = new ItemStackHandler(inventory.getSizeInventory());
+        for (int slot = 0; slot < MAIN_SLOTS; slot++)
+        {
+            if (random.nextInt(3) != 0)
+            {
+                final ItemStack stack = new ItemStack(items[random.nextInt(items.length)], 1 + random.nextInt(MAX_STACK));
+                inventory.setInventorySlotContents(slot, stack);
+                handler.setStackInSlot(slot, stack.copy());
+            }
+        }
+        indexed = new InvWrapper(inventory);
+        plain = handler;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ITEM_AMOUNT)
+    public int filterIndexed()
+    {
+        return filter(indexed);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ITEM_AMOUNT)
+    public int filterPlain()
+    {
+        return filter(plain);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ITEM_AMOUNT)
+    public int findFirstIndexed()
+    {
+        return findFirst(indexed);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ITEM_AMOUNT)
+    public int findFirstPlain()
+    {
+        return findFirst(plain);
+    }
+
+    private int filter(final IItemHandler handler)
+    {
+        int found = 0;
+        for (final Item item : items)
+        {
+            found += InventoryUtils.filterItemHandler(handler, item, -1).size();
+        }
+        return found;
+    }
+
+    private int findFirst(final IItemHandler handler)
+    {
+        int slots = 0;
+        for (final Item item : items)
+        {
+            slots += InventoryUtils.findFirstSlotInItemHandlerWith(handler, item, -1);
+        }
+        return slots;
+    }
+}
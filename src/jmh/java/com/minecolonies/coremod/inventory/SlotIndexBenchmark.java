@@ -0,0 +1,97 @@
+package com.minecolonies.coremod.inventory;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the slot index used by the inventory filters with the linear scan over all slots.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class SlotIndexBenchmark
+{
+    private static final int SEED       = 42;
+    private static final int KEY_AMOUNT = 12;
+
+    @Param({"41", "108"})
+    public int size;
+
+    private SlotIndex<Integer> index;
+    private Integer[]          slots;
+    private Integer[]          keys;
+
+    @Setup
+    public void setup()
+    {
+        final Random random = new Random(SEED);
+        index = new SlotIndex<>(size);
+        slots = new Integer[size];
+        keys = new Integer[KEY_AMOUNT];
+        for (int i = 0; i < KEY_AMOUNT; i++)
+        {
+            keys[i] = i;
+        }
+
+        for (int slot = 0; slot < size; slot++)
+        {
+            final Integer key = random.nextInt(3) == 0 ? null : keys[random.nextInt(KEY_AMOUNT)];
+            slots[slot] = key;
+            index.set(slot, key);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(KEY_AMOUNT)
+    public int linearScan()
+    {
+        int found = 0;
+        for (final Integer key : keys)
+        {
+            for (final Integer slot : slots)
+            {
+                if (key.equals(slot))
+                {
+                    found++;
+                }
+            }
+        }
+        return found;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(KEY_AMOUNT)
+    public int indexedLookup()
+    {
+        int found = 0;
+        for (final Integer key : keys)
+        {
+            for (int slot = index.nextSlot(key, 0); slot >= 0; slot = index.nextSlot(key, slot + 1))
+            {
+                found++;
+            }
+        }
+        return found;
+    }
+
+    @Benchmark
+    public int firstFreeLinear()
+    {
+        for (int slot = 0; slot < size; slot++)
+        {
+            if (slots[slot] == null)
+            {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    @Benchmark
+    public int firstFreeIndexed()
+    {
+        return index.getFirstFree(size);
+    }
+}
@@ -0,0 +1,151 @@
+package com.minecolonies.blockout;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.w3c.dom.NamedNodeMap;
+import org.w3c.dom.Node;
+
+import java.util.*;
+
+/**
+ * Immutable description of an xml layout element, parsed once and shared by every window built from it.
+ */
+public final class LayoutNode
+{
+    /**
+     * The element name, which is the pane type.
+     */
+    private final String type;
+
+    /**
+     * The attributes by name.
+     */
+    private final Map<String, String> attributes;
+
+    /**
+     * The text content of the element and its descendants.
+     */
+    private final String text;
+
+    /**
+     * The child elements, null if there are none.
+     */
+    @Nullable
+    private final List<LayoutNode> children;
+
+    /**
+     * Create a layout node.
+     *
+     * @param type       the element name.
+     * @param attributes the attributes.
+     * @param text       the text content.
+     * @param children   the child elements, null if there are none.
+     */
+    private LayoutNode(
+                        @NotNull final String type, @NotNull final Map<String, String> attributes, @NotNull final String text,
+                        @Nullable final List<LayoutNode> children)
+    {
+        this.type = type;
+        this.attributes = attributes;
+        this.text = text;
+        this.children = children;
+    }
+
+    /**
+     * Create the description of a dom element and its child elements.
+     *
+     * @param node the dom element.
+     * @return the description.
+     */
+    @NotNull
+    public static LayoutNode fromNode(@NotNull final Node node)
+    {
+        final Map<String, String> attributes = new HashMap<>();
+        final NamedNodeMap nodeAttributes = node.getAttributes();
+        if (nodeAttributes != null)
+        {
+            for (int i = 0; i < nodeAttributes.getLength(); i++)
+            {
+                final Node attribute = nodeAttributes.item(i);
+                attributes.put(attribute.getNodeName(), attribute.getNodeValue());
+            }
+        }
+
+        List<LayoutNode> children = null;
+        Node child = node.getFirstChild();
+        while (child != null)
+        {
+            if (child.getNodeType() == Node.ELEMENT_NODE)
+            {
+                if (children == null)
+                {
+                    children = new ArrayList<>();
+                }
+                children.add(fromNode(child));
+            }
+            child = child.getNextSibling();
+        }
+
+        final String text = node.getTextContent();
+        return new LayoutNode(node.getNodeName(),
+          Collections.unmodifiableMap(attributes),
+          text == null ? "" : text,
+          children == null ? null : Collections.unmodifiableList(children));
+    }
+
+    /**
+     * Get the element name.
+     *
+     * @return the type.
+     */
+    @NotNull
+    public String getType()
+    {
+        return type;
+    }
+
+    /**
+     * Get an attribute.
+     *
+     * @param name the attribute name.
+     * @return the value or null if not set.
+     */
+    @Nullable
+    public String getAttribute(@NotNull final String name)
+    {
+        return attributes.get(name);
+    }
+
+    /**
+     * Get all attributes.
+     *
+     * @return the unmodifiable attribute map.
+     */
+    @NotNull
+    public Map<String, String> getAttributes()
+    {
+        return attributes;
+    }
+
+    /**
+     * Get the text content of the element and its descendants.
+     *
+     * @return the text.
+     */
+    @NotNull
+    public String getText()
+    {
+        return text;
+    }
+
+    /**
+     * Get the child elements.
+     *
+     * @return the unmodifiable list, or null if there are none.
+     */
+    @Nullable
+    public List<LayoutNode> getChildren()
+    {
+        return children;
+    }
+}
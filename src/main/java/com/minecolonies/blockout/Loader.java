@@ -3,10 +3,13 @@ package com.minecolonies.blockout;
 import com.minecolonies.blockout.controls.*;
 import com.minecolonies.blockout.views.*;
 import net.minecraft.client.Minecraft;
+import net.minecraft.client.resources.IReloadableResourceManager;
+import net.minecraft.client.resources.IResourceManager;
 import net.minecraft.util.ResourceLocation;
 import net.minecraftforge.fml.common.FMLCommonHandler;
 import net.minecraftforge.fml.relauncher.Side;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.w3c.dom.Document;
 import org.xml.sax.InputSource;
 import org.xml.sax.SAXException;
@@ -20,7 +23,10 @@ import java.io.StringReader;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 
 /**
  * Utilities to load xml files.
@@ -28,6 +34,16 @@ import java.util.Map;
 public final class Loader
 {
     private static final Map<String, Constructor<? extends Pane>> paneConstructorMap = new HashMap<>();
+
+    /**
+     * Parsed layouts by resource location, cleared when the resources are reloaded.
+     */
+    private static final Map<ResourceLocation, LayoutNode> layoutCache = new ConcurrentHashMap<>();
+
+    /**
+     * If the cache has been hooked into the resource reloading yet.
+     */
+    private static boolean reloadListenerRegistered = false;
     static
     {
         register("view", View.class);
@@ -150,47 +166,121 @@ public final class Loader
     }
 
     /**
-     * Parse an XML Document into contents for a View.
+     * Build the contents of a View from a parsed layout.
      *
-     * @param doc    xml document.
+     * @param layout the root node of the layout.
      * @param parent parent view.
      */
-    private static void createFromXML(final Document doc, final View parent)
+    private static void createFromLayout(final LayoutNode layout, final View parent)
     {
-        doc.getDocumentElement().normalize();
-
-        final PaneParams root = new PaneParams(doc.getDocumentElement());
+        final PaneParams root = new PaneParams(layout);
         if (parent instanceof Window)
         {
             ((Window) parent).loadParams(root);
         }
 
-        for (final PaneParams child : root.getChildren())
+        final List<PaneParams> children = root.getChildren();
+        if (children == null)
+        {
+            return;
+        }
+
+        for (final PaneParams child : children)
         {
             createFromPaneParams(child, parent);
         }
     }
 
     /**
-     * Parse XML from an InputSource into contents for a View.
+     * Parse XML from an InputSource into an immutable layout description.
      *
-     * @param input  xml file.
-     * @param parent parent view.
+     * @param input xml file.
+     * @return the root node of the layout or null if it could not be parsed.
      */
-    private static void createFromXML(final InputSource input, final View parent)
+    @Nullable
+    public static LayoutNode parseLayout(final InputSource input)
     {
         try
         {
             final DocumentBuilderFactory dbFactory = DocumentBuilderFactory.newInstance();
             final DocumentBuilder dBuilder = dbFactory.newDocumentBuilder();
             final Document doc = dBuilder.parse(input);
+            doc.getDocumentElement().normalize();
 
-            createFromXML(doc, parent);
+            return LayoutNode.fromNode(doc.getDocumentElement());
         }
         catch (ParserConfigurationException | SAXException | IOException exc)
         {
             Log.getLogger().error("Exception when parsing XML.", exc);
         }
+        return null;
+    }
+
+    /**
+     * Get the parsed layout of a resource, parsing it only if it is not cached yet.
+     *
+     * @param resource the resource location, used as key.
+     * @param source   supplies the xml of the resource.
+     * @return the root node of the layout or null if it could not be parsed.
+     */
+    @Nullable
+    public static LayoutNode getLayout(final ResourceLocation resource, final Supplier<InputStream> source)
+    {
+        final LayoutNode cached = layoutCache.get(resource);
+        if (cached != null)
+        {
+            return cached;
+        }
+
+        final InputStream stream = source.get();
+        if (stream == null)
+        {
+            return null;
+        }
+
+        try
+        {
+            final LayoutNode layout = parseLayout(new InputSource(stream));
+            if (layout != null)
+            {
+                layoutCache.put(resource, layout);
+            }
+            return layout;
+        }
+        finally
+        {
+            try
+            {
+                stream.close();
+            }
+            catch (final IOException e)
+            {
+                Log.getLogger().warn("Could not close layout stream of " + resource, e);
+            }
+        }
+    }
+
+    /**
+     * Clear the cache of parsed layouts.
+     */
+    public static void clearLayoutCache()
+    {
+        layoutCache.clear();
+    }
+
+    /**
+     * Parse XML from an InputSource into contents for a View.
+     *
+     * @param input  xml file.
+     * @param parent parent view.
+     */
+    private static void createFromXML(final InputSource input, final View parent)
+    {
+        final LayoutNode layout = parseLayout(input);
+        if (layout != null)
+        {
+            createFromLayout(layout, parent);
+        }
     }
 
     /**
@@ -223,7 +313,31 @@ public final class Loader
      */
     public static void createFromXMLFile(final ResourceLocation resource, final View parent)
     {
-        createFromXML(new InputSource(createInputStream(resource)), parent);
+        registerReloadListener();
+
+        final LayoutNode layout = getLayout(resource, () -> createInputStream(resource));
+        if (layout != null)
+        {
+            createFromLayout(layout, parent);
+        }
+    }
+
+    /**
+     * Clear the layout cache whenever the client reloads its resources, so resource packs apply.
+     */
+    private static void registerReloadListener()
+    {
+        if (reloadListenerRegistered || FMLCommonHandler.instance().getEffectiveSide() != Side.CLIENT)
+        {
+            return;
+        }
+
+        final IResourceManager resourceManager = Minecraft.getMinecraft().getResourceManager();
+        if (resourceManager instanceof IReloadableResourceManager)
+        {
+            ((IReloadableResourceManager) resourceManager).registerReloadListener(manager -> clearLayoutCache());
+        }
+        reloadListenerRegistered = true;
     }
 
     /**
@@ -23,8 +23,8 @@ public class PaneParams
     private static final Pattern RGBA_PATTERN       =
       Pattern.compile("rgba?\\(\\s*(\\d+)\\s*,\\s*(\\d+)\\s*,\\s*(\\d+)\\s*(?:,\\s*([01]\\.\\d+)\\s*)?\\)", Pattern.CASE_INSENSITIVE);
     private static final char  HASH_CHAR             = '#';
-    private final        Node node;
-    private              View parentView;
+    private final        LayoutNode node;
+    private              View       parentView;
 
     /**
      * Instantiates the pane parameters.
@@ -32,13 +32,23 @@ public class PaneParams
      * @param n the node.
      */
     public PaneParams(final Node n)
+    {
+        this(LayoutNode.fromNode(n));
+    }
+
+    /**
+     * Instantiates the pane parameters from a parsed layout.
+     *
+     * @param n the layout node.
+     */
+    public PaneParams(final LayoutNode n)
     {
         node = n;
     }
 
     public String getType()
     {
-        return node.getNodeName();
+        return node.getType();
     }
 
     public View getParentView()
@@ -64,21 +74,16 @@ public class PaneParams
     @Nullable
     public List<PaneParams> getChildren()
     {
-        List<PaneParams> list = null;
-
-        Node child = node.getFirstChild();
-        while (child != null)
+        final List<LayoutNode> children = node.getChildren();
+        if (children == null)
         {
-            if (child.getNodeType() == Node.ELEMENT_NODE)
-            {
-                if (list == null)
-                {
-                    list = new ArrayList<>();
-                }
+            return null;
+        }
 
-                list.add(new PaneParams(child));
-            }
-            child = child.getNextSibling();
+        final List<PaneParams> list = new ArrayList<>(children.size());
+        for (final LayoutNode child : children)
+        {
+            list.add(new PaneParams(child));
         }
 
         return list;
@@ -87,13 +92,13 @@ public class PaneParams
     @NotNull
     public String getText()
     {
-        return node.getTextContent().trim();
+        return node.getText().trim();
     }
 
     @Nullable
     public String getLocalizedText()
     {
-        return localize(node.getTextContent().trim());
+        return localize(node.getText().trim());
     }
 
     @Nullable
@@ -151,13 +156,8 @@ public class PaneParams
      */
     public String getStringAttribute(final String name, final String def)
     {
-        final Node attr = getAttribute(name);
-        return (attr != null) ? attr.getNodeValue() : def;
-    }
-
-    private Node getAttribute(final String name)
-    {
-        return node.getAttributes().getNamedItem(name);
+        final String attr = node.getAttribute(name);
+        return (attr != null) ? attr : def;
     }
 
     /**
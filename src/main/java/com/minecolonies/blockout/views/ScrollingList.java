@@ -35,6 +35,18 @@ public class ScrollingList extends ScrollingView
     public ScrollingList(final PaneParams params)
     {
         super(params);
+        setVirtualized(params.getBooleanAttribute("virtualized", false));
+    }
+
+    /**
+     * Only keep panes for the visible rows, recycling them while scrolling.
+     * Rows are rebound through {@link DataProvider#updateElement(int, Pane)}, which has to set the whole state of a row.
+     *
+     * @param virtualized true to enable it.
+     */
+    public void setVirtualized(final boolean virtualized)
+    {
+        ((ScrollingListContainer) container).setVirtualized(virtualized);
     }
 
     public void setDataProvider(final IntSupplier countSupplier, final IPaneUpdater paneUpdater)
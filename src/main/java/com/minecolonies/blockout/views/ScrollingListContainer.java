@@ -9,8 +9,39 @@ import com.minecolonies.blockout.PaneParams;
  */
 public class ScrollingListContainer extends ScrollingContainer
 {
+    /**
+     * Amount of rows kept above and below the visible ones in virtualized mode.
+     */
+    private static final int OVERSCAN_ROWS = 2;
+
     private int listElementHeight = 0;
 
+    /**
+     * Only keep panes for the visible rows and recycle them while scrolling.
+     */
+    private boolean virtualized = false;
+
+    /**
+     * Index of the element shown by the first child in virtualized mode.
+     */
+    private int firstElementIndex = 0;
+
+    /**
+     * Amount of elements of the list in virtualized mode.
+     */
+    private int elementCount = 0;
+
+    /**
+     * The data provider and row params of the last refresh, used to rebind rows when scrolling.
+     */
+    private ScrollingList.DataProvider lastDataProvider;
+    private PaneParams                 lastListNodeParams;
+
+    /**
+     * Set while rows are rebound, to not trigger a rebind from the scroll update.
+     */
+    private boolean refreshing = false;
+
     ScrollingListContainer(final ScrollingList owner)
     {
         super(owner);
@@ -24,6 +55,14 @@ public class ScrollingListContainer extends ScrollingContainer
      */
     public void refreshElementPanes(final ScrollingList.DataProvider dataProvider, final PaneParams listNodeParams)
     {
+        if (virtualized)
+        {
+            lastDataProvider = dataProvider;
+            lastListNodeParams = listNodeParams;
+            refreshVisibleElementPanes();
+            return;
+        }
+
         final int numElements = (dataProvider != null) ? dataProvider.getElementCount() : 0;
         if (dataProvider != null)
         {
@@ -62,6 +101,103 @@ public class ScrollingListContainer extends ScrollingContainer
         computeContentHeight();
     }
 
+    /**
+     * Enable or disable the virtualized mode, in which only the visible rows plus a few more have a pane.
+     *
+     * @param virtualized true to enable it.
+     */
+    public void setVirtualized(final boolean virtualized)
+    {
+        this.virtualized = virtualized;
+    }
+
+    /**
+     * Check if the virtualized mode is enabled.
+     *
+     * @return true if so.
+     */
+    public boolean isVirtualized()
+    {
+        return virtualized;
+    }
+
+    /**
+     * Creates, deletes and rebinds the panes of the rows around the scroll position.
+     */
+    private void refreshVisibleElementPanes()
+    {
+        refreshing = true;
+        elementCount = lastDataProvider != null ? lastDataProvider.getElementCount() : 0;
+
+        if (elementCount > 0 && listElementHeight == 0)
+        {
+            final Pane child = children.isEmpty() ? Loader.createFromPaneParams(lastListNodeParams, this) : children.get(0);
+            if (child != null)
+            {
+                listElementHeight = child.getHeight();
+            }
+        }
+
+        int first = 0;
+        int last = 0;
+        if (elementCount > 0 && listElementHeight > 0)
+        {
+            //  Clamp the scroll first, the list might have shrunk.
+            computeContentHeight();
+            first = Math.max(0, scrollY / listElementHeight - OVERSCAN_ROWS);
+            last = Math.min(elementCount, (scrollY + getHeight()) / listElementHeight + 1 + OVERSCAN_ROWS);
+        }
+
+        while (children.size() < last - first)
+        {
+            if (Loader.createFromPaneParams(lastListNodeParams, this) == null)
+            {
+                break;
+            }
+        }
+
+        while (children.size() > Math.max(0, last - first))
+        {
+            removeChild(children.get(children.size() - 1));
+        }
+
+        firstElementIndex = first;
+        for (int i = 0; i < children.size(); ++i)
+        {
+            final Pane child = children.get(i);
+            child.setPosition(0, (first + i) * listElementHeight);
+            lastDataProvider.updateElement(first + i, child);
+        }
+
+        computeContentHeight();
+        refreshing = false;
+    }
+
+    @Override
+    public void computeContentHeight()
+    {
+        if (!virtualized)
+        {
+            super.computeContentHeight();
+            return;
+        }
+
+        contentHeight = elementCount * listElementHeight;
+        setScrollY(scrollY);
+    }
+
+    @Override
+    public void setScrollY(final int offset)
+    {
+        super.setScrollY(offset);
+
+        if (virtualized && !refreshing && listElementHeight > 0
+              && Math.max(0, scrollY / listElementHeight - OVERSCAN_ROWS) != firstElementIndex)
+        {
+            refreshVisibleElementPanes();
+        }
+    }
+
     /**
      * Returns the element list index for the given pane.
      *
@@ -81,7 +217,8 @@ public class ScrollingListContainer extends ScrollingContainer
             return -1;
         }
 
-        return getChildren().indexOf(parentPane);
+        final int index = getChildren().indexOf(parentPane);
+        return virtualized && index >= 0 ? firstElementIndex + index : index;
     }
 
     /**
@@ -99,8 +236,8 @@ public class ScrollingListContainer extends ScrollingContainer
             return null;
         }
 
-        final int listElement = my / listElementHeight;
-        if (listElement < children.size())
+        final int listElement = my / listElementHeight - (virtualized ? firstElementIndex : 0);
+        if (listElement >= 0 && listElement < children.size())
         {
             final Pane child = children.get(listElement);
             if (child.canHandleClick(mx, my))
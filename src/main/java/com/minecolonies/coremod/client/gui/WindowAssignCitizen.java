@@ -117,6 +117,7 @@ public class WindowAssignCitizen extends Window implements ButtonHandler
         updateCitizens();
         citizenList.enable();
         citizenList.show();
+        citizenList.setVirtualized(true);
         //Creates a dataProvider for the homeless citizenList.
         citizenList.setDataProvider(new ScrollingList.DataProvider()
         {
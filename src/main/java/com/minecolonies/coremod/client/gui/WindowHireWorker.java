@@ -126,6 +126,7 @@ public class WindowHireWorker extends Window implements ButtonHandler
         final ScrollingList citizenList = findPaneOfTypeByID(CITIZEN_LIST, ScrollingList.class);
         citizenList.enable();
         citizenList.show();
+        citizenList.setVirtualized(true);
         //Creates a dataProvider for the unemployed citizenList.
         citizenList.setDataProvider(new ScrollingList.DataProvider()
         {
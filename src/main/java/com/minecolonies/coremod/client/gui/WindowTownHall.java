@@ -652,6 +652,7 @@ public class WindowTownHall extends AbstractWindowBuilding<BuildingTownHall.View
     private void fillUserList()
     {
         userList = findPaneOfTypeByID(LIST_USERS, ScrollingList.class);
+        userList.setVirtualized(true);
         userList.setDataProvider(new ScrollingList.DataProvider()
         {
             @Override
@@ -623,6 +623,7 @@ public class CitizenData
         {
             homeBuilding = building;
             markDirty();
+            colony.getCitizenManager().updateHappinessTotals(this);
         }
     }
 
@@ -677,6 +678,7 @@ public class CitizenData
             }
 
             markDirty();
+            colony.getCitizenManager().updateHappinessTotals(this);
         }
     }
 
@@ -903,6 +905,7 @@ public class CitizenData
     public void increaseSaturation(final double extraSaturation)
     {
         this.saturation = Math.min(MAX_SATURATION, this.saturation + Math.abs(extraSaturation));
+        colony.getCitizenManager().updateHappinessTotals(this);
     }
 
     /**
@@ -913,6 +916,7 @@ public class CitizenData
     public void decreaseSaturation(final double extraSaturation)
     {
         this.saturation = Math.max(MIN_SATURATION, this.saturation - Math.abs(extraSaturation));
+        colony.getCitizenManager().updateHappinessTotals(this);
     }
 
     /**
@@ -2,7 +2,6 @@ package com.minecolonies.coremod.colony;
 
 import com.google.common.collect.ImmutableList;
 import com.minecolonies.api.colony.IColony;
-import com.minecolonies.api.colony.IColonyTagCapability;
 import com.minecolonies.api.colony.permissions.Rank;
 import com.minecolonies.api.colony.requestsystem.manager.IRequestManager;
 import com.minecolonies.api.colony.requestsystem.requester.IRequester;
@@ -19,6 +18,7 @@ import com.minecolonies.coremod.colony.workorders.WorkManager;
 import com.minecolonies.coremod.entity.ai.mobs.util.MobEventsUtils;
 import com.minecolonies.coremod.network.messages.ColonyViewRemoveWorkOrderMessage;
 import com.minecolonies.coremod.permissions.ColonyPermissionEventHandler;
+import com.minecolonies.coremod.util.ColonyProfiler;
 import com.minecolonies.coremod.util.ServerUtils;
 import net.minecraft.block.Block;
 import net.minecraft.block.state.IBlockState;
@@ -31,7 +31,6 @@ import net.minecraft.nbt.NBTUtil;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.EnumDifficulty;
 import net.minecraft.world.World;
-import net.minecraft.world.chunk.Chunk;
 import net.minecraftforge.common.DimensionManager;
 import net.minecraftforge.common.MinecraftForge;
 import net.minecraftforge.common.util.Constants.NBT;
@@ -47,7 +46,6 @@ import static com.minecolonies.api.util.constant.ColonyConstants.*;
 import static com.minecolonies.api.util.constant.Constants.*;
 import static com.minecolonies.api.util.constant.NbtTagConstants.*;
 import static com.minecolonies.api.util.constant.TranslationConstants.*;
-import static com.minecolonies.coremod.MineColonies.CLOSE_COLONY_CAP;
 import static com.minecolonies.coremod.colony.ColonyManager.*;
 
 /**
@@ -57,6 +55,16 @@ import static com.minecolonies.coremod.colony.ColonyManager.*;
 @SuppressWarnings({Suppression.BIG_CLASS, Suppression.SPLIT_CLASS})
 public class Colony implements IColony
 {
+    /**
+     * The names of the profiled sections of the colony ticks.
+     */
+    private static final String PROFILE_WORLD_TICK      = "worldTick";
+    private static final String PROFILE_SERVER_TICK     = "serverTick";
+    private static final String PROFILE_CITIZEN_MANAGER = "CitizenManager";
+    private static final String PROFILE_WORK_MANAGER    = "WorkManager";
+    private static final String PROFILE_REQUEST_SYSTEM  = "RequestManager";
+    private static final String PROFILE_PACKAGE_MANAGER = "ColonyPackageManager";
+
     /**
      * The default style for the building.
      */
@@ -107,6 +115,11 @@ public class Colony implements IColony
      */
     private final IColonyPackageManager packageManager = new ColonyPackageManager(this);
 
+    /**
+     * The day phase deciding if citizens may rest.
+     */
+    private final ColonyRestSchedule restSchedule = new ColonyRestSchedule();
+
     /**
      * The Positions which players can freely interact.
      */
@@ -520,10 +533,16 @@ public class Colony implements IColony
      */
     public void onServerTick(@NotNull final TickEvent.ServerTickEvent event)
     {
+        final long profile = ColonyProfiler.start();
         buildingManager.tick(event);
 
+        long section = ColonyProfiler.start();
         getRequestManager().update();
+        ColonyProfiler.end(section, id, ColonyProfiler.Category.MANAGER, PROFILE_REQUEST_SYSTEM);
+
+        section = ColonyProfiler.start();
         packageManager.updateSubscribers();
+        ColonyProfiler.end(section, id, ColonyProfiler.Category.MANAGER, PROFILE_PACKAGE_MANAGER);
 
         final List<EntityPlayer> visitors = new ArrayList<>(visitingPlayers);
         //Clean up visiting player.
@@ -534,6 +553,7 @@ public class Colony implements IColony
                 visitingPlayers.remove(player);
             }
         }
+        ColonyProfiler.end(profile, id, ColonyProfiler.Category.COLONY, PROFILE_SERVER_TICK);
     }
 
     /**
@@ -639,13 +659,17 @@ public class Colony implements IColony
             return;
         }
 
+        final long profile = ColonyProfiler.start();
+
         //  Cleanup Buildings whose Blocks have gone AWOL
         buildingManager.cleanUpBuildings(event);
 
         // Clean up or spawn citizens.
         if (!packageManager.getSubscribers().isEmpty())
         {
+            final long section = ColonyProfiler.start();
             citizenManager.onWorldTick(event);
+            ColonyProfiler.end(section, id, ColonyProfiler.Category.MANAGER, PROFILE_CITIZEN_MANAGER);
         }
 
         if (shallUpdate(world, TICKS_SECOND)
@@ -674,9 +698,12 @@ public class Colony implements IColony
         {
             isDay = true;
         }
+        restSchedule.update(isDay, barbarianManager.isRaidActive());
 
         updateWayPoints();
+        final long section = ColonyProfiler.start();
         workManager.onWorldTick(event);
+        ColonyProfiler.end(section, id, ColonyProfiler.Category.MANAGER, PROFILE_WORK_MANAGER);
 
         if(this.isDirty && shallUpdate(world, CLEANUP_TICK_INCREMENT))
         {
@@ -684,6 +711,7 @@ public class Colony implements IColony
             @NotNull final File saveDir = new File(DimensionManager.getWorld(0).getSaveHandler().getWorldDirectory(), FILENAME_MINECOLONIES_PATH);
             ColonyManager.saveNBTToPath(new File(saveDir, String.format(FILENAME_COLONY, this.getID())), this.getColonyTag());
         }
+        ColonyProfiler.end(profile, id, ColonyProfiler.Category.COLONY, PROFILE_WORLD_TICK);
     }
 
     /**
@@ -780,9 +808,7 @@ public class Colony implements IColony
     @Override
     public boolean isCoordInColony(@NotNull final World w, @NotNull final BlockPos pos)
     {
-        final Chunk chunk = w.getChunkFromBlockCoords(pos);
-        final IColonyTagCapability cap = chunk.getCapability(CLOSE_COLONY_CAP, null);
-        return cap.getOwningColony() == this.getID();
+        return ColonyManager.getColony(w, pos) == this;
     }
 
     @Override
@@ -1111,6 +1137,15 @@ public class Colony implements IColony
         return barbarianManager;
     }
 
+    /**
+     * Get the day phase of the colony deciding if citizens may rest.
+     * @return the schedule.
+     */
+    public ColonyRestSchedule getRestSchedule()
+    {
+        return restSchedule;
+    }
+
     /**
      * Get the packagemanager of the colony.
      * @return the manager.
@@ -0,0 +1,133 @@
+package com.minecolonies.coremod.colony;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+
+/**
+ * Index of the colonies by the hours since their last contact with a player,
+ * so finding the colonies abandoned for some time only visits those colonies.
+ */
+public final class ColonyAbandonmentIndex
+{
+    /**
+     * The hours since the last contact by colony.
+     */
+    private final Map<Integer, Integer> hoursByColony = new HashMap<>();
+
+    /**
+     * The colonies by hours since the last contact, ordered by id within the same hours.
+     */
+    private final NavigableMap<Integer, NavigableSet<Integer>> coloniesByHours = new TreeMap<>();
+
+    /**
+     * Set the hours since the last contact of a colony, adding it if it is new.
+     *
+     * @param colonyId the colony.
+     * @param hours    the hours since the last contact.
+     */
+    public void update(final int colonyId, final int hours)
+    {
+        final Integer previous = hoursByColony.put(colonyId, hours);
+        if (previous != null)
+        {
+            if (previous == hours)
+            {
+                return;
+            }
+            removeFromBucket(colonyId, previous);
+        }
+        coloniesByHours.computeIfAbsent(hours, key -> new TreeSet<>()).add(colonyId);
+    }
+
+    /**
+     * Remove a colony.
+     *
+     * @param colonyId the colony.
+     */
+    public void remove(final int colonyId)
+    {
+        final Integer previous = hoursByColony.remove(colonyId);
+        if (previous != null)
+        {
+            removeFromBucket(colonyId, previous);
+        }
+    }
+
+    /**
+     * Remove all colonies.
+     */
+    public void clear()
+    {
+        hoursByColony.clear();
+        coloniesByHours.clear();
+    }
+
+    /**
+     * Count the colonies without contact for at least some hours.
+     *
+     * @param hours the hours.
+     * @return the amount of colonies.
+     */
+    public int countAbandonedSince(final int hours)
+    {
+        int count = 0;
+        for (final Set<Integer> colonies : coloniesByHours.tailMap(hours, true).values())
+        {
+            count += colonies.size();
+        }
+        return count;
+    }
+
+    /**
+     * Get a page of the colonies without contact for at least some hours, the longest abandoned ones first.
+     *
+     * @param hours the hours.
+     * @param skip  the amount of colonies to skip.
+     * @param limit the max amount of colonies to return.
+     * @return the ids of the colonies.
+     */
+    @NotNull
+    public List<Integer> getAbandonedSince(final int hours, final int skip, final int limit)
+    {
+        final List<Integer> page = new ArrayList<>();
+        int toSkip = skip;
+        for (final Set<Integer> colonies : coloniesByHours.tailMap(hours, true).descendingMap().values())
+        {
+            if (toSkip >= colonies.size())
+            {
+                toSkip -= colonies.size();
+                continue;
+            }
+
+            for (final int colonyId : colonies)
+            {
+                if (toSkip > 0)
+                {
+                    toSkip--;
+                }
+                else if (page.size() < limit)
+                {
+                    page.add(colonyId);
+                }
+                else
+                {
+                    return page;
+                }
+            }
+        }
+        return page;
+    }
+
+    /**
+     * Remove a colony from the set of its hours.
+     */
+    private void removeFromBucket(final int colonyId, final int hours)
+    {
+        final Set<Integer> colonies = coloniesByHours.get(hours);
+        if (colonies != null && colonies.remove(colonyId) && colonies.isEmpty())
+        {
+            coloniesByHours.remove(hours);
+        }
+    }
+}
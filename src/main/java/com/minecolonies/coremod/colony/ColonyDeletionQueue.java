@@ -0,0 +1,300 @@
+package com.minecolonies.coremod.colony;
+
+import com.minecolonies.api.configuration.Configurations;
+import com.minecolonies.api.util.Log;
+import com.minecolonies.coremod.blocks.AbstractBlockHut;
+import com.minecolonies.coremod.colony.buildings.AbstractBuilding;
+import net.minecraft.command.ICommandSender;
+import net.minecraft.util.DamageSource;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.text.TextComponentString;
+import net.minecraft.world.World;
+import net.minecraftforge.common.DimensionManager;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+import static com.minecolonies.coremod.colony.ColonyManager.FILENAME_COLONY;
+import static com.minecolonies.coremod.colony.ColonyManager.FILENAME_MINECOLONIES_PATH;
+
+/**
+ * Queue of colonies being deleted, worked on for a limited time each server tick.
+ * <p>
+ * A queued colony is taken out of the manager right away, so it stops ticking and is not found anymore.
+ * Its claims are then released one chunk column at a time, its citizens killed and its buildings purged one at a time,
+ * and at last its save file is removed.
+ * Deletions still queued when the server stops are finished right away, as the released claims would not come back.
+ */
+public final class ColonyDeletionQueue
+{
+    /**
+     * The damage source used to kill citizens.
+     */
+    private static final DamageSource CONSOLE_DAMAGE_SOURCE = new DamageSource("Console");
+
+    /**
+     * The jobs in the order they were queued.
+     */
+    private static final Deque<DeletionJob> jobs = new ArrayDeque<>();
+
+    /**
+     * Private constructor to hide the implicit public one.
+     */
+    private ColonyDeletionQueue()
+    {
+        //Hide implicit public constructor.
+    }
+
+    /**
+     * Queue a colony to be deleted.
+     *
+     * @param colony     the colony.
+     * @param canDestroy if the buildings should be destroyed.
+     * @param sender     told about the progress, may be null.
+     */
+    public static void enqueue(@NotNull final Colony colony, final boolean canDestroy, @Nullable final ICommandSender sender)
+    {
+        ColonyManager.detachColony(colony);
+        jobs.add(new DeletionJob(colony, canDestroy, sender));
+    }
+
+    /**
+     * Delete a colony right away.
+     *
+     * @param colony     the colony.
+     * @param canDestroy if the buildings should be destroyed.
+     */
+    public static void deleteNow(@NotNull final Colony colony, final boolean canDestroy)
+    {
+        ColonyManager.detachColony(colony);
+        new DeletionJob(colony, canDestroy, null).finish();
+    }
+
+    /**
+     * Work on the queued deletions until the time budget of this tick is used up, at least one step per tick.
+     */
+    public static void onServerTick()
+    {
+        if (jobs.isEmpty())
+        {
+            return;
+        }
+
+        final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(Configurations.gameplay.maxDeletionTimePerTick);
+        do
+        {
+            final DeletionJob job = jobs.peek();
+            if (job.step())
+            {
+                jobs.poll();
+                job.report(jobs.size());
+            }
+        }
+        while (!jobs.isEmpty() && System.nanoTime() < deadline);
+    }
+
+    /**
+     * Finish all queued deletions right away, for example when the server stops,
+     * so no colony is left with released claims but its save file still there.
+     */
+    public static void finishAll()
+    {
+        while (!jobs.isEmpty())
+        {
+            final DeletionJob job = jobs.poll();
+            job.finish();
+            job.report(jobs.size());
+        }
+    }
+
+    /**
+     * A colony being deleted.
+     */
+    private static final class DeletionJob
+    {
+        /**
+         * The colony.
+         */
+        private final Colony colony;
+
+        /**
+         * If the buildings should be destroyed.
+         */
+        private final boolean canDestroy;
+
+        /**
+         * Told about the progress, may be null.
+         */
+        @Nullable
+        private final ICommandSender sender;
+
+        /**
+         * The center chunk and the claimed range, taken from the config like when claiming.
+         */
+        private final int chunkX;
+        private final int chunkZ;
+        private final int range;
+        private final int buffer;
+
+        /**
+         * The citizens left to kill.
+         */
+        private final Deque<CitizenData> citizens;
+
+        /**
+         * The buildings left to purge.
+         */
+        private final Deque<AbstractBuilding> buildings;
+
+        /**
+         * The worlds citizens were killed in, the huts are removed from them.
+         */
+        private final Set<World> colonyWorlds = new HashSet<>();
+
+        /**
+         * The next chunk column to release, the central chunk is released before the first column.
+         */
+        private int nextColumn;
+
+        /**
+         * If the central chunk was released.
+         */
+        private boolean centralChunkReleased = false;
+
+        /**
+         * Create a new job.
+         *
+         * @param colony     the colony.
+         * @param canDestroy if the buildings should be destroyed.
+         * @param sender     told about the progress.
+         */
+        private DeletionJob(@NotNull final Colony colony, final boolean canDestroy, @Nullable final ICommandSender sender)
+        {
+            this.colony = colony;
+            this.canDestroy = canDestroy;
+            this.sender = sender;
+            this.chunkX = colony.getCenter().getX() >> 4;
+            this.chunkZ = colony.getCenter().getZ() >> 4;
+            this.range = Configurations.gameplay.workingRangeTownHallChunks;
+            this.buffer = Configurations.gameplay.townHallPaddingChunk;
+            this.nextColumn = chunkX - (range * 2 + buffer);
+            this.citizens = new ArrayDeque<>(colony.getCitizenManager().getCitizens());
+            this.buildings = canDestroy ? new ArrayDeque<>(colony.getBuildingManager().getBuildings().values()) : new ArrayDeque<>();
+        }
+
+        /**
+         * Do the next step of the deletion.
+         *
+         * @return true once the colony is deleted.
+         */
+        private boolean step()
+        {
+            try
+            {
+                if (!centralChunkReleased)
+                {
+                    centralChunkReleased = true;
+                    if (colony.getWorld() != null)
+                    {
+                        ColonyManager.claimCentralChunk(colony.getWorld().getChunkFromBlockCoords(colony.getCenter()), false, colony.getID());
+                    }
+                    Log.getLogger().info("Removing citizens for " + colony.getID());
+                    return false;
+                }
+
+                if (nextColumn <= chunkX + range * 2 + buffer)
+                {
+                    ColonyManager.claimChunkColumn(colony.getID(), colony.getDimension(), false, chunkX, chunkZ, range, buffer, nextColumn++);
+                    return false;
+                }
+
+                if (!citizens.isEmpty())
+                {
+                    killCitizen(citizens.poll());
+                    return false;
+                }
+
+                if (!buildings.isEmpty())
+                {
+                    destroyBuilding(buildings.poll());
+                    return false;
+                }
+            }
+            catch (final RuntimeException e)
+            {
+                Log.getLogger().warn("Deleting Colony " + colony.getID() + " errored:", e);
+                return false;
+            }
+
+            @NotNull final File saveDir = new File(DimensionManager.getWorld(0).getSaveHandler().getWorldDirectory(), FILENAME_MINECOLONIES_PATH);
+            @NotNull final File file = new File(saveDir, String.format(FILENAME_COLONY, colony.getID()));
+            file.delete();
+            ColonyManager.markDirty();
+            Log.getLogger().info("Done with " + colony.getID());
+            return true;
+        }
+
+        /**
+         * Do all remaining steps at once.
+         */
+        private void finish()
+        {
+            while (!step())
+            {
+                // Run all steps at once.
+            }
+        }
+
+        /**
+         * Kill a citizen of the colony.
+         *
+         * @param citizenData the citizen.
+         */
+        private void killCitizen(@NotNull final CitizenData citizenData)
+        {
+            Log.getLogger().info("Kill Citizen " + citizenData.getName());
+            citizenData.getCitizenEntity().ifPresent(entityCitizen -> {
+                final World world = entityCitizen.getEntityWorld();
+                entityCitizen.onDeath(CONSOLE_DAMAGE_SOURCE);
+                colonyWorlds.add(world);
+            });
+        }
+
+        /**
+         * Deconstruct a building and remove its hut.
+         *
+         * @param building the building.
+         */
+        private void destroyBuilding(@NotNull final AbstractBuilding building)
+        {
+            final BlockPos location = building.getLocation();
+            Log.getLogger().info("Delete Building at " + location);
+            building.deconstruct();
+            building.destroy();
+            for (final World world : colonyWorlds)
+            {
+                if (world.getBlockState(location).getBlock() instanceof AbstractBlockHut)
+                {
+                    Log.getLogger().info("Found Block, deleting " + world.getBlockState(location).getBlock());
+                    world.setBlockToAir(location);
+                }
+            }
+        }
+
+        /**
+         * Tell the sender the colony is deleted.
+         *
+         * @param remaining the amount of colonies still queued.
+         */
+        private void report(final int remaining)
+        {
+            if (sender != null)
+            {
+                sender.sendMessage(new TextComponentString("Deleted colony " + colony.getID() + ", " + remaining + " left to delete."));
+            }
+        }
+    }
+}
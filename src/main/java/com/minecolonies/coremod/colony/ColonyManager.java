@@ -15,19 +15,21 @@ import com.minecolonies.api.util.Log;
 import com.minecolonies.api.util.Utils;
 import com.minecolonies.coremod.MineColonies;
 import com.minecolonies.coremod.achievements.ModAchievements;
-import com.minecolonies.coremod.blocks.AbstractBlockHut;
 import com.minecolonies.coremod.colony.buildings.AbstractBuilding;
 import com.minecolonies.coremod.colony.buildings.views.AbstractBuildingView;
 import com.minecolonies.coremod.colony.requestsystem.management.manager.StandardRecipeManager;
+import com.minecolonies.coremod.entity.ai.mobs.util.BarbarianFlowFields;
 import com.minecolonies.coremod.network.messages.UpdateChunkCapabilityMessage;
 import com.minecolonies.coremod.util.AchievementUtils;
+import com.minecolonies.coremod.util.StructurePlacementQueue;
+import com.minecolonies.coremod.util.StructureScanQueue;
 import io.netty.buffer.ByteBuf;
 import net.minecraft.client.Minecraft;
+import net.minecraft.command.ICommandSender;
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.nbt.CompressedStreamTools;
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.nbt.NBTTagList;
-import net.minecraft.util.DamageSource;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.ChunkPos;
 import net.minecraft.world.World;
@@ -47,12 +49,14 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.text.SimpleDateFormat;
 import java.util.*;
+import java.util.stream.Collectors;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipOutputStream;
 
 import static com.minecolonies.api.util.constant.Constants.BLOCKS_PER_CHUNK;
 import static com.minecolonies.api.util.constant.Constants.HALF_A_CIRCLE;
 import static com.minecolonies.api.util.constant.NbtTagConstants.TAG_COMPATABILITY_MANAGER;
+import static com.minecolonies.api.util.constant.NbtTagConstants.TAG_DIMENSION;
 import static com.minecolonies.api.util.constant.NbtTagConstants.TAG_MISSING_CHUNKS;
 import static com.minecolonies.coremod.MineColonies.CLOSE_COLONY_CAP;
 
@@ -96,6 +100,16 @@ public final class ColonyManager
      */
     private static final String TAG_COLONIES = "colonies";
 
+    /**
+     * The tag of the chunk claims of the colony index, by dimension.
+     */
+    private static final String TAG_CLAIMS = "claims";
+
+    /**
+     * The tag of the claims of one dimension.
+     */
+    private static final String TAG_DIMENSION_CLAIMS = "dimensionClaims";
+
     /**
      * Compound tag key for the recipe manager.
      */
@@ -116,11 +130,6 @@ public final class ColonyManager
      */
     private static final String FILENAME_CHUNK = "chunk-%d_%d_%d";
 
-    /**
-     * The damage source used to kill citizens.
-     */
-    private static final DamageSource               CONSOLE_DAMAGE_SOURCE = new DamageSource("Console");
-
     /**
      * The list of all colonies.
      */
@@ -133,6 +142,18 @@ public final class ColonyManager
     @NotNull
     private static final Map<Integer, List<Colony>> coloniesByWorld = new HashMap<>();
 
+    /**
+     * Position index of the colonies, by dimension.
+     */
+    @NotNull
+    private static final Map<Integer, ColonySpatialIndex> spatialIndexByWorld = new HashMap<>();
+
+    /**
+     * The colonies by hours since their last contact.
+     */
+    @NotNull
+    private static final ColonyAbandonmentIndex abandonmentIndex = new ColonyAbandonmentIndex();
+
     /**
      * The list of colony views.
      */
@@ -170,6 +191,11 @@ public final class ColonyManager
      */
     private static int missingChunksToLoad = 0;
 
+    /**
+     * If the loaded save has no stored claims, the claims of the chunks are taken into the index as they load until the server stops.
+     */
+    private static boolean migrateLegacyClaims = false;
+
     /**
      * Creates a new compatabilityManager.
      */
@@ -219,10 +245,34 @@ public final class ColonyManager
     public static void claimColonyChunks(final World world, final boolean add, final int id, final BlockPos center, final int dimension)
     {
         final Chunk centralChunk = world.getChunkFromBlockCoords(center);
+        final int chunkX = centralChunk.x;
+        final int chunkZ = centralChunk.z;
+
+        final int range = Configurations.gameplay.workingRangeTownHallChunks;
+        final int buffer = Configurations.gameplay.townHallPaddingChunk;
+
         if(centralChunk.getCapability(CLOSE_COLONY_CAP, null).getOwningColony() == id && add)
         {
+            // The chunks are claimed already, only saves without stored claims rebuild them in the index after loading.
+            if (!getSpatialIndex(dimension).hasClaims(id))
+            {
+                getSpatialIndex(dimension).claim(id, chunkX, chunkZ, range, buffer);
+            }
             return;
         }
+        claimCentralChunk(centralChunk, add, id);
+        claimChunksInRange(id, dimension, add, chunkX, chunkZ, range, buffer);
+    }
+
+    /**
+     * Claim or release the central chunk of a colony right away.
+     *
+     * @param centralChunk the chunk of the colony center.
+     * @param add          claim or release.
+     * @param id           the colony id.
+     */
+    static void claimCentralChunk(@NotNull final Chunk centralChunk, final boolean add, final int id)
+    {
         final IColonyTagCapability cap = centralChunk.getCapability(CLOSE_COLONY_CAP, null);
 
         if(add)
@@ -236,15 +286,6 @@ public final class ColonyManager
         }
         centralChunk.markDirty();
         MineColonies.getNetwork().sendToAll(new UpdateChunkCapabilityMessage(centralChunk.getCapability(CLOSE_COLONY_CAP, null), centralChunk.x, centralChunk.z));
-
-        final int chunkX = centralChunk.x;
-        final int chunkZ = centralChunk.z;
-
-        final int range = Configurations.gameplay.workingRangeTownHallChunks;
-        final int buffer = Configurations.gameplay.townHallPaddingChunk;
-
-
-        claimChunksInRange(id, dimension, add, chunkX, chunkZ, range, buffer);
     }
 
     /**
@@ -258,39 +299,77 @@ public final class ColonyManager
      * @param buffer the buffer.
      */
     public static void claimChunksInRange(final int colonyId, final int dimension, final boolean add, final int chunkX, final int chunkZ, final int range, final int buffer)
+    {
+        if (add)
+        {
+            getSpatialIndex(dimension).claim(colonyId, chunkX, chunkZ, range, buffer);
+        }
+        else
+        {
+            getSpatialIndex(dimension).unclaim(colonyId, chunkX, chunkZ, range, buffer);
+        }
+        markDirty();
+
+        final int maxRange = range * 2 + buffer;
+        for(int i = chunkX - maxRange; i <= chunkX + maxRange; i++)
+        {
+            claimChunkColumn(colonyId, dimension, add, chunkX, chunkZ, range, buffer, i);
+        }
+    }
+
+    /**
+     * Claim or release the chunks of one column of a range, see {@link #claimChunksInRange(int, int, boolean, int, int, int, int)}.
+     * The claims are stored to be applied once the chunks load.
+     *
+     * @param colonyId  the colony id.
+     * @param dimension the dimension.
+     * @param add       if claim or unclaim.
+     * @param chunkX    the chunkX starter position.
+     * @param chunkZ    the chunkZ starter position.
+     * @param range     the range.
+     * @param buffer    the buffer.
+     * @param column    the chunk x of the column.
+     */
+    static void claimChunkColumn(
+      final int colonyId,
+      final int dimension,
+      final boolean add,
+      final int chunkX,
+      final int chunkZ,
+      final int range,
+      final int buffer,
+      final int column)
     {
         @NotNull final File chunkDir = new File(DimensionManager.getWorld(0).getSaveHandler().getWorldDirectory(), CHUNK_INFO_PATH);
         Utils.checkDirectory(chunkDir);
         final int maxRange = range * 2 + buffer;
+        final int i = column;
 
-        for(int i = chunkX - maxRange; i <= chunkX + maxRange; i++)
+        for (int j = chunkZ - maxRange; j <= chunkZ + maxRange; j++)
         {
-            for (int j = chunkZ - maxRange; j <= chunkZ + maxRange; j++)
+            final boolean owning = i >= chunkX - range && j >= chunkZ - range && i <= chunkX + range && j <= chunkZ + range;
+            @NotNull final ChunkLoadStorage newStorage = new ChunkLoadStorage(colonyId, ChunkPos.asLong(i, j), add, dimension, owning);
+            @NotNull final File file = new File(chunkDir, String.format(FILENAME_CHUNK, i, j, dimension));
+            if (file.exists())
             {
-                final boolean owning = i >= chunkX - range && j >= chunkZ - range && i <= chunkX + range && j <= chunkZ + range;
-                @NotNull final ChunkLoadStorage newStorage = new ChunkLoadStorage(colonyId, ChunkPos.asLong(i, j), add, dimension, owning);
-                @NotNull final File file = new File(chunkDir, String.format(FILENAME_CHUNK, i, j, dimension));
-                if (file.exists())
+                @Nullable final NBTTagCompound chunkData = loadNBTFromPath(file);
+                final ChunkLoadStorage storage = new ChunkLoadStorage(chunkData);
+                storage.merge(newStorage);
+                if (storage.isEmpty())
                 {
-                    @Nullable final NBTTagCompound chunkData = loadNBTFromPath(file);
-                    final ChunkLoadStorage storage = new ChunkLoadStorage(chunkData);
-                    storage.merge(newStorage);
-                    if (storage.isEmpty())
-                    {
-                        file.delete();
-                    }
-                    else
-                    {
-                        saveNBTToPath(file, storage.toNBT());
-                        missingChunksToLoad++;
-                    }
+                    file.delete();
                 }
                 else
                 {
-                    saveNBTToPath(file, newStorage.toNBT());
+                    saveNBTToPath(file, storage.toNBT());
                     missingChunksToLoad++;
                 }
             }
+            else
+            {
+                saveNBTToPath(file, newStorage.toNBT());
+                missingChunksToLoad++;
+            }
         }
     }
 
@@ -327,6 +406,11 @@ public final class ColonyManager
                 missingChunksToLoad--;
             }
         }
+
+        if (migrateLegacyClaims)
+        {
+            migrateChunkClaims(chunk, world);
+        }
     }
 
     private static void addColonyByWorld(final Colony colony)
@@ -335,74 +419,155 @@ public final class ColonyManager
         {
             coloniesByWorld.computeIfAbsent(colony.getDimension(), ArrayList::new).add(colony);
         }
+        getSpatialIndex(colony.getDimension()).setCenter(colony.getID(), colony.getCenter().getX(), colony.getCenter().getZ());
+        abandonmentIndex.update(colony.getID(), colony.getLastContactInHours());
     }
 
     /**
-     * Specify that colonies should be saved.
+     * Take a colony out of the manager and the indices, so it is neither ticked nor found anymore.
+     * Its data is removed by the deletion job afterwards.
+     *
+     * @param colony the colony.
      */
-    public static void markDirty()
+    static void detachColony(@NotNull final Colony colony)
     {
-        saveNeeded = true;
+        MinecraftForge.EVENT_BUS.unregister(colony.getEventHandler());
+        colonies.remove(colony.getID());
+        final List<Colony> coloniesInWorld = coloniesByWorld.get(colony.getDimension());
+        if (coloniesInWorld != null)
+        {
+            coloniesInWorld.remove(colony);
+        }
+        getSpatialIndex(colony.getDimension()).removeColony(colony.getID());
+        abandonmentIndex.remove(colony.getID());
     }
 
     /**
-     * Delete a colony and kill all citizens/purge all buildings.
+     * Update the hours since the last contact of a colony.
      *
-     * @param id the colonies id.
+     * @param colonyId the colony.
+     * @param hours    the hours since the last contact.
      */
-    public static void deleteColony(final int id, final boolean canDestroy)
+    public static void updateLastContact(final int colonyId, final int hours)
     {
-        try
+        abandonmentIndex.update(colonyId, hours);
+    }
+
+    /**
+     * Get the position index of the colonies of a dimension.
+     *
+     * @param dimension the dimension.
+     * @return the index, empty if the dimension has no colonies.
+     */
+    @NotNull
+    private static ColonySpatialIndex getSpatialIndex(final int dimension)
+    {
+        return spatialIndexByWorld.computeIfAbsent(dimension, dim -> new ColonySpatialIndex());
+    }
+
+    /**
+     * Get the id of the colony owning a chunk on the server, from the index.
+     *
+     * @param w      the world.
+     * @param chunkX the chunk x.
+     * @param chunkZ the chunk z.
+     * @return the id or 0 if no colony owns it.
+     */
+    private static int getOwningColonyId(@NotNull final World w, final int chunkX, final int chunkZ)
+    {
+        return getSpatialIndex(w.provider.getDimension()).getOwningColony(chunkX, chunkZ);
+    }
+
+    /**
+     * Get the ids of the colonies close to a chunk on the server, from the index.
+     *
+     * @param w      the world.
+     * @param chunkX the chunk x.
+     * @param chunkZ the chunk z.
+     * @return the ids, empty if none.
+     */
+    @NotNull
+    private static Set<Integer> getCloseColonyIds(@NotNull final World w, final int chunkX, final int chunkZ)
+    {
+        return getSpatialIndex(w.provider.getDimension()).getCloseColonies(chunkX, chunkZ);
+    }
+
+    /**
+     * Take over the claims of a chunk into the index, for saves from before the index stored its claims.
+     * Claims by command or with another town hall range only exist in the chunk data there.
+     *
+     * @param chunk the loaded chunk.
+     * @param world the world of the chunk.
+     */
+    private static void migrateChunkClaims(@NotNull final Chunk chunk, @NotNull final World world)
+    {
+        final IColonyTagCapability cap = chunk.getCapability(CLOSE_COLONY_CAP, null);
+        if (cap == null)
         {
-            final Colony colony = getColony(id);
-            ColonyManager.claimColonyChunks(colony.getWorld(), false, id, colony.getCenter(), colony.getDimension());
-            final Set<World> colonyWorlds = new HashSet<>();
-            Log.getLogger().info("Removing citizens for " + id);
-            for (final CitizenData citizenData : new ArrayList<>(colony.getCitizenManager().getCitizens()))
+            return;
+        }
+
+        final ColonySpatialIndex index = getSpatialIndex(world.provider.getDimension());
+        final Set<Integer> close = index.getCloseColonies(chunk.x, chunk.z);
+        for (final int id : cap.getAllCloseColonies())
+        {
+            if (!close.contains(id) && getColony(id) != null)
             {
-                Log.getLogger().info("Kill Citizen " + citizenData.getName());
-                citizenData.getCitizenEntity().ifPresent(entityCitizen -> {
-                    final World world = entityCitizen.getEntityWorld();
-                    entityCitizen.onDeath(CONSOLE_DAMAGE_SOURCE);
-                    colonyWorlds.add(world);
-                });
+                index.claimChunk(id, chunk.x, chunk.z, false);
+                markDirty();
             }
+        }
 
-            if (canDestroy)
+        final int owner = cap.getOwningColony();
+        if (owner != index.getOwningColony(chunk.x, chunk.z))
+        {
+            if (owner == 0)
             {
-                Log.getLogger().info("Removing buildings for " + id);
-                for (final AbstractBuilding building : new ArrayList<>(colony.getBuildingManager().getBuildings().values()))
-                {
-                    final BlockPos location = building.getLocation();
-                    Log.getLogger().info("Delete Building at " + location);
-                    building.deconstruct();
-                    building.destroy();
-                    for (final World world : colonyWorlds)
-                    {
-                        if (world.getBlockState(location).getBlock() instanceof AbstractBlockHut)
-                        {
-                            Log.getLogger().info("Found Block, deleting " + world.getBlockState(location).getBlock());
-                            world.setBlockToAir(location);
-                        }
-                    }
-                }
+                index.releaseChunk(chunk.x, chunk.z);
+                markDirty();
+            }
+            else if (getColony(owner) != null)
+            {
+                index.claimChunk(owner, chunk.x, chunk.z, true);
+                markDirty();
             }
+        }
+    }
 
-            MinecraftForge.EVENT_BUS.unregister(colony.getEventHandler());
-            Log.getLogger().info("Deleting colony: " + colony.getID());
-            colonies.remove(id);
-            coloniesByWorld.get(colony.getDimension()).remove(colony);
+    /**
+     * Specify that colonies should be saved.
+     */
+    public static void markDirty()
+    {
+        saveNeeded = true;
+    }
 
-            Log.getLogger().info("Done with " + id);
-        }
-        catch (final RuntimeException e)
+    /**
+     * Delete a colony and kill all citizens/purge all buildings.
+     *
+     * @param id the colonies id.
+     */
+    public static void deleteColony(final int id, final boolean canDestroy)
+    {
+        final Colony colony = getColony(id);
+        if (colony == null)
         {
-            Log.getLogger().warn("Deleting Colony " + id + " errored:", e);
+            Log.getLogger().warn("Deleting Colony " + id + " errored: no such colony");
+            return;
         }
-        @NotNull final File saveDir = new File(DimensionManager.getWorld(0).getSaveHandler().getWorldDirectory(), FILENAME_MINECOLONIES_PATH);
-        @NotNull final File file = new File(saveDir, String.format(FILENAME_COLONY, id));
-        file.delete();
-        ColonyManager.markDirty();
+        ColonyDeletionQueue.deleteNow(colony, canDestroy);
+    }
+
+    /**
+     * Queue a colony to be deleted over the next ticks, killing its citizens and purging its buildings a few at a time.
+     *
+     * @param colony     the colony.
+     * @param canDestroy if the buildings should be destroyed.
+     * @param sender     told about the progress, may be null.
+     */
+    public static void deleteColonyLater(@NotNull final Colony colony, final boolean canDestroy, @Nullable final ICommandSender sender)
+    {
+        ColonyDeletionQueue.enqueue(colony, canDestroy, sender);
     }
 
     /**
@@ -465,8 +630,7 @@ public final class ColonyManager
      */
     public static Colony getColony(@NotNull final World w, @NotNull final BlockPos pos)
     {
-        final Chunk centralChunk = w.getChunkFromBlockCoords(pos);
-        final int id = centralChunk.getCapability(CLOSE_COLONY_CAP, null).getOwningColony();
+        final int id = getOwningColonyId(w, pos.getX() >> 4, pos.getZ() >> 4);
         if(id == 0)
         {
             return null;
@@ -476,6 +640,7 @@ public final class ColonyManager
 
     /**
      * check if a position is too close to another colony.
+     * The server answers from the colony index, the client from the synced chunk data.
      *
      * @param w   World.
      * @param pos coordinates.
@@ -483,6 +648,10 @@ public final class ColonyManager
      */
     public static boolean isTooCloseToColony(@NotNull final World w, @NotNull final BlockPos pos)
     {
+        if (!w.isRemote)
+        {
+            return !getCloseColonyIds(w, pos.getX() >> 4, pos.getZ() >> 4).isEmpty();
+        }
         final Chunk centralChunk = w.getChunkFromBlockCoords(pos);
         return !centralChunk.getCapability(CLOSE_COLONY_CAP, null).getAllCloseColonies().isEmpty();
     }
@@ -515,25 +684,73 @@ public final class ColonyManager
         return colonies.getCopyAsList();
     }
 
+    /**
+     * Get a page of the colonies in all worlds, ordered by id.
+     *
+     * @param skip  the amount of colonies to skip.
+     * @param limit the max amount of colonies to return.
+     * @return a list of colonies.
+     */
+    @NotNull
+    public static List<Colony> getColonies(final int skip, final int limit)
+    {
+        return colonies.stream().skip(skip).limit(limit).collect(Collectors.toList());
+    }
+
+    /**
+     * Get the amount of colonies in all worlds.
+     *
+     * @return the amount.
+     */
+    public static int getColonyCount()
+    {
+        return colonies.getSize();
+    }
+
     /**
      * Get all colonies in all worlds.
      *
      * @param abandonedSince time in hours since the last contact.
-     * @return a list of colonies.
+     * @return a list of colonies, the longest abandoned ones first.
      */
     @NotNull
     public static List<Colony> getColoniesAbandonedSince(final int abandonedSince)
     {
-        final List<Colony> sortedList = new ArrayList<>();
-        for (final Colony colony : colonies.getCopyAsList())
+        return getColoniesAbandonedSince(abandonedSince, 0, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Get a page of the colonies in all worlds without contact for some time.
+     *
+     * @param abandonedSince time in hours since the last contact.
+     * @param skip           the amount of colonies to skip.
+     * @param limit          the max amount of colonies to return.
+     * @return a list of colonies, the longest abandoned ones first.
+     */
+    @NotNull
+    public static List<Colony> getColoniesAbandonedSince(final int abandonedSince, final int skip, final int limit)
+    {
+        final List<Colony> abandoned = new ArrayList<>();
+        for (final int id : abandonmentIndex.getAbandonedSince(abandonedSince, skip, limit))
         {
-            if (colony.getLastContactInHours() >= abandonedSince)
+            final Colony colony = getColony(id);
+            if (colony != null)
             {
-                sortedList.add(colony);
+                abandoned.add(colony);
             }
         }
+        return abandoned;
+    }
 
-        return sortedList;
+    /**
+     * Count the colonies in all worlds without contact for some time.
+     *
+     * @param abandonedSince time in hours since the last contact.
+     * @return the amount of colonies.
+     */
+    public static int countColoniesAbandonedSince(final int abandonedSince)
+    {
+        return abandonmentIndex.countAbandonedSince(abandonedSince);
     }
 
     /**
@@ -677,21 +894,24 @@ public final class ColonyManager
      */
     public static Colony getClosestColony(@NotNull final World w, @NotNull final BlockPos pos)
     {
-        final Chunk chunk = w.getChunkFromBlockCoords(pos);
-        final IColonyTagCapability cap = chunk.getCapability(CLOSE_COLONY_CAP, null);
-        if(cap.getOwningColony() != 0)
+        final int chunkX = pos.getX() >> 4;
+        final int chunkZ = pos.getZ() >> 4;
+        final int owningColony = getOwningColonyId(w, chunkX, chunkZ);
+        if(owningColony != 0)
         {
-            return getColony(cap.getOwningColony());
+            return getColony(owningColony);
         }
-        else if(!cap.getAllCloseColonies().isEmpty())
+
+        final Set<Integer> closeColonies = getCloseColonyIds(w, chunkX, chunkZ);
+        if(!closeColonies.isEmpty())
         {
             @Nullable Colony closestColony = null;
             long closestDist = Long.MAX_VALUE;
 
-            for (@NotNull final int cId : cap.getAllCloseColonies())
+            for (final int cId : closeColonies)
             {
                 final Colony c = getColony(cId);
-                if (c != null && c.getDimension() == w.provider.getDimension())
+                if (c != null)
                 {
                     final long dist = c.getDistanceSquared(pos);
                     if (dist < closestDist)
@@ -704,23 +924,8 @@ public final class ColonyManager
             return closestColony;
         }
 
-        @Nullable Colony closestColony = null;
-        long closestDist = Long.MAX_VALUE;
-
-        for (@NotNull final Colony c : getColonies(w))
-        {
-            if (c.getDimension() == w.provider.getDimension())
-            {
-                final long dist = c.getDistanceSquared(pos);
-                if (dist < closestDist)
-                {
-                    closestColony = c;
-                    closestDist = dist;
-                }
-            }
-        }
-
-        return closestColony;
+        final int closestColony = index.getClosestColony(pos.getX(), pos.getZ());
+        return closestColony == 0 ? null : getColony(closestColony);
     }
 
     /**
@@ -824,6 +1029,9 @@ public final class ColonyManager
                 c.onServerTick(event);
             }
 
+            ColonyDeletionQueue.onServerTick();
+            SchematicCache.onServerTick();
+
             if (saveNeeded)
             {
                 saveColonies(false);
@@ -881,6 +1089,16 @@ public final class ColonyManager
         compound.setTag(RECIPE_MANAGER_TAG, recipeCompound);
         compound.setInteger(TAG_NEW_COLONIES, colonies.getTopID());
         compound.setInteger(TAG_MISSING_CHUNKS, missingChunksToLoad);
+
+        final NBTTagList claimTags = new NBTTagList();
+        for (final Map.Entry<Integer, ColonySpatialIndex> entry : spatialIndexByWorld.entrySet())
+        {
+            final NBTTagCompound dimensionCompound = new NBTTagCompound();
+            dimensionCompound.setInteger(TAG_DIMENSION, entry.getKey());
+            entry.getValue().writeClaimsToNBT(dimensionCompound, TAG_DIMENSION_CLAIMS);
+            claimTags.appendTag(dimensionCompound);
+        }
+        compound.setTag(TAG_CLAIMS, claimTags);
     }
 
     /**
@@ -943,6 +1161,13 @@ public final class ColonyManager
         if (event.phase == TickEvent.Phase.END)
         {
             getColonies(event.world).forEach(c -> c.onWorldTick(event));
+
+            if (!event.world.isRemote)
+            {
+                StructurePlacementQueue.onWorldTick(event.world);
+                StructureScanQueue.onWorldTick(event.world);
+                BarbarianFlowFields.onWorldTick(event.world);
+            }
         }
     }
 
@@ -1106,6 +1331,15 @@ public final class ColonyManager
                     (int) ((Math.cos(45.0 / HALF_A_CIRCLE * Math.PI) * Configurations.gameplay.workingRangeTownHall) / BLOCKS_PER_CHUNK);
         }
 
+        // The claims go first, so loading the colonies does not claim their chunks again with the current range.
+        migrateLegacyClaims = !compound.hasKey(TAG_CLAIMS);
+        final NBTTagList claimTags = compound.getTagList(TAG_CLAIMS, NBT.TAG_COMPOUND);
+        for (int i = 0; i < claimTags.tagCount(); ++i)
+        {
+            final NBTTagCompound dimensionCompound = claimTags.getCompoundTagAt(i);
+            getSpatialIndex(dimensionCompound.getInteger(TAG_DIMENSION)).readClaimsFromNBT(dimensionCompound, TAG_DIMENSION_CLAIMS);
+        }
+
         if(!compound.hasKey(TAG_NEW_COLONIES))
         {
             final NBTTagList colonyTags = compound.getTagList(TAG_COLONIES, NBT.TAG_COMPOUND);
@@ -1114,6 +1348,16 @@ public final class ColonyManager
                 @NotNull final Colony colony = Colony.loadColony(colonyTags.getCompoundTagAt(i), world);
                 colonies.add(colony);
                 addColonyByWorld(colony);
+
+                final ColonySpatialIndex index = getSpatialIndex(colony.getDimension());
+                if (!index.hasClaims(colony.getID()))
+                {
+                    index.claim(colony.getID(),
+                      colony.getCenter().getX() >> 4,
+                      colony.getCenter().getZ() >> 4,
+                      Configurations.gameplay.workingRangeTownHallChunks,
+                      Configurations.gameplay.townHallPaddingChunk);
+                }
             }
         }
 
@@ -1181,6 +1425,7 @@ public final class ColonyManager
         {
             if (world.provider.getDimension() == 0)
             {
+                ColonyDeletionQueue.finishAll();
                 saveColonies(true);
             }
 
@@ -1189,12 +1434,19 @@ public final class ColonyManager
             {
                 c.onWorldUnload(world);
             }
+            StructurePlacementQueue.onWorldUnload(world);
+            StructureScanQueue.onWorldUnload(world);
+            BarbarianFlowFields.onWorldUnload(world);
 
             --numWorldsLoaded;
             if (numWorldsLoaded == 0)
             {
                 colonies.clear();
                 coloniesByWorld.clear();
+                spatialIndexByWorld.clear();
+                migrateLegacyClaims = false;
+                abandonmentIndex.clear();
+                SchematicCache.clear();
             }
         }
     }
@@ -1437,6 +1689,10 @@ public final class ColonyManager
      */
     public static boolean isCoordinateInAnyColony(@NotNull final World world, final BlockPos pos)
     {
+        if (!world.isRemote)
+        {
+            return getOwningColonyId(world, pos.getX() >> 4, pos.getZ() >> 4) != 0;
+        }
         final Chunk centralChunk = world.getChunkFromBlockCoords(pos);
         return centralChunk.getCapability(CLOSE_COLONY_CAP, null).getOwningColony() != 0;
     }
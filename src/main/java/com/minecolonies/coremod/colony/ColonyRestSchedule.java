@@ -0,0 +1,111 @@
+package com.minecolonies.coremod.colony;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Day phase of a colony, deciding if citizens asleep at home may rest.
+ * <p>
+ * A resting citizen only runs its AI every few ticks and skips its entity scans.
+ * Citizens keep the token they got when they started resting, the colony invalidates all tokens at once
+ * when it wakes up in the morning or when a raid starts, so nobody has to visit the citizens.
+ */
+public class ColonyRestSchedule
+{
+    /**
+     * Token of a citizen that is not resting.
+     */
+    public static final int AWAKE = -1;
+
+    /**
+     * The day phases.
+     */
+    public enum Phase
+    {
+        DAY,
+        NIGHT,
+        RAID
+    }
+
+    /**
+     * The current phase.
+     */
+    private Phase phase = Phase.DAY;
+
+    /**
+     * The amount of times the colony woke up, the token of the citizens resting since the last time.
+     */
+    private int wakeUps = 0;
+
+    /**
+     * Update the phase, called every world tick of the colony.
+     *
+     * @param isDaytime    if it is day.
+     * @param isRaidActive if the colony is under attack.
+     */
+    public void update(final boolean isDaytime, final boolean isRaidActive)
+    {
+        final Phase next;
+        if (isRaidActive)
+        {
+            next = Phase.RAID;
+        }
+        else
+        {
+            next = isDaytime ? Phase.DAY : Phase.NIGHT;
+        }
+
+        if (next != phase)
+        {
+            if (phase == Phase.NIGHT)
+            {
+                wakeUps = (wakeUps + 1) & Integer.MAX_VALUE;
+            }
+            phase = next;
+        }
+    }
+
+    /**
+     * Get the current phase.
+     *
+     * @return the phase.
+     */
+    @NotNull
+    public Phase getPhase()
+    {
+        return phase;
+    }
+
+    /**
+     * Let a citizen start resting if the phase allows it.
+     *
+     * @return the token of the citizen, {@link #AWAKE} if it may not rest.
+     */
+    public int rest()
+    {
+        return phase == Phase.NIGHT ? wakeUps : AWAKE;
+    }
+
+    /**
+     * Check if a citizen is still resting.
+     *
+     * @param token the token the citizen got from {@link #rest()}.
+     * @return true if it did not wake up since.
+     */
+    public boolean isResting(final int token)
+    {
+        return token != AWAKE && token == wakeUps && phase == Phase.NIGHT;
+    }
+
+    /**
+     * Check if a citizen runs its full update in a tick.
+     *
+     * @param token    the token of the citizen.
+     * @param tick     the tick of the citizen, offset per citizen to spread the updates.
+     * @param interval the ticks between the updates of resting citizens.
+     * @return true if it is awake or it is its turn.
+     */
+    public boolean isFullUpdateTick(final int token, final int tick, final int interval)
+    {
+        return !isResting(token) || interval <= 1 || Math.floorMod(tick, interval) == 0;
+    }
+}
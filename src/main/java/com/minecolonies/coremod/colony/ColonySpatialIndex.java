@@ -0,0 +1,652 @@
+package com.minecolonies.coremod.colony;
+
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.nbt.NBTTagList;
+import net.minecraftforge.common.util.Constants.NBT;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+
+/**
+ * Index of the colonies of one dimension by position, so position lookups neither scan all colonies nor load chunks.
+ * <p>
+ * Claims are kept as chunk rectangles in a uniform grid of 16x16 chunk cells,
+ * colony centers in a uniform grid of 512x512 block cells.
+ * Like the chunk capability, a chunk is owned by the colony which claimed it last and is close to every colony claiming it.
+ * Releasing a chunk leaves it without owner, even if an older claim of another colony covers it,
+ * which the index records with released claims of the colony id 0.
+ */
+public final class ColonySpatialIndex
+{
+    /**
+     * Shift from chunk coordinates to claim cell coordinates, cells of 16x16 chunks.
+     */
+    private static final int CLAIM_CELL_SHIFT = 4;
+
+    /**
+     * Shift from block coordinates to center cell coordinates, cells of 512x512 blocks.
+     */
+    private static final int CENTER_CELL_SHIFT  = 9;
+    private static final int CENTER_CELL_BLOCKS = 1 << CENTER_CELL_SHIFT;
+
+    /**
+     * The colony id of released claims, which own their chunks for nobody.
+     */
+    private static final int RELEASED = 0;
+
+    /**
+     * NBT tags of the claims.
+     */
+    private static final String TAG_COLONY   = "colony";
+    private static final String TAG_MIN_X    = "minX";
+    private static final String TAG_MIN_Z    = "minZ";
+    private static final String TAG_MAX_X    = "maxX";
+    private static final String TAG_MAX_Z    = "maxZ";
+    private static final String TAG_OWNING   = "owning";
+    private static final String TAG_SEQUENCE = "sequence";
+
+    /**
+     * Claims by the cells they overlap.
+     */
+    private final Map<Long, List<Claim>> claimCells = new HashMap<>();
+
+    /**
+     * Claims by colony.
+     */
+    private final Map<Integer, List<Claim>> claimsByColony = new HashMap<>();
+
+    /**
+     * Colony ids by the cells of their centers.
+     */
+    private final Map<Long, List<Integer>> centerCells = new HashMap<>();
+
+    /**
+     * The centers by colony, x and z packed like chunk positions.
+     */
+    private final Map<Integer, Long> centers = new HashMap<>();
+
+    /**
+     * Order of the claims, later claims take the ownership of a chunk.
+     */
+    private long claimSequence = 0;
+
+    /**
+     * Add or move the center of a colony.
+     *
+     * @param colonyId the colony.
+     * @param x        the block x of the center.
+     * @param z        the block z of the center.
+     */
+    public void setCenter(final int colonyId, final int x, final int z)
+    {
+        removeCenter(colonyId);
+        centers.put(colonyId, pack(x, z));
+        centerCells.computeIfAbsent(pack(x >> CENTER_CELL_SHIFT, z >> CENTER_CELL_SHIFT), key -> new ArrayList<>()).add(colonyId);
+    }
+
+    /**
+     * Remove a colony with its center and all its claims, the chunks it owned are left without owner.
+     *
+     * @param colonyId the colony.
+     */
+    public void removeColony(final int colonyId)
+    {
+        removeCenter(colonyId);
+        final List<Claim> claims = claimsByColony.remove(colonyId);
+        if (claims != null)
+        {
+            for (final Claim claim : claims)
+            {
+                removeFromCells(claim);
+                if (claim.owning)
+                {
+                    addClaim(new Claim(RELEASED, claim.minX, claim.minZ, claim.maxX, claim.maxZ, true, claim.sequence));
+                }
+            }
+            pruneReleasedClaims();
+        }
+    }
+
+    /**
+     * Claim the chunks around a chunk like {@link ColonyManager#claimChunksInRange(int, int, boolean, int, int, int, int)} does:
+     * the colony owns the chunks within the range and is close to the chunks within twice the range plus the buffer.
+     * Claiming the same area again takes the ownership back, like setting the owning colony of the chunks does.
+     *
+     * @param colonyId the colony.
+     * @param chunkX   the center chunk x.
+     * @param chunkZ   the center chunk z.
+     * @param range    the owned range in chunks.
+     * @param buffer   the buffer in chunks.
+     */
+    public void claim(final int colonyId, final int chunkX, final int chunkZ, final int range, final int buffer)
+    {
+        final int maxRange = range * 2 + buffer;
+        addClaim(new Claim(colonyId, chunkX - maxRange, chunkZ - maxRange, chunkX + maxRange, chunkZ + maxRange, false, claimSequence++));
+        addClaim(new Claim(colonyId, chunkX - range, chunkZ - range, chunkX + range, chunkZ + range, true, claimSequence++));
+    }
+
+    /**
+     * Claim a single chunk, used to take over the claims older saves only stored in the chunk data.
+     *
+     * @param colonyId the colony.
+     * @param chunkX   the chunk x.
+     * @param chunkZ   the chunk z.
+     * @param owning   true if the colony owns the chunk, false if it is only close to it.
+     */
+    public void claimChunk(final int colonyId, final int chunkX, final int chunkZ, final boolean owning)
+    {
+        addClaim(new Claim(colonyId, chunkX, chunkZ, chunkX, chunkZ, owning, claimSequence++));
+    }
+
+    /**
+     * Leave a single chunk without owner, the colonies close to it stay close.
+     *
+     * @param chunkX the chunk x.
+     * @param chunkZ the chunk z.
+     */
+    public void releaseChunk(final int chunkX, final int chunkZ)
+    {
+        addClaim(new Claim(RELEASED, chunkX, chunkZ, chunkX, chunkZ, true, claimSequence++));
+        pruneReleasedClaims();
+    }
+
+    /**
+     * Release the chunks around a chunk, the counterpart of {@link #claim(int, int, int, int, int)}.
+     * Like {@link com.minecolonies.api.colony.IColonyTagCapability#removeColony(int)} the chunks the colony owned are left without owner.
+     *
+     * @param colonyId the colony.
+     * @param chunkX   the center chunk x.
+     * @param chunkZ   the center chunk z.
+     * @param range    the owned range in chunks.
+     * @param buffer   the buffer in chunks.
+     */
+    public void unclaim(final int colonyId, final int chunkX, final int chunkZ, final int range, final int buffer)
+    {
+        final List<Claim> claims = claimsByColony.get(colonyId);
+        if (claims == null)
+        {
+            return;
+        }
+
+        final int maxRange = range * 2 + buffer;
+        final int minX = chunkX - maxRange;
+        final int minZ = chunkZ - maxRange;
+        final int maxX = chunkX + maxRange;
+        final int maxZ = chunkZ + maxRange;
+        for (final Claim claim : new ArrayList<>(claims))
+        {
+            if (!claim.intersects(minX, minZ, maxX, maxZ))
+            {
+                continue;
+            }
+
+            claims.remove(claim);
+            removeFromCells(claim);
+            if (claim.owning)
+            {
+                addClaim(new Claim(RELEASED,
+                  Math.max(claim.minX, minX), Math.max(claim.minZ, minZ), Math.min(claim.maxX, maxX), Math.min(claim.maxZ, maxZ), true, claim.sequence));
+            }
+
+            // Keep the parts of the claim outside of the released area: the strips left and right of it, then below and above it.
+            if (claim.minX < minX)
+            {
+                addClaim(claim.part(claim.minX, claim.minZ, minX - 1, claim.maxZ));
+            }
+            if (claim.maxX > maxX)
+            {
+                addClaim(claim.part(maxX + 1, claim.minZ, claim.maxX, claim.maxZ));
+            }
+            final int innerMinX = Math.max(claim.minX, minX);
+            final int innerMaxX = Math.min(claim.maxX, maxX);
+            if (claim.minZ < minZ)
+            {
+                addClaim(claim.part(innerMinX, claim.minZ, innerMaxX, minZ - 1));
+            }
+            if (claim.maxZ > maxZ)
+            {
+                addClaim(claim.part(innerMinX, maxZ + 1, innerMaxX, claim.maxZ));
+            }
+        }
+
+        if (claims.isEmpty())
+        {
+            claimsByColony.remove(colonyId);
+        }
+        pruneReleasedClaims();
+    }
+
+    /**
+     * Check if the index has claims of a colony.
+     *
+     * @param colonyId the colony.
+     * @return true if so.
+     */
+    public boolean hasClaims(final int colonyId)
+    {
+        return colonyId != RELEASED && claimsByColony.containsKey(colonyId);
+    }
+
+    /**
+     * Check if any claim, owned, close or released, covers a chunk.
+     *
+     * @param chunkX the chunk x.
+     * @param chunkZ the chunk z.
+     * @return true if so.
+     */
+    public boolean hasClaim(final int chunkX, final int chunkZ)
+    {
+        final List<Claim> claims = claimCells.get(pack(chunkX >> CLAIM_CELL_SHIFT, chunkZ >> CLAIM_CELL_SHIFT));
+        if (claims == null)
+        {
+            return false;
+        }
+
+        for (final Claim claim : claims)
+        {
+            if (claim.contains(chunkX, chunkZ))
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Get the colony owning a chunk.
+     *
+     * @param chunkX the chunk x.
+     * @param chunkZ the chunk z.
+     * @return the id of the colony or 0 if none.
+     */
+    public int getOwningColony(final int chunkX, final int chunkZ)
+    {
+        final List<Claim> claims = claimCells.get(pack(chunkX >> CLAIM_CELL_SHIFT, chunkZ >> CLAIM_CELL_SHIFT));
+        if (claims == null)
+        {
+            return 0;
+        }
+
+        Claim owner = null;
+        for (final Claim claim : claims)
+        {
+            if (claim.owning && claim.contains(chunkX, chunkZ) && (owner == null || claim.sequence > owner.sequence))
+            {
+                owner = claim;
+            }
+        }
+        return owner == null ? 0 : owner.colonyId;
+    }
+
+    /**
+     * Get the colonies close to a chunk.
+     *
+     * @param chunkX the chunk x.
+     * @param chunkZ the chunk z.
+     * @return the ids of the colonies, empty if none.
+     */
+    @NotNull
+    public Set<Integer> getCloseColonies(final int chunkX, final int chunkZ)
+    {
+        final List<Claim> claims = claimCells.get(pack(chunkX >> CLAIM_CELL_SHIFT, chunkZ >> CLAIM_CELL_SHIFT));
+        if (claims == null)
+        {
+            return Collections.emptySet();
+        }
+
+        final Set<Integer> close = new LinkedHashSet<>();
+        for (final Claim claim : claims)
+        {
+            if (claim.colonyId != RELEASED && claim.contains(chunkX, chunkZ))
+            {
+                close.add(claim.colonyId);
+            }
+        }
+        return close;
+    }
+
+    /**
+     * Get the colony with the center closest to a position, measured in x and z.
+     * Searches the center cells in rings around the position until no closer center can exist,
+     * or checks all centers once that is cheaper.
+     *
+     * @param x the block x.
+     * @param z the block z.
+     * @return the id of the colony or 0 if there is none.
+     */
+    public int getClosestColony(final int x, final int z)
+    {
+        if (centers.isEmpty())
+        {
+            return 0;
+        }
+
+        final int cellX = x >> CENTER_CELL_SHIFT;
+        final int cellZ = z >> CENTER_CELL_SHIFT;
+        int closest = 0;
+        long closestDistance = Long.MAX_VALUE;
+        long visitedCells = 0;
+
+        for (int ring = 0; ; ring++)
+        {
+            visitedCells += ring == 0 ? 1 : 8L * ring;
+            if (visitedCells > centerCells.size() + centers.size())
+            {
+                return closestByScan(x, z);
+            }
+
+            for (int i = -ring; i <= ring; i++)
+            {
+                for (int j = -ring; j <= ring; j++)
+                {
+                    if (Math.abs(i) != ring && Math.abs(j) != ring)
+                    {
+                        continue;
+                    }
+
+                    final List<Integer> ids = centerCells.get(pack(cellX + i, cellZ + j));
+                    if (ids == null)
+                    {
+                        continue;
+                    }
+
+                    for (final int id : ids)
+                    {
+                        final long distance = distanceSquared(centers.get(id), x, z);
+                        if (distance < closestDistance)
+                        {
+                            closest = id;
+                            closestDistance = distance;
+                        }
+                    }
+                }
+            }
+
+            // Every center in the next ring is at least this far away along x or z.
+            final long reach = (long) ring * CENTER_CELL_BLOCKS;
+            if (closest != 0 && closestDistance <= reach * reach)
+            {
+                return closest;
+            }
+        }
+    }
+
+    /**
+     * Check if the index knows no colony.
+     *
+     * @return true if so.
+     */
+    public boolean isEmpty()
+    {
+        return centers.isEmpty() && claimsByColony.isEmpty();
+    }
+
+    /**
+     * Write the claims to NBT, the centers come back with the colonies.
+     *
+     * @param compound the compound to write to.
+     * @param key      the key of the claims.
+     */
+    public void writeClaimsToNBT(@NotNull final NBTTagCompound compound, @NotNull final String key)
+    {
+        final NBTTagList claimTags = new NBTTagList();
+        for (final List<Claim> claims : claimsByColony.values())
+        {
+            for (final Claim claim : claims)
+            {
+                final NBTTagCompound claimCompound = new NBTTagCompound();
+                claimCompound.setInteger(TAG_COLONY, claim.colonyId);
+                claimCompound.setInteger(TAG_MIN_X, claim.minX);
+                claimCompound.setInteger(TAG_MIN_Z, claim.minZ);
+                claimCompound.setInteger(TAG_MAX_X, claim.maxX);
+                claimCompound.setInteger(TAG_MAX_Z, claim.maxZ);
+                claimCompound.setBoolean(TAG_OWNING, claim.owning);
+                claimCompound.setLong(TAG_SEQUENCE, claim.sequence);
+                claimTags.appendTag(claimCompound);
+            }
+        }
+        compound.setTag(key, claimTags);
+    }
+
+    /**
+     * Read the claims written by {@link #writeClaimsToNBT(NBTTagCompound, String)}, later claims keep taking the ownership.
+     *
+     * @param compound the compound to read from.
+     * @param key      the key of the claims.
+     */
+    public void readClaimsFromNBT(@NotNull final NBTTagCompound compound, @NotNull final String key)
+    {
+        final NBTTagList claimTags = compound.getTagList(key, NBT.TAG_COMPOUND);
+        for (int i = 0; i < claimTags.tagCount(); i++)
+        {
+            final NBTTagCompound claimCompound = claimTags.getCompoundTagAt(i);
+            final long sequence = claimCompound.getLong(TAG_SEQUENCE);
+            addClaim(new Claim(claimCompound.getInteger(TAG_COLONY),
+              claimCompound.getInteger(TAG_MIN_X),
+              claimCompound.getInteger(TAG_MIN_Z),
+              claimCompound.getInteger(TAG_MAX_X),
+              claimCompound.getInteger(TAG_MAX_Z),
+              claimCompound.getBoolean(TAG_OWNING),
+              sequence));
+            claimSequence = Math.max(claimSequence, sequence + 1);
+        }
+    }
+
+    /**
+     * Find the closest center by checking all of them.
+     */
+    private int closestByScan(final int x, final int z)
+    {
+        int closest = 0;
+        long closestDistance = Long.MAX_VALUE;
+        for (final Map.Entry<Integer, Long> entry : centers.entrySet())
+        {
+            final long distance = distanceSquared(entry.getValue(), x, z);
+            if (distance < closestDistance)
+            {
+                closest = entry.getKey();
+                closestDistance = distance;
+            }
+        }
+        return closest;
+    }
+
+    /**
+     * Remove the center of a colony, if known.
+     */
+    private void removeCenter(final int colonyId)
+    {
+        final Long center = centers.remove(colonyId);
+        if (center == null)
+        {
+            return;
+        }
+
+        final long cell = pack(unpackX(center) >> CENTER_CELL_SHIFT, unpackZ(center) >> CENTER_CELL_SHIFT);
+        final List<Integer> ids = centerCells.get(cell);
+        ids.remove((Integer) colonyId);
+        if (ids.isEmpty())
+        {
+            centerCells.remove(cell);
+        }
+    }
+
+    /**
+     * Add a claim, replacing an older claim of the colony with the same area.
+     */
+    private void addClaim(@NotNull final Claim claim)
+    {
+        final List<Claim> claims = claimsByColony.computeIfAbsent(claim.colonyId, key -> new ArrayList<>());
+        for (final Claim existing : claims)
+        {
+            if (existing.sameArea(claim))
+            {
+                if (existing.sequence >= claim.sequence)
+                {
+                    return;
+                }
+                claims.remove(existing);
+                removeFromCells(existing);
+                break;
+            }
+        }
+        claims.add(claim);
+
+        for (int cellX = claim.minX >> CLAIM_CELL_SHIFT; cellX <= claim.maxX >> CLAIM_CELL_SHIFT; cellX++)
+        {
+            for (int cellZ = claim.minZ >> CLAIM_CELL_SHIFT; cellZ <= claim.maxZ >> CLAIM_CELL_SHIFT; cellZ++)
+            {
+                claimCells.computeIfAbsent(pack(cellX, cellZ), key -> new ArrayList<>()).add(claim);
+            }
+        }
+    }
+
+    /**
+     * Drop the released claims which no longer hide an older owning claim of another colony.
+     */
+    private void pruneReleasedClaims()
+    {
+        final List<Claim> released = claimsByColony.get(RELEASED);
+        if (released == null)
+        {
+            return;
+        }
+
+        for (final Claim claim : new ArrayList<>(released))
+        {
+            if (!hidesOlderOwner(claim))
+            {
+                released.remove(claim);
+                removeFromCells(claim);
+            }
+        }
+
+        if (released.isEmpty())
+        {
+            claimsByColony.remove(RELEASED);
+        }
+    }
+
+    /**
+     * Check if a released claim overlaps an older owning claim of a colony.
+     */
+    private boolean hidesOlderOwner(@NotNull final Claim released)
+    {
+        for (int cellX = released.minX >> CLAIM_CELL_SHIFT; cellX <= released.maxX >> CLAIM_CELL_SHIFT; cellX++)
+        {
+            for (int cellZ = released.minZ >> CLAIM_CELL_SHIFT; cellZ <= released.maxZ >> CLAIM_CELL_SHIFT; cellZ++)
+            {
+                final List<Claim> claims = claimCells.get(pack(cellX, cellZ));
+                if (claims == null)
+                {
+                    continue;
+                }
+
+                for (final Claim claim : claims)
+                {
+                    if (claim.owning && claim.colonyId != RELEASED && claim.sequence < released.sequence
+                          && claim.intersects(released.minX, released.minZ, released.maxX, released.maxZ))
+                    {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Remove a claim from the cells it overlaps.
+     */
+    private void removeFromCells(@NotNull final Claim claim)
+    {
+        for (int cellX = claim.minX >> CLAIM_CELL_SHIFT; cellX <= claim.maxX >> CLAIM_CELL_SHIFT; cellX++)
+        {
+            for (int cellZ = claim.minZ >> CLAIM_CELL_SHIFT; cellZ <= claim.maxZ >> CLAIM_CELL_SHIFT; cellZ++)
+            {
+                final long cell = pack(cellX, cellZ);
+                final List<Claim> claims = claimCells.get(cell);
+                if (claims != null && claims.remove(claim) && claims.isEmpty())
+                {
+                    claimCells.remove(cell);
+                }
+            }
+        }
+    }
+
+    /**
+     * Squared x and z distance between a packed center and a position.
+     */
+    private static long distanceSquared(final long center, final int x, final int z)
+    {
+        final long xDiff = (long) unpackX(center) - x;
+        final long zDiff = (long) unpackZ(center) - z;
+        return xDiff * xDiff + zDiff * zDiff;
+    }
+
+    /**
+     * Pack two ints into a long, like chunk positions are.
+     */
+    private static long pack(final int x, final int z)
+    {
+        return (long) x & 0xFFFFFFFFL | ((long) z & 0xFFFFFFFFL) << 32;
+    }
+
+    private static int unpackX(final long packed)
+    {
+        return (int) packed;
+    }
+
+    private static int unpackZ(final long packed)
+    {
+        return (int) (packed >>> 32);
+    }
+
+    /**
+     * A rectangle of chunks claimed by a colony, inclusive on all sides.
+     */
+    private static final class Claim
+    {
+        private final int     colonyId;
+        private final int     minX;
+        private final int     minZ;
+        private final int     maxX;
+        private final int     maxZ;
+        private final boolean owning;
+        private final long    sequence;
+
+        private Claim(final int colonyId, final int minX, final int minZ, final int maxX, final int maxZ, final boolean owning, final long sequence)
+        {
+            this.colonyId = colonyId;
+            this.minX = minX;
+            this.minZ = minZ;
+            this.maxX = maxX;
+            this.maxZ = maxZ;
+            this.owning = owning;
+            this.sequence = sequence;
+        }
+
+        /**
+         * Get a part of this claim, keeping its colony, kind and order.
+         */
+        private Claim part(final int partMinX, final int partMinZ, final int partMaxX, final int partMaxZ)
+        {
+            return new Claim(colonyId, partMinX, partMinZ, partMaxX, partMaxZ, owning, sequence);
+        }
+
+        private boolean contains(final int chunkX, final int chunkZ)
+        {
+            return chunkX >= minX && chunkX <= maxX && chunkZ >= minZ && chunkZ <= maxZ;
+        }
+
+        private boolean intersects(final int otherMinX, final int otherMinZ, final int otherMaxX, final int otherMaxZ)
+        {
+            return minX <= otherMaxX && maxX >= otherMinX && minZ <= otherMaxZ && maxZ >= otherMinZ;
+        }
+
+        private boolean sameArea(@NotNull final Claim other)
+        {
+            return owning == other.owning && minX == other.minX && minZ == other.minZ && maxX == other.maxX && maxZ == other.maxZ;
+        }
+    }
+}
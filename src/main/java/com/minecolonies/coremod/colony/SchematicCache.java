@@ -0,0 +1,333 @@
+package com.minecolonies.coremod.colony;
+
+import com.minecolonies.api.configuration.Configurations;
+import com.minecolonies.api.util.Log;
+import com.minecolonies.coremod.MineColonies;
+import com.minecolonies.coremod.network.messages.SchematicSaveMessage;
+import com.minecolonies.structures.helpers.Structure;
+import net.minecraft.entity.player.EntityPlayerMP;
+import net.minecraft.network.NetworkManager;
+import org.apache.commons.io.IOUtils;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.InputStream;
+import java.util.*;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static com.minecolonies.api.util.constant.Constants.MAX_MESSAGE_SIZE;
+
+/**
+ * Server side cache of compressed schematics, keyed by their md5 hash.
+ * The schematics are split in message sized pieces and compressed once, then kept in memory with LRU eviction.
+ * Loading and compressing a schematic is done off the server thread, the pieces are then sent by the server thread
+ * a few per tick while the connection of the player can take them, as the network channel is not thread safe.
+ */
+public final class SchematicCache
+{
+    /**
+     * Amount of bytes in a kilobyte.
+     */
+    private static final int BYTES_PER_KB = 1024;
+
+    /**
+     * Max amount of pieces sent to a player per tick.
+     */
+    private static final int PIECES_PER_TICK = 4;
+
+    /**
+     * Max time to wait for the channel to become writable, in milliseconds.
+     */
+    private static final long WRITABLE_TIMEOUT = 30_000L;
+
+    /**
+     * Compressed pieces by md5, in access order for the LRU eviction.
+     */
+    private static final Map<String, List<byte[]>> compressedPieces = new LinkedHashMap<>(16, 0.75F, true);
+
+    /**
+     * The queue of the transfer jobs.
+     */
+    private static final BlockingQueue<Runnable> jobQueue = new LinkedBlockingDeque<>();
+
+    /**
+     * The single thread loading and compressing the schematics.
+     */
+    private static final ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 10, TimeUnit.SECONDS, jobQueue);
+
+    /**
+     * Transfers handed from the worker to the server thread.
+     */
+    private static final Queue<Transfer> readyTransfers = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Transfers being sent, only touched by the server thread.
+     */
+    private static final List<Transfer> transfers = new ArrayList<>();
+
+    /**
+     * Total size of the cached pieces in bytes.
+     */
+    private static long cachedBytes = 0;
+
+    /**
+     * Private constructor to hide the implicit public one.
+     */
+    private SchematicCache()
+    {
+        //Hide implicit public constructor.
+    }
+
+    /**
+     * Send a schematic to a player.
+     * Loading and compressing is done on a worker thread, the pieces are sent by {@link #onServerTick()}.
+     *
+     * @param structureName the name of the structure, as in schematics/stone/Builder1.
+     * @param player        the player to send it to.
+     */
+    public static void sendSchematic(@NotNull final String structureName, @NotNull final EntityPlayerMP player)
+    {
+        final String md5 = Structures.getMD5(structureName);
+        executor.execute(() -> preparePieces(structureName, md5, player));
+    }
+
+    /**
+     * Send the pieces of the prepared schematics, a few per player and tick while the connection can take them.
+     * Called by the server thread.
+     */
+    public static void onServerTick()
+    {
+        Transfer ready = readyTransfers.poll();
+        while (ready != null)
+        {
+            transfers.add(ready);
+            ready = readyTransfers.poll();
+        }
+
+        if (!transfers.isEmpty())
+        {
+            final long now = System.currentTimeMillis();
+            transfers.removeIf(transfer -> transfer.send(now));
+        }
+    }
+
+    /**
+     * Drop the transfers, for example when the server stops.
+     */
+    public static void clear()
+    {
+        readyTransfers.clear();
+        transfers.clear();
+    }
+
+    /**
+     * Get the compressed pieces of a schematic, loading them when they are not in the cache yet.
+     *
+     * @param structureName the name of the structure.
+     * @param md5           the known md5 hash of the structure, or null if unknown.
+     * @return the list of compressed pieces or null if the schematic could not be found.
+     */
+    @Nullable
+    public static List<byte[]> getCompressedPieces(@NotNull final String structureName, @Nullable final String md5)
+    {
+        if (md5 != null)
+        {
+            synchronized (compressedPieces)
+            {
+                final List<byte[]> pieces = compressedPieces.get(md5);
+                if (pieces != null)
+                {
+                    return pieces;
+                }
+            }
+        }
+
+        final InputStream stream = Structure.getStream(structureName);
+        if (stream == null)
+        {
+            return null;
+        }
+
+        final byte[] data = Structure.getStreamAsByteArray(stream);
+        IOUtils.closeQuietly(stream);
+        final List<byte[]> pieces = compressPieces(data);
+        final String dataMD5 = md5 == null ? Structure.calculateMD5(data) : md5;
+        if (dataMD5 != null)
+        {
+            store(dataMD5, pieces);
+        }
+        return pieces;
+    }
+
+    /**
+     * Split the schematic data in pieces of the max message size and compress each of them.
+     *
+     * @param data the uncompressed schematic data.
+     * @return the list of compressed pieces.
+     */
+    private static List<byte[]> compressPieces(@NotNull final byte[] data)
+    {
+        final List<byte[]> pieces = new ArrayList<>();
+        int start = 0;
+        do
+        {
+            final int size = Math.min(MAX_MESSAGE_SIZE, data.length - start);
+            pieces.add(Structure.compress(Arrays.copyOfRange(data, start, start + size)));
+            start += size;
+        }
+        while (start < data.length);
+        return Collections.unmodifiableList(pieces);
+    }
+
+    /**
+     * Store the pieces in the cache and evict the least recently used ones above the memory limit.
+     *
+     * @param md5    the md5 hash of the schematic.
+     * @param pieces the compressed pieces.
+     */
+    private static void store(@NotNull final String md5, @NotNull final List<byte[]> pieces)
+    {
+        final long maxBytes = (long) Configurations.gameplay.maxCachedSchematicsMemory * BYTES_PER_KB;
+        synchronized (compressedPieces)
+        {
+            final List<byte[]> previous = compressedPieces.put(md5, pieces);
+            if (previous != null)
+            {
+                cachedBytes -= sizeOf(previous);
+            }
+            cachedBytes += sizeOf(pieces);
+
+            final Iterator<Map.Entry<String, List<byte[]>>> iterator = compressedPieces.entrySet().iterator();
+            while (cachedBytes > maxBytes && iterator.hasNext())
+            {
+                final Map.Entry<String, List<byte[]>> eldest = iterator.next();
+                if (!eldest.getKey().equals(md5))
+                {
+                    cachedBytes -= sizeOf(eldest.getValue());
+                    iterator.remove();
+                }
+            }
+        }
+    }
+
+    /**
+     * Calculate the size of a list of pieces.
+     *
+     * @param pieces the pieces.
+     * @return the size in bytes.
+     */
+    private static long sizeOf(@NotNull final List<byte[]> pieces)
+    {
+        long size = 0;
+        for (final byte[] piece : pieces)
+        {
+            size += piece.length;
+        }
+        return size;
+    }
+
+    /**
+     * Load the compressed pieces of a schematic and hand them to the server thread for sending.
+     *
+     * @param structureName the name of the structure.
+     * @param md5           the known md5 hash of the structure, or null if unknown.
+     * @param player        the player.
+     */
+    private static void preparePieces(@NotNull final String structureName, @Nullable final String md5, @NotNull final EntityPlayerMP player)
+    {
+        final List<byte[]> pieces = getCompressedPieces(structureName, md5);
+        if (pieces == null)
+        {
+            Log.getLogger().error("SchematicCache: file \"" + structureName + "\" not found");
+            return;
+        }
+        readyTransfers.add(new Transfer(structureName, pieces, player));
+    }
+
+    /**
+     * A schematic being sent to a player.
+     */
+    private static final class Transfer
+    {
+        /**
+         * The name of the structure.
+         */
+        private final String structureName;
+
+        /**
+         * The compressed pieces.
+         */
+        private final List<byte[]> pieces;
+
+        /**
+         * The receiving player.
+         */
+        private final EntityPlayerMP player;
+
+        /**
+         * The id the client puts the pieces together by.
+         */
+        private final UUID id = UUID.randomUUID();
+
+        /**
+         * The index of the next piece to send.
+         */
+        private int nextPiece = 0;
+
+        /**
+         * The last time a piece was sent or the transfer started.
+         */
+        private long lastProgress = System.currentTimeMillis();
+
+        /**
+         * Create a new transfer.
+         *
+         * @param structureName the name of the structure.
+         * @param pieces        the compressed pieces.
+         * @param player        the receiving player.
+         */
+        private Transfer(@NotNull final String structureName, @NotNull final List<byte[]> pieces, @NotNull final EntityPlayerMP player)
+        {
+            this.structureName = structureName;
+            this.pieces = pieces;
+            this.player = player;
+        }
+
+        /**
+         * Send the next pieces while the connection of the player can take them.
+         *
+         * @param now the current time in milliseconds.
+         * @return true if the transfer is finished or given up.
+         */
+        private boolean send(final long now)
+        {
+            if (player.hasDisconnected() || player.connection == null || !player.connection.netManager.isChannelOpen())
+            {
+                return true;
+            }
+
+            final NetworkManager manager = player.connection.netManager;
+            for (int sent = 0; sent < PIECES_PER_TICK && nextPiece < pieces.size() && manager.channel().isWritable(); sent++)
+            {
+                MineColonies.getNetwork().sendTo(SchematicSaveMessage.fromCompressed(pieces.get(nextPiece), id, pieces.size(), nextPiece + 1), player);
+                nextPiece++;
+                lastProgress = now;
+            }
+
+            if (nextPiece >= pieces.size())
+            {
+                return true;
+            }
+            if (now - lastProgress > WRITABLE_TIMEOUT)
+            {
+                Log.getLogger().warn("SchematicCache: stopped sending " + structureName + " to " + player.getName());
+                return true;
+            }
+            return false;
+        }
+    }
+}
@@ -286,6 +286,13 @@ public abstract class AbstractBuilding extends AbstractBuildingContainer impleme
     public void setBeingGathered(final boolean gathering)
     {
         this.beingGathered = gathering;
+        markPickUpDirty();
+    }
+
+    @Override
+    public int getPickUpWeight()
+    {
+        return isBeingGathered() ? 0 : super.getPickUpWeight();
     }
 
     /**
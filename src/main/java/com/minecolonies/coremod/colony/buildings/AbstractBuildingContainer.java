@@ -43,6 +43,11 @@ import static com.minecolonies.api.util.constant.NbtTagConstants.TAG_PRIO;
  */
 public abstract class AbstractBuildingContainer extends AbstractCitizenAssignable implements ICapabilityProvider
 {
+    /**
+     * Amount of steps the fill level of the hut chest adds to the pick up weight, a full chest multiplies it by one more.
+     */
+    private static final int PICK_UP_FILL_STEPS = 4;
+
     /**
      * A list which contains the position of all containers which belong to the
      * worker building.
@@ -88,6 +93,7 @@ public abstract class AbstractBuildingContainer extends AbstractCitizenAssignabl
         {
             this.pickUpPriority = compound.getInteger(TAG_PRIO);
         }
+        markPickUpDirty();
     }
 
     @Override
@@ -132,6 +138,53 @@ public abstract class AbstractBuildingContainer extends AbstractCitizenAssignabl
         {
             this.pickUpPriority += value;
         }
+        markPickUpDirty();
+    }
+
+    /**
+     * Get the weight of the building when deliverymen choose where to gather.
+     * It is the pick up priority scaled by how full the hut chest is.
+     *
+     * @return the weight, 0 if it should not be chosen.
+     */
+    public int getPickUpWeight()
+    {
+        return pickUpPriority * (1 + getFillSteps());
+    }
+
+    /**
+     * Tell the colony the pick up weight of this building changed.
+     */
+    public void markPickUpDirty()
+    {
+        if (getColony() != null)
+        {
+            getColony().getBuildingManager().markPickUpDirty(getID());
+        }
+    }
+
+    /**
+     * How full the hut chest is, in steps of {@link #PICK_UP_FILL_STEPS}.
+     * Only looks at a loaded tile entity, to not load chunks.
+     *
+     * @return from 0 for an empty or unloaded chest to PICK_UP_FILL_STEPS for a full one.
+     */
+    private int getFillSteps()
+    {
+        if (tileEntity == null || tileEntity.isInvalid() || tileEntity.getSizeInventory() == 0)
+        {
+            return 0;
+        }
+
+        int usedSlots = 0;
+        for (int slot = 0; slot < tileEntity.getSizeInventory(); slot++)
+        {
+            if (!ItemStackUtils.isEmpty(tileEntity.getStackInSlot(slot)))
+            {
+                usedSlots++;
+            }
+        }
+        return usedSlots * PICK_UP_FILL_STEPS / tileEntity.getSizeInventory();
     }
 
     /**
@@ -235,6 +288,7 @@ public abstract class AbstractBuildingContainer extends AbstractCitizenAssignabl
     public void setTileEntity(final TileEntityColonyBuilding te)
     {
         tileEntity = te;
+        markPickUpDirty();
     }
 
     /**
@@ -6,7 +6,10 @@ import com.minecolonies.api.colony.requestsystem.StandardFactoryController;
 import com.minecolonies.api.colony.requestsystem.request.IRequest;
 import com.minecolonies.api.colony.requestsystem.resolver.IRequestResolver;
 import com.minecolonies.api.colony.requestsystem.token.IToken;
+import com.minecolonies.api.crafting.IRecipeManager;
 import com.minecolonies.api.crafting.IRecipeStorage;
+import com.minecolonies.api.crafting.ItemFingerprint;
+import com.minecolonies.api.crafting.RecipeOutputIndex;
 import com.minecolonies.api.util.InventoryUtils;
 import com.minecolonies.api.util.ItemStackUtils;
 import com.minecolonies.api.util.NBTUtils;
@@ -59,6 +62,22 @@ public abstract class AbstractBuildingWorker extends AbstractBuilding
      */
     private final List<IToken> recipes = new ArrayList<>();
 
+    /**
+     * The recipes by output, in the same priority order as {@link #recipes}.
+     */
+    private final RecipeOutputIndex recipesByOutput = new RecipeOutputIndex();
+
+    /**
+     * Whether {@link #recipesByOutput} has to be rebuilt before the next lookup.
+     */
+    private boolean recipeIndexDirty = true;
+
+    /**
+     * The version of the recipe manager when {@link #recipesByOutput} was built without some recipes it did not know yet,
+     * -1 if it knew all of them. Once recipes got added to the manager since, the index is rebuilt.
+     */
+    private int missingRecipesVersion = -1;
+
     /**
      * The abstract constructor of the building.
      *
@@ -133,10 +152,10 @@ public abstract class AbstractBuildingWorker extends AbstractBuilding
     @Nullable
     public IRecipeStorage getFirstRecipe(final ItemStack stack)
     {
-        for(final IToken token : recipes)
+        for(final IToken token : getRecipesFor(stack))
         {
-            final IRecipeStorage storage = ColonyManager.getRecipeManager().getRecipes().get(token);
-            if (storage != null && storage.getPrimaryOutput().isItemEqual(stack))
+            final IRecipeStorage storage = ColonyManager.getRecipeManager().getRecipe(token);
+            if (storage != null)
             {
                 return storage;
             }
@@ -151,10 +170,10 @@ public abstract class AbstractBuildingWorker extends AbstractBuilding
      */
     public IRecipeStorage getFirstFullFillableRecipe(final ItemStack tempStack)
     {
-        for(final IToken token : recipes)
+        for(final IToken token : getRecipesFor(tempStack))
         {
-            final IRecipeStorage storage = ColonyManager.getRecipeManager().getRecipes().get(token);
-            if(storage != null && storage.getPrimaryOutput().isItemEqual(tempStack))
+            final IRecipeStorage storage = ColonyManager.getRecipeManager().getRecipe(token);
+            if(storage != null)
             {
                 final List<IItemHandler> handlers = getHandlers();
                 if(storage.canFullFillRecipe(handlers.toArray(new IItemHandler[handlers.size()])))
@@ -166,6 +185,36 @@ public abstract class AbstractBuildingWorker extends AbstractBuilding
         return null;
     }
 
+    /**
+     * Get the known recipes producing a stack, in priority order.
+     * Rebuilds the output index when the recipes changed in a way it can't follow.
+     * @param stack the stack to produce.
+     * @return the tokens of the recipes.
+     */
+    private List<IToken> getRecipesFor(final ItemStack stack)
+    {
+        final IRecipeManager recipeManager = ColonyManager.getRecipeManager();
+        if (recipeIndexDirty || (missingRecipesVersion >= 0 && missingRecipesVersion != recipeManager.getVersion()))
+        {
+            recipesByOutput.clear();
+            missingRecipesVersion = -1;
+            for (final IToken token : recipes)
+            {
+                final IRecipeStorage storage = recipeManager.getRecipe(token);
+                if (storage == null)
+                {
+                    missingRecipesVersion = recipeManager.getVersion();
+                }
+                else
+                {
+                    recipesByOutput.add(token, storage.getOutputFingerprint());
+                }
+            }
+            recipeIndexDirty = false;
+        }
+        return recipesByOutput.get(ItemFingerprint.withoutNBT(stack));
+    }
+
     /**
      * Try to fullfill a recipe.
      * @param storage with the storage.
@@ -189,6 +238,7 @@ public abstract class AbstractBuildingWorker extends AbstractBuilding
             final IToken storage = recipes.get(i);
             recipes.set(i, recipes.get(j));
             recipes.set(j, storage);
+            recipeIndexDirty = true;
         }
     }
 
@@ -304,6 +354,7 @@ public abstract class AbstractBuildingWorker extends AbstractBuilding
         recipes.addAll(NBTUtils.streamCompound(recipesTags)
                 .map(recipeCompound -> (IToken) StandardFactoryController.getInstance().deserialize(recipeCompound))
                 .collect(Collectors.toList()));
+        recipeIndexDirty = true;
     }
 
     @Override
@@ -349,6 +400,15 @@ public abstract class AbstractBuildingWorker extends AbstractBuilding
         if(canRecipeBeAdded() && Math.pow(2, getBuildingLevel()) >= (recipes.size() + 1))
         {
             recipes.add(token);
+            final IRecipeStorage storage = ColonyManager.getRecipeManager().getRecipe(token);
+            if (storage == null)
+            {
+                recipeIndexDirty = true;
+            }
+            else if (!recipeIndexDirty)
+            {
+                recipesByOutput.add(token, storage.getOutputFingerprint());
+            }
         }
     }
 
@@ -359,6 +419,7 @@ public abstract class AbstractBuildingWorker extends AbstractBuilding
     public void removeRecipe(final IToken token)
     {
         recipes.remove(token);
+        recipesByOutput.remove(token);
     }
 
     /**
@@ -415,7 +476,7 @@ public abstract class AbstractBuildingWorker extends AbstractBuilding
         final List<IRecipeStorage> storages = new ArrayList<>();
         for(final IToken token: new ArrayList<>(recipes))
         {
-            final IRecipeStorage storage = ColonyManager.getRecipeManager().getRecipes().get(token);
+            final IRecipeStorage storage = ColonyManager.getRecipeManager().getRecipe(token);
             if(storage == null)
             {
                 removeRecipe(token);
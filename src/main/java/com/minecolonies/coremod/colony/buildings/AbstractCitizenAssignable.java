@@ -52,6 +52,19 @@ public abstract class AbstractCitizenAssignable extends AbstractSchematicProvide
         super.writeToNBT(compound);
     }
 
+    @Override
+    public void setBuildingLevel(final int level)
+    {
+        super.setBuildingLevel(level);
+        if (colony != null)
+        {
+            for (final CitizenData citizen : assignedCitizen)
+            {
+                colony.getCitizenManager().updateHappinessTotals(citizen);
+            }
+        }
+    }
+
     /**
      * Returns the colony of the building.
      *
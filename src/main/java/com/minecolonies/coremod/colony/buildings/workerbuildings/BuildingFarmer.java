@@ -14,6 +14,7 @@ import com.minecolonies.coremod.colony.ColonyView;
 import com.minecolonies.coremod.colony.buildings.AbstractBuildingWorker;
 import com.minecolonies.coremod.colony.jobs.AbstractJob;
 import com.minecolonies.coremod.colony.jobs.JobFarmer;
+import com.minecolonies.coremod.colony.managers.FieldData;
 import com.minecolonies.coremod.network.messages.AssignFieldMessage;
 import com.minecolonies.coremod.network.messages.AssignmentModeMessage;
 import com.minecolonies.coremod.tileentities.ScarecrowTileEntity;
@@ -314,47 +315,19 @@ public class BuildingFarmer extends AbstractBuildingWorker
         super.serializeToView(buf);
         buf.writeBoolean(shouldAssignManually);
 
-        int size = 0;
-
-        final List<BlockPos> fields = new ArrayList<>(getColony().getBuildingManager().getFields());
-
-        for (@NotNull final BlockPos field : fields)
+        final List<BlockPos> fields = new ArrayList<>();
+        for (@NotNull final FieldData field : getColony().getBuildingManager().getFieldData())
         {
-            final TileEntity scareCrow = getColony().getWorld().getTileEntity(field);
-            if (scareCrow instanceof ScarecrowTileEntity)
+            if (!field.isTaken() || getAssignedCitizen().isEmpty() || field.getOwnerId() == getMainCitizen().getId())
             {
-                if (((ScarecrowTileEntity) scareCrow).isTaken())
-                {
-                    if (getAssignedCitizen().isEmpty() || ((ScarecrowTileEntity) scareCrow).getOwnerId() == getMainCitizen().getId())
-                    {
-                        size++;
-                    }
-                }
-                else
-                {
-                    size++;
-                }
+                fields.add(field.getPos());
             }
         }
 
-        buf.writeInt(size);
-        for (@NotNull final BlockPos field : getColony().getBuildingManager().getFields())
+        buf.writeInt(fields.size());
+        for (@NotNull final BlockPos field : fields)
         {
-            final TileEntity scareCrow = getColony().getWorld().getTileEntity(field);
-            if (scareCrow instanceof ScarecrowTileEntity)
-            {
-                if (((ScarecrowTileEntity) scareCrow).isTaken())
-                {
-                    if (getAssignedCitizen().isEmpty() || ((ScarecrowTileEntity) scareCrow).getOwnerId() == getMainCitizen().getId())
-                    {
-                        BlockPosUtil.writeToByteBuf(buf, field);
-                    }
-                }
-                else
-                {
-                    BlockPosUtil.writeToByteBuf(buf, field);
-                }
-            }
+            BlockPosUtil.writeToByteBuf(buf, field);
         }
 
         buf.writeInt(farmerFields.size());
@@ -408,10 +381,10 @@ public class BuildingFarmer extends AbstractBuildingWorker
         toKeep.putAll(keepX);
         for (final BlockPos field : farmerFields)
         {
-            final TileEntity scareCrow = getColony().getWorld().getTileEntity(field);
-            if (scareCrow instanceof ScarecrowTileEntity && !ItemStackUtils.isEmpty(((ScarecrowTileEntity) scareCrow).getSeed()))
+            final FieldData data = getColony().getBuildingManager().getFieldData(field);
+            if (data != null && !ItemStackUtils.isEmpty(data.getSeed()))
             {
-                final ItemStack seedStack = ((ScarecrowTileEntity) scareCrow).getSeed();
+                final ItemStack seedStack = data.getSeed();
                 toKeep.put(seedStack::isItemEqual, SEEDS_TO_KEEP);
             }
         }
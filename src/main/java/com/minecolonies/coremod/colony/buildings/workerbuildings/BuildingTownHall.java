@@ -60,6 +60,13 @@ public class BuildingTownHall extends BuildingHome
         return MAX_BUILDING_LEVEL;
     }
 
+    @Override
+    public int getPickUpWeight()
+    {
+        // Deliverymen don't gather from here.
+        return 0;
+    }
+
     @Override
     public void onUpgradeComplete(final int newLevel)
     {
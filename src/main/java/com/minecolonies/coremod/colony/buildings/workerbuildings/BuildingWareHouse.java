@@ -231,6 +231,13 @@ public class BuildingWareHouse extends AbstractBuilding
         return MAX_LEVEL;
     }
 
+    @Override
+    public int getPickUpWeight()
+    {
+        // Deliverymen don't gather from here.
+        return 0;
+    }
+
     @Override
     public void serializeToView(@NotNull final ByteBuf buf)
     {
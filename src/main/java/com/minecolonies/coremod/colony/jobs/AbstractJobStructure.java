@@ -1,14 +1,19 @@
 package com.minecolonies.coremod.colony.jobs;
 
+import com.minecolonies.api.util.BlockPosUtil;
 import com.minecolonies.coremod.colony.CitizenData;
 import com.minecolonies.coremod.colony.buildings.AbstractBuilding;
 import com.minecolonies.coremod.colony.buildings.workerbuildings.BuildingBuilder;
 import com.minecolonies.coremod.colony.workorders.WorkOrderBuildDecoration;
+import com.minecolonies.coremod.entity.ai.util.Structure;
 import com.minecolonies.coremod.util.StructureWrapper;
 import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.util.math.BlockPos;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import static com.minecolonies.api.util.constant.NbtTagConstants.TAG_POS;
+
 /**
  * Common job object for all structure AIs.
  */
@@ -19,11 +24,52 @@ public abstract class AbstractJobStructure extends AbstractJob
      */
     private static final String TAG_WORK_ORDER = "workorder";
 
+    /**
+     * Tag to store the build progress.
+     */
+    private static final String TAG_PROGRESS = "progress";
+
+    /**
+     * Tag to store the name of the structure in progress.
+     */
+    private static final String TAG_PROGRESS_NAME = "name";
+
+    /**
+     * Tag to store the stage in progress.
+     */
+    private static final String TAG_PROGRESS_STAGE = "stage";
+
+    /**
+     * Tag to store the local position in progress.
+     */
+    private static final String TAG_PROGRESS_LOCAL = "local";
+
     /**
      * The id of the current workOrder.
      */
     private int workOrderId;
 
+    /**
+     * The name of the structure in progress, null if there is no progress.
+     */
+    @Nullable
+    private String progressName;
+
+    /**
+     * The position of the structure in progress.
+     */
+    private BlockPos progressPosition = BlockPos.ORIGIN;
+
+    /**
+     * The stage in progress.
+     */
+    private Structure.Stage progressStage = Structure.Stage.CLEAR;
+
+    /**
+     * The local position in progress.
+     */
+    private BlockPos progressLocalPosition = BlockPos.ORIGIN;
+
     /**
      * The structure the job should build.
      */
@@ -91,6 +137,62 @@ public abstract class AbstractJobStructure extends AbstractJob
         return workOrderId != 0;
     }
 
+    /**
+     * Store the progress on a structure.
+     *
+     * @param name          the name of the structure.
+     * @param position      the position of the structure.
+     * @param stage         the current stage.
+     * @param localPosition the current local position.
+     */
+    public void setProgress(final String name, final BlockPos position, final Structure.Stage stage, final BlockPos localPosition)
+    {
+        this.progressName = name;
+        this.progressPosition = position;
+        this.progressStage = stage;
+        this.progressLocalPosition = localPosition;
+    }
+
+    /**
+     * Check if there is stored progress for a certain structure.
+     *
+     * @param name     the name of the structure.
+     * @param position the position of the structure.
+     * @return true if so.
+     */
+    public boolean hasProgress(final String name, final BlockPos position)
+    {
+        return progressName != null && progressName.equals(name) && progressPosition.equals(position);
+    }
+
+    /**
+     * Get the stage in progress.
+     *
+     * @return the stage.
+     */
+    public Structure.Stage getProgressStage()
+    {
+        return progressStage;
+    }
+
+    /**
+     * Get the local position in progress.
+     *
+     * @return the local position.
+     */
+    public BlockPos getProgressPosition()
+    {
+        return progressLocalPosition;
+    }
+
+    /**
+     * Forget the stored progress.
+     */
+    public void clearProgress()
+    {
+        progressName = null;
+    }
+
     @Override
     public void readFromNBT(@NotNull final NBTTagCompound compound)
     {
@@ -99,6 +201,14 @@ public abstract class AbstractJobStructure extends AbstractJob
         {
             workOrderId = compound.getInteger(TAG_WORK_ORDER);
         }
+        if (compound.hasKey(TAG_PROGRESS))
+        {
+            final NBTTagCompound progressCompound = compound.getCompoundTag(TAG_PROGRESS);
+            progressName = progressCompound.getString(TAG_PROGRESS_NAME);
+            progressPosition = BlockPosUtil.readFromNBT(progressCompound, TAG_POS);
+            progressStage = Structure.Stage.values()[progressCompound.getInteger(TAG_PROGRESS_STAGE)];
+            progressLocalPosition = BlockPosUtil.readFromNBT(progressCompound, TAG_PROGRESS_LOCAL);
+        }
     }
 
     @Override
@@ -109,6 +219,15 @@ public abstract class AbstractJobStructure extends AbstractJob
         {
             compound.setInteger(TAG_WORK_ORDER, workOrderId);
         }
+        if (progressName != null)
+        {
+            final NBTTagCompound progressCompound = new NBTTagCompound();
+            progressCompound.setString(TAG_PROGRESS_NAME, progressName);
+            BlockPosUtil.writeToNBT(progressCompound, TAG_POS, progressPosition);
+            progressCompound.setInteger(TAG_PROGRESS_STAGE, progressStage.ordinal());
+            BlockPosUtil.writeToNBT(progressCompound, TAG_PROGRESS_LOCAL, progressLocalPosition);
+            compound.setTag(TAG_PROGRESS, progressCompound);
+        }
     }
 
     /**
@@ -120,6 +239,7 @@ public abstract class AbstractJobStructure extends AbstractJob
         getCitizen().getColony().getWorkManager().removeWorkOrder(workOrderId);
         setWorkOrder(null);
         setStructure(null);
+        clearProgress();
         this.getColony().getStatsManager().incrementStatistic("huts");
     }
 
@@ -153,6 +273,7 @@ public abstract class AbstractJobStructure extends AbstractJob
      */
     public void setWorkOrder(@Nullable final WorkOrderBuildDecoration order)
     {
+        clearProgress();
         if (order == null)
         {
             workOrderId = 0;
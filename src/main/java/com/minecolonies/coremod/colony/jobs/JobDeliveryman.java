@@ -3,6 +3,7 @@ package com.minecolonies.coremod.colony.jobs;
 import com.google.common.collect.ImmutableList;
 import com.minecolonies.api.colony.requestsystem.StandardFactoryController;
 import com.minecolonies.api.colony.requestsystem.data.IRequestSystemDeliveryManJobDataStore;
+import com.minecolonies.api.colony.requestsystem.location.ILocation;
 import com.minecolonies.api.colony.requestsystem.request.IRequest;
 import com.minecolonies.api.colony.requestsystem.request.RequestState;
 import com.minecolonies.api.colony.requestsystem.requestable.Delivery;
@@ -12,13 +13,16 @@ import com.minecolonies.api.util.constant.TypeConstants;
 import com.minecolonies.coremod.client.render.RenderBipedCitizen;
 import com.minecolonies.coremod.colony.CitizenData;
 import com.minecolonies.coremod.entity.ai.basic.AbstractAISkeleton;
+import com.minecolonies.coremod.entity.ai.citizen.deliveryman.DeliveryRoutePlanner;
 import com.minecolonies.coremod.entity.ai.citizen.deliveryman.EntityAIWorkDeliveryman;
 import com.minecolonies.coremod.sounds.DeliverymanSounds;
+import net.minecraft.item.ItemStack;
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.util.SoundEvent;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
 
@@ -202,6 +206,75 @@ public class JobDeliveryman extends AbstractJob
         getColony().getRequestManager().updateRequestState(current, successful ? RequestState.COMPLETED : RequestState.CANCELLED);
     }
 
+    /**
+     * Mark a request of the current trip as finished, without sending the DMan back to the warehouse.
+     *
+     * @param token      the token of the request.
+     * @param successful True when the processing was successful, false when not.
+     */
+    public void finishRequest(@NotNull final IToken<?> token, final boolean successful)
+    {
+        if (getTaskQueueFromDataStore().remove(token))
+        {
+            getColony().getRequestManager().updateRequestState(token, successful ? RequestState.COMPLETED : RequestState.CANCELLED);
+        }
+    }
+
+    /**
+     * Plan the next trip of the DMan and move its requests to the front of the queue, in drop order.
+     *
+     * @param start     where the trip starts, the warehouse.
+     * @param maxStops  the max amount of requests in the trip.
+     * @param freeSlots the free inventory slots of the DMan.
+     * @return the tokens of the requests of the trip in drop order.
+     */
+    @SuppressWarnings(UNCHECKED)
+    public List<IToken<?>> planRoute(@NotNull final ILocation start, final int maxStops, final int freeSlots)
+    {
+        final LinkedList<IToken<?>> queue = getTaskQueueFromDataStore();
+        final List<IRequest<Delivery>> candidates = new ArrayList<>();
+        for (final IToken<?> token : queue)
+        {
+            final IRequest<?> request = getColony().getRequestManager().getRequestForToken(token);
+            if (request != null && request.getRequest() instanceof Delivery
+                  && (candidates.isEmpty() || ((Delivery) request.getRequest()).getTarget().isReachableFromLocation(start)))
+            {
+                candidates.add((IRequest<Delivery>) request);
+            }
+        }
+
+        final List<IRequest<Delivery>> route = DeliveryRoutePlanner.plan(start.getInDimensionLocation(),
+          candidates,
+          request -> request.getRequest().getTarget().getInDimensionLocation(),
+          request -> getSlotsNeeded(request.getRequest().getStack()),
+          maxStops,
+          freeSlots);
+
+        final List<IToken<?>> tokens = new ArrayList<>();
+        for (final IRequest<Delivery> request : route)
+        {
+            tokens.add(request.getToken());
+        }
+        for (int i = tokens.size() - 1; i >= 0; i--)
+        {
+            queue.remove(tokens.get(i));
+            queue.addFirst(tokens.get(i));
+        }
+        return tokens;
+    }
+
+    /**
+     * Get the amount of inventory slots a stack takes.
+     *
+     * @param stack the stack.
+     * @return the amount of slots, at least one.
+     */
+    private static int getSlotsNeeded(@NotNull final ItemStack stack)
+    {
+        final int maxStackSize = Math.max(1, stack.getMaxStackSize());
+        return Math.max(1, (stack.getCount() + maxStackSize - 1) / maxStackSize);
+    }
+
     /**
      * Called when a task that is being scheduled is being canceled.
      *
@@ -193,6 +193,19 @@ public class BarbarianManager implements IBarbarianManager
 
     }
 
+    @Override
+    public boolean isRaidActive()
+    {
+        for (final AbstractEntityBarbarian barbarian : horde)
+        {
+            if (!barbarian.isDead && barbarian.world.isBlockLoaded(barbarian.getPosition()))
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * Check if a certain vector matches two directions.
      *
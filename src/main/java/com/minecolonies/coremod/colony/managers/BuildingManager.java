@@ -1,6 +1,5 @@
 package com.minecolonies.coremod.colony.managers;
 
-import com.minecolonies.api.util.BlockPosUtil;
 import com.minecolonies.api.util.Log;
 import com.minecolonies.coremod.MineColonies;
 import com.minecolonies.coremod.colony.CitizenData;
@@ -17,6 +16,7 @@ import com.minecolonies.coremod.network.messages.ColonyViewBuildingViewMessage;
 import com.minecolonies.coremod.network.messages.ColonyViewRemoveBuildingMessage;
 import com.minecolonies.coremod.tileentities.ScarecrowTileEntity;
 import com.minecolonies.coremod.tileentities.TileEntityColonyBuilding;
+import com.minecolonies.coremod.util.ColonyProfiler;
 import net.minecraft.entity.player.EntityPlayerMP;
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.nbt.NBTTagList;
@@ -41,9 +41,9 @@ public class BuildingManager implements IBuildingManager
     private final Map<BlockPos, AbstractBuilding> buildings = new HashMap<>();
 
     /**
-     * List of fields of the colony.
+     * The fields of the colony.
      */
-    private final List<BlockPos> fields = new ArrayList<>();
+    private final FieldRegistry fields = new FieldRegistry();
 
     /**
      * The warehouse building position. Initially null.
@@ -71,6 +71,16 @@ public class BuildingManager implements IBuildingManager
      */
     private final Colony colony;
 
+    /**
+     * The weighted choice of buildings to gather from.
+     */
+    private final PickUpScheduler pickUpScheduler = new PickUpScheduler();
+
+    /**
+     * Buildings whose pick up weight changed since the last draw.
+     */
+    private final Set<BlockPos> stalePickUps = new HashSet<>();
+
     /**
      * Creates the BuildingManager for a colony.
      * @param colony the colony.
@@ -101,7 +111,7 @@ public class BuildingManager implements IBuildingManager
             final NBTTagList fieldTagList = compound.getTagList(TAG_NEW_FIELDS, Constants.NBT.TAG_COMPOUND);
             for (int i = 0; i < fieldTagList.tagCount(); ++i)
             {
-                addField(BlockPosUtil.readFromNBT(fieldTagList.getCompoundTagAt(i), TAG_POS));
+                fields.put(FieldData.readFromNBT(fieldTagList.getCompoundTagAt(i)));
             }
         }
     }
@@ -121,10 +131,10 @@ public class BuildingManager implements IBuildingManager
 
         // Fields
         @NotNull final NBTTagList fieldTagList = new NBTTagList();
-        for (@NotNull final BlockPos pos : fields)
+        for (@NotNull final FieldData field : fields.getAll())
         {
             @NotNull final NBTTagCompound fieldCompound = new NBTTagCompound();
-            BlockPosUtil.writeToNBT(fieldCompound, TAG_POS, pos);
+            field.writeToNBT(fieldCompound);
             fieldTagList.appendTag(fieldCompound);
         }
         compound.setTag(TAG_NEW_FIELDS, fieldTagList);
@@ -135,7 +145,9 @@ public class BuildingManager implements IBuildingManager
     {
         for (@NotNull final AbstractBuilding b : buildings.values())
         {
+            final long profile = ColonyProfiler.start();
             b.onServerTick(event);
+            ColonyProfiler.end(profile, colony.getID(), ColonyProfiler.Category.BUILDING, b.getClass());
         }
     }
 
@@ -163,7 +175,9 @@ public class BuildingManager implements IBuildingManager
         {
             if (event.world.isBlockLoaded(building.getLocation()))
             {
+                final long profile = ColonyProfiler.start();
                 building.onWorldTick(event);
+                ColonyProfiler.end(profile, colony.getID(), ColonyProfiler.Category.BUILDING, building.getClass());
             }
         }
     }
@@ -192,7 +206,7 @@ public class BuildingManager implements IBuildingManager
             }
         }
 
-        @NotNull final ArrayList<BlockPos> tempFields = new ArrayList<>(fields);
+        @NotNull final ArrayList<BlockPos> tempFields = new ArrayList<>(fields.getPositions());
 
         for (@NotNull final BlockPos pos : tempFields)
         {
@@ -249,21 +263,62 @@ public class BuildingManager implements IBuildingManager
         return townHall != null;
     }
 
+    @NotNull
+    @Override
+    public Set<BlockPos> getFields()
+    {
+        return fields.getPositions();
+    }
+
+    @Override
+    public boolean isField(@NotNull final BlockPos pos)
+    {
+        return fields.contains(pos);
+    }
+
+    @Nullable
+    @Override
+    public FieldData getFieldData(@NotNull final BlockPos pos)
+    {
+        return fields.get(pos);
+    }
+
+    @NotNull
     @Override
-    public List<BlockPos> getFields()
+    public Collection<FieldData> getFieldData()
     {
-        return Collections.unmodifiableList(fields);
+        return fields.getAll();
+    }
+
+    @Override
+    public void updateField(@NotNull final ScarecrowTileEntity field)
+    {
+        final FieldData old = fields.get(field.getPos());
+        if (old != null)
+        {
+            final FieldData data = FieldData.of(field);
+            fields.put(data);
+            if (old.isTaken() != data.isTaken() || old.getOwnerId() != data.getOwnerId())
+            {
+                markFieldsDirty();
+            }
+            colony.markDirty();
+        }
     }
 
     @Override
     public ScarecrowTileEntity getFreeField(final int owner, final World world)
     {
-        for (@NotNull final BlockPos pos : fields)
+        for (@NotNull final BlockPos pos : fields.getFreeFields())
         {
-            final TileEntity field = world.getTileEntity(pos);
-            if (field instanceof ScarecrowTileEntity && !((ScarecrowTileEntity) field).isTaken())
+            // Only loaded fields can be handed out, their scarecrow has to be updated.
+            if (world.isBlockLoaded(pos))
             {
-                return (ScarecrowTileEntity) field;
+                final TileEntity field = world.getTileEntity(pos);
+                if (field instanceof ScarecrowTileEntity && !((ScarecrowTileEntity) field).isTaken())
+                {
+                    return (ScarecrowTileEntity) field;
+                }
             }
         }
         return null;
@@ -286,8 +341,10 @@ public class BuildingManager implements IBuildingManager
     @Override
     public void addNewField(final ScarecrowTileEntity tileEntity, final BlockPos pos, final World world)
     {
-        addField(pos);
+        fields.put(FieldData.of(tileEntity));
+        colony.markDirty();
         tileEntity.calculateSize(world, pos);
+        updateField(tileEntity);
         markFieldsDirty();
     }
 
@@ -346,6 +403,9 @@ public class BuildingManager implements IBuildingManager
                 MineColonies.getNetwork().sendTo(new ColonyViewRemoveBuildingMessage(colony, building.getID()), player);
             }
 
+            pickUpScheduler.remove(building.getID());
+            stalePickUps.remove(building.getID());
+
             Log.getLogger().info(String.format("Colony %d - removed AbstractBuilding %s of type %s",
                     colony.getID(),
                     building.getID(),
@@ -412,6 +472,33 @@ public class BuildingManager implements IBuildingManager
         this.wareHouse = building;
     }
 
+    @Override
+    public void markPickUpDirty(@NotNull final BlockPos pos)
+    {
+        stalePickUps.add(pos);
+    }
+
+    @Nullable
+    @Override
+    public AbstractBuilding getPickUpTarget(@NotNull final Random random)
+    {
+        for (final BlockPos pos : stalePickUps)
+        {
+            final AbstractBuilding building = buildings.get(pos);
+            if (building == null)
+            {
+                pickUpScheduler.remove(pos);
+            }
+            else
+            {
+                pickUpScheduler.update(pos, building.getPickUpWeight());
+            }
+        }
+        stalePickUps.clear();
+
+        return getBuilding(pickUpScheduler.sample(random));
+    }
+
     /**
      * Updates all subscribers of fields etc.
      */
@@ -429,6 +516,7 @@ public class BuildingManager implements IBuildingManager
     {
         buildings.put(building.getID(), building);
         building.markDirty();
+        markPickUpDirty(building.getID());
 
         //  Limit 1 town hall
         if (building instanceof BuildingTownHall && townHall == null)
@@ -484,18 +572,4 @@ public class BuildingManager implements IBuildingManager
             }
         }
     }
-
-    /**
-     * Add a Field to the Colony.
-     *
-     * @param pos Field position to add to the colony.
-     */
-    private void addField(@NotNull final BlockPos pos)
-    {
-        if(!fields.contains(pos))
-        {
-            fields.add(pos);
-        }
-        colony.markDirty();
-    }
 }
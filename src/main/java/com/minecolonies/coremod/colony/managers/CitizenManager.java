@@ -70,6 +70,11 @@ public class CitizenManager implements ICitizenManager
      */
     private final HappinessData happinessData = new HappinessData();
 
+    /**
+     * Running totals of the citizen values the happiness depends on.
+     */
+    private final HappinessTotals happinessTotals = new HappinessTotals();
+
     /**
      * Creates the Citizenmanager for a colony.
      *
@@ -89,6 +94,7 @@ public class CitizenManager implements ICitizenManager
         citizens.putAll(NBTUtils.streamCompound(compound.getTagList(TAG_CITIZENS, Constants.NBT.TAG_COMPOUND))
                 .map(this::deserializeCitizen)
                 .collect(Collectors.toMap(CitizenData::getId, Function.identity())));
+        recountHappinessTotals();
     }
 
     private CitizenData deserializeCitizen(@NotNull final NBTTagCompound compound)
@@ -186,16 +192,7 @@ public class CitizenManager implements ICitizenManager
 
                 citizenData = new CitizenData(topCitizenId, colony);
                 citizenData.initializeFromEntity(entity);
-
-                citizens.put(citizenData.getId(), citizenData);
-
-                if (getMaxCitizens() == getCitizens().size())
-                {
-                    LanguageHandler.sendPlayersMessage(
-                      colony.getMessageEntityPlayers(),
-                      "tile.blockHutTownHall.messageMaxSize",
-                      colony.getName());
-                }
+                registerCitizen(citizenData);
             }
             else
             {
@@ -212,11 +209,31 @@ public class CitizenManager implements ICitizenManager
         }
     }
 
+    /**
+     * Add a new citizen to the colony and count it in the happiness totals.
+     *
+     * @param citizenData the new citizen.
+     */
+    void registerCitizen(@NotNull final CitizenData citizenData)
+    {
+        citizens.put(citizenData.getId(), citizenData);
+        updateHappinessTotals(citizenData);
+
+        if (getMaxCitizens() == getCitizens().size())
+        {
+            LanguageHandler.sendPlayersMessage(
+              colony.getMessageEntityPlayers(),
+              "tile.blockHutTownHall.messageMaxSize",
+              colony.getName());
+        }
+    }
+
     @Override
     public void removeCitizen(@NotNull final CitizenData citizen)
     {
         //Remove the Citizen
         citizens.remove(citizen.getId());
+        happinessTotals.remove(citizen.getId());
 
         if (citizen.getWorkBuilding() != null)
         {
@@ -342,35 +359,17 @@ public class CitizenManager implements ICitizenManager
     @Override
     public void checkCitizensForHappiness()
     {
-        int guards = 1;
-        int housing = 0;
-        int workers = 1;
-        double saturation = 0;
-        for (final CitizenData citizen : getCitizens())
+        if (Configurations.gameplay.debugHappinessTotals)
         {
-            final AbstractBuildingWorker buildingWorker = citizen.getWorkBuilding();
-            if (buildingWorker != null)
-            {
-                if (buildingWorker instanceof AbstractBuildingGuards)
-                {
-                    guards += buildingWorker.getBuildingLevel();
-                }
-                else
-                {
-                    workers += buildingWorker.getBuildingLevel();
-                }
-            }
-
-            final AbstractBuilding home = citizen.getHomeBuilding();
-            if (home != null)
-            {
-                housing += home.getBuildingLevel();
-            }
-
-            saturation += citizen.getSaturation();
+            verifyHappinessTotals();
         }
 
-        final int averageHousing = housing / Math.max(1, getCitizens().size());
+        final int guards = 1 + happinessTotals.getGuardLevels();
+        final int housing = happinessTotals.getHousingLevels();
+        final int workers = 1 + happinessTotals.getWorkerLevels();
+        final double saturation = happinessTotals.getSaturation();
+
+        final int averageHousing = housing / Math.max(1, citizens.size());
 
         if (averageHousing > 1)
         {
@@ -386,7 +385,7 @@ public class CitizenManager implements ICitizenManager
             colony.getHappinessData().setHousing(HappinessData.STABLE);
         }
 
-        final int averageSaturation = (int) (saturation / getCitizens().size());
+        final int averageSaturation = (int) (saturation / citizens.size());
         if (averageSaturation < WELL_SATURATED_LIMIT)
         {
             colony.decreaseOverallHappiness((averageSaturation - WELL_SATURATED_LIMIT) * -HAPPINESS_FACTOR);
@@ -419,6 +418,69 @@ public class CitizenManager implements ICitizenManager
         }
     }
 
+    @Override
+    public void updateHappinessTotals(@NotNull final CitizenData citizen)
+    {
+        if (citizens.get(citizen.getId()) == citizen)
+        {
+            addToHappinessTotals(happinessTotals, citizen);
+        }
+    }
+
+    /**
+     * Get the running happiness totals.
+     *
+     * @return the totals.
+     */
+    @NotNull
+    HappinessTotals getHappinessTotals()
+    {
+        return happinessTotals;
+    }
+
+    /**
+     * Compare the happiness totals with a full recount and fix them if they differ.
+     */
+    private void verifyHappinessTotals()
+    {
+        final HappinessTotals recount = new HappinessTotals();
+        citizens.values().forEach(citizen -> addToHappinessTotals(recount, citizen));
+        if (!recount.hasSameTotals(happinessTotals))
+        {
+            Log.getLogger().warn(String.format("Colony %d - happiness totals %s differ from the recount %s", colony.getID(), happinessTotals, recount));
+            recountHappinessTotals();
+        }
+    }
+
+    /**
+     * Compute the happiness totals from scratch.
+     */
+    private void recountHappinessTotals()
+    {
+        happinessTotals.clear();
+        citizens.values().forEach(citizen -> addToHappinessTotals(happinessTotals, citizen));
+    }
+
+    /**
+     * Set the share of a citizen in happiness totals.
+     *
+     * @param totals  the totals.
+     * @param citizen the citizen.
+     */
+    private static void addToHappinessTotals(@NotNull final HappinessTotals totals, @NotNull final CitizenData citizen)
+    {
+        final AbstractBuildingWorker buildingWorker = citizen.getWorkBuilding();
+        final int workLevel = buildingWorker == null ? 0 : buildingWorker.getBuildingLevel();
+        final boolean guard = buildingWorker instanceof AbstractBuildingGuards;
+        final AbstractBuilding home = citizen.getHomeBuilding();
+
+        totals.update(citizen.getId(),
+          guard ? workLevel : 0,
+          guard ? 0 : workLevel,
+          home == null ? 0 : home.getBuildingLevel(),
+          citizen.getSaturation());
+    }
+
     @Override
     public void onWorldTick(final TickEvent.WorldTickEvent event)
     {
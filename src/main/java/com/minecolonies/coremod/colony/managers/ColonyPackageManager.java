@@ -3,6 +3,7 @@ package com.minecolonies.coremod.colony.managers;
 import com.minecolonies.api.colony.permissions.Rank;
 import com.minecolonies.coremod.MineColonies;
 import com.minecolonies.coremod.colony.Colony;
+import com.minecolonies.coremod.colony.ColonyManager;
 import com.minecolonies.coremod.colony.Structures;
 import com.minecolonies.coremod.colony.permissions.Permissions;
 import com.minecolonies.coremod.colony.workorders.AbstractWorkOrder;
@@ -83,6 +84,7 @@ public class ColonyPackageManager implements IColonyPackageManager
     public void setLastContactInHours(final int lastContactInHours)
     {
         this.lastContactInHours = lastContactInHours;
+        ColonyManager.updateLastContact(colony.getID(), lastContactInHours);
     }
 
     @Override
@@ -138,6 +140,7 @@ public class ColonyPackageManager implements IColonyPackageManager
             {
                 ticksPassed = 0;
                 lastContactInHours++;
+                ColonyManager.updateLastContact(colony.getID(), lastContactInHours);
                 colony.markDirty();
             }
             ticksPassed++;
@@ -146,6 +149,7 @@ public class ColonyPackageManager implements IColonyPackageManager
         {
             lastContactInHours = 0;
             ticksPassed = 0;
+            ColonyManager.updateLastContact(colony.getID(), lastContactInHours);
             colony.markDirty();
         }
 
@@ -0,0 +1,220 @@
+package com.minecolonies.coremod.colony.managers;
+
+import com.minecolonies.api.util.BlockPosUtil;
+import com.minecolonies.api.util.ItemStackUtils;
+import com.minecolonies.coremod.tileentities.ScarecrowTileEntity;
+import net.minecraft.item.ItemStack;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.util.math.BlockPos;
+import org.jetbrains.annotations.NotNull;
+
+import static com.minecolonies.api.util.constant.NbtTagConstants.*;
+
+/**
+ * What the colony knows about one of its fields, copied from the scarecrow whenever it changes.
+ * Lets the colony answer questions about its fields without loading their chunks.
+ */
+public final class FieldData
+{
+    /**
+     * The position of the scarecrow.
+     */
+    private final BlockPos pos;
+
+    /**
+     * Id of the citizen owning the field, 0 if none.
+     */
+    private final int ownerId;
+
+    /**
+     * If a farmer took the field.
+     */
+    private final boolean taken;
+
+    /**
+     * The seed of the field, empty if none is set.
+     */
+    @NotNull
+    private final ItemStack seed;
+
+    /**
+     * The extent of the field around the scarecrow.
+     */
+    private final int lengthPlusX;
+    private final int lengthMinusX;
+    private final int widthPlusZ;
+    private final int widthMinusZ;
+
+    /**
+     * Create the data of a field.
+     *
+     * @param pos          the position of the scarecrow.
+     * @param ownerId      the id of the owning citizen, 0 if none.
+     * @param taken        if a farmer took the field.
+     * @param seed         the seed, empty if none.
+     * @param lengthPlusX  the length in plus x direction.
+     * @param lengthMinusX the length in minus x direction.
+     * @param widthPlusZ   the width in plus z direction.
+     * @param widthMinusZ  the width in minus z direction.
+     */
+    public FieldData(
+      @NotNull final BlockPos pos,
+      final int ownerId,
+      final boolean taken,
+      @NotNull final ItemStack seed,
+      final int lengthPlusX,
+      final int lengthMinusX,
+      final int widthPlusZ,
+      final int widthMinusZ)
+    {
+        this.pos = pos;
+        this.ownerId = ownerId;
+        this.taken = taken;
+        this.seed = seed;
+        this.lengthPlusX = lengthPlusX;
+        this.lengthMinusX = lengthMinusX;
+        this.widthPlusZ = widthPlusZ;
+        this.widthMinusZ = widthMinusZ;
+    }
+
+    /**
+     * Copy the data of a scarecrow.
+     *
+     * @param field the scarecrow.
+     * @return the data.
+     */
+    @NotNull
+    public static FieldData of(@NotNull final ScarecrowTileEntity field)
+    {
+        final ItemStack seed = field.getSeed();
+        return new FieldData(field.getPos(),
+          field.getOwnerId(),
+          field.isTaken(),
+          ItemStackUtils.isEmpty(seed) ? ItemStackUtils.EMPTY : seed.copy(),
+          field.getLengthPlusX(),
+          field.getLengthMinusX(),
+          field.getWidthPlusZ(),
+          field.getWidthMinusZ());
+    }
+
+    /**
+     * Read the data of a field, fields saved before the data was kept count as free until their scarecrow loads.
+     *
+     * @param compound the compound.
+     * @return the data.
+     */
+    @NotNull
+    public static FieldData readFromNBT(@NotNull final NBTTagCompound compound)
+    {
+        return new FieldData(BlockPosUtil.readFromNBT(compound, TAG_POS),
+          compound.getInteger(TAG_OWNER),
+          compound.getBoolean(TAG_TAKEN),
+          compound.hasKey(TAG_SEED) ? new ItemStack(compound.getCompoundTag(TAG_SEED)) : ItemStackUtils.EMPTY,
+          compound.getInteger(TAG_LENGTH_PLUS),
+          compound.getInteger(TAG_LENGTH_MINUS),
+          compound.getInteger(TAG_WIDTH_PLUS),
+          compound.getInteger(TAG_WIDTH_MINUS));
+    }
+
+    /**
+     * Write the data of the field.
+     *
+     * @param compound the compound to write to.
+     */
+    public void writeToNBT(@NotNull final NBTTagCompound compound)
+    {
+        BlockPosUtil.writeToNBT(compound, TAG_POS, pos);
+        compound.setInteger(TAG_OWNER, ownerId);
+        compound.setBoolean(TAG_TAKEN, taken);
+        if (!ItemStackUtils.isEmpty(seed))
+        {
+            compound.setTag(TAG_SEED, seed.writeToNBT(new NBTTagCompound()));
+        }
+        compound.setInteger(TAG_LENGTH_PLUS, lengthPlusX);
+        compound.setInteger(TAG_LENGTH_MINUS, lengthMinusX);
+        compound.setInteger(TAG_WIDTH_PLUS, widthPlusZ);
+        compound.setInteger(TAG_WIDTH_MINUS, widthMinusZ);
+    }
+
+    /**
+     * Get the position of the scarecrow.
+     *
+     * @return the position.
+     */
+    @NotNull
+    public BlockPos getPos()
+    {
+        return pos;
+    }
+
+    /**
+     * Get the id of the owning citizen.
+     *
+     * @return the id, 0 if none.
+     */
+    public int getOwnerId()
+    {
+        return ownerId;
+    }
+
+    /**
+     * Check if a farmer took the field.
+     *
+     * @return true if so.
+     */
+    public boolean isTaken()
+    {
+        return taken;
+    }
+
+    /**
+     * Get the seed of the field.
+     *
+     * @return the seed, empty if none is set. Must not be modified.
+     */
+    @NotNull
+    public ItemStack getSeed()
+    {
+        return seed;
+    }
+
+    /**
+     * Getter of the length in plus x direction.
+     *
+     * @return field length.
+     */
+    public int getLengthPlusX()
+    {
+        return lengthPlusX;
+    }
+
+    /**
+     * Getter of the length in minus x direction.
+     *
+     * @return field length.
+     */
+    public int getLengthMinusX()
+    {
+        return lengthMinusX;
+    }
+
+    /**
+     * Getter of the width in plus z direction.
+     *
+     * @return field width.
+     */
+    public int getWidthPlusZ()
+    {
+        return widthPlusZ;
+    }
+
+    /**
+     * Getter of the width in minus z direction.
+     *
+     * @return field width.
+     */
+    public int getWidthMinusZ()
+    {
+        return widthMinusZ;
+    }
+}
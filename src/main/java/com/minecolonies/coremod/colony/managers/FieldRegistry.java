@@ -0,0 +1,120 @@
+package com.minecolonies.coremod.colony.managers;
+
+import net.minecraft.util.math.BlockPos;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+/**
+ * The fields of a colony by position, with the free ones kept in a separate set.
+ * Lookups, ownership checks and finding a free field don't touch the world.
+ */
+public class FieldRegistry
+{
+    /**
+     * The data of every field, in the order they were added.
+     */
+    private final Map<BlockPos, FieldData> fields = new LinkedHashMap<>();
+
+    /**
+     * The fields no farmer took yet.
+     */
+    private final Set<BlockPos> freeFields = new LinkedHashSet<>();
+
+    /**
+     * Add a field or replace its data.
+     *
+     * @param data the data of the field.
+     */
+    public void put(@NotNull final FieldData data)
+    {
+        fields.put(data.getPos(), data);
+        if (data.isTaken())
+        {
+            freeFields.remove(data.getPos());
+        }
+        else
+        {
+            freeFields.add(data.getPos());
+        }
+    }
+
+    /**
+     * Remove a field.
+     *
+     * @param pos the position of the scarecrow.
+     * @return true if it was known.
+     */
+    public boolean remove(@NotNull final BlockPos pos)
+    {
+        freeFields.remove(pos);
+        return fields.remove(pos) != null;
+    }
+
+    /**
+     * Check if there is a field at a position.
+     *
+     * @param pos the position of the scarecrow.
+     * @return true if so.
+     */
+    public boolean contains(@NotNull final BlockPos pos)
+    {
+        return fields.containsKey(pos);
+    }
+
+    /**
+     * Get the data of a field.
+     *
+     * @param pos the position of the scarecrow.
+     * @return the data or null if there is no field.
+     */
+    @Nullable
+    public FieldData get(@NotNull final BlockPos pos)
+    {
+        return fields.get(pos);
+    }
+
+    /**
+     * Get the positions of all fields.
+     *
+     * @return an unmodifiable set.
+     */
+    @NotNull
+    public Set<BlockPos> getPositions()
+    {
+        return Collections.unmodifiableSet(fields.keySet());
+    }
+
+    /**
+     * Get the data of all fields.
+     *
+     * @return an unmodifiable collection.
+     */
+    @NotNull
+    public Collection<FieldData> getAll()
+    {
+        return Collections.unmodifiableCollection(fields.values());
+    }
+
+    /**
+     * Get the positions of the fields no farmer took yet.
+     *
+     * @return an unmodifiable set.
+     */
+    @NotNull
+    public Set<BlockPos> getFreeFields()
+    {
+        return Collections.unmodifiableSet(freeFields);
+    }
+
+    /**
+     * Get the amount of fields.
+     *
+     * @return the amount.
+     */
+    public int size()
+    {
+        return fields.size();
+    }
+}
@@ -0,0 +1,185 @@
+package com.minecolonies.coremod.colony.managers;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Running totals of the citizen values the colony happiness depends on.
+ * The share of every citizen is kept, so a change of one citizen updates the totals in O(1).
+ * Saturation is summed in fixed point, the totals don't drift and match a recount exactly.
+ */
+public class HappinessTotals
+{
+    /**
+     * Fixed point scale of the saturation, a power of two so the conversion back is exact.
+     */
+    private static final double SATURATION_SCALE = 1024;
+
+    /**
+     * The share of every citizen, by citizen id.
+     */
+    private final Map<Integer, Share> shares = new HashMap<>();
+
+    /**
+     * Sum of the building levels of the guards.
+     */
+    private int guardLevels = 0;
+
+    /**
+     * Sum of the building levels of the other workers.
+     */
+    private int workerLevels = 0;
+
+    /**
+     * Sum of the levels of the homes.
+     */
+    private int housingLevels = 0;
+
+    /**
+     * Sum of the saturation, in fixed point.
+     */
+    private long saturation = 0;
+
+    /**
+     * Set the share of a citizen, replacing the previous one.
+     *
+     * @param citizenId     the id of the citizen.
+     * @param guardLevels   the level of its guard building, 0 if it is no guard.
+     * @param workerLevels  the level of its other work building, 0 if it has none.
+     * @param housingLevels the level of its home, 0 if it has none.
+     * @param saturation    its saturation.
+     */
+    public void update(final int citizenId, final int guardLevels, final int workerLevels, final int housingLevels, final double saturation)
+    {
+        remove(citizenId);
+
+        final Share share = new Share(guardLevels, workerLevels, housingLevels, Math.round(saturation * SATURATION_SCALE));
+        shares.put(citizenId, share);
+        this.guardLevels += share.guardLevels;
+        this.workerLevels += share.workerLevels;
+        this.housingLevels += share.housingLevels;
+        this.saturation += share.saturation;
+    }
+
+    /**
+     * Remove the share of a citizen.
+     *
+     * @param citizenId the id of the citizen.
+     */
+    public void remove(final int citizenId)
+    {
+        final Share share = shares.remove(citizenId);
+        if (share != null)
+        {
+            guardLevels -= share.guardLevels;
+            workerLevels -= share.workerLevels;
+            housingLevels -= share.housingLevels;
+            saturation -= share.saturation;
+        }
+    }
+
+    /**
+     * Remove all shares.
+     */
+    public void clear()
+    {
+        shares.clear();
+        guardLevels = 0;
+        workerLevels = 0;
+        housingLevels = 0;
+        saturation = 0;
+    }
+
+    /**
+     * Get the amount of citizens with a share.
+     *
+     * @return the amount.
+     */
+    public int getCitizenCount()
+    {
+        return shares.size();
+    }
+
+    /**
+     * Get the sum of the building levels of the guards.
+     *
+     * @return the sum.
+     */
+    public int getGuardLevels()
+    {
+        return guardLevels;
+    }
+
+    /**
+     * Get the sum of the building levels of the other workers.
+     *
+     * @return the sum.
+     */
+    public int getWorkerLevels()
+    {
+        return workerLevels;
+    }
+
+    /**
+     * Get the sum of the levels of the homes.
+     *
+     * @return the sum.
+     */
+    public int getHousingLevels()
+    {
+        return housingLevels;
+    }
+
+    /**
+     * Get the sum of the saturation.
+     *
+     * @return the sum.
+     */
+    public double getSaturation()
+    {
+        return saturation / SATURATION_SCALE;
+    }
+
+    /**
+     * Check if other totals are the same as these.
+     *
+     * @param other the other totals.
+     * @return true if all sums and the amount of citizens match.
+     */
+    public boolean hasSameTotals(@NotNull final HappinessTotals other)
+    {
+        return shares.size() == other.shares.size()
+                 && guardLevels == other.guardLevels
+                 && workerLevels == other.workerLevels
+                 && housingLevels == other.housingLevels
+                 && saturation == other.saturation;
+    }
+
+    @Override
+    public String toString()
+    {
+        return String.format("[citizens=%d, guards=%d, workers=%d, housing=%d, saturation=%.2f]",
+          shares.size(), guardLevels, workerLevels, housingLevels, getSaturation());
+    }
+
+    /**
+     * The share of one citizen.
+     */
+    private static final class Share
+    {
+        private final int  guardLevels;
+        private final int  workerLevels;
+        private final int  housingLevels;
+        private final long saturation;
+
+        private Share(final int guardLevels, final int workerLevels, final int housingLevels, final long saturation)
+        {
+            this.guardLevels = guardLevels;
+            this.workerLevels = workerLevels;
+            this.housingLevels = housingLevels;
+            this.saturation = saturation;
+        }
+    }
+}
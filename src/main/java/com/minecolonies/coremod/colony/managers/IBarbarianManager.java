@@ -79,4 +79,10 @@ public interface IBarbarianManager
      * @param abstractEntityBarbarian the barbarian to unregister.
      */
     void unregisterBarbarian(@NotNull final AbstractEntityBarbarian abstractEntityBarbarian);
+
+    /**
+     * Check if living barbarians of the colony are in loaded chunks, so the colony is under attack.
+     * @return true if so.
+     */
+    boolean isRaidActive();
 }
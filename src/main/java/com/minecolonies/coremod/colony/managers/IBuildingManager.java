@@ -14,8 +14,9 @@ import net.minecraftforge.fml.common.gameevent.TickEvent;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.List;
+import java.util.Collection;
 import java.util.Map;
+import java.util.Random;
 import java.util.Set;
 
 /**
@@ -115,10 +116,42 @@ public interface IBuildingManager
     /**
      * Getter for a unmodifiable version of the farmerFields list.
      *
-     * @return list of fields and their id.
+     * @return set of the positions of the fields.
      */
     @NotNull
-    List<BlockPos> getFields();
+    Set<BlockPos> getFields();
+
+    /**
+     * Check if there is a field of the colony at a position.
+     *
+     * @param pos the position of the scarecrow.
+     * @return true if so.
+     */
+    boolean isField(@NotNull final BlockPos pos);
+
+    /**
+     * Get what the colony knows about a field, without loading it.
+     *
+     * @param pos the position of the scarecrow.
+     * @return the data or null if there is no field at the position.
+     */
+    @Nullable
+    FieldData getFieldData(@NotNull final BlockPos pos);
+
+    /**
+     * Get what the colony knows about all of its fields, without loading them.
+     *
+     * @return an unmodifiable collection of the data.
+     */
+    @NotNull
+    Collection<FieldData> getFieldData();
+
+    /**
+     * Copy the state of a scarecrow of the colony after it changed.
+     *
+     * @param field the scarecrow.
+     */
+    void updateField(@NotNull final ScarecrowTileEntity field);
 
     /**
      * Creates a field from a tile entity and adds it to the colony.
@@ -184,4 +217,19 @@ public interface IBuildingManager
      * @param building the building to set.
      */
     void setWareHouse(@Nullable final BuildingWareHouse building);
+
+    /**
+     * Mark the pick up weight of a building as outdated.
+     * It is recomputed on the next call of {@link #getPickUpTarget(Random)}.
+     * @param pos the position of the building.
+     */
+    void markPickUpDirty(@NotNull final BlockPos pos);
+
+    /**
+     * Draw a building for a deliveryman to gather from, weighted by {@link AbstractBuilding#getPickUpWeight()}.
+     * @param random the random to use.
+     * @return the building or null if no building has anything to pick up.
+     */
+    @Nullable
+    AbstractBuilding getPickUpTarget(@NotNull final Random random);
 }
@@ -122,6 +122,14 @@ public interface ICitizenManager
      */
     void checkCitizensForHappiness();
 
+    /**
+     * Update the share of a citizen in the happiness totals.
+     * To be called when its work building, its home, the level of one of them or its saturation changes.
+     *
+     * @param citizen the citizen.
+     */
+    void updateHappinessTotals(@NotNull final CitizenData citizen);
+
     /**
      * Actions to execute on a specific world tick event.
      * @param event the event.
@@ -0,0 +1,212 @@
+package com.minecolonies.coremod.colony.managers;
+
+import net.minecraft.util.math.BlockPos;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+/**
+ * Weighted random choice of the buildings deliverymen gather from.
+ * The weights are kept in a Fenwick tree, so changing a weight and drawing a building are O(log n).
+ */
+public class PickUpScheduler
+{
+    /**
+     * Initial amount of slots, always a power of two.
+     */
+    private static final int INITIAL_CAPACITY = 16;
+
+    /**
+     * The slot of every known building.
+     */
+    private final Map<BlockPos, Integer> slots = new HashMap<>();
+
+    /**
+     * Slots of removed buildings which can be reused.
+     */
+    private final Deque<Integer> freeSlots = new ArrayDeque<>();
+
+    /**
+     * The building of every slot, null if the slot is free.
+     */
+    private BlockPos[] positions = new BlockPos[INITIAL_CAPACITY];
+
+    /**
+     * The weight of every slot.
+     */
+    private int[] weights = new int[INITIAL_CAPACITY];
+
+    /**
+     * The Fenwick tree over the weights, one based.
+     */
+    private int[] tree = new int[INITIAL_CAPACITY + 1];
+
+    /**
+     * Amount of slots handed out so far.
+     */
+    private int usedSlots = 0;
+
+    /**
+     * Sum of all weights.
+     */
+    private int totalWeight = 0;
+
+    /**
+     * Set the weight of a building, adding it if it is not known yet.
+     *
+     * @param pos    the position of the building.
+     * @param weight the weight, 0 to never choose it.
+     */
+    public void update(@NotNull final BlockPos pos, final int weight)
+    {
+        final int newWeight = Math.max(0, weight);
+        Integer slot = slots.get(pos);
+        if (slot == null)
+        {
+            if (newWeight == 0)
+            {
+                return;
+            }
+            slot = allocate(pos);
+        }
+
+        add(slot, newWeight - weights[slot]);
+        weights[slot] = newWeight;
+    }
+
+    /**
+     * Forget a building.
+     *
+     * @param pos the position of the building.
+     */
+    public void remove(@NotNull final BlockPos pos)
+    {
+        final Integer slot = slots.remove(pos);
+        if (slot == null)
+        {
+            return;
+        }
+
+        add(slot, -weights[slot]);
+        weights[slot] = 0;
+        positions[slot] = null;
+        freeSlots.push(slot);
+    }
+
+    /**
+     * Draw a building, each with a chance proportional to its weight.
+     *
+     * @param random the random to use.
+     * @return the position of the building or null if all weights are 0.
+     */
+    @Nullable
+    public BlockPos sample(@NotNull final Random random)
+    {
+        if (totalWeight <= 0)
+        {
+            return null;
+        }
+
+        int remaining = random.nextInt(totalWeight);
+        int index = 0;
+        for (int step = positions.length; step > 0; step >>= 1)
+        {
+            final int next = index + step;
+            if (next < tree.length && tree[next] <= remaining)
+            {
+                index = next;
+                remaining -= tree[next];
+            }
+        }
+        return positions[index];
+    }
+
+    /**
+     * Get the weight of a building.
+     *
+     * @param pos the position of the building.
+     * @return the weight, 0 if it is unknown.
+     */
+    public int getWeight(@NotNull final BlockPos pos)
+    {
+        final Integer slot = slots.get(pos);
+        return slot == null ? 0 : weights[slot];
+    }
+
+    /**
+     * Get the sum of all weights.
+     *
+     * @return the sum.
+     */
+    public int getTotalWeight()
+    {
+        return totalWeight;
+    }
+
+    /**
+     * Get the amount of known buildings.
+     *
+     * @return the amount.
+     */
+    public int size()
+    {
+        return slots.size();
+    }
+
+    /**
+     * Hand out a slot to a building, growing the arrays if needed.
+     */
+    private int allocate(@NotNull final BlockPos pos)
+    {
+        final int slot;
+        if (freeSlots.isEmpty())
+        {
+            if (usedSlots == positions.length)
+            {
+                grow();
+            }
+            slot = usedSlots++;
+        }
+        else
+        {
+            slot = freeSlots.pop();
+        }
+
+        positions[slot] = pos;
+        slots.put(pos, slot);
+        return slot;
+    }
+
+    /**
+     * Double the capacity and rebuild the tree in linear time.
+     */
+    private void grow()
+    {
+        final int capacity = positions.length * 2;
+        positions = Arrays.copyOf(positions, capacity);
+        weights = Arrays.copyOf(weights, capacity);
+        tree = new int[capacity + 1];
+        for (int i = 1; i <= capacity; i++)
+        {
+            tree[i] += weights[i - 1];
+            final int parent = i + (i & -i);
+            if (parent <= capacity)
+            {
+                tree[parent] += tree[i];
+            }
+        }
+    }
+
+    /**
+     * Add a delta to the weight of a slot in the tree.
+     */
+    private void add(final int slot, final int delta)
+    {
+        totalWeight += delta;
+        for (int i = slot + 1; i < tree.length; i += i & -i)
+        {
+            tree[i] += delta;
+        }
+    }
+}
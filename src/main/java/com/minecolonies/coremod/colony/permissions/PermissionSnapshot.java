@@ -0,0 +1,177 @@
+package com.minecolonies.coremod.colony.permissions;
+
+import com.minecolonies.api.colony.permissions.Action;
+import com.minecolonies.api.colony.permissions.Player;
+import com.minecolonies.api.colony.permissions.Rank;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+
+/**
+ * Immutable view of the permissions of a colony, built once after every change.
+ * The rank of a player is found in an open addressed table over the bits of its UUID and the actions of a rank are one int,
+ * so the checks of the permission events don't allocate.
+ */
+public final class PermissionSnapshot
+{
+    /**
+     * All ranks, by ordinal.
+     */
+    private static final Rank[] RANKS = Rank.values();
+
+    /**
+     * Flags of the actions of every rank, by rank ordinal.
+     */
+    private final int[] rankFlags = new int[RANKS.length];
+
+    /**
+     * Most significant bits of the UUIDs in the table.
+     */
+    private final long[] mostBits;
+
+    /**
+     * Least significant bits of the UUIDs in the table.
+     */
+    private final long[] leastBits;
+
+    /**
+     * Rank of the UUID in the same slot, null if the slot is empty.
+     */
+    private final Rank[] ranks;
+
+    /**
+     * Mask to turn a hash into a slot, the table size is a power of two.
+     */
+    private final int mask;
+
+    /**
+     * The players of every rank.
+     */
+    private final Map<Rank, Set<Player>> playersByRank = new EnumMap<>(Rank.class);
+
+    /**
+     * The players which receive the messages of the colony.
+     */
+    private final Set<UUID> messagePlayers;
+
+    /**
+     * Build the snapshot.
+     *
+     * @param players       the players of the colony.
+     * @param permissionMap the action flags of every rank.
+     */
+    public PermissionSnapshot(@NotNull final Collection<Player> players, @NotNull final Map<Rank, Integer> permissionMap)
+    {
+        for (final Rank rank : RANKS)
+        {
+            final Integer flags = permissionMap.get(rank);
+            rankFlags[rank.ordinal()] = flags == null ? 0 : flags;
+            playersByRank.put(rank, new HashSet<>());
+        }
+        // The owner may do everything but getting attacked by the guards.
+        rankFlags[Rank.OWNER.ordinal()] |= ~Action.GUARDS_ATTACK.getFlag();
+
+        final int size = Integer.highestOneBit(Math.max(1, players.size())) * 4;
+        mostBits = new long[size];
+        leastBits = new long[size];
+        ranks = new Rank[size];
+        mask = size - 1;
+
+        final Set<UUID> receivers = new HashSet<>();
+        for (final Player player : players)
+        {
+            final UUID id = player.getID();
+            final int slot = find(id.getMostSignificantBits(), id.getLeastSignificantBits());
+            mostBits[slot] = id.getMostSignificantBits();
+            leastBits[slot] = id.getLeastSignificantBits();
+            ranks[slot] = player.getRank();
+
+            playersByRank.get(player.getRank()).add(player);
+            if (hasPermission(player.getRank(), Action.RECEIVE_MESSAGES))
+            {
+                receivers.add(id);
+            }
+        }
+
+        for (final Rank rank : RANKS)
+        {
+            playersByRank.put(rank, Collections.unmodifiableSet(playersByRank.get(rank)));
+        }
+        messagePlayers = Collections.unmodifiableSet(receivers);
+    }
+
+    /**
+     * Checks if a rank can perform an action.
+     *
+     * @param rank   the rank.
+     * @param action the action.
+     * @return true if it can.
+     */
+    public boolean hasPermission(@NotNull final Rank rank, @NotNull final Action action)
+    {
+        return (rankFlags[rank.ordinal()] & action.getFlag()) != 0;
+    }
+
+    /**
+     * Get the rank of a player.
+     *
+     * @param id the UUID of the player.
+     * @return its rank, neutral if it is no player of the colony.
+     */
+    @NotNull
+    public Rank getRank(@NotNull final UUID id)
+    {
+        final Rank rank = ranks[find(id.getMostSignificantBits(), id.getLeastSignificantBits())];
+        return rank == null ? Rank.NEUTRAL : rank;
+    }
+
+    /**
+     * Check if a player belongs to the colony.
+     *
+     * @param id the UUID of the player.
+     * @return true if it has a rank in the colony.
+     */
+    public boolean isPlayer(@NotNull final UUID id)
+    {
+        return ranks[find(id.getMostSignificantBits(), id.getLeastSignificantBits())] != null;
+    }
+
+    /**
+     * Get the players of a rank.
+     *
+     * @param rank the rank.
+     * @return an unmodifiable set of the players.
+     */
+    @NotNull
+    public Set<Player> getPlayersByRank(@NotNull final Rank rank)
+    {
+        return playersByRank.get(rank);
+    }
+
+    /**
+     * Get the players which receive the messages of the colony.
+     *
+     * @return an unmodifiable set of their UUIDs.
+     */
+    @NotNull
+    public Set<UUID> getMessagePlayers()
+    {
+        return messagePlayers;
+    }
+
+    /**
+     * Find the slot of a UUID, or the empty slot it would go in.
+     * The table is at most half full, so the probing always ends.
+     */
+    private int find(final long most, final long least)
+    {
+        final long bits = most ^ least;
+        final int hash = (int) (bits ^ (bits >>> 32));
+        int slot = (hash ^ (hash >>> 16)) & mask;
+        while (ranks[slot] != null && (mostBits[slot] != most || leastBits[slot] != least))
+        {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+}
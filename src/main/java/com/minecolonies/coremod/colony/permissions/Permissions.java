@@ -21,7 +21,6 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
-import java.util.stream.Collectors;
 
 import static com.minecolonies.api.util.constant.NbtTagConstants.TAG_NAME;
 
@@ -81,6 +80,12 @@ public class Permissions implements IPermissions
      */
     private boolean dirty = false;
 
+    /**
+     * Lookup view of the players and permissions, null until needed after a change.
+     */
+    @Nullable
+    private PermissionSnapshot snapshot = null;
+
     /**
      * The name of the owner.
      */
@@ -210,6 +215,7 @@ public class Permissions implements IPermissions
     private void markDirty()
     {
         dirty = true;
+        snapshot = null;
         if(colony != null)
         {
             colony.markDirty();
@@ -352,6 +358,7 @@ public class Permissions implements IPermissions
         }
 
         restoreOwnerIfNull();
+        snapshot = null;
     }
 
     /**
@@ -426,6 +433,7 @@ public class Permissions implements IPermissions
             if (player != null)
             {
                 players.put(ownerUUID, new Player(ownerUUID, player.getName(), Rank.OWNER));
+                snapshot = null;
             }
         }
     }
@@ -547,11 +555,25 @@ public class Permissions implements IPermissions
      */
     public Set<UUID> getMessagePlayers()
     {
-        return players.values().stream()
-                 .filter(player -> hasPermission(player.getRank(), Action.RECEIVE_MESSAGES))
-                 .map(Player::getID)
-                 .collect(Collectors.toSet());
-    }    @Override
+        return getSnapshot().getMessagePlayers();
+    }
+
+    /**
+     * Get the lookup view of the players and permissions, building it if they changed since the last call.
+     *
+     * @return the snapshot.
+     */
+    @NotNull
+    private PermissionSnapshot getSnapshot()
+    {
+        if (snapshot == null)
+        {
+            snapshot = new PermissionSnapshot(players.values(), permissionMap);
+        }
+        return snapshot;
+    }
+
+    @Override
     @NotNull
     public Map<UUID, Player> getPlayers()
     {
@@ -567,8 +589,7 @@ public class Permissions implements IPermissions
      */
     public boolean hasPermission(final Rank rank, @NotNull final Action action)
     {
-        return (rank == Rank.OWNER && action != Action.GUARDS_ATTACK)
-                 || Utils.testFlag(permissionMap.get(rank), action.getFlag());
+        return getSnapshot().hasPermission(rank, action);
     }
 
     /**
@@ -579,9 +600,7 @@ public class Permissions implements IPermissions
      */
     public Set<Player> getPlayersByRank(final Rank rank)
     {
-        return this.players.values().stream()
-                 .filter(player -> player.getRank().equals(rank))
-                 .collect(Collectors.toSet());
+        return getSnapshot().getPlayersByRank(rank);
     }
 
     /**
@@ -592,9 +611,12 @@ public class Permissions implements IPermissions
      */
     public Set<Player> getPlayersByRank(@NotNull final Set<Rank> ranks)
     {
-        return this.players.values().stream()
-                 .filter(player -> ranks.contains(player.getRank()))
-                 .collect(Collectors.toSet());
+        final Set<Player> result = new HashSet<>();
+        for (final Rank rank : ranks)
+        {
+            result.addAll(getSnapshot().getPlayersByRank(rank));
+        }
+        return result;
     }
 
     /**
@@ -605,7 +627,7 @@ public class Permissions implements IPermissions
     @NotNull
     public Map<Rank, Integer> getPermissionMap()
     {
-        return permissionMap;
+        return Collections.unmodifiableMap(permissionMap);
     }
 
     /**
@@ -711,8 +733,7 @@ public class Permissions implements IPermissions
     @Override
     public Rank getRank(final UUID id)
     {
-        final Player player = players.get(id);
-        return player != null ? player.getRank() : Rank.NEUTRAL;
+        return id == null ? Rank.NEUTRAL : getSnapshot().getRank(id);
     }
 
     /**
@@ -866,7 +887,7 @@ public class Permissions implements IPermissions
     @Override
     public boolean isColonyMember(@NotNull final EntityPlayer player)
     {
-        return players.containsKey(player.getGameProfile().getId());
+        return getSnapshot().isPlayer(player.getGameProfile().getId());
     }
 
     private static class RankPair
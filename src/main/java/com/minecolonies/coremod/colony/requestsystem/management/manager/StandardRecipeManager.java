@@ -7,14 +7,17 @@ import com.minecolonies.api.colony.requestsystem.StandardFactoryController;
 import com.minecolonies.api.colony.requestsystem.token.IToken;
 import com.minecolonies.api.crafting.IRecipeManager;
 import com.minecolonies.api.crafting.IRecipeStorage;
+import com.minecolonies.api.crafting.ItemFingerprint;
+import com.minecolonies.api.crafting.RecipeOutputIndex;
 import com.minecolonies.api.util.NBTUtils;
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.nbt.NBTTagList;
 import net.minecraftforge.common.util.Constants;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
+import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 public class StandardRecipeManager implements IRecipeManager
 {
@@ -28,16 +31,48 @@ public class StandardRecipeManager implements IRecipeManager
      */
     private final BiMap<IToken, IRecipeStorage> recipes = HashBiMap.create();
 
+    /**
+     * The recipes by output.
+     */
+    private final RecipeOutputIndex recipesByOutput = new RecipeOutputIndex();
+
+    /**
+     * Counts the added recipes.
+     */
+    private int version = 0;
+
     @Override
     public ImmutableMap<IToken, IRecipeStorage> getRecipes()
     {
         return ImmutableMap.copyOf(recipes);
     }
 
+    @Nullable
+    @Override
+    public IRecipeStorage getRecipe(@NotNull final IToken token)
+    {
+        return recipes.get(token);
+    }
+
+    @NotNull
+    @Override
+    public List<IToken> getRecipesFor(@NotNull final ItemFingerprint output)
+    {
+        return recipesByOutput.get(output);
+    }
+
+    @Override
+    public int getVersion()
+    {
+        return version;
+    }
+
     @Override
     public IToken addRecipe(final IRecipeStorage storage)
     {
         recipes.put(storage.getToken(), storage);
+        recipesByOutput.add(storage.getToken(), storage.getOutputFingerprint());
+        version++;
         return storage.getToken();
     }
 
@@ -76,8 +111,8 @@ public class StandardRecipeManager implements IRecipeManager
     @Override
     public void readFromNBT(@NotNull final NBTTagCompound compound)
     {
-        recipes.putAll(NBTUtils.streamCompound(compound.getTagList(TAG_RECIPES, Constants.NBT.TAG_COMPOUND))
+        NBTUtils.streamCompound(compound.getTagList(TAG_RECIPES, Constants.NBT.TAG_COMPOUND))
                 .map(recipeCompound -> (IRecipeStorage) StandardFactoryController.getInstance().deserialize(recipeCompound))
-                .collect(Collectors.toMap(IRecipeStorage::getToken, recipe -> recipe)));
+                .forEach(this::addRecipe);
     }
 }
@@ -197,6 +197,14 @@ public enum ActionMenuType implements IMenuType
             DoRaidTonightCommand.class,
             new ActionArgument("colony", ActionArgumentType.COLONY, ActionArgumentType.Is.REQUIRED)
             )),
+    PROFILE_COLONY(new ActionMenu(
+            "ProfileColony",
+            "profile",
+            ForgePermissionNodes.PROFILE_COLONY,
+            ProfileColonyCommand.class,
+            new ActionArgument("action", ActionArgumentType.STRING, ActionArgumentType.Is.REQUIRED),
+            new ActionArgument("colony", ActionArgumentType.COLONY, ActionArgumentType.Is.OPTIONAL)
+            )),
     REQUEST_SYSTEM_RESET(new ActionMenu(
             "Request System Reset",
             "reset",
@@ -27,6 +27,7 @@ public enum NavigationMenuType implements IMenuType
         ActionMenuType.MAKE_NOT_AUTO_DELETABLE,
         ActionMenuType.DO_RAID_NOW,
         ActionMenuType.DO_RAID_TONIGHT,
+        ActionMenuType.PROFILE_COLONY,
         ActionMenuType.CLAIM
     )),
 
@@ -105,18 +105,16 @@ public class ListColoniesCommand extends AbstractSingleCommand implements IActio
             abandonedSinceTimeInHours = 0;
         }
 
-        final List<Colony> colonies;
+        final int colonyCount;
         if (abandonedSinceTimeInHours > 0)
         {
-            colonies = ColonyManager.getColoniesAbandonedSince(abandonedSinceTimeInHours);
+            colonyCount = ColonyManager.countColoniesAbandonedSince(abandonedSinceTimeInHours);
         }
         else
         {
-            colonies = ColonyManager.getColonies();
+            colonyCount = ColonyManager.getColonyCount();
         }
 
-        final int colonyCount = colonies.size();
-
         // check to see if we have to add one page to show the half page
         final int halfPage = (colonyCount % COLONIES_ON_PAGE == 0) ? 0 : 1;
         final int pageCount = ((colonyCount) / COLONIES_ON_PAGE) + halfPage;
@@ -128,19 +126,17 @@ public class ListColoniesCommand extends AbstractSingleCommand implements IActio
         }
 
         final int pageStartIndex = COLONIES_ON_PAGE * (page - 1);
-        final int pageStopIndex = Math.min(COLONIES_ON_PAGE * page, colonyCount);
         final int prevPage = Math.max(0, page - 1);
         final int nextPage = Math.min(page + 1, (colonyCount / COLONIES_ON_PAGE) + halfPage);
 
         final List<Colony> coloniesPage;
-
-        if (pageStartIndex < 0 || pageStartIndex >= colonyCount)
+        if (abandonedSinceTimeInHours > 0)
         {
-            coloniesPage = new ArrayList<>();
+            coloniesPage = ColonyManager.getColoniesAbandonedSince(abandonedSinceTimeInHours, pageStartIndex, COLONIES_ON_PAGE);
         }
         else
         {
-            coloniesPage = colonies.subList(pageStartIndex, pageStopIndex);
+            coloniesPage = ColonyManager.getColonies(pageStartIndex, COLONIES_ON_PAGE);
         }
 
         final ITextComponent headerLine = new TextComponentString(PAGE_TOP_LEFT + page + PAGE_TOP_MIDDLE + pageCount + PAGE_TOP_RIGHT);
@@ -0,0 +1,221 @@
+package com.minecolonies.coremod.commands.colonycommands;
+
+import com.minecolonies.api.util.Log;
+import com.minecolonies.coremod.colony.Colony;
+import com.minecolonies.coremod.colony.ColonyManager;
+import com.minecolonies.coremod.commands.AbstractSingleCommand;
+import com.minecolonies.coremod.commands.ActionMenuState;
+import com.minecolonies.coremod.commands.IActionCommand;
+import com.minecolonies.coremod.util.ColonyProfiler;
+import net.minecraft.command.CommandException;
+import net.minecraft.command.ICommandSender;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.text.TextComponentString;
+import org.jetbrains.annotations.NotNull;
+
+import javax.annotation.Nullable;
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+import static com.minecolonies.coremod.colony.ColonyManager.FILENAME_MINECOLONIES_PATH;
+
+/**
+ * Controls the colony tick profiler: start, stop, reset, print the most expensive sections or dump them to a csv file.
+ */
+public class ProfileColonyCommand extends AbstractSingleCommand implements IActionCommand
+{
+    public static final  String              DESC                    = "profile";
+    private static final String              START                   = "start";
+    private static final String              STOP                    = "stop";
+    private static final String              RESET                   = "reset";
+    private static final String              REPORT                  = "report";
+    private static final String              CSV                     = "csv";
+    private static final List<String>        ACTIONS                 = Arrays.asList(START, STOP, RESET, REPORT, CSV);
+    private static final String              PROFILER_PATH           = "profiler";
+    private static final String              CSV_FILE                = "colonies-%d.csv";
+    private static final int                 REPORT_ENTRIES          = 10;
+    private static final TextComponentString NO_COLONY_FOUND_MESSAGE = new TextComponentString("No Colony found.");
+    private static final TextComponentString USAGE                   = new TextComponentString("Please define an action: start, stop, reset, report or csv.");
+    private static final TextComponentString STARTED                 = new TextComponentString("Colony profiling started.");
+    private static final TextComponentString STOPPED                 = new TextComponentString("Colony profiling stopped.");
+    private static final TextComponentString RESET_DONE              = new TextComponentString("Colony profiling statistics reset.");
+    private static final TextComponentString NOT_RUNNING             = new TextComponentString("Colony profiling is not running.");
+    private static final TextComponentString NO_DATA                 = new TextComponentString("No profiled sections in the last "
+                                                                                                 + ColonyProfiler.WINDOW_SECONDS + " seconds.");
+    private static final String              REPORT_HEADER           = "Most expensive sections of the last %d seconds:";
+    private static final String              REPORT_LINE             = "#%d %s %s: %.3f ms/s, %d calls, avg %.4f ms, max %.3f ms";
+    private static final String              CSV_WRITTEN             = "Colony profile written to %s";
+    private static final String              CSV_FAILED              = "Could not write the colony profile: %s";
+
+    /**
+     * no-args constructor called by new CommandEntryPoint executer.
+     */
+    public ProfileColonyCommand()
+    {
+        super();
+    }
+
+    /**
+     * Initialize this SubCommand with it's parents.
+     *
+     * @param parents an array of all the parents.
+     */
+    public ProfileColonyCommand(@NotNull final String... parents)
+    {
+        super(parents);
+    }
+
+    @NotNull
+    @Override
+    public String getCommandUsage(@NotNull final ICommandSender sender)
+    {
+        return super.getCommandUsage(sender) + "<start|stop|reset|report|csv> [ColonyId]";
+    }
+
+    @Override
+    public void execute(@NotNull final MinecraftServer server, @NotNull final ICommandSender sender, @NotNull final ActionMenuState actionMenuState) throws CommandException
+    {
+        final Colony colony = actionMenuState.getColonyForArgument("colony");
+        executeShared(server, sender, actionMenuState.getStringForArgument("action"), colony == null ? null : colony.getID());
+    }
+
+    @Override
+    public void execute(@NotNull final MinecraftServer server, @NotNull final ICommandSender sender, @NotNull final String... args) throws CommandException
+    {
+        if (args.length == 0)
+        {
+            sender.sendMessage(USAGE);
+            return;
+        }
+
+        Integer colonyId = null;
+        if (args.length > 1)
+        {
+            final Colony colony = ColonyManager.getColony(getIthArgument(args, 1, -1));
+            if (colony == null)
+            {
+                sender.sendMessage(NO_COLONY_FOUND_MESSAGE);
+                return;
+            }
+            colonyId = colony.getID();
+        }
+
+        executeShared(server, sender, args[0], colonyId);
+    }
+
+    private static void executeShared(
+                                       @NotNull final MinecraftServer server, @NotNull final ICommandSender sender, @Nullable final String action,
+                                       @Nullable final Integer colonyId)
+    {
+        if (sender instanceof EntityPlayer && !isPlayerOpped(sender))
+        {
+            sender.sendMessage(new TextComponentString("Must be OP to use command"));
+            return;
+        }
+
+        if (action == null)
+        {
+            sender.sendMessage(USAGE);
+            return;
+        }
+
+        switch (action.toLowerCase(Locale.US))
+        {
+            case START:
+                ColonyProfiler.setEnabled(true);
+                sender.sendMessage(STARTED);
+                break;
+            case STOP:
+                ColonyProfiler.setEnabled(false);
+                sender.sendMessage(STOPPED);
+                break;
+            case RESET:
+                ColonyProfiler.reset();
+                sender.sendMessage(RESET_DONE);
+                break;
+            case REPORT:
+                report(sender, colonyId);
+                break;
+            case CSV:
+                writeCsv(server, sender);
+                break;
+            default:
+                sender.sendMessage(USAGE);
+                break;
+        }
+    }
+
+    /**
+     * Print the most expensive sections.
+     *
+     * @param sender   the sender to print to.
+     * @param colonyId the colony to report on, null for all.
+     */
+    private static void report(@NotNull final ICommandSender sender, @Nullable final Integer colonyId)
+    {
+        final List<ColonyProfiler.Summary> summaries = ColonyProfiler.getTopEntries(colonyId, REPORT_ENTRIES);
+        if (summaries.isEmpty())
+        {
+            sender.sendMessage(ColonyProfiler.isEnabled() ? NO_DATA : NOT_RUNNING);
+            return;
+        }
+
+        sender.sendMessage(new TextComponentString(String.format(REPORT_HEADER, ColonyProfiler.WINDOW_SECONDS)));
+        for (final ColonyProfiler.Summary summary : summaries)
+        {
+            sender.sendMessage(new TextComponentString(String.format(Locale.US, REPORT_LINE,
+              summary.getColonyId(), summary.getCategory(), summary.getKey(), summary.getMillisPerSecond(),
+              summary.getCalls(), summary.getAverageMillis(), summary.getMaxMillis())));
+        }
+    }
+
+    /**
+     * Dump all sections to a csv file in the world folder.
+     *
+     * @param server the server.
+     * @param sender the sender to report to.
+     */
+    private static void writeCsv(@NotNull final MinecraftServer server, @NotNull final ICommandSender sender)
+    {
+        final File saveDir = new File(server.getEntityWorld().getSaveHandler().getWorldDirectory(), FILENAME_MINECOLONIES_PATH);
+        final File file = new File(new File(saveDir, PROFILER_PATH), String.format(CSV_FILE, System.currentTimeMillis()));
+        try
+        {
+            ColonyProfiler.writeCsv(file);
+            sender.sendMessage(new TextComponentString(String.format(CSV_WRITTEN, file.getAbsolutePath())));
+        }
+        catch (final IOException e)
+        {
+            Log.getLogger().warn("Could not write the colony profile", e);
+            sender.sendMessage(new TextComponentString(String.format(CSV_FAILED, e.getMessage())));
+        }
+    }
+
+    @NotNull
+    @Override
+    public List<String> getTabCompletionOptions(
+                                                 @NotNull final MinecraftServer server,
+                                                 @NotNull final ICommandSender sender,
+                                                 @NotNull final String[] args,
+                                                 @Nullable final BlockPos pos)
+    {
+        if (args.length != 1)
+        {
+            return Collections.emptyList();
+        }
+        return ACTIONS.stream().filter(action -> action.startsWith(args[0].toLowerCase(Locale.US))).collect(Collectors.toList());
+    }
+
+    @Override
+    public boolean isUsernameIndex(@NotNull final String[] args, final int index)
+    {
+        return false;
+    }
+}
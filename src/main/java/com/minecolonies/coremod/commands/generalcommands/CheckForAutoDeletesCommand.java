@@ -89,27 +89,25 @@ public class CheckForAutoDeletesCommand extends AbstractSingleCommand implements
             return;
         }
 
-        final List<Colony> colonies = ColonyManager.getColonies();
-
         final List<Colony> coloniesToDelete = new ArrayList<>();
 
-        for (int index = 0; colonies.size() - 1 >= index; index++)
+        if (Configurations.gameplay.autoDeleteColoniesInHours != 0)
         {
-            final Colony colony = colonies.get(index);
-
-            if (colony.canBeAutoDeleted() && Configurations.gameplay.autoDeleteColoniesInHours != 0
-                  && colony.getLastContactInHours() >= Configurations.gameplay.autoDeleteColoniesInHours)
+            for (final Colony colony : ColonyManager.getColoniesAbandonedSince(Configurations.gameplay.autoDeleteColoniesInHours))
             {
-                coloniesToDelete.add(colony);
+                if (colony.canBeAutoDeleted())
+                {
+                    coloniesToDelete.add(colony);
+                }
             }
         }
 
         if (confirmDelete)
         {
-            sender.sendMessage(new TextComponentString("Successful"));
+            sender.sendMessage(new TextComponentString("Successful, " + coloniesToDelete.size() + " colonies queued for deletion."));
             for (final Colony col : coloniesToDelete)
             {
-                server.addScheduledTask(() -> ColonyManager.deleteColony(col.getID(), Configurations.gameplay.autoDestroyColonyBlocks));
+                server.addScheduledTask(() -> ColonyManager.deleteColonyLater(col, Configurations.gameplay.autoDestroyColonyBlocks, sender));
             }
         }
         else
@@ -117,7 +115,7 @@ public class CheckForAutoDeletesCommand extends AbstractSingleCommand implements
             final ITextComponent deleteButton = new TextComponentString("[DELETE]").setStyle(new Style().setBold(true).setColor(TextFormatting.GOLD).setClickEvent(
               new ClickEvent(ClickEvent.Action.RUN_COMMAND, COMMAND_CHECK_FOR_AUTODELETES)
             ));
-            sender.sendMessage(new TextComponentString("There are: " + coloniesToDelete.size() + " of a total of " + colonies.size() + " to delete."));
+            sender.sendMessage(new TextComponentString("There are: " + coloniesToDelete.size() + " of a total of " + ColonyManager.getColonyCount() + " to delete."));
             sender.sendMessage(new TextComponentString("Click [DELETE] to confirm"));
             sender.sendMessage(deleteButton);
         }
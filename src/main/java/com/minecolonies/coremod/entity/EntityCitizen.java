@@ -58,6 +58,12 @@ import static com.minecolonies.api.util.constant.TranslationConstants.*;
  */
 public class EntityCitizen extends AbstractEntityCitizen
 {
+    /**
+     * Keys of the citizen updates in the colony profiler.
+     */
+    private static final String PROFILE_AWAKE   = "awake";
+    private static final String PROFILE_RESTING = "resting";
+
     /**
      * The navigator field of the citizen.
      */
@@ -144,6 +150,11 @@ public class EntityCitizen extends AbstractEntityCitizen
      */
     private final CitizenStuckHandler citizenStuckHandler;
 
+    /**
+     * The citizen rest handler.
+     */
+    private final CitizenRestHandler citizenRestHandler;
+
     /**
      * Citizen constructor.
      *
@@ -161,6 +172,7 @@ public class EntityCitizen extends AbstractEntityCitizen
         this.citizenJobHandler = new CitizenJobHandler(this);
         this.citizenSleepHandler = new CitizenSleepHandler(this);
         this.citizenStuckHandler = new CitizenStuckHandler(this);
+        this.citizenRestHandler = new CitizenRestHandler(this);
 
         setSize((float) CITIZEN_WIDTH, (float) CITIZEN_HEIGHT);
         this.enablePersistence();
@@ -301,6 +313,10 @@ public class EntityCitizen extends AbstractEntityCitizen
         }
         setLastAttackedEntity(damageSource.getTrueSource());
         final boolean result = super.attackEntityFrom(damageSource, damage);
+        if (result)
+        {
+            citizenRestHandler.wakeUp();
+        }
 
         if (damageSource.isMagicDamage() || damageSource.isFireDamage())
         {
@@ -515,6 +531,14 @@ public class EntityCitizen extends AbstractEntityCitizen
     @Override
     public void onLivingUpdate()
     {
+        final boolean isServer = !CompatibilityUtils.getWorld(this).isRemote;
+        final long profile = isServer ? ColonyProfiler.start() : 0L;
+        if (isServer)
+        {
+            citizenRestHandler.onUpdate();
+        }
+        final boolean resting = citizenRestHandler.isResting();
+
         super.onLivingUpdate();
 
         if (recentlyHit > 0)
@@ -530,7 +554,10 @@ public class EntityCitizen extends AbstractEntityCitizen
             if (getOffsetTicks() % TICKS_20 == 0)
             {
                 this.setAlwaysRenderNameTag(Configurations.gameplay.alwaysRenderNameTag);
-                citizenItemHandler.pickupItems();
+                if (!resting)
+                {
+                    citizenItemHandler.pickupItems();
+                }
                 citizenChatHandler.cleanupChatMessages();
                 citizenColonyHandler.updateColonyServer();
 
@@ -540,22 +567,25 @@ public class EntityCitizen extends AbstractEntityCitizen
                 }
             }
 
-            if (citizenJobHandler.getColonyJob() != null || !CompatibilityUtils.getWorld(this).isDaytime())
+            if (!resting)
             {
-                citizenStuckHandler.onUpdate();
-            }
-            else
-            {
-                citizenStatusHandler.setLatestStatus(new TextComponentTranslation("com.minecolonies.coremod.status.waitingForWork"));
-            }
+                if (citizenJobHandler.getColonyJob() != null || !CompatibilityUtils.getWorld(this).isDaytime())
+                {
+                    citizenStuckHandler.onUpdate();
+                }
+                else
+                {
+                    citizenStatusHandler.setLatestStatus(new TextComponentTranslation("com.minecolonies.coremod.status.waitingForWork"));
+                }
 
-            if (CompatibilityUtils.getWorld(this).isDaytime() && !CompatibilityUtils.getWorld(this).isRaining() && citizenData != null)
-            {
-                SoundUtils.playRandomSound(CompatibilityUtils.getWorld(this), this, citizenData.getSaturation());
-            }
-            else if (CompatibilityUtils.getWorld(this).isRaining() && 1 >= rand.nextInt(RANT_ABOUT_WEATHER_CHANCE) && citizenJobHandler.getColonyJob() != null)
-            {
-                SoundUtils.playSoundAtCitizenWithChance(CompatibilityUtils.getWorld(this), this.getPosition(), citizenJobHandler.getColonyJob().getBadWeatherSound(), 1);
+                if (CompatibilityUtils.getWorld(this).isDaytime() && !CompatibilityUtils.getWorld(this).isRaining() && citizenData != null)
+                {
+                    SoundUtils.playRandomSound(CompatibilityUtils.getWorld(this), this, citizenData.getSaturation());
+                }
+                else if (CompatibilityUtils.getWorld(this).isRaining() && 1 >= rand.nextInt(RANT_ABOUT_WEATHER_CHANCE) && citizenJobHandler.getColonyJob() != null)
+                {
+                    SoundUtils.playSoundAtCitizenWithChance(CompatibilityUtils.getWorld(this), this.getPosition(), citizenJobHandler.getColonyJob().getBadWeatherSound(), 1);
+                }
             }
         }
 
@@ -564,7 +594,10 @@ public class EntityCitizen extends AbstractEntityCitizen
             getNavigator().moveAwayFromXYZ(this.getPosition(), MOVE_AWAY_RANGE, MOVE_AWAY_SPEED);
         }
 
-        citizenExperienceHandler.gatherXp();
+        if (!resting)
+        {
+            citizenExperienceHandler.gatherXp();
+        }
         if (citizenData != null)
         {
             if (citizenData.getSaturation() <= 0)
@@ -605,6 +638,30 @@ public class EntityCitizen extends AbstractEntityCitizen
         }
 
         checkHeal();
+        ColonyProfiler.end(profile, citizenColonyHandler.getColonyId(), ColonyProfiler.Category.CITIZEN, resting ? PROFILE_RESTING : PROFILE_AWAKE);
+    }
+
+    /**
+     * Resting citizens only run their AI every few ticks, the vanilla sleeping players block it the same way.
+     *
+     * @return true if the AI does not run this tick.
+     */
+    @Override
+    protected boolean isMovementBlocked()
+    {
+        return super.isMovementBlocked() || !citizenRestHandler.isFullUpdateTick();
+    }
+
+    /**
+     * Resting citizens lie in bed and do not push or get pushed.
+     */
+    @Override
+    protected void collideWithNearbyEntities()
+    {
+        if (!citizenRestHandler.isResting())
+        {
+            super.collideWithNearbyEntities();
+        }
     }
 
     @Override
@@ -1003,4 +1060,13 @@ public class EntityCitizen extends AbstractEntityCitizen
     {
         return citizenSleepHandler;
     }
+
+    /**
+     * The Handler deciding if the citizen rests.
+     * @return the instance of the handler.
+     */
+    public CitizenRestHandler getCitizenRestHandler()
+    {
+        return citizenRestHandler;
+    }
 }
@@ -9,6 +9,7 @@ import com.minecolonies.coremod.entity.EntityCitizen;
 import com.minecolonies.coremod.entity.ai.util.AIState;
 import com.minecolonies.coremod.entity.ai.util.AITarget;
 import com.minecolonies.coremod.entity.ai.util.ChatSpamFilter;
+import com.minecolonies.coremod.util.ColonyProfiler;
 import net.minecraft.entity.ai.EntityAIBase;
 import net.minecraft.world.World;
 import org.jetbrains.annotations.NotNull;
@@ -132,7 +133,15 @@ public abstract class AbstractAISkeleton<J extends AbstractJob> extends EntityAI
     @Override
     public final void updateTask()
     {
+        final long profile = ColonyProfiler.start();
+        final AIState profiledState = state;
         targetList.stream().anyMatch(this::checkOnTarget);
+        if (profile != 0L)
+        {
+            final int colonyId = job.getColony() == null ? 0 : job.getColony().getID();
+            ColonyProfiler.end(profile, colonyId, ColonyProfiler.Category.AI, getClass());
+            ColonyProfiler.end(profile, colonyId, ColonyProfiler.Category.AI_STATE, profiledState);
+        }
     }
 
     /**
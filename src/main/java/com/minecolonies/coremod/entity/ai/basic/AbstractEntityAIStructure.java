@@ -10,6 +10,7 @@ import com.minecolonies.coremod.colony.jobs.AbstractJobStructure;
 import com.minecolonies.coremod.entity.EntityCitizen;
 import com.minecolonies.coremod.entity.ai.util.AIState;
 import com.minecolonies.coremod.entity.ai.util.AITarget;
+import com.minecolonies.coremod.entity.ai.util.BuildPlan;
 import com.minecolonies.coremod.entity.ai.util.Structure;
 import com.minecolonies.coremod.placementhandlers.IPlacementHandler;
 import com.minecolonies.coremod.placementhandlers.PlacementHandlers;
@@ -98,6 +99,10 @@ public abstract class AbstractEntityAIStructure<J extends AbstractJob> extends A
      * The minimum range the builder has to reach in order to construct or clear.
      */
     private static final int MIN_WORKING_RANGE      = 12;
+    /**
+     * Advances of the structure between two stores of the progress in the job.
+     */
+    private static final int PROGRESS_SAVE_INTERVAL = 32;
     /**
      * The current structure task to be build.
      */
@@ -110,6 +115,10 @@ public abstract class AbstractEntityAIStructure<J extends AbstractJob> extends A
      * The rotation of the current build.
      */
     private int rotation = 0;
+    /**
+     * Advances of the structure since the progress was stored last.
+     */
+    private int advancesSinceSave = 0;
 
     /**
      * Creates this ai base class and set's up important things.
@@ -200,6 +209,10 @@ public abstract class AbstractEntityAIStructure<J extends AbstractJob> extends A
                   || evaluationFunction.apply(currentBlock))
             {
                 final Structure.Result result = advanceBlock.get();
+                if (++advancesSinceSave >= PROGRESS_SAVE_INTERVAL)
+                {
+                    saveProgress();
+                }
                 if (result == Structure.Result.AT_END)
                 {
                     return switchStage(nextState);
@@ -238,9 +251,37 @@ public abstract class AbstractEntityAIStructure<J extends AbstractJob> extends A
         {
             currentStructure.setStage(Structure.Stage.COMPLETE);
         }
+        saveProgress();
         return state;
     }
 
+    /**
+     * Store the stage and position of the current structure in the job, so it can be continued after a reload.
+     * Stored on every stage switch and every few advances, a reload repeats at most these few positions.
+     */
+    private void saveProgress()
+    {
+        advancesSinceSave = 0;
+        if (job instanceof AbstractJobStructure && currentStructure != null)
+        {
+            ((AbstractJobStructure) job).setProgress(currentStructure.getName(),
+              currentStructure.getCenter(),
+              currentStructure.getStage(),
+              currentStructure.getLocalPosition());
+        }
+    }
+
+    /**
+     * Get the build plan of the current structure.
+     *
+     * @return the plan or null if there is no structure.
+     */
+    @Nullable
+    protected BuildPlan getBuildPlan()
+    {
+        return currentStructure == null ? null : currentStructure.getPlan();
+    }
+
     private AIState pickUpResiduals()
     {
         if (getItemsForPickUp() == null)
@@ -622,6 +663,12 @@ public abstract class AbstractEntityAIStructure<J extends AbstractJob> extends A
             {
                 ((AbstractJobStructure) job).getStructure().rotate(rotateTimes, world, position, isMirrored ? Mirror.FRONT_BACK : Mirror.NONE);
                 ((AbstractJobStructure) job).getStructure().setPosition(position);
+
+                final AbstractJobStructure structureJob = (AbstractJobStructure) job;
+                if (currentStructure != null && structureJob.hasProgress(name, position))
+                {
+                    currentStructure.seek(structureJob.getProgressStage(), structureJob.getProgressPosition());
+                }
             }
             catch(final NullPointerException ex)
             {
@@ -16,6 +16,7 @@ import com.minecolonies.coremod.colony.workorders.WorkOrderBuildBuilding;
 import com.minecolonies.coremod.colony.workorders.WorkOrderBuildDecoration;
 import com.minecolonies.coremod.colony.workorders.WorkOrderBuildMiner;
 import com.minecolonies.coremod.colony.workorders.WorkOrderBuildRemoval;
+import com.minecolonies.coremod.entity.ai.util.BuildPlan;
 import net.minecraft.block.Block;
 import net.minecraft.block.BlockBed;
 import net.minecraft.block.BlockDoor;
@@ -137,6 +138,7 @@ public abstract class AbstractEntityAIStructureWithWorkOrder<J extends AbstractJ
 
     /**
      * Iterates through all the required resources and stores them in the building.
+     * The resources are aggregated in the bill of materials of the build plan and handed to the building in one batch.
      * Suppressing Sonar Rule Squid:S135
      * The rule thinks we should have less continue and breaks.
      * But in this case the rule does not apply because code would become unreadable and uneffective without.
@@ -149,11 +151,19 @@ public abstract class AbstractEntityAIStructureWithWorkOrder<J extends AbstractJ
             return;
         }
 
+        final BuildPlan plan = getBuildPlan();
+        if (plan == null)
+        {
+            return;
+        }
+
         final AbstractBuildingStructureBuilder buildingWorker = getOwnBuilding(AbstractBuildingStructureBuilder.class);
         buildingWorker.resetNeededResources();
+        plan.clearBill();
 
-        while (job.getStructure().findNextBlock())
+        for (final BlockPos localPos : plan.getResourcePositions())
         {
+            job.getStructure().setLocalPosition(localPos);
             @Nullable final Template.BlockInfo blockInfo = job.getStructure().getBlockInfo();
             @Nullable final Template.EntityInfo entityInfo = job.getStructure().getEntityinfo();
 
@@ -163,7 +173,7 @@ public abstract class AbstractEntityAIStructureWithWorkOrder<J extends AbstractJ
                 {
                     if (!ItemStackUtils.isEmpty(stack))
                     {
-                        buildingWorker.addNeededResource(stack, 1);
+                        plan.addResource(stack, 1);
                     }
                 }
             }
@@ -197,19 +207,25 @@ public abstract class AbstractEntityAIStructureWithWorkOrder<J extends AbstractJ
                   && !(worldBlock instanceof AbstractBlockHut)
                   && !isBlockFree(block, 0))
             {
-                requestBlockToBuildingIfRequired(buildingWorker, blockState);
+                requestBlockToBuildingIfRequired(plan, blockState);
             }
         }
+        job.getStructure().reset();
+
+        for (final BuildingBuilderResource resource : plan.getBill().values())
+        {
+            buildingWorker.addNeededResource(resource.getItemStack(), resource.getAmount());
+        }
         job.getWorkOrder().setRequested(true);
     }
 
     /**
-     * Add blocks to the builder building if he needs it.
+     * Add blocks to the bill of materials if he needs it.
      *
-     * @param building   the building.
+     * @param plan       the build plan.
      * @param blockState the block to add.
      */
-    private void requestBlockToBuildingIfRequired(final AbstractBuildingStructureBuilder building, final IBlockState blockState)
+    private void requestBlockToBuildingIfRequired(final BuildPlan plan, final IBlockState blockState)
     {
         if (job.getStructure().getBlockInfo().tileentityData != null)
         {
@@ -218,13 +234,13 @@ public abstract class AbstractEntityAIStructureWithWorkOrder<J extends AbstractJ
 
             for (final ItemStack stack : itemList)
             {
-                building.addNeededResource(stack, 1);
+                plan.addResource(stack, 1);
             }
         }
 
         if (!ChiselAndBitsCheck.isChiselAndBitsBlock(blockState))
         {
-            building.addNeededResource(BlockUtils.getItemStackFromBlockState(blockState), 1);
+            plan.addResource(BlockUtils.getItemStackFromBlockState(blockState), 1);
         }
     }
 
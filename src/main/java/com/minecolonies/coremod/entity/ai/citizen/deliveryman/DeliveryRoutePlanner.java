@@ -0,0 +1,190 @@
+package com.minecolonies.coremod.entity.ai.citizen.deliveryman;
+
+import com.minecolonies.api.util.BlockPosUtil;
+import net.minecraft.util.math.BlockPos;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+/**
+ * Plans the trips of deliverymen: which pending deliveries to carry together and in which order to drop them.
+ * The first pending delivery is always part of the trip, others join when their target is close to a stop of the trip.
+ * The stops are ordered by nearest neighbour from the start and improved with 2-opt, including the walk back to the start.
+ */
+public final class DeliveryRoutePlanner
+{
+    /**
+     * Max distance between a target and the closest stop of the trip for it to join the trip.
+     */
+    public static final int MAX_STOP_DISTANCE = 48;
+
+    /**
+     * Private constructor to hide the implicit public one.
+     */
+    private DeliveryRoutePlanner()
+    {
+        //Hide implicit public constructor.
+    }
+
+    /**
+     * Plan a trip.
+     *
+     * @param start      where the trip starts and ends, the warehouse.
+     * @param candidates the pending deliveries, oldest first.
+     * @param position   the target of a delivery.
+     * @param slots      the inventory slots a delivery needs.
+     * @param maxStops   the max amount of deliveries in one trip.
+     * @param freeSlots  the free inventory slots of the deliveryman.
+     * @param <T>        the type of the deliveries.
+     * @return the deliveries of the trip in drop order, empty if there are no candidates.
+     */
+    @NotNull
+    public static <T> List<T> plan(
+      @NotNull final BlockPos start,
+      @NotNull final List<T> candidates,
+      @NotNull final Function<T, BlockPos> position,
+      @NotNull final ToIntFunction<T> slots,
+      final int maxStops,
+      final int freeSlots)
+    {
+        if (candidates.isEmpty())
+        {
+            return Collections.emptyList();
+        }
+
+        final List<T> trip = new ArrayList<>();
+        final List<T> remaining = new ArrayList<>(candidates);
+        trip.add(remaining.remove(0));
+        int usedSlots = slots.applyAsInt(trip.get(0));
+
+        final long maxDistanceSq = (long) MAX_STOP_DISTANCE * MAX_STOP_DISTANCE;
+        while (trip.size() < maxStops)
+        {
+            int best = -1;
+            long bestDistanceSq = Long.MAX_VALUE;
+            for (int i = 0; i < remaining.size(); i++)
+            {
+                final T candidate = remaining.get(i);
+                if (usedSlots + slots.applyAsInt(candidate) > freeSlots)
+                {
+                    continue;
+                }
+
+                final BlockPos target = position.apply(candidate);
+                for (final T stop : trip)
+                {
+                    final long distanceSq = BlockPosUtil.getDistanceSquared(target, position.apply(stop));
+                    if (distanceSq <= maxDistanceSq && distanceSq < bestDistanceSq)
+                    {
+                        best = i;
+                        bestDistanceSq = distanceSq;
+                    }
+                }
+            }
+
+            if (best < 0)
+            {
+                break;
+            }
+            usedSlots += slots.applyAsInt(remaining.get(best));
+            trip.add(remaining.remove(best));
+        }
+
+        final List<T> ordered = order(start, trip, position);
+        final List<BlockPos> points = new ArrayList<>();
+        points.add(start);
+        for (final T stop : ordered)
+        {
+            points.add(position.apply(stop));
+        }
+        return improve(points, ordered);
+    }
+
+    /**
+     * Get the length of a round trip from the start over all stops and back.
+     *
+     * @param start the start.
+     * @param stops the stops in order.
+     * @return the length in blocks.
+     */
+    public static double getTourLength(@NotNull final BlockPos start, @NotNull final List<BlockPos> stops)
+    {
+        double length = 0;
+        BlockPos last = start;
+        for (final BlockPos stop : stops)
+        {
+            length += distance(last, stop);
+            last = stop;
+        }
+        return length + distance(last, start);
+    }
+
+    /**
+     * Order the stops by always walking to the closest one next.
+     */
+    private static <T> List<T> order(@NotNull final BlockPos start, @NotNull final List<T> trip, @NotNull final Function<T, BlockPos> position)
+    {
+        final List<T> left = new ArrayList<>(trip);
+        final List<T> ordered = new ArrayList<>(trip.size());
+        BlockPos current = start;
+        while (!left.isEmpty())
+        {
+            int closest = 0;
+            for (int i = 1; i < left.size(); i++)
+            {
+                if (BlockPosUtil.getDistanceSquared(current, position.apply(left.get(i)))
+                      < BlockPosUtil.getDistanceSquared(current, position.apply(left.get(closest))))
+                {
+                    closest = i;
+                }
+            }
+            final T next = left.remove(closest);
+            ordered.add(next);
+            current = position.apply(next);
+        }
+        return ordered;
+    }
+
+    /**
+     * Improve a tour with 2-opt moves until none shortens it.
+     *
+     * @param points the start followed by the positions of the stops, in the order of the stops.
+     * @param stops  the stops, reversed together with the points.
+     * @return the stops in improved order.
+     */
+    private static <T> List<T> improve(@NotNull final List<BlockPos> points, @NotNull final List<T> stops)
+    {
+        final int size = points.size();
+        boolean improved = true;
+        while (improved)
+        {
+            improved = false;
+            for (int i = 1; i < size - 1; i++)
+            {
+                for (int j = i + 1; j < size; j++)
+                {
+                    final BlockPos before = points.get(i - 1);
+                    final BlockPos after = points.get((j + 1) % size);
+                    final double delta = distance(before, points.get(j)) + distance(points.get(i), after)
+                                           - distance(before, points.get(i)) - distance(points.get(j), after);
+                    if (delta < -1.0E-9)
+                    {
+                        Collections.reverse(points.subList(i, j + 1));
+                        Collections.reverse(stops.subList(i - 1, j));
+                        improved = true;
+                    }
+                }
+            }
+        }
+        return stops;
+    }
+
+    private static double distance(@NotNull final BlockPos from, @NotNull final BlockPos to)
+    {
+        return Math.sqrt(BlockPosUtil.getDistanceSquared(from, to));
+    }
+}
@@ -37,6 +37,7 @@ import java.util.*;
 import java.util.stream.Collectors;
 
 import static com.minecolonies.api.util.constant.Constants.TICKS_SECOND;
+import static com.minecolonies.api.util.constant.Suppression.UNCHECKED;
 import static com.minecolonies.api.util.constant.TranslationConstants.*;
 import static com.minecolonies.coremod.entity.ai.util.AIState.*;
 
@@ -115,6 +116,22 @@ public class EntityAIWorkDeliveryman extends AbstractEntityAIInteract<JobDeliver
      */
     private ILocation lastDelivery = null;
 
+    /**
+     * The warehouse the dman is registered with, null until found.
+     */
+    @Nullable
+    private BuildingWareHouse wareHouse = null;
+
+    /**
+     * The requests the dman carries on the current trip.
+     */
+    private final Set<IToken<?>> tripStops = new HashSet<>();
+
+    /**
+     * The requests of the current trip whose items are not gathered yet, in drop order.
+     */
+    private final Deque<IToken<?>> toGather = new ArrayDeque<>();
+
     /**
      * Initialize the deliveryman and add all his tasks.
      *
@@ -337,36 +354,23 @@ public class EntityAIWorkDeliveryman extends AbstractEntityAIInteract<JobDeliver
         return InventoryUtils.getAmountOfStacksInItemHandler(new InvWrapper(worker.getInventoryCitizen())) >= Math.pow(2, getOwnBuilding().getBuildingLevel() - 1.0D);
     }
 
+    /**
+     * Draws a building to gather from, weighted by its pick up priority and how full it is.
+     *
+     * @return the position of the building or null if there is nothing to gather.
+     */
+    @Nullable
     private BlockPos getWeightedRandom()
     {
-        double completeWeight = 0.0;
-        for (final AbstractBuilding building : worker.getCitizenColonyHandler().getColony().getBuildingManager().getBuildings().values())
-        {
-            if (!building.isBeingGathered())
-            {
-                completeWeight += building.getPickUpPriority();
-            }
-        }
-        final double r = Math.random() * completeWeight;
-        double countWeight = 0.0;
-        for (final AbstractBuilding building : worker.getCitizenColonyHandler().getColony().getBuildingManager().getBuildings().values())
+        final AbstractBuilding building = worker.getCitizenColonyHandler().getColony().getBuildingManager().getPickUpTarget(worker.getRandom());
+        if (building == null)
         {
-            if (!building.isBeingGathered())
-            {
-                countWeight += building.getPickUpPriority();
-                if (countWeight >= r)
-                {
-                    //Don't let any other dman pick up for now.
-                    building.setBeingGathered(true);
-                    return building.getID();
-                }
-                else
-                {
-                    building.alterPickUpPriority(1);
-                }
-            }
+            return null;
         }
-        return null;
+
+        //Don't let any other dman pick up for now.
+        building.setBeingGathered(true);
+        return building.getID();
     }
 
     /**
@@ -399,6 +403,7 @@ public class EntityAIWorkDeliveryman extends AbstractEntityAIInteract<JobDeliver
 
         getWareHouse().getTileEntity().dumpInventoryIntoWareHouse(worker.getInventoryCitizen());
         gatherTarget = null;
+        clearTrip();
         worker.getCitizenItemHandler().setHeldItem(EnumHand.MAIN_HAND, SLOT_HAND);
 
         final Set<IToken> finallyAssignedTokens = worker.getCitizenColonyHandler().getColony().getRequestManager().getPlayerResolver()
@@ -416,9 +421,18 @@ public class EntityAIWorkDeliveryman extends AbstractEntityAIInteract<JobDeliver
 
     /**
      * Gets the colony's warehouse for the Deliveryman.
+     * The warehouse which accepted the deliveryman is kept as long as it is part of the colony.
      */
     public BuildingWareHouse getWareHouse()
     {
+        final Colony ownColony = worker.getCitizenColonyHandler().getColony();
+        if (wareHouse != null && ownColony != null && ownColony.getBuildingManager().getBuilding(wareHouse.getID()) == wareHouse
+              && wareHouse.registerWithWareHouse((BuildingDeliveryman) this.getOwnBuilding()))
+        {
+            return wareHouse;
+        }
+        wareHouse = null;
+
         final Map<BlockPos, AbstractBuilding> buildings = job.getColony().getBuildingManager().getBuildings();
         for (final AbstractBuilding building : buildings.values())
         {
@@ -428,11 +442,11 @@ public class EntityAIWorkDeliveryman extends AbstractEntityAIInteract<JobDeliver
             }
 
             final Colony buildingColony = building.getColony();
-            final Colony ownColony = worker.getCitizenColonyHandler().getColony();
             if (building instanceof BuildingWareHouse && ownColony != null && buildingColony != null && buildingColony.getID() == ownColony.getID()
                   && ((BuildingWareHouse) building).registerWithWareHouse((BuildingDeliveryman) this.getOwnBuilding()))
             {
-                return (BuildingWareHouse) building;
+                wareHouse = (BuildingWareHouse) building;
+                return wareHouse;
             }
         }
         return null;
@@ -481,55 +495,35 @@ public class EntityAIWorkDeliveryman extends AbstractEntityAIInteract<JobDeliver
             return DELIVERY;
         }
 
+        final IRequest<? extends Delivery> request = job.getCurrentTask();
+        final boolean lastStop = request == null || !hasFurtherStops(request.getToken());
+        final ItemStack requestedStack = request == null ? ItemStack.EMPTY : request.getRequest().getStack();
+
+        // Drop only the requested items, the rest is kept for the later stops or goes back to the warehouse.
         final InvWrapper workerInventory = new InvWrapper(worker.getInventoryCitizen());
-        for (int i = 0; i < new InvWrapper(worker.getInventoryCitizen()).getSlots(); i++)
+        final TileEntity tileEntity = world.getTileEntity(buildingToDeliver.getInDimensionLocation());
+        int toDrop = requestedStack.getCount();
+        for (int i = 0; i < workerInventory.getSlots() && toDrop > 0; i++)
         {
-            final ItemStack stack = workerInventory.extractItem(i, Integer.MAX_VALUE, false);
-            if (ItemStackUtils.isEmpty(stack))
+            if (!requestedStack.isItemEqualIgnoreDurability(workerInventory.getStackInSlot(i)))
             {
                 continue;
             }
 
-
-            final TileEntity tileEntity = world.getTileEntity(buildingToDeliver.getInDimensionLocation());
-            final ItemStack insertionResultStack;
-
-            if (tileEntity instanceof TileEntityColonyBuilding && ((TileEntityColonyBuilding) tileEntity).getBuilding() instanceof AbstractBuildingWorker)
-            {
-                final AbstractBuildingContainer building = ((TileEntityColonyBuilding) tileEntity).getBuilding();
-                building.alterPickUpPriority(1);
-                insertionResultStack = InventoryUtils.forceItemStackToItemHandler(
-                  new InvWrapper((TileEntityColonyBuilding) tileEntity), stack, ((AbstractBuildingWorker) building)::isItemStackInRequest);
-            }
-            else
+            final ItemStack stack = workerInventory.extractItem(i, toDrop, false);
+            if (ItemStackUtils.isEmpty(stack))
             {
-                insertionResultStack = InventoryUtils.forceItemStackToItemHandler(new InvWrapper((TileEntityColonyBuilding) tileEntity), stack, itemStack -> false);
+                continue;
             }
 
+            final ItemStack insertionResultStack = insertIntoBuilding(tileEntity, buildingToDeliver, stack);
+            toDrop -= stack.getCount() - ItemStackUtils.getSize(insertionResultStack);
+
             if (!ItemStackUtils.isEmpty(insertionResultStack))
             {
-                if (ItemStack.areItemStacksEqual(insertionResultStack, stack))
-                {
-                    //same stack, we could not deliver ?
-                    if (buildingToDeliver instanceof TileEntityColonyBuilding && ((TileEntityColonyBuilding) tileEntity).getBuilding() instanceof AbstractBuildingWorker)
-                    {
-                        chatSpamFilter.talkWithoutSpam(COM_MINECOLONIES_COREMOD_JOB_DELIVERYMAN_NAMEDCHESTFULL,
-                          ((AbstractBuildingWorker) ((TileEntityColonyBuilding) tileEntity).getBuilding()).getMainCitizen().getName());
-                    }
-                    else if (buildingToDeliver instanceof TileEntityColonyBuilding)
-                    {
-                        chatSpamFilter.talkWithoutSpam(COM_MINECOLONIES_COREMOD_JOB_DELIVERYMAN_CHESTFULL,
-                          new TextComponentString(" :" + ((TileEntityColonyBuilding) tileEntity).getBuilding().getSchematicName()));
-                    }
-                    else
-                    {
-                        chatSpamFilter.talkWithoutSpam(COM_MINECOLONIES_COREMOD_JOB_DELIVERYMAN_CHESTFULL,
-                          new TextComponentString(buildingToDeliver.getInDimensionLocation().toString()));
-                    }
-                }
-
                 //Insert the result back into the inventory so we do not loose it.
                 workerInventory.insertItem(i, insertionResultStack, false);
+                break;
             }
         }
 
@@ -537,18 +531,178 @@ public class EntityAIWorkDeliveryman extends AbstractEntityAIInteract<JobDeliver
         worker.getCitizenExperienceHandler().addExperience(1.0D);
         worker.getCitizenItemHandler().setHeldItem(EnumHand.MAIN_HAND, SLOT_HAND);
         deliveryHut.setBuildingToDeliver(null);
-        job.finishRequest(true);
+
+        // A stop only counts as delivered when all its items went in, else it is cancelled so it can be requested again.
+        final boolean delivered = request != null && toDrop <= 0;
+        if (!lastStop)
+        {
+            tripStops.remove(request.getToken());
+            job.finishRequest(request.getToken(), delivered);
+            setDelay(DUMP_AND_GATHER_DELAY);
+            return DELIVERY;
+        }
+
+        clearTrip();
+        job.finishRequest(delivered);
+
+        if (InventoryUtils.getAmountOfStacksInItemHandler(workerInventory) > 0)
+        {
+            // Leftovers of this trip go back to the warehouse.
+            setDelay(DUMP_AND_GATHER_DELAY);
+            return DUMPING;
+        }
 
         setDelay(WAIT_DELAY);
         return START_WORKING;
     }
 
+    /**
+     * Insert a stack into the building being delivered to, and tell the player when its chest is full.
+     *
+     * @param tileEntity        the tile entity of the building.
+     * @param buildingToDeliver the location of the building.
+     * @param stack             the stack to insert.
+     * @return the part of the stack which did not fit.
+     */
+    private ItemStack insertIntoBuilding(final TileEntity tileEntity, @NotNull final ILocation buildingToDeliver, @NotNull final ItemStack stack)
+    {
+        final ItemStack insertionResultStack;
+        if (tileEntity instanceof TileEntityColonyBuilding && ((TileEntityColonyBuilding) tileEntity).getBuilding() instanceof AbstractBuildingWorker)
+        {
+            final AbstractBuildingContainer building = ((TileEntityColonyBuilding) tileEntity).getBuilding();
+            building.alterPickUpPriority(1);
+            insertionResultStack = InventoryUtils.forceItemStackToItemHandler(
+              new InvWrapper((TileEntityColonyBuilding) tileEntity), stack, ((AbstractBuildingWorker) building)::isItemStackInRequest);
+        }
+        else
+        {
+            insertionResultStack = InventoryUtils.forceItemStackToItemHandler(new InvWrapper((TileEntityColonyBuilding) tileEntity), stack, itemStack -> false);
+        }
+
+        if (!ItemStackUtils.isEmpty(insertionResultStack) && ItemStack.areItemStacksEqual(insertionResultStack, stack))
+        {
+            //same stack, we could not deliver ?
+            if (buildingToDeliver instanceof TileEntityColonyBuilding && ((TileEntityColonyBuilding) tileEntity).getBuilding() instanceof AbstractBuildingWorker)
+            {
+                chatSpamFilter.talkWithoutSpam(COM_MINECOLONIES_COREMOD_JOB_DELIVERYMAN_NAMEDCHESTFULL,
+                  ((AbstractBuildingWorker) ((TileEntityColonyBuilding) tileEntity).getBuilding()).getMainCitizen().getName());
+            }
+            else if (buildingToDeliver instanceof TileEntityColonyBuilding)
+            {
+                chatSpamFilter.talkWithoutSpam(COM_MINECOLONIES_COREMOD_JOB_DELIVERYMAN_CHESTFULL,
+                  new TextComponentString(" :" + ((TileEntityColonyBuilding) tileEntity).getBuilding().getSchematicName()));
+            }
+            else
+            {
+                chatSpamFilter.talkWithoutSpam(COM_MINECOLONIES_COREMOD_JOB_DELIVERYMAN_CHESTFULL,
+                  new TextComponentString(buildingToDeliver.getInDimensionLocation().toString()));
+            }
+        }
+        return insertionResultStack;
+    }
+
+    /**
+     * Check if other requests of the current trip are still to be dropped.
+     *
+     * @param current the request being dropped now.
+     * @return true if so.
+     */
+    private boolean hasFurtherStops(@NotNull final IToken<?> current)
+    {
+        final List<IToken<?>> queue = job.getTaskQueue();
+        for (final IToken<?> stop : tripStops)
+        {
+            if (!stop.equals(current) && queue.contains(stop))
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Plan the next trip at the warehouse, within the stops the hut level allows and the free inventory slots.
+     */
+    private void planTrip()
+    {
+        final InvWrapper inventory = new InvWrapper(worker.getInventoryCitizen());
+        final int freeSlots = inventory.getSlots() - InventoryUtils.getAmountOfStacksInItemHandler(inventory);
+        final List<IToken<?>> route = job.planRoute(worker.getLocation(), Math.max(1, getOwnBuilding().getBuildingLevel()), freeSlots);
+
+        clearTrip();
+        tripStops.addAll(route);
+        toGather.addAll(route);
+    }
+
+    /**
+     * Start a trip with the current request and the queued ones whose items the dman already carries,
+     * so that after a reload every stop only gets its own items and the rest is kept for the later stops.
+     *
+     * @param current the current request.
+     */
+    private void rebuildTrip(@NotNull final IRequest<? extends Delivery> current)
+    {
+        final InvWrapper inventory = new InvWrapper(worker.getInventoryCitizen());
+        clearTrip();
+        tripStops.add(current.getToken());
+        if (!isCarried(inventory, current.getRequest()))
+        {
+            toGather.add(current.getToken());
+        }
+
+        for (final IToken<?> token : job.getTaskQueue())
+        {
+            final IRequest<?> stop = job.getColony().getRequestManager().getRequestForToken(token);
+            if (stop != null && stop.getRequest() instanceof Delivery && !token.equals(current.getToken()) && isCarried(inventory, (Delivery) stop.getRequest()))
+            {
+                tripStops.add(token);
+            }
+        }
+    }
+
+    /**
+     * Check if the dman carries the items of a delivery.
+     *
+     * @param inventory the inventory of the dman.
+     * @param delivery  the delivery.
+     * @return true if any matching stack is in the inventory.
+     */
+    private static boolean isCarried(@NotNull final InvWrapper inventory, @NotNull final Delivery delivery)
+    {
+        final ItemStack requested = delivery.getStack();
+        return InventoryUtils.hasItemInItemHandler(inventory, requested::isItemEqualIgnoreDurability);
+    }
+
+    /**
+     * Forget the current trip.
+     */
+    private void clearTrip()
+    {
+        tripStops.clear();
+        toGather.clear();
+    }
+
+    /**
+     * Drop a request from the current trip and finish it.
+     *
+     * @param request    the request.
+     * @param successful True when the processing was successful, false when not.
+     */
+    private void skipStop(@NotNull final IRequest<? extends Delivery> request, final boolean successful)
+    {
+        toGather.remove(request.getToken());
+        tripStops.remove(request.getToken());
+        job.finishRequest(request.getToken(), successful);
+    }
+
     /**
      * Prepare deliveryman for delivery.
      * Check if the building still needs the item and if the required items are still in the warehouse.
+     * Gathers the items of one request of the trip per call.
      *
      * @return the next state to go to.
      */
+    @SuppressWarnings(UNCHECKED)
     private AIState prepareDelivery()
     {
         final AbstractBuildingWorker ownBuilding = getOwnBuilding();
@@ -562,13 +716,29 @@ public class EntityAIWorkDeliveryman extends AbstractEntityAIInteract<JobDeliver
                     return DUMPING;
                 }
                 ((BuildingDeliveryman) ownBuilding).setBuildingToDeliver(request.getRequest().getTarget());
-                if (InventoryUtils.hasItemInItemHandler(new InvWrapper(worker.getInventoryCitizen()),
+                if (tripStops.isEmpty())
+                {
+                    // No trip was planned at the warehouse or it was lost with a reload.
+                    rebuildTrip(request);
+                }
+
+                if (tripStops.size() == 1 && InventoryUtils.hasItemInItemHandler(new InvWrapper(worker.getInventoryCitizen()),
                   itemStack -> request.getRequest().getStack().isItemEqualIgnoreDurability(itemStack)))
                 {
+                    toGather.clear();
                     return DELIVERY;
                 }
 
-                return gatherItems(request);
+                while (!toGather.isEmpty())
+                {
+                    final IRequest<?> stop = job.getColony().getRequestManager().getRequestForToken(toGather.peekFirst());
+                    if (stop != null && stop.getRequest() instanceof Delivery && job.getTaskQueue().contains(stop.getToken()))
+                    {
+                        return gatherItems((IRequest<? extends Delivery>) stop);
+                    }
+                    tripStops.remove(toGather.removeFirst());
+                }
+                return tripStops.isEmpty() ? START_WORKING : DELIVERY;
             }
         }
         return START_WORKING;
@@ -586,9 +756,8 @@ public class EntityAIWorkDeliveryman extends AbstractEntityAIInteract<JobDeliver
 
         if (!location.isReachableFromLocation(worker.getLocation()))
         {
-            ((BuildingDeliveryman) getOwnBuilding()).setBuildingToDeliver(null);
-            job.finishRequest(false);
-            return START_WORKING;
+            skipStop(request, false);
+            return PREPARE_DELIVERY;
         }
 
         final TileEntity tileEntity = world.getTileEntity(location.getInDimensionLocation());
@@ -609,13 +778,13 @@ public class EntityAIWorkDeliveryman extends AbstractEntityAIInteract<JobDeliver
 
         if (isInTileEntity(tileEntity, request.getRequest().getStack()))
         {
+            toGather.remove(request.getToken());
             setDelay(DUMP_AND_GATHER_DELAY);
-            return DELIVERY;
+            return PREPARE_DELIVERY;
         }
 
-        ((BuildingDeliveryman) getOwnBuilding()).setBuildingToDeliver(null);
-        job.finishRequest(true);
-        return START_WORKING;
+        skipStop(request, true);
+        return PREPARE_DELIVERY;
     }
 
     /**
@@ -646,7 +815,13 @@ public class EntityAIWorkDeliveryman extends AbstractEntityAIInteract<JobDeliver
         }
         else
         {
-            ((BuildingDeliveryman) ownBuilding).setBuildingToDeliver(job.getCurrentTask().getRequest().getTarget());
+            planTrip();
+            final IRequest<? extends Delivery> request = job.getCurrentTask();
+            if (request == null)
+            {
+                return START_WORKING;
+            }
+            ((BuildingDeliveryman) ownBuilding).setBuildingToDeliver(request.getRequest().getTarget());
         }
 
         return PREPARE_DELIVERY;
@@ -662,28 +837,11 @@ public class EntityAIWorkDeliveryman extends AbstractEntityAIInteract<JobDeliver
     {
         worker.setAIMoveSpeed((float) (BASE_MOVEMENT_SPEED + BASE_MOVEMENT_SPEED * worker.getCitizenExperienceHandler().getLevel() / WALKING_SPEED_MULTIPLIER));
 
-        if (getWareHouse() != null && getWareHouse().getTileEntity() != null)
+        if (getWareHouse() != null)
         {
             return false;
         }
 
-        final Map<BlockPos, AbstractBuilding> buildings = job.getColony().getBuildingManager().getBuildings();
-        for (final AbstractBuilding building : buildings.values())
-        {
-            if (building == null)
-            {
-                continue;
-            }
-
-            final Colony buildingColony = building.getColony();
-            final Colony ownColony = worker.getCitizenColonyHandler().getColony();
-            if (building instanceof BuildingWareHouse && ownColony != null && buildingColony != null && buildingColony.getID() == ownColony.getID()
-                  && ((BuildingWareHouse) building).registerWithWareHouse((BuildingDeliveryman) this.getOwnBuilding()))
-            {
-                return false;
-            }
-        }
-
         chatSpamFilter.talkWithoutSpam(COM_MINECOLONIES_COREMOD_JOB_DELIVERYMAN_NOWAREHOUSE);
         return true;
     }
@@ -1,11 +1,9 @@
 package com.minecolonies.coremod.entity.ai.citizen.farmer;
 
 import com.minecolonies.api.compatibility.Compatibility;
-import com.minecolonies.api.util.BlockUtils;
 import com.minecolonies.api.util.InventoryUtils;
 import com.minecolonies.api.util.ItemStackUtils;
 import com.minecolonies.api.util.constant.ToolType;
-import com.minecolonies.coremod.blocks.huts.BlockHutField;
 import com.minecolonies.coremod.colony.Colony;
 import com.minecolonies.coremod.colony.buildings.workerbuildings.BuildingFarmer;
 import com.minecolonies.coremod.colony.jobs.JobFarmer;
@@ -14,10 +12,7 @@ import com.minecolonies.coremod.entity.ai.basic.AbstractEntityAIInteract;
 import com.minecolonies.coremod.entity.ai.util.AIState;
 import com.minecolonies.coremod.entity.ai.util.AITarget;
 import com.minecolonies.coremod.tileentities.ScarecrowTileEntity;
-import net.minecraft.block.Block;
 import net.minecraft.block.BlockCrops;
-import net.minecraft.block.BlockStem;
-import net.minecraft.block.IGrowable;
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.init.Blocks;
 import net.minecraft.init.Items;
@@ -32,7 +27,6 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.List;
-import java.util.function.Predicate;
 
 import static com.minecolonies.api.util.constant.ToolLevelConstants.TOOL_LEVEL_WOOD_OR_GOLD;
 import static com.minecolonies.coremod.entity.ai.util.AIState.*;
@@ -80,13 +74,6 @@ public class EntityAIWorkFarmer extends AbstractEntityAIInteract<JobFarmer>
     @Nullable
     private BlockPos prevPos;
 
-    /**
-     * Variables used in handleOffset.
-     */
-    private int     totalDis;
-    private int     dist;
-    private boolean horizontal;
-
     /**
      * Constructor for the Farmer.
      * Defines the tasks the Farmer executes.
@@ -166,15 +153,16 @@ public class EntityAIWorkFarmer extends AbstractEntityAIInteract<JobFarmer>
         final TileEntity entity = world.getTileEntity(currentField);
         if (entity instanceof ScarecrowTileEntity && ((ScarecrowTileEntity) entity).needsWork())
         {
-            if (((ScarecrowTileEntity) entity).getFieldStage() == ScarecrowTileEntity.FieldStage.PLANTED && checkIfShouldExecute((ScarecrowTileEntity) entity, this::shouldHarvest))
+            final FieldWorkQueue queue = FieldWorkQueue.get(world, (ScarecrowTileEntity) entity);
+            if (((ScarecrowTileEntity) entity).getFieldStage() == ScarecrowTileEntity.FieldStage.PLANTED && queue.hasWork(FieldWorkQueue.Work.HARVEST))
             {
                 return FARMER_HARVEST;
             }
-            else if (((ScarecrowTileEntity) entity).getFieldStage() == ScarecrowTileEntity.FieldStage.HOED)
+            else if (((ScarecrowTileEntity) entity).getFieldStage() == ScarecrowTileEntity.FieldStage.HOED && queue.hasWork(FieldWorkQueue.Work.PLANT))
             {
                 return canGoPlanting((ScarecrowTileEntity) entity, building);
             }
-            else if (((ScarecrowTileEntity) entity).getFieldStage() == ScarecrowTileEntity.FieldStage.EMPTY && checkIfShouldExecute((ScarecrowTileEntity) entity, this::shouldHoe))
+            else if (((ScarecrowTileEntity) entity).getFieldStage() == ScarecrowTileEntity.FieldStage.EMPTY && queue.hasWork(FieldWorkQueue.Work.HOE))
             {
                 return FARMER_HOE;
             }
@@ -218,34 +206,6 @@ public class EntityAIWorkFarmer extends AbstractEntityAIInteract<JobFarmer>
         }
     }
 
-    /**
-     * Handles the offset of the field for the farmer.
-     * Checks if the field needs a certain operation checked with a given predicate.
-     *
-     * @param field     the field object.
-     * @param predicate the predicate to test.
-     * @return true if a harvestable crop was found.
-     */
-    private boolean checkIfShouldExecute(@NotNull final ScarecrowTileEntity field, @NotNull final Predicate<BlockPos> predicate)
-    {
-        if (workingOffset == null)
-        {
-            handleOffset(field);
-        }
-
-        BlockPos position = field.getPos().down().south(workingOffset.getZ()).east(workingOffset.getX());
-
-        while (!predicate.test(position))
-        {
-            if (!handleOffset(field))
-            {
-                return false;
-            }
-            position = field.getPos().down().south(workingOffset.getZ()).east(workingOffset.getX());
-        }
-        return true;
-    }
-
     /**
      * Checks if the farmer is ready to plant.
      *
@@ -280,53 +240,6 @@ public class EntityAIWorkFarmer extends AbstractEntityAIInteract<JobFarmer>
         return PREPARING;
     }
 
-    /**
-     * Handles the offset of the field for the farmer.
-     *
-     * @param field the field object.
-     * @return true if successful.
-     */
-    private boolean handleOffset(@NotNull final ScarecrowTileEntity field)
-    {
-        if (workingOffset == null)
-        {
-            workingOffset = new BlockPos(0, 0, 0);
-            totalDis = 1;
-            dist = 0;
-            horizontal = true;
-        }
-        else
-        {
-            if (workingOffset.getZ() >= field.getWidthPlusZ() && workingOffset.getX() <= -field.getLengthMinusX())
-            {
-                workingOffset = null;
-                return false;
-            }
-            else
-            {
-                if (totalDis == dist)
-                {
-                    horizontal = !horizontal;
-                    dist = 0;
-                    if (horizontal)
-                    {
-                        totalDis++;
-                    }
-                }
-                if (horizontal)
-                {
-                    workingOffset = new BlockPos(workingOffset.getX(), 0, workingOffset.getZ() - Math.pow(-1, totalDis));
-                }
-                else
-                {
-                    workingOffset = new BlockPos(workingOffset.getX() - Math.pow(-1, totalDis), 0, workingOffset.getZ());
-                }
-                dist++;
-            }
-        }
-        return true;
-    }
-
     /**
      * Called to check when the InventoryShouldBeDumped.
      *
@@ -359,6 +272,18 @@ public class EntityAIWorkFarmer extends AbstractEntityAIInteract<JobFarmer>
         final TileEntity entity = world.getTileEntity(field);
         if(entity instanceof ScarecrowTileEntity)
         {
+            final FieldWorkQueue.Work work = getWork();
+            if (work == null)
+            {
+                return PREPARING;
+            }
+
+            final FieldWorkQueue queue = FieldWorkQueue.get(world, (ScarecrowTileEntity) entity);
+            if (workingOffset == null)
+            {
+                workingOffset = queue.next(work, worker.getPosition());
+            }
+
             if (workingOffset != null)
             {
                 final BlockPos position = field.down().south(workingOffset.getZ()).east(workingOffset.getX());
@@ -395,21 +320,42 @@ public class EntityAIWorkFarmer extends AbstractEntityAIInteract<JobFarmer>
                     default:
                         return PREPARING;
                 }
+                queue.done(work, workingOffset);
+                workingOffset = null;
                 prevPos = position;
+                setDelay(getLevelDelay());
+                return getState();
             }
-            setDelay(getLevelDelay());
 
-            if (!handleOffset((ScarecrowTileEntity) entity))
-            {
-                shouldDumpInventory = true;
-                ((ScarecrowTileEntity) entity).nextState();
-                prevPos = null;
-                return IDLE;
-            }
+            shouldDumpInventory = true;
+            ((ScarecrowTileEntity) entity).nextState();
+            prevPos = null;
+            return IDLE;
         }
         return getState();
     }
 
+    /**
+     * Get the kind of field work of the current state.
+     *
+     * @return the work or null if the state is no field work.
+     */
+    @Nullable
+    private FieldWorkQueue.Work getWork()
+    {
+        switch (getState())
+        {
+            case FARMER_HOE:
+                return FieldWorkQueue.Work.HOE;
+            case FARMER_PLANT:
+                return FieldWorkQueue.Work.PLANT;
+            case FARMER_HARVEST:
+                return FieldWorkQueue.Work.HARVEST;
+            default:
+                return null;
+        }
+    }
+
     /**
      * Checks if we can hoe, and does so if we can.
      *
@@ -418,7 +364,7 @@ public class EntityAIWorkFarmer extends AbstractEntityAIInteract<JobFarmer>
      */
     private boolean hoeIfAble(final BlockPos position)
     {
-        if (shouldHoe(position) && !checkForToolOrWeapon(ToolType.HOE))
+        if (FieldWorkQueue.needsHoe(world, position) && !checkForToolOrWeapon(ToolType.HOE))
         {
             if (mineBlock(position.up()))
             {
@@ -442,7 +388,7 @@ public class EntityAIWorkFarmer extends AbstractEntityAIInteract<JobFarmer>
      */
     private boolean tryToPlant(final ScarecrowTileEntity field, final BlockPos position)
     {
-        return !shouldPlant(position, field) || plantCrop(field.getSeed(), position);
+        return !FieldWorkQueue.needsPlant(world, position, field) || plantCrop(field.getSeed(), position);
     }
 
     /**
@@ -452,7 +398,7 @@ public class EntityAIWorkFarmer extends AbstractEntityAIInteract<JobFarmer>
      */
     private boolean harvestIfAble(final BlockPos position)
     {
-        if (shouldHarvest(position))
+        if (FieldWorkQueue.needsHarvest(world, position))
         {
             worker.getCitizenExperienceHandler().addExperience(XP_PER_HARVEST);
             if (Compatibility.isPamsInstalled())
@@ -472,19 +418,6 @@ public class EntityAIWorkFarmer extends AbstractEntityAIInteract<JobFarmer>
         return (int) Math.max(SMALLEST_DELAY, STANDARD_DELAY - (this.worker.getCitizenExperienceHandler().getLevel() * DELAY_DIVIDER));
     }
 
-    /**
-     * Checks if the ground should be hoed and the block above removed.
-     *
-     * @param position the position to check.
-     * @return true if should be hoed.
-     */
-    private boolean shouldHoe(@NotNull final BlockPos position)
-    {
-        return !BlockUtils.isBlockSeed(world, position.up())
-                 && !(world.getBlockState(position.up()).getBlock() instanceof BlockHutField)
-                 && (world.getBlockState(position).getBlock() == Blocks.DIRT || world.getBlockState(position).getBlock() == Blocks.GRASS);
-    }
-
     /**
      * Sets the hoe as held item.
      */
@@ -493,20 +426,6 @@ public class EntityAIWorkFarmer extends AbstractEntityAIInteract<JobFarmer>
         worker.getCitizenItemHandler().setHeldItem(EnumHand.MAIN_HAND, getHoeSlot());
     }
 
-    /**
-     * Checks if the ground should be planted.
-     *
-     * @param position the position to check.
-     * @param field    the field close to this position.
-     * @return true if the farmer should plant.
-     */
-    private boolean shouldPlant(@NotNull final BlockPos position, @NotNull final ScarecrowTileEntity field)
-    {
-        return !field.isNoPartOfField(world, position) && !(world.getBlockState(position.up()).getBlock() instanceof BlockCrops)
-                 && !(world.getBlockState(position.up()).getBlock() instanceof BlockStem)
-                 && !(world.getBlockState(position).getBlock() instanceof BlockHutField) && world.getBlockState(position).getBlock() == Blocks.FARMLAND;
-    }
-
     /**
      * Plants the crop at a given location.
      *
@@ -533,31 +452,6 @@ public class EntityAIWorkFarmer extends AbstractEntityAIInteract<JobFarmer>
         return true;
     }
 
-    /**
-     * Checks if the crop should be harvested.
-     *
-     * @param position the position to check.
-     * @return true if should be harvested.
-     */
-    private boolean shouldHarvest(@NotNull final BlockPos position)
-    {
-        final IBlockState state = world.getBlockState(position.up());
-        final Block block = state.getBlock();
-
-        if (block == Blocks.PUMPKIN || block == Blocks.MELON_BLOCK)
-        {
-            return true;
-        }
-
-        if (block instanceof IGrowable && block instanceof BlockCrops && !(block instanceof BlockStem))
-        {
-            @NotNull final BlockCrops crop = (BlockCrops) block;
-            return crop.isMaxAge(state);
-        }
-
-        return false;
-    }
-
     /**
      * Harvest the crop (only if pams is installed).
      *
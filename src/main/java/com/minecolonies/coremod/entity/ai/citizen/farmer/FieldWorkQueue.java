@@ -0,0 +1,396 @@
+package com.minecolonies.coremod.entity.ai.citizen.farmer;
+
+import com.minecolonies.api.util.BlockUtils;
+import com.minecolonies.coremod.blocks.huts.BlockHutField;
+import com.minecolonies.coremod.tileentities.ScarecrowTileEntity;
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockCrops;
+import net.minecraft.block.BlockStem;
+import net.minecraft.block.IGrowable;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.init.Blocks;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.World;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongConsumer;
+
+/**
+ * The tiles of a field which need hoeing, planting or harvesting, one bit per tile and kind of work.
+ * A queue is filled by one scan of the field and then kept up to date from the block changes and crop growth within the field,
+ * so the farmer walks straight to the next tile which needs work instead of checking every tile of the field.
+ * Tiles are addressed by their offset to the scarecrow, on the layer below it.
+ */
+public final class FieldWorkQueue
+{
+    /**
+     * Ticks after which a queue is filled by a full scan again, catching changes no event reports like bonemeal.
+     */
+    private static final int RESCAN_INTERVAL = 1200;
+
+    /**
+     * The queues by dimension and scarecrow position.
+     */
+    private static final Map<Integer, Map<BlockPos, FieldWorkQueue>> queues = new HashMap<>();
+
+    /**
+     * The queues by dimension and the chunks their fields overlap, so block changes outside of all fields cost a single lookup.
+     */
+    private static final Map<Integer, Map<Long, List<FieldWorkQueue>>> queuesByChunk = new HashMap<>();
+
+    /**
+     * The kinds of work on a tile.
+     */
+    public enum Work
+    {
+        HOE,
+        PLANT,
+        HARVEST
+    }
+
+    /**
+     * The field of the queue.
+     */
+    private final ScarecrowTileEntity field;
+
+    /**
+     * The smallest x and z offsets of the field.
+     */
+    private final int minX;
+    private final int minZ;
+
+    /**
+     * The size of the field along x and z.
+     */
+    private final int sizeX;
+    private final int sizeZ;
+
+    /**
+     * The tiles needing work, by kind of work, indexed by x * sizeZ + z.
+     */
+    private final BitSet[] tiles = new BitSet[Work.values().length];
+
+    /**
+     * World time of the last full scan.
+     */
+    private long scannedAt;
+
+    /**
+     * Create an empty queue over a field.
+     *
+     * @param field the field.
+     */
+    private FieldWorkQueue(@NotNull final ScarecrowTileEntity field)
+    {
+        this.field = field;
+        this.minX = -field.getLengthMinusX();
+        this.minZ = -field.getWidthMinusZ();
+        this.sizeX = field.getLengthMinusX() + field.getLengthPlusX() + 1;
+        this.sizeZ = field.getWidthMinusZ() + field.getWidthPlusZ() + 1;
+        for (int i = 0; i < tiles.length; i++)
+        {
+            tiles[i] = new BitSet(sizeX * sizeZ);
+        }
+    }
+
+    /**
+     * Get the queue of a field, scanning the field if there is no up to date queue.
+     *
+     * @param world the world.
+     * @param field the field.
+     * @return the queue.
+     */
+    @NotNull
+    public static FieldWorkQueue get(@NotNull final World world, @NotNull final ScarecrowTileEntity field)
+    {
+        final int dimension = world.provider.getDimension();
+        final Map<BlockPos, FieldWorkQueue> worldQueues = queues.computeIfAbsent(dimension, dim -> new HashMap<>());
+        FieldWorkQueue queue = worldQueues.get(field.getPos());
+        if (queue == null || !queue.matches(field) || world.getTotalWorldTime() - queue.scannedAt >= RESCAN_INTERVAL)
+        {
+            final FieldWorkQueue old = queue;
+            queue = new FieldWorkQueue(field);
+            queue.scan(world);
+            worldQueues.put(field.getPos(), queue);
+            if (old != null)
+            {
+                old.unindexChunks(dimension);
+            }
+            queue.indexChunks(dimension);
+        }
+        return queue;
+    }
+
+    /**
+     * Update the queues of the fields containing a changed block.
+     *
+     * @param world the world.
+     * @param pos   the changed block.
+     */
+    public static void onBlockChanged(@NotNull final World world, @NotNull final BlockPos pos)
+    {
+        final Map<Long, List<FieldWorkQueue>> worldQueues = queuesByChunk.get(world.provider.getDimension());
+        final List<FieldWorkQueue> chunkQueues = worldQueues == null ? null : worldQueues.get(ChunkPos.asLong(pos.getX() >> 4, pos.getZ() >> 4));
+        if (chunkQueues == null)
+        {
+            return;
+        }
+
+        for (final FieldWorkQueue queue : chunkQueues)
+        {
+            // A tile depends on its own block and the block above.
+            final int layer = pos.getY() - queue.field.getPos().getY() + 1;
+            if (layer == 0 || layer == 1)
+            {
+                queue.update(world, layer == 0 ? pos : pos.down());
+            }
+        }
+    }
+
+    /**
+     * Drop the queue of a field, for example when it is removed or its chunk unloads.
+     *
+     * @param world the world.
+     * @param pos   the position of the scarecrow.
+     */
+    public static void remove(@NotNull final World world, @NotNull final BlockPos pos)
+    {
+        final Map<BlockPos, FieldWorkQueue> worldQueues = queues.get(world.provider.getDimension());
+        final FieldWorkQueue queue = worldQueues == null ? null : worldQueues.remove(pos);
+        if (queue != null)
+        {
+            queue.unindexChunks(world.provider.getDimension());
+        }
+    }
+
+    /**
+     * Drop all queues of a world.
+     *
+     * @param world the unloaded world.
+     */
+    public static void onWorldUnload(@NotNull final World world)
+    {
+        queues.remove(world.provider.getDimension());
+        queuesByChunk.remove(world.provider.getDimension());
+    }
+
+    /**
+     * Check if any tile needs some work.
+     *
+     * @param work the kind of work.
+     * @return true if so.
+     */
+    public boolean hasWork(@NotNull final Work work)
+    {
+        return !tiles[work.ordinal()].isEmpty();
+    }
+
+    /**
+     * Get the tile needing some work which is closest to a position.
+     *
+     * @param work the kind of work.
+     * @param near the position, usually the farmer.
+     * @return the offset of the tile to the scarecrow or null if no tile needs the work.
+     */
+    @Nullable
+    public BlockPos next(@NotNull final Work work, @NotNull final BlockPos near)
+    {
+        final BitSet bits = tiles[work.ordinal()];
+        final int nearX = near.getX() - field.getPos().getX();
+        final int nearZ = near.getZ() - field.getPos().getZ();
+        int best = -1;
+        int bestDistance = Integer.MAX_VALUE;
+        for (int i = bits.nextSetBit(0); i >= 0; i = bits.nextSetBit(i + 1))
+        {
+            final int distance = Math.abs(minX + i / sizeZ - nearX) + Math.abs(minZ + i % sizeZ - nearZ);
+            if (distance < bestDistance)
+            {
+                best = i;
+                bestDistance = distance;
+            }
+        }
+        return best < 0 ? null : new BlockPos(minX + best / sizeZ, 0, minZ + best % sizeZ);
+    }
+
+    /**
+     * Take a tile out of the queue after working on it.
+     * It comes back when a block change shows it needs the work again.
+     *
+     * @param work   the kind of work.
+     * @param offset the offset of the tile to the scarecrow.
+     */
+    public void done(@NotNull final Work work, @NotNull final BlockPos offset)
+    {
+        final int index = index(offset.getX(), offset.getZ());
+        if (index >= 0)
+        {
+            tiles[work.ordinal()].clear(index);
+        }
+    }
+
+    /**
+     * Checks if the ground should be hoed and the block above removed.
+     *
+     * @param world    the world.
+     * @param position the ground position.
+     * @return true if it should be hoed.
+     */
+    public static boolean needsHoe(@NotNull final World world, @NotNull final BlockPos position)
+    {
+        return !BlockUtils.isBlockSeed(world, position.up())
+                 && !(world.getBlockState(position.up()).getBlock() instanceof BlockHutField)
+                 && (world.getBlockState(position).getBlock() == Blocks.DIRT || world.getBlockState(position).getBlock() == Blocks.GRASS);
+    }
+
+    /**
+     * Checks if the ground should be planted.
+     *
+     * @param world    the world.
+     * @param position the ground position.
+     * @param field    the field close to this position.
+     * @return true if it should be planted.
+     */
+    public static boolean needsPlant(@NotNull final World world, @NotNull final BlockPos position, @NotNull final ScarecrowTileEntity field)
+    {
+        return !field.isNoPartOfField(world, position) && !(world.getBlockState(position.up()).getBlock() instanceof BlockCrops)
+                 && !(world.getBlockState(position.up()).getBlock() instanceof BlockStem)
+                 && !(world.getBlockState(position).getBlock() instanceof BlockHutField) && world.getBlockState(position).getBlock() == Blocks.FARMLAND;
+    }
+
+    /**
+     * Checks if the crop above the ground should be harvested.
+     *
+     * @param world    the world.
+     * @param position the ground position.
+     * @return true if it should be harvested.
+     */
+    public static boolean needsHarvest(@NotNull final World world, @NotNull final BlockPos position)
+    {
+        final IBlockState state = world.getBlockState(position.up());
+        final Block block = state.getBlock();
+
+        if (block == Blocks.PUMPKIN || block == Blocks.MELON_BLOCK)
+        {
+            return true;
+        }
+
+        if (block instanceof IGrowable && block instanceof BlockCrops && !(block instanceof BlockStem))
+        {
+            @NotNull final BlockCrops crop = (BlockCrops) block;
+            return crop.isMaxAge(state);
+        }
+
+        return false;
+    }
+
+    /**
+     * Check if the queue still covers the size of its field.
+     */
+    private boolean matches(@NotNull final ScarecrowTileEntity current)
+    {
+        return current == field
+                 && minX == -field.getLengthMinusX()
+                 && minZ == -field.getWidthMinusZ()
+                 && sizeX == field.getLengthMinusX() + field.getLengthPlusX() + 1
+                 && sizeZ == field.getWidthMinusZ() + field.getWidthPlusZ() + 1;
+    }
+
+    /**
+     * Add the queue to the chunks its field overlaps.
+     */
+    private void indexChunks(final int dimension)
+    {
+        final Map<Long, List<FieldWorkQueue>> worldQueues = queuesByChunk.computeIfAbsent(dimension, dim -> new HashMap<>());
+        forEachChunk(chunk -> worldQueues.computeIfAbsent(chunk, key -> new ArrayList<>()).add(this));
+    }
+
+    /**
+     * Remove the queue from the chunks its field overlaps.
+     */
+    private void unindexChunks(final int dimension)
+    {
+        final Map<Long, List<FieldWorkQueue>> worldQueues = queuesByChunk.get(dimension);
+        if (worldQueues == null)
+        {
+            return;
+        }
+
+        forEachChunk(chunk -> {
+            final List<FieldWorkQueue> chunkQueues = worldQueues.get(chunk);
+            if (chunkQueues != null && chunkQueues.remove(this) && chunkQueues.isEmpty())
+            {
+                worldQueues.remove(chunk);
+            }
+        });
+    }
+
+    /**
+     * Run an action for every chunk the field overlaps.
+     */
+    private void forEachChunk(@NotNull final LongConsumer action)
+    {
+        final BlockPos pos = field.getPos();
+        for (int chunkX = (pos.getX() + minX) >> 4; chunkX <= (pos.getX() + minX + sizeX - 1) >> 4; chunkX++)
+        {
+            for (int chunkZ = (pos.getZ() + minZ) >> 4; chunkZ <= (pos.getZ() + minZ + sizeZ - 1) >> 4; chunkZ++)
+            {
+                action.accept(ChunkPos.asLong(chunkX, chunkZ));
+            }
+        }
+    }
+
+    /**
+     * Fill the queue from the state of every tile.
+     */
+    private void scan(@NotNull final World world)
+    {
+        final BlockPos ground = field.getPos().down();
+        for (int x = 0; x < sizeX; x++)
+        {
+            for (int z = 0; z < sizeZ; z++)
+            {
+                update(world, ground.add(minX + x, 0, minZ + z));
+            }
+        }
+        scannedAt = world.getTotalWorldTime();
+    }
+
+    /**
+     * Set the bits of a tile from its state, if it belongs to the field.
+     */
+    private void update(@NotNull final World world, @NotNull final BlockPos ground)
+    {
+        final int index = index(ground.getX() - field.getPos().getX(), ground.getZ() - field.getPos().getZ());
+        if (index < 0)
+        {
+            return;
+        }
+
+        tiles[Work.HOE.ordinal()].set(index, needsHoe(world, ground));
+        tiles[Work.PLANT.ordinal()].set(index, needsPlant(world, ground, field));
+        tiles[Work.HARVEST.ordinal()].set(index, needsHarvest(world, ground));
+    }
+
+    /**
+     * Get the bit index of an offset.
+     *
+     * @return the index or -1 if the offset is outside of the field.
+     */
+    private int index(final int offsetX, final int offsetZ)
+    {
+        final int x = offsetX - minX;
+        final int z = offsetZ - minZ;
+        if (x < 0 || z < 0 || x >= sizeX || z >= sizeZ)
+        {
+            return -1;
+        }
+        return x * sizeZ + z;
+    }
+}
@@ -4,6 +4,8 @@ import com.minecolonies.api.util.Log;
 import com.minecolonies.coremod.colony.Colony;
 import com.minecolonies.coremod.colony.ColonyManager;
 import com.minecolonies.coremod.colony.buildings.AbstractBuilding;
+import com.minecolonies.coremod.entity.ai.mobs.util.BarbarianFlowFields;
+import com.minecolonies.coremod.entity.pathfinding.FlowField;
 import com.minecolonies.coremod.entity.pathfinding.GeneralEntityWalkToProxy;
 import com.minecolonies.coremod.entity.pathfinding.PathNavigate;
 import net.minecraft.entity.EntityCreature;
@@ -22,6 +24,20 @@ import java.util.Random;
  */
 public class EntityAIWalkToRandomHuts extends EntityAIBase
 {
+    /**
+     * Ticks without getting closer on the flow field after which the barbarian falls back to its own path.
+     */
+    private static final int STUCK_TICKS = 60;
+
+    /**
+     * Ticks the flow field is not used after getting stuck on it.
+     */
+    private static final int FIELD_BLOCK_TICKS = 200;
+
+    /**
+     * Half a block, to walk to the middle of a block.
+     */
+    private static final double HALF_BLOCK = 0.5D;
 
     protected final EntityCreature entity;
     protected final World          world;
@@ -37,6 +53,22 @@ public class EntityAIWalkToRandomHuts extends EntityAIBase
      */
     private GeneralEntityWalkToProxy proxy;
     private       Field        navigatorField;
+    /**
+     * If the barbarian is following the flow field of its target.
+     */
+    private boolean followingField;
+    /**
+     * The lowest distance to the target reached on the flow field.
+     */
+    private int lastFieldDistance;
+    /**
+     * Ticks since the distance on the flow field last decreased.
+     */
+    private int stuckTicks;
+    /**
+     * World time until which the flow field is not used.
+     */
+    private long fieldBlockedUntil;
 
     /**
      * Constructor for AI
@@ -110,7 +142,28 @@ public class EntityAIWalkToRandomHuts extends EntityAIBase
     @Override
     public boolean shouldContinueExecuting()
     {
-        return !this.entity.getNavigator().noPath() && this.entity.isEntityAlive();
+        return (followingField || !this.entity.getNavigator().noPath()) && this.entity.isEntityAlive();
+    }
+
+    /**
+     * Steps along the flow field while following it.
+     */
+    @Override
+    public void updateTask()
+    {
+        if (followingField && targetBlock != null)
+        {
+            followingField = stepAlongField(targetBlock, 2);
+        }
+    }
+
+    /**
+     * Stops following the flow field when the task is interrupted.
+     */
+    @Override
+    public void resetTask()
+    {
+        followingField = false;
     }
 
     /**
@@ -142,6 +195,15 @@ public class EntityAIWalkToRandomHuts extends EntityAIBase
      */
     private boolean isEntityAtSiteWithMove(@NotNull final BlockPos site, final int range)
     {
+        lastFieldDistance = Integer.MAX_VALUE;
+        stuckTicks = 0;
+        followingField = stepAlongField(site, range);
+        if (followingField)
+        {
+            this.entity.getNavigator().clearPath();
+            return false;
+        }
+
         if (proxy == null)
         {
             proxy = new GeneralEntityWalkToProxy(entity);
@@ -149,6 +211,65 @@ public class EntityAIWalkToRandomHuts extends EntityAIBase
         return proxy.walkToBlock(site, range);
     }
 
+    /**
+     * Moves one step along the flow field shared by all barbarians walking to the site, waiting while it is computed.
+     * The last blocks and positions the field does not know are left to the own pathfinding.
+     *
+     * @param site  the site to walk to.
+     * @param range the distance to the site at which the field is left.
+     * @return true if the barbarian moves along the field, false if it has to fall back to its own path.
+     */
+    private boolean stepAlongField(@NotNull final BlockPos site, final int range)
+    {
+        if (world.getTotalWorldTime() < fieldBlockedUntil || getColony() == null)
+        {
+            return false;
+        }
+
+        final FlowField field = BarbarianFlowFields.getField(world, getColony(), site);
+        if (field == null)
+        {
+            //Wait for the field of the horde instead of planning an own path, unless it takes too long.
+            return !isStuck();
+        }
+
+        final BlockPos position = entity.getPosition();
+        final int distance = field.getDistance(position);
+        final BlockPos next = field.getNextStep(position);
+        if (distance <= range || next == null)
+        {
+            return false;
+        }
+
+        if (distance < lastFieldDistance)
+        {
+            lastFieldDistance = distance;
+            stuckTicks = 0;
+        }
+        else if (isStuck())
+        {
+            return false;
+        }
+
+        entity.getMoveHelper().setMoveTo(next.getX() + HALF_BLOCK, next.getY(), next.getZ() + HALF_BLOCK, speed);
+        return true;
+    }
+
+    /**
+     * Counts a tick without progress on the flow field and blocks the field for a while once there were too many.
+     *
+     * @return true if the barbarian is stuck.
+     */
+    private boolean isStuck()
+    {
+        if (++stuckTicks > STUCK_TICKS)
+        {
+            fieldBlockedUntil = world.getTotalWorldTime() + FIELD_BLOCK_TICKS;
+            return true;
+        }
+        return false;
+    }
+
     /**
      * gets a random building from the nearby colony
      *
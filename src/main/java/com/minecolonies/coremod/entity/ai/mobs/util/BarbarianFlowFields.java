@@ -0,0 +1,199 @@
+package com.minecolonies.coremod.entity.ai.mobs.util;
+
+import com.minecolonies.api.configuration.Configurations;
+import com.minecolonies.api.util.Log;
+import com.minecolonies.coremod.colony.Colony;
+import com.minecolonies.coremod.entity.pathfinding.FlowField;
+import com.minecolonies.coremod.entity.pathfinding.Pathfinding;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+/**
+ * The flow fields of the running raids, one per target building, shared by every barbarian walking to that building.
+ * A field is computed once off-thread and only recomputed when a block in its area changes.
+ */
+public final class BarbarianFlowFields
+{
+    /**
+     * Blocks the field reaches past the colony border, so barbarians spawned at the border are covered.
+     */
+    private static final int FIELD_MARGIN = 16;
+
+    /**
+     * Minimum ticks between two computations of the same field, so busy areas do not recompute all the time.
+     */
+    private static final int REPLAN_COOLDOWN = 100;
+
+    /**
+     * Ticks after which a field no barbarian asked for is dropped.
+     */
+    private static final int UNUSED_TIMEOUT = 1200;
+
+    /**
+     * Ticks between two checks for unused fields.
+     */
+    private static final int CLEANUP_INTERVAL = 200;
+
+    /**
+     * The fields by dimension and target.
+     */
+    private static final Map<Integer, Map<BlockPos, FieldEntry>> fields = new HashMap<>();
+
+    /**
+     * Private constructor to hide the implicit public one.
+     */
+    private BarbarianFlowFields()
+    {
+    }
+
+    /**
+     * Get the flow field leading to a target building, starting its computation if needed.
+     *
+     * @param world  the world.
+     * @param colony the raided colony.
+     * @param target the target building.
+     * @return the field or null if it is still being computed.
+     */
+    @Nullable
+    public static FlowField getField(@NotNull final World world, @NotNull final Colony colony, @NotNull final BlockPos target)
+    {
+        final long time = world.getTotalWorldTime();
+        final FieldEntry entry = fields.computeIfAbsent(world.provider.getDimension(), dim -> new HashMap<>())
+                                   .computeIfAbsent(target, pos -> new FieldEntry());
+        entry.lastUse = time;
+
+        if (entry.pending != null && entry.pending.isDone())
+        {
+            try
+            {
+                entry.current = entry.pending.get();
+            }
+            catch (InterruptedException | ExecutionException e)
+            {
+                Log.getLogger().warn("Flow field computation failed", e);
+            }
+            entry.pending = null;
+        }
+
+        if (entry.pending == null && (entry.current == null || (entry.dirty && time - entry.computedAt >= REPLAN_COOLDOWN)))
+        {
+            entry.dirty = false;
+            entry.computedAt = time;
+            entry.pending = Pathfinding.enqueue(new FlowField(world, target, colony.getCenter(), Configurations.gameplay.workingRangeTownHall + FIELD_MARGIN));
+        }
+
+        return entry.current;
+    }
+
+    /**
+     * Mark the fields which cover a changed block for recomputation.
+     *
+     * @param world the world.
+     * @param pos   the changed block.
+     */
+    public static void onBlockChanged(@NotNull final World world, @NotNull final BlockPos pos)
+    {
+        final Map<BlockPos, FieldEntry> worldFields = fields.get(world.provider.getDimension());
+        if (worldFields == null)
+        {
+            return;
+        }
+
+        for (final FieldEntry entry : worldFields.values())
+        {
+            if (entry.current == null || entry.current.contains(pos))
+            {
+                entry.dirty = true;
+            }
+        }
+    }
+
+    /**
+     * Drop the fields no barbarian asked for in a while.
+     *
+     * @param world the ticked world.
+     */
+    public static void onWorldTick(@NotNull final World world)
+    {
+        final long time = world.getTotalWorldTime();
+        final Map<BlockPos, FieldEntry> worldFields = fields.get(world.provider.getDimension());
+        if (worldFields == null || time % CLEANUP_INTERVAL != 0)
+        {
+            return;
+        }
+
+        final Iterator<FieldEntry> it = worldFields.values().iterator();
+        while (it.hasNext())
+        {
+            final FieldEntry entry = it.next();
+            if (time - entry.lastUse > UNUSED_TIMEOUT)
+            {
+                if (entry.pending != null)
+                {
+                    entry.pending.cancel(false);
+                }
+                it.remove();
+            }
+        }
+
+        if (worldFields.isEmpty())
+        {
+            fields.remove(world.provider.getDimension());
+        }
+    }
+
+    /**
+     * Drop all fields of an unloaded world.
+     *
+     * @param world the world.
+     */
+    public static void onWorldUnload(@NotNull final World world)
+    {
+        final Map<BlockPos, FieldEntry> worldFields = fields.remove(world.provider.getDimension());
+        if (worldFields != null)
+        {
+            worldFields.values().stream().filter(entry -> entry.pending != null).forEach(entry -> entry.pending.cancel(false));
+        }
+    }
+
+    /**
+     * The state of the field of one target.
+     */
+    private static final class FieldEntry
+    {
+        /**
+         * The last computed field.
+         */
+        @Nullable
+        private FlowField current;
+
+        /**
+         * The running computation.
+         */
+        @Nullable
+        private Future<FlowField> pending;
+
+        /**
+         * If a block in the area changed since the last computation started.
+         */
+        private boolean dirty;
+
+        /**
+         * World time the last computation started.
+         */
+        private long computedAt;
+
+        /**
+         * World time a barbarian last asked for the field.
+         */
+        private long lastUse;
+    }
+}
@@ -0,0 +1,252 @@
+package com.minecolonies.coremod.entity.ai.util;
+
+import com.minecolonies.api.util.ItemStackUtils;
+import com.minecolonies.coremod.colony.buildings.utils.BuildingBuilderResource;
+import net.minecraft.item.ItemStack;
+import net.minecraft.util.math.BlockPos;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+/**
+ * Build plan of a structure, compiled once when the structure is loaded.
+ * <p>
+ * It holds, for each stage, the ordered local positions the structure can need work at, the positions holding blocks,
+ * and the aggregated bill of materials of the structure. Only the structure decides about the positions,
+ * the world is compared when a position is visited.
+ */
+public class BuildPlan
+{
+    /**
+     * Initial size of the position arrays.
+     */
+    private static final int INITIAL_CAPACITY = 64;
+
+    /**
+     * Amount of bits used per axis in the scan order.
+     */
+    private static final int AXIS_BITS = 20;
+
+    /**
+     * Local positions (as longs) by stage, in the order they have to be worked on.
+     */
+    private final Map<Structure.Stage, long[]> positions = new EnumMap<>(Structure.Stage.class);
+
+    /**
+     * Amount of positions by stage.
+     */
+    private final Map<Structure.Stage, Integer> sizes = new EnumMap<>(Structure.Stage.class);
+
+    /**
+     * Local positions (as longs) holding a structure block, which might need resources.
+     */
+    private long[] resourcePositions = new long[INITIAL_CAPACITY];
+
+    /**
+     * Amount of resource positions.
+     */
+    private int resourceSize = 0;
+
+    /**
+     * The aggregated bill of materials, by item key.
+     */
+    private final Map<String, BuildingBuilderResource> bill = new LinkedHashMap<>();
+
+    /**
+     * Add a position to the plan of a stage.
+     * Positions have to be added in increasing scan order (y, z, x).
+     *
+     * @param stage    the stage.
+     * @param localPos the local position.
+     */
+    public void addPosition(@NotNull final Structure.Stage stage, @NotNull final BlockPos localPos)
+    {
+        final int size = sizes.getOrDefault(stage, 0);
+        long[] stagePositions = positions.get(stage);
+        if (stagePositions == null)
+        {
+            stagePositions = new long[INITIAL_CAPACITY];
+        }
+        else if (size == stagePositions.length)
+        {
+            stagePositions = Arrays.copyOf(stagePositions, size * 2);
+        }
+        stagePositions[size] = localPos.toLong();
+        positions.put(stage, stagePositions);
+        sizes.put(stage, size + 1);
+    }
+
+    /**
+     * Add a position which might need resources.
+     *
+     * @param localPos the local position.
+     */
+    public void addResourcePosition(@NotNull final BlockPos localPos)
+    {
+        if (resourceSize == resourcePositions.length)
+        {
+            resourcePositions = Arrays.copyOf(resourcePositions, resourceSize * 2);
+        }
+        resourcePositions[resourceSize++] = localPos.toLong();
+    }
+
+    /**
+     * Finish the compilation, trims the arrays and reverses the stages which are worked from top to bottom.
+     */
+    public void finish()
+    {
+        for (final Map.Entry<Structure.Stage, long[]> entry : positions.entrySet())
+        {
+            final long[] stagePositions = Arrays.copyOf(entry.getValue(), sizes.get(entry.getKey()));
+            if (isTopDown(entry.getKey()))
+            {
+                for (int i = 0, j = stagePositions.length - 1; i < j; i++, j--)
+                {
+                    final long temp = stagePositions[i];
+                    stagePositions[i] = stagePositions[j];
+                    stagePositions[j] = temp;
+                }
+            }
+            entry.setValue(stagePositions);
+        }
+        resourcePositions = Arrays.copyOf(resourcePositions, resourceSize);
+    }
+
+    /**
+     * Check if a stage is worked from top to bottom.
+     *
+     * @param stage the stage.
+     * @return true if so.
+     */
+    private static boolean isTopDown(@NotNull final Structure.Stage stage)
+    {
+        return stage == Structure.Stage.CLEAR || stage == Structure.Stage.SPAWN || stage == Structure.Stage.REMOVE;
+    }
+
+    /**
+     * Get the amount of positions of a stage.
+     *
+     * @param stage the stage.
+     * @return the amount.
+     */
+    public int getPositionCount(@NotNull final Structure.Stage stage)
+    {
+        return sizes.getOrDefault(stage, 0);
+    }
+
+    /**
+     * Get a position of a stage.
+     *
+     * @param stage the stage.
+     * @param index the index in the stage.
+     * @return the local position.
+     */
+    @NotNull
+    public BlockPos getPosition(@NotNull final Structure.Stage stage, final int index)
+    {
+        return BlockPos.fromLong(positions.get(stage)[index]);
+    }
+
+    /**
+     * Find the index of the first position of a stage which is not before a given position.
+     * The positions of a stage are sorted in scan order, so this is a binary search.
+     *
+     * @param stage    the stage.
+     * @param localPos the local position.
+     * @return the index, or the amount of positions of the stage if all are before.
+     */
+    public int indexOf(@NotNull final Structure.Stage stage, @NotNull final BlockPos localPos)
+    {
+        final long[] stagePositions = positions.get(stage);
+        final long target = getScanOrder(localPos);
+        final boolean topDown = isTopDown(stage);
+        int low = 0;
+        int high = getPositionCount(stage);
+        while (low < high)
+        {
+            final int middle = (low + high) >>> 1;
+            final long order = getScanOrder(BlockPos.fromLong(stagePositions[middle]));
+            if (topDown ? order > target : order < target)
+            {
+                low = middle + 1;
+            }
+            else
+            {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Calculate the scan order of a local position, in which y, then z, then x, increase.
+     *
+     * @param localPos the local position.
+     * @return the scan order.
+     */
+    private static long getScanOrder(@NotNull final BlockPos localPos)
+    {
+        return ((long) localPos.getY() << (2 * AXIS_BITS)) | ((long) localPos.getZ() << AXIS_BITS) | localPos.getX();
+    }
+
+    /**
+     * Get the positions holding a structure block, which might need resources.
+     *
+     * @return the list of local positions.
+     */
+    @NotNull
+    public List<BlockPos> getResourcePositions()
+    {
+        final List<BlockPos> list = new ArrayList<>(resourcePositions.length);
+        for (final long pos : resourcePositions)
+        {
+            list.add(BlockPos.fromLong(pos));
+        }
+        return list;
+    }
+
+    /**
+     * Add a resource to the bill of materials.
+     *
+     * @param stack  the resource.
+     * @param amount the amount.
+     */
+    public void addResource(@Nullable final ItemStack stack, final int amount)
+    {
+        if (ItemStackUtils.isEmpty(stack) || amount == 0)
+        {
+            return;
+        }
+        final int hashCode = stack.hasTagCompound() ? stack.getTagCompound().hashCode() : 0;
+        final String key = stack.getUnlocalizedName() + ":" + stack.getItemDamage() + "-" + hashCode;
+        final BuildingBuilderResource resource = bill.get(key);
+        if (resource == null)
+        {
+            bill.put(key, new BuildingBuilderResource(stack, amount));
+        }
+        else
+        {
+            resource.setAmount(resource.getAmount() + amount);
+        }
+    }
+
+    /**
+     * Get the aggregated bill of materials.
+     *
+     * @return the resources by item key.
+     */
+    @NotNull
+    public Map<String, BuildingBuilderResource> getBill()
+    {
+        return Collections.unmodifiableMap(bill);
+    }
+
+    /**
+     * Clear the bill of materials.
+     */
+    public void clearBill()
+    {
+        bill.clear();
+    }
+}
@@ -11,6 +11,7 @@ import net.minecraft.block.Block;
 import net.minecraft.block.BlockDoor;
 import net.minecraft.block.BlockStairs;
 import net.minecraft.block.state.IBlockState;
+import net.minecraft.entity.Entity;
 import net.minecraft.entity.EntityLiving;
 import net.minecraft.entity.item.EntityItem;
 import net.minecraft.entity.player.EntityPlayer;
@@ -25,8 +26,6 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.Objects;
-import java.util.function.Function;
-import java.util.function.Supplier;
 
 /**
  * Represents a build task for the Structure AI.
@@ -197,6 +196,17 @@ public class Structure
     private final World            targetWorld;
     private       Stage            stage;
 
+    /**
+     * The build plan, compiled on first use.
+     */
+    @Nullable
+    private BuildPlan plan;
+
+    /**
+     * The index of the current position in the plan of the current stage.
+     */
+    private int cursor = -1;
+
     /**
      * Create a new building task.
      *
@@ -327,71 +337,177 @@ public class Structure
     public void setStage(final Stage stage)
     {
         this.stage = stage;
+        this.cursor = -1;
     }
 
     /**
-     * Calculates the position of the block we are working on.
+     * Continue a stage at a local position, used when loading progress.
+     * The cursor is placed right before the first planned position at or after the given one,
+     * a negative position means the stage has not been started yet.
      *
-     * @return a BlockPos of that position.
+     * @param stage    the stage to continue.
+     * @param localPos the local position to continue at.
      */
-    public BlockPos getCurrentBlockPosition()
+    public void seek(@NotNull final Stage stage, @NotNull final BlockPos localPos)
     {
-        return this.theStructure.getBlockPosition();
+        this.stage = stage;
+        this.cursor = localPos.getY() < 0 ? -1 : (getPlan().indexOf(stage, localPos) - 1);
+        this.theStructure.reset();
     }
 
     /**
-     * Advance one block in the StructureProxy.
-     * <p>
-     * Will skip blocks not relevant.
+     * Get the build plan of the structure, compiling it on first use.
      *
-     * @return a Result enum specifying the result
+     * @return the plan.
      */
     @NotNull
-    public Result advanceBlock()
+    public BuildPlan getPlan()
     {
-        switch (this.stage)
+        if (plan == null)
+        {
+            plan = compilePlan();
+        }
+        return plan;
+    }
+
+    /**
+     * Compile the build plan, scanning the whole structure once.
+     * Only the structure decides which positions a stage visits, the world can change while building,
+     * so the world is compared at visit time in {@link #advanceBlock()}.
+     *
+     * @return the compiled plan.
+     */
+    @NotNull
+    private BuildPlan compilePlan()
+    {
+        final BuildPlan buildPlan = new BuildPlan();
+        for (int y = 0; y < theStructure.getHeight(); y++)
+        {
+            for (int z = 0; z < theStructure.getLength(); z++)
+            {
+                for (int x = 0; x < theStructure.getWidth(); x++)
+                {
+                    final BlockPos localPos = new BlockPos(x, y, z);
+                    theStructure.setLocalPosition(localPos);
+                    final IBlockState state = theStructure.getBlockState();
+                    if (state == null)
+                    {
+                        continue;
+                    }
+
+                    for (final Stage planStage : Stage.values())
+                    {
+                        if (planStage != Stage.COMPLETE && isPlanned(planStage, state, theStructure.getEntityinfo() != null))
+                        {
+                            buildPlan.addPosition(planStage, localPos);
+                        }
+                    }
+                    buildPlan.addResourcePosition(localPos);
+                }
+            }
+        }
+
+        theStructure.reset();
+        buildPlan.finish();
+        return buildPlan;
+    }
+
+    /**
+     * Check if a stage can have work at a position of the structure, whatever the world looks like.
+     * Substitution blocks and way points always equal the world, solid blocks are placed in the build stage.
+     *
+     * @param stage     the stage.
+     * @param state     the structure block.
+     * @param hasEntity if the structure has an entity at the position.
+     * @return true if the stage has to visit the position.
+     */
+    private static boolean isPlanned(@NotNull final Stage stage, @NotNull final IBlockState state, final boolean hasEntity)
+    {
+        final Block block = state.getBlock();
+        final boolean alwaysEqual = block == ModBlocks.blockSubstitution || block == ModBlocks.blockWayPoint;
+        switch (stage)
         {
             case CLEAR:
-                return advanceBlocks(this.theStructure::decrementBlock,
-                  structureBlock -> structureBlock.doesStructureBlockEqualWorldBlock()
-                                      || structureBlock.worldBlock == Blocks.AIR);
-            case BUILD:
-                return advanceBlocks(this.theStructure::incrementBlock, structureBlock -> structureBlock.doesStructureBlockEqualWorldBlock()
-                                                                                         && structureBlock.block == Blocks.AIR
-                                                                                         && !structureBlock.metadata.getMaterial().isSolid());
+                return !alwaysEqual;
             case SPAWN:
-                return advanceBlocks(this.theStructure::decrementBlock, structureBlock ->
-                                                                       structureBlock.entity == null);
+                return hasEntity;
             case DECORATE:
-                return advanceBlocks(this.theStructure::incrementBlock, structureBlock ->
-                                                                       structureBlock.doesStructureBlockEqualWorldBlock()
-                                                                         || structureBlock.metadata.getMaterial().isSolid());
-            case REMOVE:
-                return advanceBlocks(this.theStructure::decrementBlock,
-                        structureBlock -> structureBlock.worldBlock == Blocks.AIR);
+                return !alwaysEqual && !state.getMaterial().isSolid();
             default:
-                return Result.NEW_BLOCK;
+                return true;
         }
     }
 
     /**
-     * Advance many blocks until either moveOneBlock or checkIfApplies return false
-     * or if we reached the maximum of iterations in maxBlocksCheckedByBuilder.
+     * Check if an entity in the world has to be considered when comparing structure and world.
+     *
+     * @param entity the entity.
+     * @return true if it isn't a living entity, player or item.
+     */
+    private static boolean isBlockingEntity(final Entity entity)
+    {
+        return !(entity instanceof EntityLiving || entity instanceof EntityPlayer || entity instanceof EntityItem);
+    }
+
+    /**
+     * Get the name of the structure.
+     *
+     * @return the name.
+     */
+    public String getName()
+    {
+        return this.theStructure.getName();
+    }
+
+    /**
+     * Get the local position of the block we are working on.
+     *
+     * @return the local position.
+     */
+    public BlockPos getLocalPosition()
+    {
+        return this.theStructure.getLocalPosition();
+    }
+
+    /**
+     * Calculates the position of the block we are working on.
+     *
+     * @return a BlockPos of that position.
+     */
+    public BlockPos getCurrentBlockPosition()
+    {
+        return this.theStructure.getBlockPosition();
+    }
+
+    /**
+     * Advance one block in the StructureProxy.
+     * <p>
+     * Will skip blocks not relevant, only the positions of the plan of the current stage are visited.
      *
-     * @param moveOneBlock   this will be called to advance the structure one block.
-     * @param checkIfApplies this will be evaluated to check if we should skip a block.
      * @return a Result enum specifying the result
      */
     @NotNull
-    private Result advanceBlocks(@NotNull final Supplier<Boolean> moveOneBlock, @NotNull final Function<StructureBlock, Boolean> checkIfApplies)
+    public Result advanceBlock()
     {
+        if (this.stage == Stage.COMPLETE)
+        {
+            return Result.NEW_BLOCK;
+        }
+
+        final BuildPlan buildPlan = getPlan();
+        final int count = buildPlan.getPositionCount(this.stage);
         for (int i = 0; i < Configurations.gameplay.maxBlocksCheckedByBuilder; i++)
         {
-            if (!moveOneBlock.get())
+            cursor++;
+            if (cursor >= count)
             {
+                cursor = -1;
+                this.theStructure.reset();
                 return Result.AT_END;
             }
-            if (!checkIfApplies.apply(getCurrentBlock()))
+
+            this.theStructure.setLocalPosition(buildPlan.getPosition(this.stage, cursor));
+            if (!isSkipped(this.stage, getCurrentBlock()))
             {
                 return Result.NEW_BLOCK;
             }
@@ -399,6 +515,36 @@ public class Structure
         return Result.CONFIG_LIMIT;
     }
 
+    /**
+     * Check if a block has to be skipped in a certain stage.
+     *
+     * @param stage          the stage.
+     * @param structureBlock the block.
+     * @return true if there is nothing to do for this block in this stage.
+     */
+    private static boolean isSkipped(@NotNull final Stage stage, @NotNull final StructureBlock structureBlock)
+    {
+        switch (stage)
+        {
+            case CLEAR:
+                return structureBlock.doesStructureBlockEqualWorldBlock()
+                         || structureBlock.worldBlock == Blocks.AIR;
+            case BUILD:
+                return structureBlock.doesStructureBlockEqualWorldBlock()
+                         && structureBlock.block == Blocks.AIR
+                         && !structureBlock.metadata.getMaterial().isSolid();
+            case SPAWN:
+                return structureBlock.entity == null;
+            case DECORATE:
+                return structureBlock.doesStructureBlockEqualWorldBlock()
+                         || structureBlock.metadata.getMaterial().isSolid();
+            case REMOVE:
+                return structureBlock.worldBlock == Blocks.AIR;
+            default:
+                return false;
+        }
+    }
+
     /**
      * Gather all information needed to evaluate one block.
      *
@@ -415,9 +561,9 @@ public class Structure
                                    this.theStructure.getItem(),
                                    BlockPosUtil.getBlock(targetWorld, this.theStructure.getBlockPosition()),
                                    BlockPosUtil.getBlockState(targetWorld, this.theStructure.getBlockPosition()),
-                                   !targetWorld.getEntitiesWithinAABB(net.minecraft.entity.Entity.class,
+                                   !targetWorld.getEntitiesWithinAABB(Entity.class,
                                      new AxisAlignedBB(this.theStructure.getBlockPosition()),
-                                     entity -> !(entity instanceof EntityLiving || entity instanceof EntityPlayer || entity instanceof EntityItem)).isEmpty());
+                                     Structure::isBlockingEntity).isEmpty());
     }
 
     /**
@@ -0,0 +1,115 @@
+package com.minecolonies.coremod.entity.citizenhandlers;
+
+import com.minecolonies.api.configuration.Configurations;
+import com.minecolonies.api.util.CompatibilityUtils;
+import com.minecolonies.coremod.colony.Colony;
+import com.minecolonies.coremod.colony.ColonyRestSchedule;
+import com.minecolonies.coremod.entity.EntityCitizen;
+import org.jetbrains.annotations.Nullable;
+
+import static com.minecolonies.api.util.constant.Constants.TICKS_SECOND;
+
+/**
+ * Handler switching a citizen asleep at home at night to resting, where its AI only runs every few ticks.
+ */
+public class CitizenRestHandler
+{
+    /**
+     * Ticks a citizen stays fully awake after it got hurt.
+     */
+    private static final int HURT_AWAKE_TICKS = 10 * TICKS_SECOND;
+
+    /**
+     * The citizen assigned to this manager.
+     */
+    private final EntityCitizen citizen;
+
+    /**
+     * The token of the schedule of the colony while resting.
+     */
+    private int restToken = ColonyRestSchedule.AWAKE;
+
+    /**
+     * Ticks left the citizen has to stay fully awake.
+     */
+    private int awakeTicks = 0;
+
+    /**
+     * Constructor for the rest handler.
+     * @param citizen the citizen owning the handler.
+     */
+    public CitizenRestHandler(final EntityCitizen citizen)
+    {
+        this.citizen = citizen;
+    }
+
+    /**
+     * Called in the citizen every tick on the server before it updates, starts resting once it sleeps at home.
+     */
+    public void onUpdate()
+    {
+        if (awakeTicks > 0)
+        {
+            awakeTicks--;
+            restToken = ColonyRestSchedule.AWAKE;
+            return;
+        }
+
+        final ColonyRestSchedule schedule = getSchedule();
+        if (schedule == null || !citizen.getCitizenSleepHandler().isAsleep())
+        {
+            restToken = ColonyRestSchedule.AWAKE;
+        }
+        else if (!schedule.isResting(restToken))
+        {
+            restToken = schedule.rest();
+        }
+    }
+
+    /**
+     * Wake the citizen up, for example when it got hurt.
+     */
+    public void wakeUp()
+    {
+        restToken = ColonyRestSchedule.AWAKE;
+        awakeTicks = HURT_AWAKE_TICKS;
+    }
+
+    /**
+     * Check if the citizen is resting.
+     *
+     * @return true if so.
+     */
+    public boolean isResting()
+    {
+        final ColonyRestSchedule schedule = getSchedule();
+        return schedule != null && schedule.isResting(restToken);
+    }
+
+    /**
+     * Check if the citizen runs its AI and entity scans this tick.
+     *
+     * @return true if it is awake or it is its turn while resting.
+     */
+    public boolean isFullUpdateTick()
+    {
+        final ColonyRestSchedule schedule = getSchedule();
+        return schedule == null || schedule.isFullUpdateTick(restToken, citizen.getOffsetTicks(), Configurations.gameplay.restingCitizenUpdateInterval);
+    }
+
+    /**
+     * Get the schedule of the colony of the citizen on the server.
+     *
+     * @return the schedule or null if there is none.
+     */
+    @Nullable
+    private ColonyRestSchedule getSchedule()
+    {
+        if (CompatibilityUtils.getWorld(citizen).isRemote)
+        {
+            return null;
+        }
+        final Colony colony = citizen.getCitizenColonyHandler().getColony();
+        return colony == null ? null : colony.getRestSchedule();
+    }
+}
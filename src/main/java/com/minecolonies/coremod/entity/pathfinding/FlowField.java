@@ -0,0 +1,467 @@
+package com.minecolonies.coremod.entity.pathfinding;
+
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockFence;
+import net.minecraft.block.BlockFenceGate;
+import net.minecraft.block.BlockWall;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.init.Blocks;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.Chunk;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.concurrent.Callable;
+
+/**
+ * Walking distance of every column of an area to a target, computed with a single breadth first search from the target outward.
+ * Any number of entities heading to the same target can follow the field downhill instead of planning their own paths.
+ * The field is 2.5 dimensional: every column stores the one standing height at which it was first reached.
+ * It is created on the server thread, computed on the pathfinding executor and read only afterwards.
+ */
+public final class FlowField implements Callable<FlowField>
+{
+    /**
+     * Distance of columns which have not been reached.
+     */
+    private static final int UNREACHED = -1;
+
+    /**
+     * Highest step an entity can climb without jumping more than once.
+     */
+    private static final int MAX_STEP_UP = 1;
+
+    /**
+     * Deepest drop an entity takes without too much fall damage.
+     */
+    private static final int MAX_DROP = 3;
+
+    /**
+     * Vertical range around the target in which the standing positions next to it are searched.
+     */
+    private static final int TARGET_SEARCH_HEIGHT = 3;
+
+    /**
+     * Lowest and highest height the field covers.
+     */
+    private static final int MIN_Y = 1;
+    private static final int MAX_Y = 255;
+
+    /**
+     * The 4 horizontal offsets the search expands in, x and z interleaved.
+     */
+    private static final int[] SEARCH_OFFSETS = {1, 0, -1, 0, 0, 1, 0, -1};
+
+    /**
+     * The 8 horizontal offsets the entities may step in, x and z interleaved.
+     */
+    private static final int[] STEP_OFFSETS = {1, 0, -1, 0, 0, 1, 0, -1, 1, 1, 1, -1, -1, 1, -1, -1};
+
+    /**
+     * The target the distances lead to.
+     */
+    private final BlockPos target;
+
+    /**
+     * Lowest x and z of the area and its width along both axes.
+     */
+    private final int minX;
+    private final int minZ;
+    private final int size;
+
+    /**
+     * The loaded chunks of the area, only used while computing.
+     */
+    @Nullable
+    private LoadedChunks world;
+
+    /**
+     * Walking distance of every column, UNREACHED if it can not be reached.
+     */
+    private int[] distances;
+
+    /**
+     * Standing height of every reached column.
+     */
+    private int[] heights;
+
+    /**
+     * Create a field for an area, capturing the loaded chunks of the area. Has to be called on the server thread.
+     *
+     * @param world  the world.
+     * @param target the position the field leads to.
+     * @param center the center of the area.
+     * @param radius the horizontal radius of the area.
+     */
+    public FlowField(@NotNull final World world, @NotNull final BlockPos target, @NotNull final BlockPos center, final int radius)
+    {
+        this.target = target.toImmutable();
+        this.minX = center.getX() - radius;
+        this.minZ = center.getZ() - radius;
+        this.size = radius * 2 + 1;
+        this.world = new LoadedChunks(world, minX, minZ, size);
+    }
+
+    /**
+     * Compute the distances. Runs on the pathfinding executor.
+     *
+     * @return this field.
+     */
+    @Override
+    public FlowField call()
+    {
+        final LoadedChunks access = world;
+        final int[] dist = new int[size * size];
+        final int[] height = new int[size * size];
+        Arrays.fill(dist, UNREACHED);
+
+        final int[] queue = new int[size * size];
+        int head = 0;
+        int tail = 0;
+
+        for (int x = target.getX() - 1; x <= target.getX() + 1; x++)
+        {
+            for (int z = target.getZ() - 1; z <= target.getZ() + 1; z++)
+            {
+                final int index = getIndex(x, z);
+                if (index == UNREACHED)
+                {
+                    continue;
+                }
+
+                for (int y = target.getY() + TARGET_SEARCH_HEIGHT; y >= target.getY() - TARGET_SEARCH_HEIGHT; y--)
+                {
+                    if (canStand(access, x, y, z))
+                    {
+                        dist[index] = 0;
+                        height[index] = y;
+                        queue[tail++] = index;
+                        break;
+                    }
+                }
+            }
+        }
+
+        while (head < tail)
+        {
+            final int index = queue[head++];
+            final int x = minX + index / size;
+            final int z = minZ + index % size;
+            final int y = height[index];
+
+            for (int i = 0; i < SEARCH_OFFSETS.length; i += 2)
+            {
+                final int nx = x + SEARCH_OFFSETS[i];
+                final int nz = z + SEARCH_OFFSETS[i + 1];
+                final int neighbor = getIndex(nx, nz);
+                if (neighbor == UNREACHED || dist[neighbor] != UNREACHED)
+                {
+                    continue;
+                }
+
+                final int ny = findEntryHeight(access, nx, nz, x, y, z);
+                if (ny != UNREACHED)
+                {
+                    dist[neighbor] = dist[index] + 1;
+                    height[neighbor] = ny;
+                    queue[tail++] = neighbor;
+                }
+            }
+        }
+
+        this.distances = dist;
+        this.heights = height;
+        this.world = null;
+        return this;
+    }
+
+    /**
+     * Find the height at which an entity standing in a column can walk into a neighboring column standing at a height.
+     * Checked from the top so the surface is preferred over caves.
+     *
+     * @param access the world.
+     * @param x      the x of the column the entity comes from.
+     * @param z      the z of the column the entity comes from.
+     * @param tx     the x of the column walked into.
+     * @param ty     the standing height in the column walked into.
+     * @param tz     the z of the column walked into.
+     * @return the standing height in the first column or UNREACHED.
+     */
+    private static int findEntryHeight(@NotNull final LoadedChunks access, final int x, final int z, final int tx, final int ty, final int tz)
+    {
+        for (int y = Math.min(ty + MAX_DROP, MAX_Y - 1); y >= Math.max(ty - MAX_STEP_UP, MIN_Y); y--)
+        {
+            if (!canStand(access, x, y, z))
+            {
+                continue;
+            }
+
+            if (y > ty && !isPassableColumn(access, tx, ty + 2, y + 1, tz))
+            {
+                continue;
+            }
+
+            if (y < ty && !isPassable(access.getBlockState(x, ty + 1, z)))
+            {
+                continue;
+            }
+            return y;
+        }
+        return UNREACHED;
+    }
+
+    /**
+     * Check if an entity can stand at a position.
+     *
+     * @param access the world.
+     * @param x      the x.
+     * @param y      the height of the feet.
+     * @param z      the z.
+     * @return true if the block below carries and the two blocks above are free.
+     */
+    private static boolean canStand(@NotNull final LoadedChunks access, final int x, final int y, final int z)
+    {
+        return isWalkableSurface(access.getBlockState(x, y - 1, z))
+                 && isPassable(access.getBlockState(x, y, z))
+                 && isPassable(access.getBlockState(x, y + 1, z));
+    }
+
+    /**
+     * Check if all blocks of a column between two heights are free.
+     *
+     * @param access the world.
+     * @param x      the x.
+     * @param fromY  the lowest height.
+     * @param toY    the highest height.
+     * @param z      the z.
+     * @return true if so.
+     */
+    private static boolean isPassableColumn(@NotNull final LoadedChunks access, final int x, final int fromY, final int toY, final int z)
+    {
+        for (int y = fromY; y <= toY; y++)
+        {
+            if (!isPassable(access.getBlockState(x, y, z)))
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Check if a block does not block movement. Doors count as blocking since the walkers do not open them.
+     *
+     * @param state the block.
+     * @return true if it can be walked through.
+     */
+    private static boolean isPassable(@NotNull final IBlockState state)
+    {
+        return !state.getMaterial().blocksMovement() && !state.getMaterial().isLiquid();
+    }
+
+    /**
+     * Check if a block can be stood on.
+     *
+     * @param state the block.
+     * @return true if so.
+     */
+    private static boolean isWalkableSurface(@NotNull final IBlockState state)
+    {
+        final Block block = state.getBlock();
+        return state.getMaterial().isSolid() && !(block instanceof BlockFence || block instanceof BlockFenceGate || block instanceof BlockWall);
+    }
+
+    /**
+     * Get the index of a column.
+     *
+     * @param x the x.
+     * @param z the z.
+     * @return the index or UNREACHED if it is outside of the area.
+     */
+    private int getIndex(final int x, final int z)
+    {
+        final int dx = x - minX;
+        final int dz = z - minZ;
+        if (dx < 0 || dz < 0 || dx >= size || dz >= size)
+        {
+            return UNREACHED;
+        }
+        return dx * size + dz;
+    }
+
+    /**
+     * Get the index of the column of a position, if the field reached it at about that height.
+     *
+     * @param pos the position of the feet.
+     * @return the index or UNREACHED.
+     */
+    private int getReachedIndex(@NotNull final BlockPos pos)
+    {
+        final int index = getIndex(pos.getX(), pos.getZ());
+        if (index == UNREACHED || distances[index] == UNREACHED || Math.abs(heights[index] - pos.getY()) > MAX_STEP_UP)
+        {
+            return UNREACHED;
+        }
+        return index;
+    }
+
+    /**
+     * Get the walking distance of a position to the target.
+     *
+     * @param pos the position of the feet.
+     * @return the distance or -1 if the field does not know the position.
+     */
+    public int getDistance(@NotNull final BlockPos pos)
+    {
+        final int index = getReachedIndex(pos);
+        return index == UNREACHED ? UNREACHED : distances[index];
+    }
+
+    /**
+     * Get the neighboring position closest to the target, diagonals only if both sides are walkable.
+     *
+     * @param pos the position of the feet.
+     * @return the next position or null if the position is unknown to the field or already at the target.
+     */
+    @Nullable
+    public BlockPos getNextStep(@NotNull final BlockPos pos)
+    {
+        final int index = getReachedIndex(pos);
+        if (index == UNREACHED || distances[index] == 0)
+        {
+            return null;
+        }
+
+        final int x = pos.getX();
+        final int z = pos.getZ();
+        int best = UNREACHED;
+        for (int i = 0; i < STEP_OFFSETS.length; i += 2)
+        {
+            final int dx = STEP_OFFSETS[i];
+            final int dz = STEP_OFFSETS[i + 1];
+            final int neighbor = getIndex(x + dx, z + dz);
+            if (neighbor == UNREACHED || distances[neighbor] == UNREACHED || distances[neighbor] >= distances[index])
+            {
+                continue;
+            }
+
+            if (dx != 0 && dz != 0 && (!isSideReachable(index, x + dx, z) || !isSideReachable(index, x, z + dz)))
+            {
+                continue;
+            }
+
+            if (best == UNREACHED || distances[neighbor] < distances[best])
+            {
+                best = neighbor;
+            }
+        }
+
+        if (best == UNREACHED)
+        {
+            return null;
+        }
+        return new BlockPos(minX + best / size, heights[best], minZ + best % size);
+    }
+
+    /**
+     * Check if the side column of a diagonal step has been reached at a height close to the start column.
+     *
+     * @param from the index of the start column.
+     * @param x    the x of the side column.
+     * @param z    the z of the side column.
+     * @return true if the diagonal does not cut a corner.
+     */
+    private boolean isSideReachable(final int from, final int x, final int z)
+    {
+        final int side = getIndex(x, z);
+        return side != UNREACHED && distances[side] != UNREACHED && Math.abs(heights[side] - heights[from]) <= MAX_STEP_UP;
+    }
+
+    /**
+     * Check if a position lies in the area of the field.
+     *
+     * @param pos the position.
+     * @return true if so.
+     */
+    public boolean contains(@NotNull final BlockPos pos)
+    {
+        return getIndex(pos.getX(), pos.getZ()) != UNREACHED;
+    }
+
+    /**
+     * Get the target the field leads to.
+     *
+     * @return the target.
+     */
+    @NotNull
+    public BlockPos getTarget()
+    {
+        return target;
+    }
+
+    /**
+     * The chunks of an area which were loaded when the field was created.
+     * Unlike a chunk cache it never loads or generates chunks, unloaded chunks read as air and are never reached.
+     */
+    private static final class LoadedChunks
+    {
+        /**
+         * Lowest chunk x and z and the amount of chunks along both axes.
+         */
+        private final int minChunkX;
+        private final int minChunkZ;
+        private final int chunkSize;
+
+        /**
+         * The chunks, null if they were not loaded.
+         */
+        private final Chunk[] chunks;
+
+        /**
+         * Capture the loaded chunks of an area.
+         *
+         * @param world the world.
+         * @param minX  the lowest x.
+         * @param minZ  the lowest z.
+         * @param size  the width along both axes.
+         */
+        private LoadedChunks(@NotNull final World world, final int minX, final int minZ, final int size)
+        {
+            this.minChunkX = minX >> 4;
+            this.minChunkZ = minZ >> 4;
+            this.chunkSize = ((minX + size - 1) >> 4) - minChunkX + 1;
+            this.chunks = new Chunk[chunkSize * chunkSize];
+            for (int cx = 0; cx < chunkSize; cx++)
+            {
+                for (int cz = 0; cz < chunkSize; cz++)
+                {
+                    chunks[cx * chunkSize + cz] = world.getChunkProvider().getLoadedChunk(minChunkX + cx, minChunkZ + cz);
+                }
+            }
+        }
+
+        /**
+         * Get the block at a position.
+         *
+         * @param x the x.
+         * @param y the y.
+         * @param z the z.
+         * @return the block, air if the chunk was not loaded.
+         */
+        @NotNull
+        private IBlockState getBlockState(final int x, final int y, final int z)
+        {
+            final int cx = (x >> 4) - minChunkX;
+            final int cz = (z >> 4) - minChunkZ;
+            if (cx < 0 || cz < 0 || cx >= chunkSize || cz >= chunkSize || y < 0 || y > MAX_Y)
+            {
+                return Blocks.AIR.getDefaultState();
+            }
+
+            final Chunk chunk = chunks[cx * chunkSize + cz];
+            return chunk == null ? Blocks.AIR.getDefaultState() : chunk.getBlockState(x, y, z);
+        }
+    }
+}
@@ -47,6 +47,17 @@ public final class Pathfinding
         return executor.submit(job);
     }
 
+    /**
+     * Add a flow field to the queue for processing.
+     *
+     * @param field the field to compute.
+     * @return a Future containing the computed field.
+     */
+    public static Future<FlowField> enqueue(@NotNull final FlowField field)
+    {
+        return executor.submit(field);
+    }
+
     /**
      * Render debugging information for the pathfinding system.
      *
@@ -5,6 +5,7 @@ import com.minecolonies.api.colony.IColonyTagCapability;
 import com.minecolonies.api.colony.permissions.Action;
 import com.minecolonies.api.configuration.Configurations;
 import com.minecolonies.api.util.BlockPosUtil;
+import com.minecolonies.api.util.ItemHandlerCache;
 import com.minecolonies.api.util.LanguageHandler;
 import com.minecolonies.api.util.Log;
 import com.minecolonies.api.util.constant.Constants;
@@ -16,6 +17,8 @@ import com.minecolonies.coremod.blocks.huts.BlockHutWareHouse;
 import com.minecolonies.coremod.colony.Colony;
 import com.minecolonies.coremod.colony.ColonyManager;
 import com.minecolonies.coremod.colony.buildings.AbstractBuilding;
+import com.minecolonies.coremod.entity.ai.citizen.farmer.FieldWorkQueue;
+import com.minecolonies.coremod.entity.ai.mobs.util.BarbarianFlowFields;
 import com.minecolonies.coremod.items.ModItems;
 import com.minecolonies.coremod.network.messages.UpdateChunkCapabilityMessage;
 import net.minecraft.block.Block;
@@ -557,5 +560,41 @@ public class EventHandler
     public void onWorldUnload(@NotNull final WorldEvent.Unload event)
     {
         ColonyManager.onWorldUnload(event.getWorld());
+        if (!event.getWorld().isRemote)
+        {
+            FieldWorkQueue.onWorldUnload(event.getWorld());
+        }
+    }
+
+    /**
+     * Gets called when a block changed and notifies its neighbors.
+     * Invalidates the cached item handlers around the block and the barbarian flow fields covering it, and updates the field work covering it.
+     *
+     * @param event {@link net.minecraftforge.event.world.BlockEvent.NeighborNotifyEvent}
+     */
+    @SubscribeEvent
+    public void onNeighborNotify(@NotNull final BlockEvent.NeighborNotifyEvent event)
+    {
+        ItemHandlerCache.invalidate(event.getWorld(), event.getPos());
+        if (!event.getWorld().isRemote)
+        {
+            BarbarianFlowFields.onBlockChanged(event.getWorld(), event.getPos());
+            FieldWorkQueue.onBlockChanged(event.getWorld(), event.getPos());
+        }
+    }
+
+    /**
+     * Gets called when a crop grew, which doesn't notify the neighbors.
+     * Updates the field work covering the crop.
+     *
+     * @param event {@link net.minecraftforge.event.world.BlockEvent.CropGrowEvent.Post}
+     */
+    @SubscribeEvent
+    public void onCropGrow(@NotNull final BlockEvent.CropGrowEvent.Post event)
+    {
+        if (!event.getWorld().isRemote)
+        {
+            FieldWorkQueue.onBlockChanged(event.getWorld(), event.getPos());
+        }
     }
 }
@@ -1,6 +1,7 @@
 package com.minecolonies.coremod.inventory;
 
 import com.minecolonies.api.colony.permissions.Action;
+import com.minecolonies.api.util.IIndexedInventory;
 import com.minecolonies.api.util.ItemStackUtils;
 import com.minecolonies.coremod.colony.CitizenData;
 import net.minecraft.block.state.IBlockState;
@@ -31,7 +32,7 @@ import static com.minecolonies.api.util.constant.Constants.STACKSIZE;
 /**
  * Basic inventory for the citizens.
  */
-public class InventoryCitizen implements IInventory
+public class InventoryCitizen implements IInventory, IIndexedInventory
 {
     /**
      * The returned slot if a slot hasn't been found.
@@ -55,6 +56,11 @@ public class InventoryCitizen implements IInventory
     private final        NonNullList<ItemStack> offHandInventory = NonNullList.<ItemStack>withSize(1, ItemStackUtils.EMPTY);
     private final List<NonNullList<ItemStack>> allInventories;
 
+    /**
+     * Index of all slots by their item, with the free slots.
+     */
+    private final SlotIndex<Item> slotIndex = new SlotIndex<>(mainInventory.size() + armorInventory.size() + offHandInventory.size());
+
     /**
      * The index of the currently held items (0-8).
      */
@@ -310,7 +316,14 @@ public class InventoryCitizen implements IInventory
             tempIndex -= nonnulllist.size();
         }
 
-        return list != null && !ItemStackUtils.isEmpty(list.get(tempIndex)) ? ItemStackHelper.getAndSplit(list, tempIndex, count) : ItemStackUtils.EMPTY;
+        if (list == null || ItemStackUtils.isEmpty(list.get(tempIndex)))
+        {
+            return ItemStackUtils.EMPTY;
+        }
+
+        final ItemStack result = ItemStackHelper.getAndSplit(list, tempIndex, count);
+        updateIndex(index);
+        return result;
     }
 
     /**
@@ -339,6 +352,7 @@ public class InventoryCitizen implements IInventory
         {
             final ItemStack itemstack = nonnulllist.get(tempIndex);
             nonnulllist.set(tempIndex, ItemStackUtils.EMPTY);
+            slotIndex.set(index, null);
             return itemstack;
         }
         else
@@ -372,9 +386,44 @@ public class InventoryCitizen implements IInventory
         if (nonnulllist != null)
         {
             nonnulllist.set(tempIndex, stack);
+            updateIndex(index);
+        }
+    }
+
+    /**
+     * Update the index entry of a slot from its current content.
+     *
+     * @param index the slot.
+     */
+    private void updateIndex(final int index)
+    {
+        final ItemStack stack = getStackInSlot(index);
+        slotIndex.set(index, ItemStackUtils.isEmpty(stack) ? null : stack.getItem());
+    }
+
+    /**
+     * Rebuild the whole index, used after bulk changes and to pick up stacks which were emptied in place.
+     */
+    private void rebuildIndex()
+    {
+        for (int i = 0; i < slotIndex.size(); i++)
+        {
+            updateIndex(i);
         }
     }
 
+    @Override
+    public int getNextCandidateSlot(@NotNull final Item item, final int from)
+    {
+        return slotIndex.nextSlot(item, from);
+    }
+
+    @Override
+    public int getFirstEmptySlot()
+    {
+        return getFirstEmptyStack();
+    }
+
     /**
      * Contains the maximum stack size for a inventory slot. Seems to always be 64, possibly will be extended.
      *
@@ -516,6 +565,7 @@ public class InventoryCitizen implements IInventory
         {
             list.clear();
         }
+        slotIndex.clear();
     }
 
     /**
@@ -542,6 +592,7 @@ public class InventoryCitizen implements IInventory
                     {
                         this.mainInventory.set(j, itemStackIn.copy());
                         (this.mainInventory.get(j)).setAnimationsToGo(5);
+                        updateIndex(j);
                         ItemStackUtils.setSize(itemStackIn, 0);
                         return true;
                     }
@@ -587,15 +638,15 @@ public class InventoryCitizen implements IInventory
      */
     public int getFirstEmptyStack()
     {
-        for (int i = 0; i < this.mainInventory.size(); ++i)
+        final int slot = slotIndex.getFirstFree(this.mainInventory.size());
+        if (slot != NO_SLOT)
         {
-            if ((this.mainInventory.get(i)).isEmpty())
-            {
-                return i;
-            }
+            return slot;
         }
 
-        return NO_SLOT;
+        //Stacks might have been emptied in place, look again before reporting a full inventory.
+        rebuildIndex();
+        return slotIndex.getFirstFree(this.mainInventory.size());
     }
 
     /**
@@ -658,6 +709,7 @@ public class InventoryCitizen implements IInventory
                 i = i - k;
                 itemstack.grow(k);
                 itemstack.setAnimationsToGo(5);
+                updateIndex(j);
                 return i;
             }
         }
@@ -682,9 +734,10 @@ public class InventoryCitizen implements IInventory
         }
         else
         {
-            for (int i = 0; i < this.mainInventory.size(); ++i)
+            final Item item = itemStackIn.getItem();
+            for (int i = slotIndex.nextSlot(item, 0); i >= 0; i = slotIndex.nextSlot(item, i + 1))
             {
-                if (this.canMergeStacks(this.mainInventory.get(i), itemStackIn))
+                if (i < this.mainInventory.size() && this.canMergeStacks(this.mainInventory.get(i), itemStackIn))
                 {
                     return i;
                 }
@@ -707,6 +760,7 @@ public class InventoryCitizen implements IInventory
      */
     public void deleteStack(final ItemStack stack)
     {
+        int offset = 0;
         for (final NonNullList<ItemStack> nonnulllist : this.allInventories)
         {
             for (int i = 0; i < nonnulllist.size(); ++i)
@@ -714,9 +768,11 @@ public class InventoryCitizen implements IInventory
                 if (nonnulllist.get(i) == stack)
                 {
                     nonnulllist.set(i, ItemStackUtils.EMPTY);
+                    slotIndex.set(offset + i, null);
                     break;
                 }
             }
+            offset += nonnulllist.size();
         }
     }
 
@@ -824,6 +880,7 @@ public class InventoryCitizen implements IInventory
                 }
             }
         }
+        rebuildIndex();
     }
 
     /**
@@ -0,0 +1,158 @@
+package com.minecolonies.coremod.inventory;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Index of the slots of an inventory by the key of their content, with a bitmap of the free slots.
+ * The owner has to update it on every change of a slot.
+ *
+ * @param <K> the key type, describing the content of a slot.
+ */
+public final class SlotIndex<K>
+{
+    /**
+     * The returned slot if no slot has been found.
+     */
+    private static final int NO_SLOT = -1;
+
+    /**
+     * The key of every slot, null for free slots.
+     */
+    private final Object[] keys;
+
+    /**
+     * The slots by key.
+     */
+    private final Map<K, BitSet> slotsByKey = new HashMap<>();
+
+    /**
+     * The free slots.
+     */
+    private final BitSet freeSlots;
+
+    /**
+     * Create an index with all slots free.
+     *
+     * @param size the amount of slots.
+     */
+    public SlotIndex(final int size)
+    {
+        this.keys = new Object[size];
+        this.freeSlots = new BitSet(size);
+        this.freeSlots.set(0, size);
+    }
+
+    /**
+     * Get the amount of slots.
+     *
+     * @return the size.
+     */
+    public int size()
+    {
+        return keys.length;
+    }
+
+    /**
+     * Update the key of a slot.
+     *
+     * @param slot the slot.
+     * @param key  the new key, null if the slot is free.
+     */
+    public void set(final int slot, @Nullable final K key)
+    {
+        final K previous = get(slot);
+        if (previous != null && previous.equals(key))
+        {
+            return;
+        }
+
+        if (previous != null)
+        {
+            final BitSet slots = slotsByKey.get(previous);
+            slots.clear(slot);
+            if (slots.isEmpty())
+            {
+                slotsByKey.remove(previous);
+            }
+        }
+
+        keys[slot] = key;
+        if (key == null)
+        {
+            freeSlots.set(slot);
+        }
+        else
+        {
+            freeSlots.clear(slot);
+            slotsByKey.computeIfAbsent(key, k -> new BitSet(keys.length)).set(slot);
+        }
+    }
+
+    /**
+     * Get the key of a slot.
+     *
+     * @param slot the slot.
+     * @return the key, null if the slot is free.
+     */
+    @SuppressWarnings("unchecked")
+    @Nullable
+    public K get(final int slot)
+    {
+        return (K) keys[slot];
+    }
+
+    /**
+     * Get the next slot with a certain key, iterating the slots of a key does not allocate:
+     * {@code for (int slot = index.nextSlot(key, 0); slot >= 0; slot = index.nextSlot(key, slot + 1))}.
+     *
+     * @param key  the key.
+     * @param from the first slot to consider.
+     * @return the slot or -1 if there is none.
+     */
+    public int nextSlot(@NotNull final K key, final int from)
+    {
+        final BitSet slots = slotsByKey.get(key);
+        return slots == null ? NO_SLOT : slots.nextSetBit(from);
+    }
+
+    /**
+     * Check if any slot has a certain key.
+     *
+     * @param key the key.
+     * @return true if so.
+     */
+    public boolean contains(@NotNull final K key)
+    {
+        return slotsByKey.containsKey(key);
+    }
+
+    /**
+     * Get the first free slot below a limit.
+     *
+     * @param limit the first slot which is not considered.
+     * @return the slot or -1 if there is none.
+     */
+    public int getFirstFree(final int limit)
+    {
+        final int slot = freeSlots.nextSetBit(0);
+        return slot >= 0 && slot < limit ? slot : NO_SLOT;
+    }
+
+    /**
+     * Mark all slots as free.
+     */
+    public void clear()
+    {
+        for (int i = 0; i < keys.length; i++)
+        {
+            keys[i] = null;
+        }
+        slotsByKey.clear();
+        freeSlots.set(0, keys.length);
+    }
+}
@@ -2,24 +2,16 @@ package com.minecolonies.coremod.items;
 
 import com.minecolonies.api.util.BlockPosUtil;
 import com.minecolonies.api.util.LanguageHandler;
-import com.minecolonies.api.util.constant.Constants;
-import com.minecolonies.coremod.MineColonies;
 import com.minecolonies.coremod.client.gui.WindowScan;
 import com.minecolonies.coremod.creativetab.ModCreativeTabs;
-import com.minecolonies.coremod.network.messages.SaveScanMessage;
+import com.minecolonies.coremod.util.StructureScanQueue;
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.entity.player.EntityPlayer;
-import net.minecraft.entity.player.EntityPlayerMP;
-import net.minecraft.init.Blocks;
 import net.minecraft.item.ItemStack;
 import net.minecraft.nbt.NBTTagCompound;
-import net.minecraft.server.MinecraftServer;
 import net.minecraft.util.*;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.World;
-import net.minecraft.world.WorldServer;
-import net.minecraft.world.gen.structure.template.Template;
-import net.minecraft.world.gen.structure.template.TemplateManager;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -118,7 +110,7 @@ public class ItemScanTool extends AbstractItemMinecolonies
     }
 
     /**
-     * Scan the structure and save it to the disk.
+     * Queue a scan of the structure, it is sent to the player to be saved to the disk once done.
      *
      * @param world  Current world.
      * @param from   First corner.
@@ -143,13 +135,9 @@ public class ItemScanTool extends AbstractItemMinecolonies
             LanguageHandler.sendPlayerMessage(player, MAX_SCHEMATIC_SIZE_REACHED, MAX_SCHEMATIC_SIZE);
             return;
         }
-        final WorldServer worldserver = (WorldServer) world;
-        final MinecraftServer minecraftserver = world.getMinecraftServer();
-        final TemplateManager templatemanager = worldserver.getStructureTemplateManager();
 
         final long currentMillis = System.currentTimeMillis();
         final String currentMillisString = Long.toString(currentMillis);
-        final String prefix = "/minecolonies/scans/";
         final String fileName;
         if(name == null || name.isEmpty())
         {
@@ -160,10 +148,6 @@ public class ItemScanTool extends AbstractItemMinecolonies
             fileName = name;
         }
 
-        final Template template = templatemanager.getTemplate(minecraftserver, new ResourceLocation(prefix + fileName + ".nbt"));
-        template.takeBlocksFromWorld(world, blockpos, size, true, Blocks.STRUCTURE_VOID);
-        template.setAuthor(Constants.MOD_ID);
-        MineColonies.getNetwork().sendTo(
-                new SaveScanMessage(template.writeToNBT(new NBTTagCompound()), fileName), (EntityPlayerMP) player);
+        StructureScanQueue.enqueue(world, blockpos, size, player, fileName);
     }
 }
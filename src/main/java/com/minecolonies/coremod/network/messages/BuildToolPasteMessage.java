@@ -25,10 +25,12 @@ import net.minecraft.init.Blocks;
 import net.minecraft.item.ItemStack;
 import net.minecraft.stats.StatList;
 import net.minecraft.tileentity.TileEntityChest;
+import net.minecraft.util.EnumFacing;
 import net.minecraft.util.Mirror;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.text.TextComponentString;
 import net.minecraft.world.World;
+import net.minecraft.world.WorldServer;
 import net.minecraftforge.fml.common.network.ByteBufUtils;
 import net.minecraftforge.fml.common.network.simpleimpl.IMessage;
 import net.minecraftforge.fml.common.registry.GameRegistry;
@@ -181,17 +183,18 @@ public class BuildToolPasteMessage extends AbstractMessage<BuildToolPasteMessage
 
 
             StructureWrapper.loadAndPlaceStructureWithRotation(player.world, message.structureName,
-              message.pos, message.rotation, message.mirror ? Mirror.FRONT_BACK : Mirror.NONE, message.complete);
-
-            if (message.isHut)
-            {
-                @Nullable final AbstractBuilding building = ColonyManager.getBuilding(CompatibilityUtils.getWorld(player), message.pos);
-                if (building != null)
-                {
-                    final WorkOrderBuildBuilding workOrder = new WorkOrderBuildBuilding(building, 1);
-                    ConstructionTapeHelper.removeConstructionTape(workOrder, CompatibilityUtils.getWorld(player));
-                }
-            }
+              message.pos, message.rotation, message.mirror ? Mirror.FRONT_BACK : Mirror.NONE, message.complete, () ->
+              {
+                  if (message.isHut)
+                  {
+                      @Nullable final AbstractBuilding building = ColonyManager.getBuilding(CompatibilityUtils.getWorld(player), message.pos);
+                      if (building != null)
+                      {
+                          final WorkOrderBuildBuilding workOrder = new WorkOrderBuildBuilding(building, 1);
+                          ConstructionTapeHelper.removeConstructionTape(workOrder, CompatibilityUtils.getWorld(player));
+                      }
+                  }
+              });
         }
         else if(message.freeMode !=  null )
         {
@@ -220,10 +223,14 @@ public class BuildToolPasteMessage extends AbstractMessage<BuildToolPasteMessage
             player.addStat(StatList.getObjectUseStats(ModItems.supplyChest));
             if(InventoryUtils.removeStacksFromItemHandler(new InvWrapper(player.inventory), stacks))
             {
+                final EnumFacing facing = player.getHorizontalFacing();
+                final WorldServer world = player.getServerWorld();
                 StructureWrapper.loadAndPlaceStructureWithRotation(player.world, message.structureName,
-                        message.pos, message.rotation, message.mirror ? Mirror.FRONT_BACK : Mirror.NONE, message.complete);
-                player.getServerWorld().setBlockState(message.pos.up(chestHeight), Blocks.CHEST.getDefaultState().withProperty(BlockChest.FACING, player.getHorizontalFacing()));
-                fillChest((TileEntityChest) player.getServerWorld().getTileEntity(message.pos.up(chestHeight)));
+                        message.pos, message.rotation, message.mirror ? Mirror.FRONT_BACK : Mirror.NONE, message.complete, () ->
+                        {
+                            world.setBlockState(message.pos.up(chestHeight), Blocks.CHEST.getDefaultState().withProperty(BlockChest.FACING, facing));
+                            fillChest((TileEntityChest) world.getTileEntity(message.pos.up(chestHeight)));
+                        });
             }
             else
             {
@@ -1,29 +1,43 @@
 package com.minecolonies.coremod.network.messages;
 
-import com.minecolonies.api.util.Log;
 import com.minecolonies.coremod.util.ClientStructureWrapper;
 import io.netty.buffer.ByteBuf;
-import io.netty.buffer.ByteBufInputStream;
-import io.netty.buffer.ByteBufOutputStream;
-import net.minecraft.nbt.CompressedStreamTools;
-import net.minecraft.nbt.NBTTagCompound;
-import net.minecraft.network.PacketBuffer;
+import net.minecraftforge.fml.common.network.ByteBufUtils;
 import net.minecraftforge.fml.common.network.simpleimpl.IMessage;
 import net.minecraftforge.fml.common.network.simpleimpl.MessageContext;
 import org.jetbrains.annotations.NotNull;
 
-import java.io.IOException;
+import java.util.UUID;
 
 /**
- * Handles sendScanMessages.
+ * Sends a part of a scan to the client, the parts are put together and saved once all arrived.
  */
 public class SaveScanMessage extends AbstractMessage<SaveScanMessage, IMessage>
 {
-    private static final String TAG_MILLIS = "millies";
-    private static final String TAG_SCHEMATIC = "schematic";
+    /**
+     * The part of the compressed scan.
+     */
+    private byte[] data;
+
+    /**
+     * The name of the file.
+     */
+    private String fileName;
 
-    private NBTTagCompound nbttagcompound;
-    private String           fileName;
+    /**
+     * The id of the scan.
+     */
+    private UUID id;
+
+    /**
+     * The amount of parts.
+     */
+    private int pieces;
+
+    /**
+     * The index of this part.
+     */
+    private int piece;
 
     /**
      * Public standard constructor.
@@ -34,61 +48,50 @@ public class SaveScanMessage extends AbstractMessage<SaveScanMessage, IMessage>
     }
 
     /**
-     * Send a scan compound to the client.
+     * Send a part of a scan to the client.
      *
-     * @param nbttagcompound the stream.
-     * @param fileName  String with the name of the file.
+     * @param data     the part of the compressed scan.
+     * @param fileName String with the name of the file.
+     * @param id       the id of the scan.
+     * @param pieces   the amount of parts.
+     * @param piece    the index of this part.
      */
-    public SaveScanMessage(final NBTTagCompound nbttagcompound, final String fileName)
+    public SaveScanMessage(final byte[] data, final String fileName, final UUID id, final int pieces, final int piece)
     {
+        super();
+        this.data = data;
         this.fileName = fileName;
-        this.nbttagcompound = nbttagcompound;
+        this.id = id;
+        this.pieces = pieces;
+        this.piece = piece;
     }
 
     @Override
     public void fromBytes(@NotNull final ByteBuf buf)
     {
-        final PacketBuffer buffer = new PacketBuffer(buf);
-        try (ByteBufInputStream stream = new ByteBufInputStream(buffer))
-        {
-            final NBTTagCompound wrapperCompound = CompressedStreamTools.readCompressed(stream);
-            nbttagcompound = wrapperCompound.getCompoundTag(TAG_SCHEMATIC);
-            fileName = wrapperCompound.getString(TAG_MILLIS);
-        }
-        catch (final RuntimeException e)
-        {
-            Log.getLogger().info("Structure too big to be processed", e);
-        }
-        catch (final IOException e)
-        {
-            Log.getLogger().info("Problem at retrieving structure on server.", e);
-        }
+        fileName = ByteBufUtils.readUTF8String(buf);
+        id = new UUID(buf.readLong(), buf.readLong());
+        pieces = buf.readInt();
+        piece = buf.readInt();
+        data = new byte[buf.readInt()];
+        buf.readBytes(data);
     }
 
     @Override
     public void toBytes(@NotNull final ByteBuf buf)
     {
-        final NBTTagCompound wrapperCompound = new NBTTagCompound();
-        wrapperCompound.setString(TAG_MILLIS, fileName);
-        wrapperCompound.setTag(TAG_SCHEMATIC, nbttagcompound);
-
-        final PacketBuffer buffer = new PacketBuffer(buf);
-        try (ByteBufOutputStream stream = new ByteBufOutputStream(buffer))
-        {
-            CompressedStreamTools.writeCompressed(wrapperCompound, stream);
-        }
-        catch (final IOException e)
-        {
-            Log.getLogger().info("Problem at retrieving structure on server.", e);
-        }
+        ByteBufUtils.writeUTF8String(buf, fileName);
+        buf.writeLong(id.getMostSignificantBits());
+        buf.writeLong(id.getLeastSignificantBits());
+        buf.writeInt(pieces);
+        buf.writeInt(piece);
+        buf.writeInt(data.length);
+        buf.writeBytes(data);
     }
 
     @Override
     protected void messageOnClientThread(final SaveScanMessage message, final MessageContext ctx)
     {
-        if (message.nbttagcompound != null)
-        {
-            ClientStructureWrapper.handleSaveScanMessage(message.nbttagcompound, message.fileName);
-        }
+        ClientStructureWrapper.handleSaveScanMessage(message.data, message.fileName, message.id, message.pieces, message.piece);
     }
 }
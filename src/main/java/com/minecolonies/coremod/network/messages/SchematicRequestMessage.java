@@ -1,17 +1,13 @@
 package com.minecolonies.coremod.network.messages;
 
 import com.minecolonies.api.util.Log;
-import com.minecolonies.coremod.MineColonies;
-import com.minecolonies.structures.helpers.Structure;
+import com.minecolonies.coremod.colony.SchematicCache;
 import io.netty.buffer.ByteBuf;
 import net.minecraft.entity.player.EntityPlayerMP;
 import net.minecraftforge.fml.common.network.ByteBufUtils;
 import net.minecraftforge.fml.common.network.simpleimpl.IMessage;
 import org.jetbrains.annotations.NotNull;
 
-import java.io.InputStream;
-import java.util.UUID;
-
 /**
  * Request a schematic from the server.
  * Created: Feb 07, 2017
@@ -58,17 +54,7 @@ public class SchematicRequestMessage extends AbstractMessage<SchematicRequestMes
     @Override
     public void messageOnServerThread(final SchematicRequestMessage message, final EntityPlayerMP player)
     {
-        final InputStream stream = Structure.getStream(message.filename);
-
-        if (stream == null)
-        {
-            Log.getLogger().error("SchematicRequestMessage: file \"" + message.filename + "\" not found");
-        }
-        else
-        {
-            Log.getLogger().info("Request: player " + player.getName() + " is requesting schematic " + message.filename);
-            final byte[] schematic = Structure.getStreamAsByteArray(stream);
-            MineColonies.getNetwork().sendTo(new SchematicSaveMessage(schematic, UUID.randomUUID(), 1, 1), player);
-        }
+        Log.getLogger().info("Request: player " + player.getName() + " is requesting schematic " + message.filename);
+        SchematicCache.sendSchematic(message.filename, player);
     }
 }
@@ -42,6 +42,11 @@ public class SchematicSaveMessage extends AbstractMessage<SchematicSaveMessage,
      */
     private UUID id;
 
+    /**
+     * The already compressed schematic data, if any.
+     */
+    private byte[] compressedData = null;
+
     /**
      * Public standard constructor.
      */
@@ -71,6 +76,25 @@ public class SchematicSaveMessage extends AbstractMessage<SchematicSaveMessage,
         this.piece = piece;
     }
 
+    /**
+     * Send an already compressed piece of a schematic, it will be written as is without compressing it again.
+     *
+     * @param compressedData the compressed piece of the schematic.
+     * @param id             the unique id.
+     * @param pieces         the amount of pieces.
+     * @param piece          the current piece.
+     * @return the message.
+     */
+    public static SchematicSaveMessage fromCompressed(final byte[] compressedData, final UUID id, final int pieces, final int piece)
+    {
+        final SchematicSaveMessage message = new SchematicSaveMessage();
+        message.compressedData = compressedData;
+        message.id = id;
+        message.pieces = pieces;
+        message.piece = piece;
+        return message;
+    }
+
     @Override
     public void fromBytes(@NotNull final ByteBuf buf)
     {
@@ -86,7 +110,10 @@ public class SchematicSaveMessage extends AbstractMessage<SchematicSaveMessage,
     @Override
     public void toBytes(@NotNull final ByteBuf buf)
     {
-        final byte[] compressedData = Structure.compress(data);
+        if (compressedData == null)
+        {
+            compressedData = Structure.compress(data);
+        }
         if (compressedData != null)
         {
             buf.capacity(compressedData.length + buf.writerIndex());
@@ -150,7 +177,7 @@ public class SchematicSaveMessage extends AbstractMessage<SchematicSaveMessage,
         }
         else
         {
-            Structures.handleSaveSchematicMessage(message.data);
+            Structures.handleSaveSchematicMessage(message.data, message.id, message.pieces, message.piece);
         }
     }
 }
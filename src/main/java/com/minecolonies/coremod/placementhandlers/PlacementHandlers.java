@@ -80,6 +80,35 @@ public final class PlacementHandlers
          */
     }
 
+    /**
+     * Check if a block state is only handled by the {@link AirPlacementHandler} or the {@link GeneralBlockPlacementHandler}.
+     * Such blocks can be placed without going through the handlers, as long as no tile entity is involved.
+     *
+     * @param blockState the block state to check.
+     * @return true if no special handler applies to it.
+     */
+    public static boolean isPlainBlock(@NotNull final IBlockState blockState)
+    {
+        final Block block = blockState.getBlock();
+        return !(block instanceof BlockFire
+                   || block == Blocks.GRASS
+                   || block instanceof BlockDoor
+                   || block instanceof BlockBed
+                   || block instanceof BlockDoublePlant
+                   || block instanceof BlockEndPortal
+                   || block instanceof BlockMobSpawner
+                   || block instanceof BlockDragonEgg
+                   || block instanceof BlockPortal
+                   || block instanceof BlockFlowerPot
+                   || block instanceof BlockGrassPath
+                   || block instanceof BlockStairs
+                   || block instanceof BlockSolidSubstitution
+                   || block instanceof BlockChest
+                   || block instanceof BlockWaypoint
+                   || block instanceof BlockMinecoloniesRack
+                   || block.hasTileEntity(blockState));
+    }
+
     /**
      * Check the placers inventory for the items in the itemList and remove it of the list if found.
      *
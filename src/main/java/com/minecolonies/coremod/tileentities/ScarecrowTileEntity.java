@@ -6,6 +6,7 @@ import com.minecolonies.api.util.LanguageHandler;
 import com.minecolonies.coremod.colony.Colony;
 import com.minecolonies.coremod.colony.ColonyManager;
 import com.minecolonies.coremod.colony.ColonyView;
+import com.minecolonies.coremod.entity.ai.citizen.farmer.FieldWorkQueue;
 import net.minecraft.entity.Entity;
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.init.Blocks;
@@ -114,7 +115,14 @@ public class ScarecrowTileEntity extends TileEntityChest
     /**
      * Inventory of the field.
      */
-    private final IItemHandlerModifiable inventory = new ItemStackHandler(1);
+    private final IItemHandlerModifiable inventory = new ItemStackHandler(1)
+    {
+        @Override
+        protected void onContentsChanged(final int slot)
+        {
+            markDirty();
+        }
+    };
 
     /**
      * Creates an instance of the tileEntity.
@@ -483,7 +491,14 @@ public class ScarecrowTileEntity extends TileEntityChest
         final World world = getWorld();
 
         colony = ColonyManager.getColony(world, pos);
-        if (colony != null && !colony.getBuildingManager().getFields().contains(pos))
+        if (colony != null && colony.getBuildingManager().isField(pos))
+        {
+            if (!world.isRemote)
+            {
+                colony.getBuildingManager().updateField(this);
+            }
+        }
+        else if (colony != null)
         {
             @Nullable final Entity entity = EntityUtils.getEntityFromUUID(world, colony.getPermissions().getOwner());
 
@@ -494,6 +509,36 @@ public class ScarecrowTileEntity extends TileEntityChest
         }
     }
 
+    @Override
+    public void markDirty()
+    {
+        super.markDirty();
+        if (colony != null && world != null && !world.isRemote)
+        {
+            colony.getBuildingManager().updateField(this);
+        }
+    }
+
+    @Override
+    public void invalidate()
+    {
+        super.invalidate();
+        if (world != null && !world.isRemote)
+        {
+            FieldWorkQueue.remove(world, pos);
+        }
+    }
+
+    @Override
+    public void onChunkUnload()
+    {
+        super.onChunkUnload();
+        if (!world.isRemote)
+        {
+            FieldWorkQueue.remove(world, pos);
+        }
+    }
+
     @Override
     public void readFromNBT(final NBTTagCompound compound)
     {
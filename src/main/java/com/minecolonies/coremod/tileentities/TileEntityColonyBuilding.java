@@ -202,6 +202,7 @@ public class TileEntityColonyBuilding extends TileEntityChest
         if (building != null)
         {
             building.markDirty();
+            building.markPickUpDirty();
         }
     }
 
@@ -2,6 +2,7 @@ package com.minecolonies.coremod.tileentities;
 
 import com.minecolonies.api.crafting.ItemStorage;
 import com.minecolonies.api.util.BlockPosUtil;
+import com.minecolonies.api.util.ItemHandlerCache;
 import com.minecolonies.api.util.ItemStackUtils;
 import com.minecolonies.api.util.constant.Constants;
 import com.minecolonies.coremod.blocks.BlockMinecoloniesRack;
@@ -212,6 +213,7 @@ public class TileEntityRack extends TileEntity
         }
 
         inventory = tempInventory;
+        invalidateItemHandlers();
         final IBlockState state = world.getBlockState(pos);
         world.notifyBlockUpdate(pos, state, state, 0x03);
     }
@@ -377,6 +379,7 @@ public class TileEntityRack extends TileEntity
             entity.markDirty();
             updateItemStorage();
             this.markDirty();
+            invalidateItemHandlers();
         }
         else if (this.neighbor.equals(newNeighbor) && !(world.getBlockState(newNeighbor).getBlock() instanceof BlockMinecoloniesRack))
         {
@@ -384,6 +387,7 @@ public class TileEntityRack extends TileEntity
             single = true;
             this.main = false;
             updateItemStorage();
+            ItemHandlerCache.invalidate(this);
         }
     }
 
@@ -392,6 +396,20 @@ public class TileEntityRack extends TileEntity
         this.neighbor = BlockPos.ORIGIN;
         single = true;
         this.main = false;
+        ItemHandlerCache.invalidate(this);
+    }
+
+    /**
+     * Drops the cached item handlers of this rack and of its other half, which wraps this inventory too.
+     */
+    private void invalidateItemHandlers()
+    {
+        ItemHandlerCache.invalidate(this);
+        final TileEntityRack other = getOtherChest();
+        if (other != null)
+        {
+            ItemHandlerCache.invalidate(other);
+        }
     }
 
     /**
@@ -435,6 +453,7 @@ public class TileEntityRack extends TileEntity
         {
             single = false;
         }
+        ItemHandlerCache.invalidate(this);
         final NBTTagList inventoryTagList = compound.getTagList(TAG_INVENTORY, TAG_COMPOUND);
         for (int i = 0; i < inventoryTagList.tagCount(); ++i)
         {
@@ -539,6 +558,7 @@ public class TileEntityRack extends TileEntity
         {
             single = false;
         }
+        invalidateItemHandlers();
         final NBTTagList inventoryTagList = compound.getTagList(TAG_INVENTORY, TAG_COMPOUND);
         for (int i = 0; i < inventoryTagList.tagCount(); ++i)
         {
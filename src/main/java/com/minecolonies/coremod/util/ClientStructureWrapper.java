@@ -2,25 +2,35 @@ package com.minecolonies.coremod.util;
 
 import com.minecolonies.api.util.LanguageHandler;
 import com.minecolonies.api.util.Log;
+import com.minecolonies.api.util.MathUtils;
 import com.minecolonies.api.util.Utils;
 import com.minecolonies.coremod.colony.StructureName;
 import com.minecolonies.coremod.colony.Structures;
 import com.minecolonies.structures.helpers.Settings;
 import com.minecolonies.structures.helpers.Structure;
 import net.minecraft.client.Minecraft;
-import net.minecraft.nbt.CompressedStreamTools;
-import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.util.Tuple;
 
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import static com.minecolonies.api.util.constant.Constants.SECONDS_A_MINUTE;
 
 /**
  * Client only structure wrapper methods.
  */
 public final class ClientStructureWrapper
 {
+    /**
+     * Parts of scans received so far, by scan id, with the time the first part arrived.
+     */
+    private static final Map<UUID, Tuple<Long, byte[][]>> scanPieces = new HashMap<>();
+
     /**
      * Private constructor to hide implicit one.
      */
@@ -32,12 +42,60 @@ public final class ClientStructureWrapper
     }
 
     /**
-     * Handles the save message of scans.
+     * Handles a part of a scan, saving the scan once all its parts arrived.
+     *
+     * @param data     the part of the compressed scan.
+     * @param fileName the name of the file.
+     * @param id       the id of the scan.
+     * @param pieces   the amount of parts.
+     * @param piece    the index of this part.
+     */
+    public static void handleSaveScanMessage(final byte[] data, final String fileName, final UUID id, final int pieces, final int piece)
+    {
+        scanPieces.entrySet().removeIf(entry -> MathUtils.nanoSecondsToSeconds(System.nanoTime() - entry.getValue().getFirst()) > SECONDS_A_MINUTE);
+
+        if (piece < 0 || piece >= pieces)
+        {
+            Log.getLogger().warn("Received piece " + piece + " of a scan with only " + pieces + " pieces");
+            return;
+        }
+
+        final byte[][] received = scanPieces.computeIfAbsent(id, key -> new Tuple<>(System.nanoTime(), new byte[pieces][])).getSecond();
+        if (received.length != pieces)
+        {
+            Log.getLogger().warn("Received pieces of a scan with a differing amount of pieces");
+            return;
+        }
+        received[piece] = data;
+
+        int size = 0;
+        for (final byte[] part : received)
+        {
+            if (part == null)
+            {
+                return;
+            }
+            size += part.length;
+        }
+        scanPieces.remove(id);
+
+        final byte[] scan = new byte[size];
+        int offset = 0;
+        for (final byte[] part : received)
+        {
+            System.arraycopy(part, 0, scan, offset, part.length);
+            offset += part.length;
+        }
+        saveScan(scan, fileName);
+    }
+
+    /**
+     * Save a scan to the scans folder of the client.
      *
-     * @param nbttagcompound compound to store.
-     * @param fileName  milli seconds for fileName.
+     * @param scan     the compressed template compound.
+     * @param fileName the name of the file.
      */
-    public static void handleSaveScanMessage(final NBTTagCompound nbttagcompound, final String fileName)
+    private static void saveScan(final byte[] scan, final String fileName)
     {
         final StructureName structureName =
           new StructureName(Structures.SCHEMATICS_SCAN, "new", fileName);
@@ -46,7 +104,7 @@ public final class ClientStructureWrapper
 
         try (OutputStream outputstream = new FileOutputStream(file))
         {
-            CompressedStreamTools.writeCompressed(nbttagcompound, outputstream);
+            outputstream.write(scan);
         }
         catch (final IOException e)
         {
@@ -0,0 +1,409 @@
+package com.minecolonies.coremod.util;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Sampling profiler for the server side colony work.
+ * Sections are timed with nanoTime and attributed to a colony, a category and a key, like the class of a building or the state of an ai.
+ * Every entry keeps the time of the last seconds in a rolling window.
+ * While it is off a profiled section costs a single branch. Only used from the server thread.
+ */
+public final class ColonyProfiler
+{
+    /**
+     * Seconds the rolling window covers.
+     */
+    public static final int WINDOW_SECONDS = 60;
+
+    /**
+     * Nano seconds per second and per milli second.
+     */
+    private static final long   NANOS_PER_SECOND = 1_000_000_000L;
+    private static final double NANOS_PER_MILLI  = 1_000_000D;
+
+    /**
+     * What a profiled section belongs to.
+     */
+    public enum Category
+    {
+        COLONY,
+        MANAGER,
+        BUILDING,
+        AI,
+        AI_STATE,
+        CITIZEN
+    }
+
+    /**
+     * If sections are profiled.
+     */
+    private static boolean enabled = false;
+
+    /**
+     * The entries by colony, category and key.
+     */
+    private static final Map<Integer, Map<Category, Map<Object, Entry>>> entries = new HashMap<>();
+
+    /**
+     * Private constructor to hide the implicit public one.
+     */
+    private ColonyProfiler()
+    {
+        //Hide implicit public constructor.
+    }
+
+    /**
+     * Check if sections are profiled.
+     *
+     * @return true if so.
+     */
+    public static boolean isEnabled()
+    {
+        return enabled;
+    }
+
+    /**
+     * Turn profiling on or off. Turning it on starts with empty statistics.
+     *
+     * @param enable true to profile.
+     */
+    public static void setEnabled(final boolean enable)
+    {
+        if (enable && !enabled)
+        {
+            entries.clear();
+        }
+        enabled = enable;
+    }
+
+    /**
+     * Drop all statistics.
+     */
+    public static void reset()
+    {
+        entries.clear();
+    }
+
+    /**
+     * Start a section.
+     *
+     * @return the start time to hand to {@link #end(long, int, Category, Object)}, 0 if profiling is off.
+     */
+    public static long start()
+    {
+        return enabled ? System.nanoTime() : 0L;
+    }
+
+    /**
+     * End a section and attribute its time.
+     *
+     * @param start    the value returned by {@link #start()}.
+     * @param colonyId the colony the section worked for.
+     * @param category the category of the section.
+     * @param key      the key of the section within the category.
+     */
+    public static void end(final long start, final int colonyId, @NotNull final Category category, @NotNull final Object key)
+    {
+        if (start == 0L)
+        {
+            return;
+        }
+        final long now = System.nanoTime();
+        record(now, now - start, colonyId, category, key);
+    }
+
+    /**
+     * Attribute a measured time.
+     *
+     * @param now      the current nano time.
+     * @param elapsed  the measured nano seconds.
+     * @param colonyId the colony.
+     * @param category the category.
+     * @param key      the key.
+     */
+    public static void record(final long now, final long elapsed, final int colonyId, @NotNull final Category category, @NotNull final Object key)
+    {
+        entries.computeIfAbsent(colonyId, id -> new EnumMap<>(Category.class))
+          .computeIfAbsent(category, c -> new HashMap<>())
+          .computeIfAbsent(key, k -> new Entry(colonyId, category, getKeyName(k)))
+          .add(now / NANOS_PER_SECOND, elapsed);
+    }
+
+    /**
+     * Get the name of a key, the simple name for classes.
+     *
+     * @param key the key.
+     * @return the name.
+     */
+    @NotNull
+    private static String getKeyName(@NotNull final Object key)
+    {
+        return key instanceof Class ? ((Class<?>) key).getSimpleName() : key.toString();
+    }
+
+    /**
+     * Get the entries with time in the window, most expensive first.
+     *
+     * @param colonyId the colony to get the entries of, or null for all colonies.
+     * @param limit    the maximum amount of entries.
+     * @return the entries.
+     */
+    @NotNull
+    public static List<Summary> getTopEntries(@Nullable final Integer colonyId, final int limit)
+    {
+        final long second = System.nanoTime() / NANOS_PER_SECOND;
+        final List<Summary> summaries = new ArrayList<>();
+        for (final Map.Entry<Integer, Map<Category, Map<Object, Entry>>> colonyEntries : entries.entrySet())
+        {
+            if (colonyId != null && !colonyId.equals(colonyEntries.getKey()))
+            {
+                continue;
+            }
+
+            for (final Map<Object, Entry> categoryEntries : colonyEntries.getValue().values())
+            {
+                for (final Entry entry : categoryEntries.values())
+                {
+                    final Summary summary = entry.summarize(second);
+                    if (summary.calls > 0)
+                    {
+                        summaries.add(summary);
+                    }
+                }
+            }
+        }
+
+        summaries.sort(Comparator.comparingLong((Summary summary) -> summary.nanos).reversed());
+        return summaries.size() > limit ? new ArrayList<>(summaries.subList(0, limit)) : summaries;
+    }
+
+    /**
+     * Write all entries with time in the window to a csv file.
+     *
+     * @param file the file.
+     * @throws IOException if writing fails.
+     */
+    public static void writeCsv(@NotNull final File file) throws IOException
+    {
+        final File parent = file.getParentFile();
+        if (parent != null && !parent.exists() && !parent.mkdirs())
+        {
+            throw new IOException("Could not create " + parent);
+        }
+
+        try (PrintWriter writer = new PrintWriter(file, StandardCharsets.UTF_8.name()))
+        {
+            writer.println("colony,category,key,calls,total_ms,ms_per_second,avg_ms,max_ms");
+            for (final Summary summary : getTopEntries(null, Integer.MAX_VALUE))
+            {
+                writer.println(String.format(Locale.US, "%d,%s,%s,%d,%.3f,%.3f,%.4f,%.3f",
+                  summary.colonyId, summary.category, summary.key, summary.calls,
+                  summary.getTotalMillis(), summary.getMillisPerSecond(), summary.getAverageMillis(), summary.getMaxMillis()));
+            }
+        }
+    }
+
+    /**
+     * Rolling window of one profiled key, one bucket per second.
+     */
+    private static final class Entry
+    {
+        private final int      colonyId;
+        private final Category category;
+        private final String   key;
+
+        /**
+         * The second every bucket belongs to.
+         */
+        private final long[] seconds = new long[WINDOW_SECONDS];
+
+        /**
+         * Nano seconds, calls and the longest call of every bucket.
+         */
+        private final long[] nanos   = new long[WINDOW_SECONDS];
+        private final int[]  calls   = new int[WINDOW_SECONDS];
+        private final long[] max     = new long[WINDOW_SECONDS];
+
+        /**
+         * Create an empty entry.
+         *
+         * @param colonyId the colony.
+         * @param category the category.
+         * @param key      the name of the key.
+         */
+        private Entry(final int colonyId, @NotNull final Category category, @NotNull final String key)
+        {
+            this.colonyId = colonyId;
+            this.category = category;
+            this.key = key;
+            Arrays.fill(seconds, -1L);
+        }
+
+        /**
+         * Add a measured time.
+         *
+         * @param second  the current second.
+         * @param elapsed the nano seconds.
+         */
+        private void add(final long second, final long elapsed)
+        {
+            final int bucket = (int) (second % WINDOW_SECONDS);
+            if (seconds[bucket] != second)
+            {
+                seconds[bucket] = second;
+                nanos[bucket] = 0;
+                calls[bucket] = 0;
+                max[bucket] = 0;
+            }
+            nanos[bucket] += elapsed;
+            calls[bucket]++;
+            max[bucket] = Math.max(max[bucket], elapsed);
+        }
+
+        /**
+         * Sum up the buckets within the window.
+         *
+         * @param second the current second.
+         * @return the summary.
+         */
+        @NotNull
+        private Summary summarize(final long second)
+        {
+            long totalNanos = 0;
+            long totalCalls = 0;
+            long maxNanos = 0;
+            for (int i = 0; i < WINDOW_SECONDS; i++)
+            {
+                if (seconds[i] >= 0 && second - seconds[i] < WINDOW_SECONDS)
+                {
+                    totalNanos += nanos[i];
+                    totalCalls += calls[i];
+                    maxNanos = Math.max(maxNanos, max[i]);
+                }
+            }
+            return new Summary(colonyId, category, key, totalNanos, totalCalls, maxNanos);
+        }
+    }
+
+    /**
+     * The statistics of one key over the window.
+     */
+    public static final class Summary
+    {
+        private final int      colonyId;
+        private final Category category;
+        private final String   key;
+        private final long     nanos;
+        private final long     calls;
+        private final long     maxNanos;
+
+        /**
+         * Create a summary.
+         *
+         * @param colonyId the colony.
+         * @param category the category.
+         * @param key      the name of the key.
+         * @param nanos    the total nano seconds.
+         * @param calls    the amount of calls.
+         * @param maxNanos the longest call.
+         */
+        private Summary(final int colonyId, @NotNull final Category category, @NotNull final String key, final long nanos, final long calls, final long maxNanos)
+        {
+            this.colonyId = colonyId;
+            this.category = category;
+            this.key = key;
+            this.nanos = nanos;
+            this.calls = calls;
+            this.maxNanos = maxNanos;
+        }
+
+        /**
+         * Get the colony id.
+         *
+         * @return the colony id.
+         */
+        public int getColonyId()
+        {
+            return colonyId;
+        }
+
+        /**
+         * Get the category.
+         *
+         * @return the category.
+         */
+        @NotNull
+        public Category getCategory()
+        {
+            return category;
+        }
+
+        /**
+         * Get the name of the key.
+         *
+         * @return the name of the key.
+         */
+        @NotNull
+        public String getKey()
+        {
+            return key;
+        }
+
+        /**
+         * Get the amount of calls in the window.
+         *
+         * @return the amount of calls in the window.
+         */
+        public long getCalls()
+        {
+            return calls;
+        }
+
+        /**
+         * Get the milli seconds spent in the window.
+         *
+         * @return the milli seconds spent in the window.
+         */
+        public double getTotalMillis()
+        {
+            return nanos / NANOS_PER_MILLI;
+        }
+
+        /**
+         * Get the milli seconds spent per second.
+         *
+         * @return the milli seconds spent per second.
+         */
+        public double getMillisPerSecond()
+        {
+            return getTotalMillis() / WINDOW_SECONDS;
+        }
+
+        /**
+         * Get the milli seconds spent per call.
+         *
+         * @return the milli seconds spent per call.
+         */
+        public double getAverageMillis()
+        {
+            return calls == 0 ? 0 : (getTotalMillis() / calls);
+        }
+
+        /**
+         * Get the milli seconds of the longest call.
+         *
+         * @return the milli seconds of the longest call.
+         */
+        public double getMaxMillis()
+        {
+            return maxNanos / NANOS_PER_MILLI;
+        }
+    }
+}
@@ -0,0 +1,517 @@
+package com.minecolonies.coremod.util;
+
+import com.minecolonies.api.configuration.Configurations;
+import com.minecolonies.api.util.Log;
+import com.minecolonies.coremod.blocks.AbstractBlockHut;
+import com.minecolonies.coremod.blocks.ModBlocks;
+import com.minecolonies.coremod.colony.Colony;
+import com.minecolonies.coremod.colony.ColonyManager;
+import com.minecolonies.coremod.colony.buildings.AbstractBuilding;
+import com.minecolonies.coremod.placementhandlers.IPlacementHandler;
+import com.minecolonies.coremod.placementhandlers.PlacementHandlers;
+import com.minecolonies.structures.helpers.StructureProxy;
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockPistonBase;
+import net.minecraft.block.BlockRailBase;
+import net.minecraft.block.BlockRedstoneLight;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.EntityList;
+import net.minecraft.init.Blocks;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.network.play.server.SPacketChunkData;
+import net.minecraft.server.management.PlayerChunkMapEntry;
+import net.minecraft.tileentity.TileEntity;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.World;
+import net.minecraft.world.WorldServer;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.chunk.storage.ExtendedBlockStorage;
+import net.minecraft.world.gen.structure.template.Template;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+import static com.minecolonies.coremod.placementhandlers.IPlacementHandler.ActionProcessingResult.IGNORE;
+
+/**
+ * Queue of structures being pasted into the world, worked on for a limited time each world tick.
+ * <p>
+ * Blocks which need no special placement handling and involve no tile entity are written straight into the chunk sections.
+ * Light, neighbor updates on the outside of the structure and the client sync of the touched sections are done once per chunk at the end of each tick.
+ * All other blocks, and the ones reacting to being placed or removed like redstone, rails and observers, go through the {@link PlacementHandlers} like before.
+ */
+public final class StructurePlacementQueue
+{
+    /**
+     * Amount of blocks placed between two checks of the time budget.
+     */
+    private static final int BLOCKS_PER_TIME_CHECK = 64;
+
+    /**
+     * The jobs in the order they were queued.
+     */
+    private static final List<PlacementJob> jobs = new ArrayList<>();
+
+    /**
+     * Private constructor to hide the implicit public one.
+     */
+    private StructurePlacementQueue()
+    {
+        //Hide implicit public constructor.
+    }
+
+    /**
+     * Queue a structure to be pasted.
+     *
+     * @param world     the world to paste it in.
+     * @param structure the rotated structure.
+     * @param pos       the world position of the structure origin.
+     * @param anchor    the anchor position of the structure, used to find the building it belongs to.
+     * @param complete  paste it complete (with structure blocks) or without.
+     * @param onDone    called on the server thread once the structure has been pasted, may be null.
+     */
+    public static void enqueue(
+                                @NotNull final World world, @NotNull final StructureProxy structure, @NotNull final BlockPos pos,
+                                @Nullable final BlockPos anchor, final boolean complete, @Nullable final Runnable onDone)
+    {
+        jobs.add(new PlacementJob(world, structure, pos, anchor, complete, onDone));
+    }
+
+    /**
+     * Work on the queued structures of a world until the time budget of this tick is used up.
+     *
+     * @param world the world which ticked.
+     */
+    public static void onWorldTick(@NotNull final World world)
+    {
+        if (jobs.isEmpty())
+        {
+            return;
+        }
+
+        final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(Configurations.gameplay.maxPlacementTimePerTick);
+        final Iterator<PlacementJob> iterator = new ArrayList<>(jobs).iterator();
+        while (iterator.hasNext() && System.nanoTime() < deadline)
+        {
+            final PlacementJob job = iterator.next();
+            if (job.world != world)
+            {
+                continue;
+            }
+
+            final boolean done = job.work(deadline);
+            job.flush();
+            if (done)
+            {
+                jobs.remove(job);
+                job.finish();
+            }
+        }
+    }
+
+    /**
+     * Drop the queued structures of a world which is being unloaded.
+     *
+     * @param world the world.
+     */
+    public static void onWorldUnload(@NotNull final World world)
+    {
+        jobs.removeIf(job -> job.world == world);
+    }
+
+    /**
+     * A structure being pasted.
+     */
+    private static final class PlacementJob
+    {
+        /**
+         * The world to paste in.
+         */
+        private final World world;
+
+        /**
+         * The rotated structure.
+         */
+        private final StructureProxy structure;
+
+        /**
+         * The world position of the structure origin.
+         */
+        private final BlockPos origin;
+
+        /**
+         * The anchor of the structure, used to find the building.
+         */
+        @Nullable
+        private final BlockPos anchor;
+
+        /**
+         * Paste with structure blocks or without.
+         */
+        private final boolean complete;
+
+        /**
+         * Called once the structure has been pasted.
+         */
+        @Nullable
+        private final Runnable onDone;
+
+        /**
+         * Non solid blocks, placed after all the solid ones.
+         */
+        private final List<BlockPos> delayedBlocks = new ArrayList<>();
+
+        /**
+         * Chunks written to directly since the last flush.
+         */
+        private final Map<Long, Chunk> dirtyChunks = new LinkedHashMap<>();
+
+        /**
+         * The mask of the sections written to directly since the last flush, by chunk.
+         */
+        private final Map<Long, Integer> dirtySections = new HashMap<>();
+
+        /**
+         * Positions which emit or emitted light, to be relit on flush.
+         */
+        private final List<BlockPos> lightPositions = new ArrayList<>();
+
+        /**
+         * Positions on the outside of the structure written to directly, their neighbors are notified on flush.
+         */
+        private final List<BlockPos> shellPositions = new ArrayList<>();
+
+        /**
+         * Index of the next block of the solid pass.
+         */
+        private int solidIndex = 0;
+
+        /**
+         * Index of the next block of the delayed pass.
+         */
+        private int delayedIndex = 0;
+
+        /**
+         * The building the structure belongs to, looked up once.
+         */
+        @Nullable
+        private AbstractBuilding building;
+
+        /**
+         * If the building has been looked up already.
+         */
+        private boolean buildingResolved = false;
+
+        /**
+         * Create a new job.
+         *
+         * @param world     the world.
+         * @param structure the structure.
+         * @param origin    the world position of the structure origin.
+         * @param anchor    the anchor of the structure.
+         * @param complete  paste with structure blocks or without.
+         * @param onDone    called when done.
+         */
+        private PlacementJob(
+                              @NotNull final World world, @NotNull final StructureProxy structure, @NotNull final BlockPos origin,
+                              @Nullable final BlockPos anchor, final boolean complete, @Nullable final Runnable onDone)
+        {
+            this.world = world;
+            this.structure = structure;
+            this.origin = origin;
+            this.anchor = anchor;
+            this.complete = complete;
+            this.onDone = onDone;
+        }
+
+        /**
+         * Place blocks until the structure is done or the deadline is reached.
+         *
+         * @param deadline the deadline, in nano time.
+         * @return true if all the blocks are placed.
+         */
+        private boolean work(final long deadline)
+        {
+            final int width = structure.getWidth();
+            final int length = structure.getLength();
+            final int volume = width * length * structure.getHeight();
+            int placed = 0;
+
+            while (solidIndex < volume)
+            {
+                final BlockPos localPos = new BlockPos(solidIndex % width, solidIndex / (width * length), (solidIndex / width) % length);
+                solidIndex++;
+
+                final Block localBlock = structure.getBlockState(localPos).getBlock();
+                if ((localBlock == ModBlocks.blockSubstitution && !complete) || localBlock instanceof AbstractBlockHut)
+                {
+                    continue;
+                }
+
+                if (structure.getBlockState(localPos).getMaterial().isSolid())
+                {
+                    place(localPos);
+                }
+                else
+                {
+                    delayedBlocks.add(localPos);
+                }
+
+                if (++placed % BLOCKS_PER_TIME_CHECK == 0 && System.nanoTime() >= deadline)
+                {
+                    return false;
+                }
+            }
+
+            while (delayedIndex < delayedBlocks.size())
+            {
+                place(delayedBlocks.get(delayedIndex++));
+
+                if (++placed % BLOCKS_PER_TIME_CHECK == 0 && System.nanoTime() >= deadline)
+                {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+
+        /**
+         * Place one block of the structure and its tile entity.
+         *
+         * @param localPos the local position in the structure.
+         */
+        private void place(@NotNull final BlockPos localPos)
+        {
+            final IBlockState localState = structure.getBlockState(localPos);
+            final BlockPos worldPos = origin.add(localPos);
+            final NBTTagCompound tileEntityData = structure.getBlockInfo(localPos).tileentityData;
+
+            if (tileEntityData != null || !placeDirectly(localPos, worldPos, localState))
+            {
+                handleBlockPlacement(worldPos, localState);
+            }
+
+            if (tileEntityData != null)
+            {
+                final TileEntity entity = TileEntity.create(world, tileEntityData);
+                world.setTileEntity(worldPos, entity);
+                world.markBlockRangeForRenderUpdate(worldPos, worldPos);
+            }
+        }
+
+        /**
+         * Write a block straight into its chunk section, without updates.
+         *
+         * @param localPos the local position in the structure.
+         * @param worldPos the world position.
+         * @param state    the state to place.
+         * @return false if the block has to go through the placement handlers instead.
+         */
+        private boolean placeDirectly(@NotNull final BlockPos localPos, @NotNull final BlockPos worldPos, @NotNull final IBlockState state)
+        {
+            if (!PlacementHandlers.isPlainBlock(state) || worldPos.getY() < 0 || worldPos.getY() >= world.getHeight())
+            {
+                return false;
+            }
+
+            final Chunk chunk = world.getChunkFromBlockCoords(worldPos);
+            final IBlockState oldState = chunk.getBlockState(worldPos);
+            if (oldState == state)
+            {
+                return true;
+            }
+
+            if (oldState.getBlock().hasTileEntity(oldState) || reactsToPlacement(state) || reactsToPlacement(oldState))
+            {
+                return false;
+            }
+
+            final int sectionIndex = worldPos.getY() >> 4;
+            ExtendedBlockStorage storage = chunk.getBlockStorageArray()[sectionIndex];
+            if (storage == Chunk.NULL_BLOCK_STORAGE)
+            {
+                storage = new ExtendedBlockStorage(sectionIndex << 4, world.provider.hasSkyLight());
+                chunk.getBlockStorageArray()[sectionIndex] = storage;
+            }
+            storage.set(worldPos.getX() & 15, worldPos.getY() & 15, worldPos.getZ() & 15, state);
+            final long chunkKey = ChunkPos.asLong(chunk.x, chunk.z);
+            dirtyChunks.put(chunkKey, chunk);
+            dirtySections.merge(chunkKey, 1 << sectionIndex, (mask, section) -> mask | section);
+
+            if (state.getLightValue() > 0 || oldState.getLightValue() > 0)
+            {
+                lightPositions.add(worldPos);
+            }
+
+            if (isOnShell(localPos))
+            {
+                shellPositions.add(worldPos);
+            }
+
+            if (state.getBlock() != Blocks.AIR)
+            {
+                registerBlock(worldPos, state);
+            }
+            return true;
+        }
+
+        /**
+         * Check if a block updates its state or its neighbors when it is placed or removed, like redstone, rails, observers and pistons.
+         * Writing it straight into the chunk would skip onBlockAdded and breakBlock.
+         *
+         * @param state the state.
+         * @return true if so.
+         */
+        private static boolean reactsToPlacement(@NotNull final IBlockState state)
+        {
+            final Block block = state.getBlock();
+            return state.canProvidePower() || block instanceof BlockRailBase || block instanceof BlockPistonBase || block instanceof BlockRedstoneLight;
+        }
+
+        /**
+         * Check if a local position is on the outside of the structure.
+         *
+         * @param localPos the local position.
+         * @return true if so.
+         */
+        private boolean isOnShell(@NotNull final BlockPos localPos)
+        {
+            return localPos.getX() == 0 || localPos.getY() == 0 || localPos.getZ() == 0
+                     || localPos.getX() == structure.getWidth() - 1
+                     || localPos.getY() == structure.getHeight() - 1
+                     || localPos.getZ() == structure.getLength() - 1;
+        }
+
+        /**
+         * Place a block through the placement handlers.
+         *
+         * @param pos        the world position.
+         * @param localState the state to place.
+         */
+        private void handleBlockPlacement(@NotNull final BlockPos pos, @NotNull final IBlockState localState)
+        {
+            for (final IPlacementHandler handlers : PlacementHandlers.handlers)
+            {
+                final Object result = handlers.handle(world, pos, localState, null, true, complete);
+                if (result instanceof IBlockState)
+                {
+                    registerBlock(pos, (IBlockState) result);
+                    return;
+                }
+                else if (!(result instanceof IPlacementHandler.ActionProcessingResult) || result != IGNORE)
+                {
+                    return;
+                }
+            }
+        }
+
+        /**
+         * Register a placed block at the building the structure belongs to.
+         *
+         * @param pos        the world position.
+         * @param blockState the placed state.
+         */
+        private void registerBlock(@NotNull final BlockPos pos, @NotNull final IBlockState blockState)
+        {
+            if (!buildingResolved)
+            {
+                buildingResolved = true;
+                final Colony colony = ColonyManager.getColony(world, pos);
+                if (colony != null && anchor != null)
+                {
+                    building = colony.getBuildingManager().getBuilding(anchor);
+                }
+            }
+
+            if (building != null)
+            {
+                building.registerBlockPosition(blockState, pos, world);
+            }
+        }
+
+        /**
+         * Update light, notify the outside neighbors and send the sections written to directly since the last flush.
+         */
+        private void flush()
+        {
+            if (dirtyChunks.isEmpty())
+            {
+                return;
+            }
+
+            for (final Chunk chunk : dirtyChunks.values())
+            {
+                chunk.generateSkylightMap();
+                chunk.markDirty();
+            }
+
+            for (final BlockPos pos : lightPositions)
+            {
+                world.checkLight(pos);
+            }
+
+            for (final BlockPos pos : shellPositions)
+            {
+                world.notifyNeighborsOfStateChange(pos, world.getBlockState(pos).getBlock(), true);
+            }
+
+            if (world instanceof WorldServer)
+            {
+                for (final Map.Entry<Long, Chunk> dirty : dirtyChunks.entrySet())
+                {
+                    final Chunk chunk = dirty.getValue();
+                    final PlayerChunkMapEntry entry = ((WorldServer) world).getPlayerChunkMap().getEntry(chunk.x, chunk.z);
+                    if (entry != null)
+                    {
+                        entry.sendPacket(new SPacketChunkData(chunk, dirtySections.get(dirty.getKey())));
+                    }
+                }
+            }
+
+            dirtyChunks.clear();
+            dirtySections.clear();
+            lightPositions.clear();
+            shellPositions.clear();
+        }
+
+        /**
+         * Spawn the entities of the structure and notify the caller.
+         */
+        private void finish()
+        {
+            for (int j = 0; j < structure.getHeight(); j++)
+            {
+                for (int k = 0; k < structure.getLength(); k++)
+                {
+                    for (int i = 0; i < structure.getWidth(); i++)
+                    {
+                        final Template.EntityInfo info = structure.getEntityinfo(new BlockPos(i, j, k));
+                        if (info != null)
+                        {
+                            try
+                            {
+                                final Entity entity = EntityList.createEntityFromNBT(info.entityData, world);
+                                entity.setUniqueId(UUID.randomUUID());
+                                world.spawnEntity(entity);
+                            }
+                            catch (final RuntimeException e)
+                            {
+                                Log.getLogger().info("Couldn't restore entitiy", e);
+                            }
+                        }
+                    }
+                }
+            }
+
+            if (onDone != null)
+            {
+                onDone.run();
+            }
+        }
+    }
+}
@@ -0,0 +1,597 @@
+package com.minecolonies.coremod.util;
+
+import com.minecolonies.api.configuration.Configurations;
+import com.minecolonies.api.util.LanguageHandler;
+import com.minecolonies.api.util.Log;
+import com.minecolonies.api.util.constant.Constants;
+import com.minecolonies.coremod.MineColonies;
+import com.minecolonies.coremod.network.messages.SaveScanMessage;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.item.EntityPainting;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.entity.player.EntityPlayerMP;
+import net.minecraft.init.Blocks;
+import net.minecraft.nbt.*;
+import net.minecraft.tileentity.TileEntity;
+import net.minecraft.util.math.AxisAlignedBB;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import net.minecraftforge.fml.common.FMLCommonHandler;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static com.minecolonies.api.util.constant.Constants.MAX_MESSAGE_SIZE;
+
+/**
+ * Queue of scans of the scan tool, worked on a limited amount of chunk sections each world tick.
+ * <p>
+ * The blocks are captured on the server thread into a palette and a list of tile entities,
+ * the template compound is built and compressed on a worker thread
+ * and the result is sent to the player in parts of at most {@link Constants#MAX_MESSAGE_SIZE} bytes.
+ * The compound has the layout of {@link net.minecraft.world.gen.structure.template.Template#writeToNBT(NBTTagCompound)}.
+ */
+public final class StructureScanQueue
+{
+    /**
+     * Data version written by the templates of this Minecraft version.
+     */
+    private static final int DATA_VERSION = 1343;
+
+    /**
+     * Amount of parts sent to a player per tick.
+     */
+    private static final int PARTS_PER_TICK = 4;
+
+    /**
+     * Percent of the sections after which the player is told about the progress.
+     */
+    private static final int PROGRESS_STEP = 25;
+
+    /**
+     * Edge length of a chunk section.
+     */
+    private static final int SECTION_SIZE = 16;
+
+    /**
+     * Template compound keys.
+     */
+    private static final String TAG_PALETTE   = "palette";
+    private static final String TAG_BLOCKS    = "blocks";
+    private static final String TAG_ENTITIES  = "entities";
+    private static final String TAG_SIZE      = "size";
+    private static final String TAG_AUTHOR    = "author";
+    private static final String TAG_VERSION   = "DataVersion";
+    private static final String TAG_POS       = "pos";
+    private static final String TAG_BLOCK_POS = "blockPos";
+    private static final String TAG_STATE     = "state";
+    private static final String TAG_NBT       = "nbt";
+
+    /**
+     * The scans by player, one at a time per player.
+     */
+    private static final Map<UUID, ScanJob> jobs = new LinkedHashMap<>();
+
+    /**
+     * The single worker thread building and compressing the scans.
+     */
+    private static final ExecutorService compressionExecutor = Executors.newSingleThreadExecutor(runnable ->
+    {
+        final Thread thread = new Thread(runnable, "Minecolonies Structure Scanner");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Private constructor to hide the implicit public one.
+     */
+    private StructureScanQueue()
+    {
+        //Hide implicit public constructor.
+    }
+
+    /**
+     * Queue a scan, replacing a scan of the same player which is still running.
+     *
+     * @param world    the world to scan.
+     * @param min      the lowest corner of the region.
+     * @param size     the size of the region.
+     * @param player   the player receiving the scan.
+     * @param fileName the name of the file to save the scan as.
+     */
+    public static void enqueue(
+                                @NotNull final World world, @NotNull final BlockPos min, @NotNull final BlockPos size,
+                                @NotNull final EntityPlayer player, @NotNull final String fileName)
+    {
+        final ScanJob previous = jobs.put(player.getUniqueID(), new ScanJob(world, min, size, player.getUniqueID(), fileName));
+        if (previous != null)
+        {
+            previous.cancel();
+        }
+    }
+
+    /**
+     * Work on the scans of a world: capture sections, then send the parts once they are compressed.
+     *
+     * @param world the world which ticked.
+     */
+    public static void onWorldTick(@NotNull final World world)
+    {
+        if (jobs.isEmpty())
+        {
+            return;
+        }
+
+        int sectionBudget = Math.max(1, Configurations.gameplay.maxScanSectionsPerTick);
+        final Iterator<ScanJob> iterator = jobs.values().iterator();
+        while (iterator.hasNext())
+        {
+            final ScanJob job = iterator.next();
+            if (job.world != world)
+            {
+                continue;
+            }
+
+            final EntityPlayerMP player = world.getMinecraftServer() == null ? null : world.getMinecraftServer().getPlayerList().getPlayerByUUID(job.playerId);
+            if (player == null || player.world != world)
+            {
+                job.cancel();
+                iterator.remove();
+                continue;
+            }
+
+            sectionBudget -= job.scan(sectionBudget, player);
+            if (job.work(player))
+            {
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Drop the scans of a world which is being unloaded.
+     *
+     * @param world the world.
+     */
+    public static void onWorldUnload(@NotNull final World world)
+    {
+        final Iterator<ScanJob> iterator = jobs.values().iterator();
+        while (iterator.hasNext())
+        {
+            final ScanJob job = iterator.next();
+            if (job.world == world)
+            {
+                job.cancel();
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Write three ints as a tag list.
+     */
+    @NotNull
+    private static NBTTagList writeInts(final int x, final int y, final int z)
+    {
+        final NBTTagList list = new NBTTagList();
+        list.appendTag(new NBTTagInt(x));
+        list.appendTag(new NBTTagInt(y));
+        list.appendTag(new NBTTagInt(z));
+        return list;
+    }
+
+    /**
+     * Write three doubles as a tag list.
+     */
+    @NotNull
+    private static NBTTagList writeDoubles(final double x, final double y, final double z)
+    {
+        final NBTTagList list = new NBTTagList();
+        list.appendTag(new NBTTagDouble(x));
+        list.appendTag(new NBTTagDouble(y));
+        list.appendTag(new NBTTagDouble(z));
+        return list;
+    }
+
+    /**
+     * A scan in progress.
+     */
+    private static final class ScanJob
+    {
+        /**
+         * The scanned world.
+         */
+        private final World world;
+
+        /**
+         * The lowest corner of the region.
+         */
+        private final BlockPos min;
+
+        /**
+         * The size of the region.
+         */
+        private final BlockPos size;
+
+        /**
+         * The player receiving the scan.
+         */
+        private final UUID playerId;
+
+        /**
+         * The name of the file on the client.
+         */
+        private final String fileName;
+
+        /**
+         * Id of the parts of this scan.
+         */
+        private final UUID id = UUID.randomUUID();
+
+        /**
+         * The first section coordinates and the amount of sections along each axis.
+         */
+        private final int firstSectionX;
+        private final int firstSectionY;
+        private final int firstSectionZ;
+        private final int sectionsX;
+        private final int sectionsY;
+        private final int sectionsZ;
+
+        /**
+         * The states found so far by their palette id.
+         */
+        private final Map<IBlockState, Integer> palette = new LinkedHashMap<>();
+
+        /**
+         * Full blocks, blocks with tile entities and other blocks, kept apart like the template does so they are placed in this order.
+         */
+        private final BlockBuffer fullBlocks    = new BlockBuffer();
+        private final BlockBuffer tileBlocks    = new BlockBuffer();
+        private final BlockBuffer partialBlocks = new BlockBuffer();
+
+        /**
+         * Tile entity data of the blocks in {@link #tileBlocks}, in the same order.
+         */
+        private final List<NBTTagCompound> tileEntities = new ArrayList<>();
+
+        /**
+         * Index of the next section to capture.
+         */
+        private int nextSection = 0;
+
+        /**
+         * Progress in percent last told to the player.
+         */
+        private int reportedProgress = 0;
+
+        /**
+         * The compressed scan being built on the worker thread, null while capturing.
+         */
+        @Nullable
+        private Future<byte[]> compressed;
+
+        /**
+         * The compressed scan once it is built.
+         */
+        @Nullable
+        private byte[] data;
+
+        /**
+         * Index of the next part to send.
+         */
+        private int nextPart = 0;
+
+        /**
+         * Create a new scan.
+         *
+         * @param world    the world.
+         * @param min      the lowest corner.
+         * @param size     the size.
+         * @param playerId the receiving player.
+         * @param fileName the file name.
+         */
+        private ScanJob(
+                         @NotNull final World world, @NotNull final BlockPos min, @NotNull final BlockPos size,
+                         @NotNull final UUID playerId, @NotNull final String fileName)
+        {
+            this.world = world;
+            this.min = min;
+            this.size = size;
+            this.playerId = playerId;
+            this.fileName = fileName;
+
+            final BlockPos max = min.add(size).add(-1, -1, -1);
+            this.firstSectionX = min.getX() >> 4;
+            this.firstSectionY = min.getY() >> 4;
+            this.firstSectionZ = min.getZ() >> 4;
+            this.sectionsX = (max.getX() >> 4) - firstSectionX + 1;
+            this.sectionsY = (max.getY() >> 4) - firstSectionY + 1;
+            this.sectionsZ = (max.getZ() >> 4) - firstSectionZ + 1;
+        }
+
+        /**
+         * Capture sections of the region and hand the result to the worker once all are captured.
+         *
+         * @param budget the amount of sections which may be captured.
+         * @param player the receiving player.
+         * @return the amount of sections captured.
+         */
+        private int scan(final int budget, @NotNull final EntityPlayer player)
+        {
+            final int total = sectionsX * sectionsY * sectionsZ;
+            int captured = 0;
+            while (nextSection < total && captured < budget)
+            {
+                final int sectionX = firstSectionX + nextSection % sectionsX;
+                final int sectionZ = firstSectionZ + (nextSection / sectionsX) % sectionsZ;
+                final int sectionY = firstSectionY + nextSection / (sectionsX * sectionsZ);
+                captureSection(sectionX, sectionY, sectionZ);
+                nextSection++;
+                captured++;
+            }
+
+            if (captured == 0)
+            {
+                return 0;
+            }
+
+            final int progress = nextSection * 100 / total;
+            if (nextSection < total && progress / PROGRESS_STEP > reportedProgress / PROGRESS_STEP)
+            {
+                reportedProgress = progress;
+                LanguageHandler.sendPlayerMessage(player, "item.scepterSteel.scanProgress", progress);
+            }
+
+            if (nextSection == total)
+            {
+                final NBTTagList entities = captureEntities();
+                final NBTTagCompound compound = new NBTTagCompound();
+                FMLCommonHandler.instance().getDataFixer().writeVersionData(compound);
+                compressed = compressionExecutor.submit(() -> compress(compound, entities));
+            }
+            return captured;
+        }
+
+        /**
+         * Capture the blocks of one section which lie within the region.
+         */
+        private void captureSection(final int sectionX, final int sectionY, final int sectionZ)
+        {
+            final int fromX = Math.max(min.getX(), sectionX * SECTION_SIZE) - min.getX();
+            final int fromY = Math.max(min.getY(), sectionY * SECTION_SIZE) - min.getY();
+            final int fromZ = Math.max(min.getZ(), sectionZ * SECTION_SIZE) - min.getZ();
+            final int toX = Math.min(size.getX(), (sectionX + 1) * SECTION_SIZE - min.getX());
+            final int toY = Math.min(size.getY(), (sectionY + 1) * SECTION_SIZE - min.getY());
+            final int toZ = Math.min(size.getZ(), (sectionZ + 1) * SECTION_SIZE - min.getZ());
+
+            final BlockPos.MutableBlockPos worldPos = new BlockPos.MutableBlockPos();
+            for (int y = fromY; y < toY; y++)
+            {
+                for (int z = fromZ; z < toZ; z++)
+                {
+                    for (int x = fromX; x < toX; x++)
+                    {
+                        worldPos.setPos(min.getX() + x, min.getY() + y, min.getZ() + z);
+                        final IBlockState state = world.getBlockState(worldPos);
+                        if (state.getBlock() == Blocks.STRUCTURE_VOID)
+                        {
+                            continue;
+                        }
+
+                        final int stateId = palette.computeIfAbsent(state, key -> palette.size());
+                        final int index = (y * size.getZ() + z) * size.getX() + x;
+                        final TileEntity tileEntity = world.getTileEntity(worldPos);
+                        if (tileEntity != null)
+                        {
+                            final NBTTagCompound tileEntityData = tileEntity.writeToNBT(new NBTTagCompound());
+                            tileEntityData.removeTag("x");
+                            tileEntityData.removeTag("y");
+                            tileEntityData.removeTag("z");
+                            tileBlocks.add(index, stateId);
+                            tileEntities.add(tileEntityData);
+                        }
+                        else if (!state.isFullBlock() && !state.isFullCube())
+                        {
+                            partialBlocks.add(index, stateId);
+                        }
+                        else
+                        {
+                            fullBlocks.add(index, stateId);
+                        }
+                    }
+                }
+            }
+        }
+
+        /**
+         * Capture the entities within the region, players excluded.
+         *
+         * @return the entity list of the template.
+         */
+        @NotNull
+        private NBTTagList captureEntities()
+        {
+            final NBTTagList list = new NBTTagList();
+            final AxisAlignedBB box = new AxisAlignedBB(min, min.add(size));
+            for (final Entity entity : world.getEntitiesWithinAABB(Entity.class, box, entity -> !(entity instanceof EntityPlayer)))
+            {
+                final double x = entity.posX - min.getX();
+                final double y = entity.posY - min.getY();
+                final double z = entity.posZ - min.getZ();
+                final BlockPos blockPos = entity instanceof EntityPainting
+                                            ? ((EntityPainting) entity).getHangingPosition().subtract(min)
+                                            : new BlockPos(x, y, z);
+
+                final NBTTagCompound entityData = new NBTTagCompound();
+                entity.writeToNBTOptional(entityData);
+
+                final NBTTagCompound compound = new NBTTagCompound();
+                compound.setTag(TAG_POS, writeDoubles(x, y, z));
+                compound.setTag(TAG_BLOCK_POS, writeInts(blockPos.getX(), blockPos.getY(), blockPos.getZ()));
+                compound.setTag(TAG_NBT, entityData);
+                list.appendTag(compound);
+            }
+            return list;
+        }
+
+        /**
+         * Build the template compound from the captured blocks and compress it, runs on the worker thread.
+         *
+         * @param compound the compound to write to.
+         * @param entities the captured entities.
+         * @return the compressed compound.
+         * @throws IOException if it can't be compressed.
+         */
+        @NotNull
+        private byte[] compress(@NotNull final NBTTagCompound compound, @NotNull final NBTTagList entities) throws IOException
+        {
+            final NBTTagList paletteList = new NBTTagList();
+            for (final IBlockState state : palette.keySet())
+            {
+                paletteList.appendTag(NBTUtil.writeBlockState(new NBTTagCompound(), state));
+            }
+
+            final NBTTagList blocks = new NBTTagList();
+            fullBlocks.writeTo(blocks, size, null);
+            tileBlocks.writeTo(blocks, size, tileEntities);
+            partialBlocks.writeTo(blocks, size, null);
+
+            compound.setTag(TAG_PALETTE, paletteList);
+            compound.setTag(TAG_BLOCKS, blocks);
+            compound.setTag(TAG_ENTITIES, entities);
+            compound.setTag(TAG_SIZE, writeInts(size.getX(), size.getY(), size.getZ()));
+            compound.setString(TAG_AUTHOR, Constants.MOD_ID);
+            compound.setInteger(TAG_VERSION, DATA_VERSION);
+
+            try (ByteArrayOutputStream stream = new ByteArrayOutputStream())
+            {
+                CompressedStreamTools.writeCompressed(compound, stream);
+                return stream.toByteArray();
+            }
+        }
+
+        /**
+         * Send the parts of the scan once it is compressed.
+         *
+         * @param player the receiving player.
+         * @return true if the job is finished.
+         */
+        private boolean work(@NotNull final EntityPlayerMP player)
+        {
+            if (data == null)
+            {
+                if (compressed == null || !compressed.isDone())
+                {
+                    return false;
+                }
+
+                try
+                {
+                    data = compressed.get();
+                }
+                catch (final InterruptedException | ExecutionException e)
+                {
+                    Log.getLogger().warn("Exception while trying to scan.", e);
+                    LanguageHandler.sendPlayerMessage(player, "item.scepterSteel.scanFailure");
+                    return true;
+                }
+            }
+
+            final int pieces = Math.max(1, (data.length + MAX_MESSAGE_SIZE - 1) / MAX_MESSAGE_SIZE);
+            for (int sent = 0; sent < PARTS_PER_TICK && nextPart < pieces; sent++, nextPart++)
+            {
+                final int from = nextPart * MAX_MESSAGE_SIZE;
+                final byte[] part = Arrays.copyOfRange(data, from, Math.min(data.length, from + MAX_MESSAGE_SIZE));
+                MineColonies.getNetwork().sendTo(new SaveScanMessage(part, fileName, id, pieces, nextPart), player);
+            }
+            return nextPart >= pieces;
+        }
+
+        /**
+         * Stop the worker from building a scan nobody waits for anymore.
+         */
+        private void cancel()
+        {
+            if (compressed != null)
+            {
+                compressed.cancel(true);
+            }
+        }
+    }
+
+    /**
+     * Growable list of captured blocks, as relative block index and palette id.
+     */
+    private static final class BlockBuffer
+    {
+        /**
+         * Initial capacity of the buffer.
+         */
+        private static final int INITIAL_CAPACITY = 256;
+
+        /**
+         * The block indices, as (y * sizeZ + z) * sizeX + x.
+         */
+        private int[] indices = new int[INITIAL_CAPACITY];
+
+        /**
+         * The palette ids.
+         */
+        private int[] states = new int[INITIAL_CAPACITY];
+
+        /**
+         * The amount of blocks.
+         */
+        private int count = 0;
+
+        /**
+         * Add a block.
+         *
+         * @param index   the relative block index.
+         * @param stateId the palette id.
+         */
+        private void add(final int index, final int stateId)
+        {
+            if (count == indices.length)
+            {
+                indices = Arrays.copyOf(indices, count * 2);
+                states = Arrays.copyOf(states, count * 2);
+            }
+            indices[count] = index;
+            states[count] = stateId;
+            count++;
+        }
+
+        /**
+         * Write the blocks in the layout of the template.
+         *
+         * @param list         the block list to append to.
+         * @param size         the size of the scanned region.
+         * @param tileEntities the tile entity data of each block, or null if the blocks have none.
+         */
+        private void writeTo(@NotNull final NBTTagList list, @NotNull final BlockPos size, @Nullable final List<NBTTagCompound> tileEntities)
+        {
+            for (int i = 0; i < count; i++)
+            {
+                final int index = indices[i];
+                final NBTTagCompound compound = new NBTTagCompound();
+                compound.setTag(TAG_POS, writeInts(index % size.getX(), index / (size.getX() * size.getZ()), (index / size.getX()) % size.getZ()));
+                compound.setInteger(TAG_STATE, states[i]);
+                if (tileEntities != null)
+                {
+                    compound.setTag(TAG_NBT, tileEntities.get(i));
+                }
+                list.appendTag(compound);
+            }
+        }
+    }
+}
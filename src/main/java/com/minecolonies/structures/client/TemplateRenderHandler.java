@@ -1,36 +1,65 @@
 package com.minecolonies.structures.client;
 
-import com.google.common.cache.Cache;
-import com.google.common.cache.CacheBuilder;
-import com.google.common.cache.RemovalListener;
-import com.google.common.collect.Lists;
+import com.minecolonies.api.configuration.Configurations;
 import com.minecolonies.blockout.Log;
 import com.minecolonies.structures.lib.TemplateUtils;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.renderer.BlockRendererDispatcher;
 import net.minecraft.client.renderer.Vector3d;
-import net.minecraft.client.renderer.vertex.DefaultVertexFormats;
 import net.minecraft.util.Mirror;
 import net.minecraft.util.Rotation;
 import net.minecraft.world.gen.structure.template.Template;
-import net.minecraft.world.gen.structure.template.Template.BlockInfo;
-import org.jetbrains.annotations.NotNull;
 
-import java.util.List;
-import java.util.concurrent.ExecutionException;
-import java.util.function.Predicate;
-
-import static org.lwjgl.opengl.GL11.GL_QUADS;
+import java.util.*;
+import java.util.concurrent.*;
 
 public final class TemplateRenderHandler
 {
-    private static final TemplateRenderHandler                ourInstance                = new TemplateRenderHandler();
-    private final  Cache<Template, TemplateTessellator> templateBufferBuilderCache =
-      CacheBuilder.newBuilder()
-        .maximumSize(50)
-        .removalListener((RemovalListener<Template, TemplateTessellator>) notification -> notification.getValue().getBuffer().deleteGlBuffers())
-        .build();
-    private BlockRendererDispatcher              rendererDispatcher;
+    /**
+     * Amount of bytes in a kilobyte.
+     */
+    private static final int BYTES_PER_KB = 1024;
+
+    /**
+     * Time after which a tessellation nobody draws anymore is dropped, in milliseconds.
+     */
+    private static final long PENDING_TIMEOUT = 5_000L;
+
+    private static final TemplateRenderHandler ourInstance = new TemplateRenderHandler();
+
+    /**
+     * Uploaded tessellators in access order, the least recently drawn ones are freed first.
+     * Only touched from the render thread, so the GL buffers can be freed right away.
+     */
+    private final Map<Template, TemplateTessellator> uploadedTessellators = new LinkedHashMap<>(16, 0.75F, true);
+
+    /**
+     * Size of the vertex data of the uploaded tessellators in bytes.
+     */
+    private long uploadedBytes = 0;
+
+    /**
+     * Tessellators being built on the worker thread or waiting for their upload.
+     */
+    private final Map<Template, TemplateTessellator> pendingTessellators = new ConcurrentHashMap<>();
+
+    /**
+     * Templates which could not be tessellated, only their bounding box is drawn until a changed template replaces them.
+     * Weak, so they are forgotten together with the template. Filled from the worker thread.
+     */
+    private final Set<Template> failedTemplates = Collections.newSetFromMap(Collections.synchronizedMap(new WeakHashMap<>()));
+
+    /**
+     * The single worker thread building the tessellators.
+     */
+    private final ExecutorService tessellationExecutor = Executors.newSingleThreadExecutor(runnable ->
+    {
+        final Thread thread = new Thread(runnable, "Minecolonies Template Tessellator");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private BlockRendererDispatcher rendererDispatcher;
 
     private TemplateRenderHandler()
     {
@@ -41,6 +70,14 @@ public final class TemplateRenderHandler
         return ourInstance;
     }
 
+    /**
+     * Draw a template, or its bounding box while it is still being tessellated.
+     *
+     * @param template      the template.
+     * @param rotation      the rotation.
+     * @param mirror        the mirror.
+     * @param drawingOffset the offset to draw at.
+     */
     public void draw(final Template template, final Rotation rotation, final Mirror mirror, final Vector3d drawingOffset)
     {
         if (rendererDispatcher == null)
@@ -48,24 +85,142 @@ public final class TemplateRenderHandler
             rendererDispatcher = Minecraft.getMinecraft().getBlockRendererDispatcher();
         }
 
-        final TemplateBlockAccess blockAccess = new TemplateBlockAccess(template);
+        final long now = System.currentTimeMillis();
+        updatePending(now);
 
-        try
+        final TemplateTessellator tessellator = uploadedTessellators.get(template);
+        if (tessellator == null)
+        {
+            final TemplateTessellator pending = pendingTessellators.get(template);
+            if (pending == null)
+            {
+                if (!failedTemplates.contains(template))
+                {
+                    startTessellation(template, now);
+                }
+            }
+            else
+            {
+                pending.markDrawn(now);
+            }
+            TemplateTessellator.drawPlaceholder(template.getSize(), rotation, mirror, drawingOffset, TemplateUtils.getPrimaryBlockOffset(template));
+        }
+        else
         {
-            templateBufferBuilderCache.get(template, () -> {
-                final TemplateTessellator tessellator = new TemplateTessellator();
-                tessellator.getBuilder().begin(GL_QUADS, DefaultVertexFormats.BLOCK);
+            tessellator.draw(rotation, mirror, drawingOffset, TemplateUtils.getPrimaryBlockOffset(template));
+        }
+    }
 
-                template.blocks.stream()
-                  .map(b -> TemplateBlockAccessTransformHandler.getInstance().Transform(b))
-                  .forEach(b -> rendererDispatcher.renderBlock(b.blockState, b.pos, blockAccess, tessellator.getBuilder()));
+    /**
+     * Upload the built tessellators, which frees their builders, and drop the ones nobody drew lately.
+     *
+     * @param now the current time in milliseconds.
+     */
+    private void updatePending(final long now)
+    {
+        final Iterator<Map.Entry<Template, TemplateTessellator>> iterator = pendingTessellators.entrySet().iterator();
+        while (iterator.hasNext())
+        {
+            final Map.Entry<Template, TemplateTessellator> entry = iterator.next();
+            final TemplateTessellator tessellator = entry.getValue();
+            if (tessellator.isBuilt())
+            {
+                iterator.remove();
+                tessellator.upload();
+                uploadedTessellators.put(entry.getKey(), tessellator);
+                uploadedBytes += tessellator.getVertexBytes();
+            }
+            else if (now - tessellator.getLastDrawn() > PENDING_TIMEOUT)
+            {
+                iterator.remove();
+                tessellator.cancel();
+            }
+        }
+        trim(0);
+    }
+
+    /**
+     * Free the least recently drawn uploaded tessellators until the uploaded and pending data fits the memory bound.
+     * The last one is kept, so a single preview larger than the bound does not get tessellated over and over.
+     *
+     * @param extraBytes bytes about to be allocated.
+     */
+    private void trim(final long extraBytes)
+    {
+        final long maxBytes = (long) Configurations.gameplay.maxPreviewVertexMemory * BYTES_PER_KB;
+        final long pendingBytes = getPendingBytes();
+        final Iterator<TemplateTessellator> iterator = uploadedTessellators.values().iterator();
+        while (uploadedBytes + pendingBytes + extraBytes > maxBytes && uploadedTessellators.size() > 1 && iterator.hasNext())
+        {
+            final TemplateTessellator tessellator = iterator.next();
+            iterator.remove();
+            uploadedBytes -= tessellator.getVertexBytes();
+            tessellator.deleteGlBuffers();
+        }
+    }
+
+    /**
+     * Get the memory held by the builders of the pending tessellators.
+     *
+     * @return the size in bytes.
+     */
+    private long getPendingBytes()
+    {
+        long bytes = 0;
+        for (final TemplateTessellator tessellator : pendingTessellators.values())
+        {
+            bytes += tessellator.getBufferBytes();
+        }
+        return bytes;
+    }
+
+    /**
+     * Start building the tessellator of a template on the worker thread, if its builder fits the memory bound.
+     *
+     * @param template the template.
+     * @param now      the current time in milliseconds.
+     */
+    private void startTessellation(final Template template, final long now)
+    {
+        trim(TemplateTessellator.DEFAULT_BUFFER_SIZE);
+        if (getPendingBytes() + TemplateTessellator.DEFAULT_BUFFER_SIZE > (long) Configurations.gameplay.maxPreviewVertexMemory * BYTES_PER_KB)
+        {
+            // Retried on the next frame, once stale tessellations timed out.
+            return;
+        }
+
+        final TemplateTessellator tessellator = new TemplateTessellator();
+        tessellator.markDrawn(now);
+        pendingTessellators.put(template, tessellator);
+
+        try
+        {
+            tessellationExecutor.execute(() ->
+            {
+                if (tessellator.isCancelled())
+                {
+                    return;
+                }
 
-                return tessellator;
-            }).draw(rotation, mirror, drawingOffset, TemplateUtils.getPrimaryBlockOffset(template));
+                try
+                {
+                    final TemplateBlockAccess blockAccess = new TemplateBlockAccess(template);
+                    tessellator.build(builder -> template.blocks.stream()
+                                                   .map(b -> TemplateBlockAccessTransformHandler.getInstance().Transform(b))
+                                                   .forEach(b -> rendererDispatcher.renderBlock(b.blockState, b.pos, blockAccess, builder)));
+                }
+                catch (final RuntimeException e)
+                {
+                    Log.getLogger().error("Could not tessellate template", e);
+                    failedTemplates.add(template);
+                    pendingTessellators.remove(template);
+                }
+            });
         }
-        catch (ExecutionException e)
+        catch (final RejectedExecutionException e)
         {
             Log.getLogger().error(e);
+            pendingTessellators.remove(template);
         }
     }
 }
@@ -9,8 +9,11 @@ import net.minecraft.client.renderer.vertex.VertexBuffer;
 import net.minecraft.client.renderer.vertex.VertexFormatElement;
 import net.minecraft.util.Mirror;
 import net.minecraft.util.Rotation;
+import net.minecraft.util.math.AxisAlignedBB;
 import net.minecraft.util.math.BlockPos;
 
+import java.util.function.Consumer;
+
 import static org.lwjgl.opengl.GL11.*;
 
 public class TemplateTessellator
@@ -26,29 +29,153 @@ public class TemplateTessellator
     private static final  int   TEX_COORD_COMPONENT_OFFSET        = 16;
     private static final  int   LIGHT_TEXT_COORD_COMPONENT_OFFSET = 24;
     private static final float HALF_PERCENT_SHRINK               = 0.995F;
-    private static final int DEFAULT_BUFFER_SIZE = 2097152;
+    /**
+     * Initial size of the builder in bytes.
+     */
+    public static final int DEFAULT_BUFFER_SIZE = 2097152;
+
+    private static final float PLACEHOLDER_COLOR                 = 1.0F;
+    private static final float PLACEHOLDER_ALPHA                 = 0.5F;
+    private static final float PLACEHOLDER_LINE_WIDTH            = 2.0F;
 
-    private final BufferBuilder builder;
-    private final VertexBuffer         buffer      = new VertexBuffer(DefaultVertexFormats.BLOCK);
     private final VertexBufferUploader vboUploader = new VertexBufferUploader();
+    private volatile BufferBuilder     builder;
+    private       VertexBuffer         buffer;
     private       boolean              isReadOnly  = false;
 
+    /**
+     * Set once the worker thread finished filling the builder.
+     */
+    private volatile boolean built       = false;
+
+    /**
+     * Size of the vertex data in bytes, known once built.
+     */
+    private volatile int     vertexBytes = 0;
+
+    /**
+     * Set when nobody waits for the tessellation anymore.
+     */
+    private volatile boolean cancelled   = false;
+
+    /**
+     * The last time the template was drawn while being tessellated, in milliseconds, only used by the render thread.
+     */
+    private long lastDrawn = 0;
+
     public TemplateTessellator()
     {
         this.builder = new BufferBuilder(DEFAULT_BUFFER_SIZE);
-        this.vboUploader.setVertexBuffer(buffer);
     }
 
     /**
-     * Draws the data set up in this tessellator and resets the state to prepare for new drawing.
+     * Fill the builder, can be called off the render thread since it does not touch GL.
+     *
+     * @param renderer the consumer rendering the blocks into the builder.
+     */
+    public void build(final Consumer<BufferBuilder> renderer)
+    {
+        if (isReadOnly || built)
+        {
+            throw new IllegalStateException("Cannot build a Tessellator twice.");
+        }
+
+        builder.begin(GL_QUADS, DefaultVertexFormats.BLOCK);
+        renderer.accept(builder);
+        builder.finishDrawing();
+        vertexBytes = builder.getVertexCount() * VERTEX_SIZE;
+        built = true;
+    }
+
+    /**
+     * Check if the builder has been filled and can be uploaded.
+     *
+     * @return true if so.
+     */
+    public boolean isBuilt()
+    {
+        return built;
+    }
+
+    /**
+     * Stop the worker from building a tessellation nobody waits for anymore.
+     */
+    public void cancel()
+    {
+        cancelled = true;
+    }
+
+    /**
+     * Check if the tessellation was cancelled.
+     *
+     * @return true if so.
+     */
+    public boolean isCancelled()
+    {
+        return cancelled;
+    }
+
+    /**
+     * Remember that the template was drawn while being tessellated.
+     *
+     * @param now the current time in milliseconds.
+     */
+    public void markDrawn(final long now)
+    {
+        lastDrawn = now;
+    }
+
+    /**
+     * Get the last time the template was drawn while being tessellated.
+     *
+     * @return the time in milliseconds.
+     */
+    public long getLastDrawn()
+    {
+        return lastDrawn;
+    }
+
+    /**
+     * Size of the memory held by the builder, which is released on upload.
+     *
+     * @return the size in bytes.
+     */
+    public int getBufferBytes()
+    {
+        final BufferBuilder current = builder;
+        return current == null ? 0 : current.getByteBuffer().capacity();
+    }
+
+    /**
+     * Upload the built data to a VBO, has to be called on the render thread.
+     * The builder is released afterwards.
+     */
+    public void upload()
+    {
+        if (isReadOnly || !built)
+        {
+            return;
+        }
+
+        buffer = new VertexBuffer(DefaultVertexFormats.BLOCK);
+        vboUploader.setVertexBuffer(buffer);
+        vboUploader.draw(builder);
+        builder = null;
+        isReadOnly = true;
+    }
+
+    /**
+     * Draws the data uploaded to the VBO.
      */
     public void draw(final Rotation rotation, final Mirror mirror, final Vector3d drawingOffset, final BlockPos inTemplateOffset)
     {
         if (!isReadOnly)
         {
-            this.builder.finishDrawing();
-            this.vboUploader.draw(this.builder);
-            this.isReadOnly = true;
+            upload();
+            if (!isReadOnly)
+            {
+                return;
+            }
         }
 
         preTemplateBufferBinding(rotation, mirror, drawingOffset, inTemplateOffset);
@@ -66,6 +193,24 @@ public class TemplateTessellator
         postTemplateBufferUnbinding();
     }
 
+    /**
+     * Draws the outline of a template which is not tessellated yet.
+     */
+    public static void drawPlaceholder(
+                                        final BlockPos size, final Rotation rotation, final Mirror mirror, final Vector3d drawingOffset,
+                                        final BlockPos inTemplateOffset)
+    {
+        preTemplateBufferBinding(rotation, mirror, drawingOffset, inTemplateOffset);
+
+        GlStateManager.disableTexture2D();
+        GlStateManager.glLineWidth(PLACEHOLDER_LINE_WIDTH);
+        RenderGlobal.drawSelectionBoundingBox(new AxisAlignedBB(BlockPos.ORIGIN, size),
+          PLACEHOLDER_COLOR, PLACEHOLDER_COLOR, PLACEHOLDER_COLOR, PLACEHOLDER_ALPHA);
+        GlStateManager.enableTexture2D();
+
+        postTemplateBufferUnbinding();
+    }
+
     private static void preTemplateBufferBinding(final Rotation rotation, final Mirror mirror, final Vector3d drawingOffset, final BlockPos inTemplateOffset)
     {
         final ITextureObject textureObject = Minecraft.getMinecraft().getTextureMapBlocks();
@@ -137,7 +282,7 @@ public class TemplateTessellator
         }
     }
 
-    private void postTemplateBufferUnbinding()
+    private static void postTemplateBufferUnbinding()
     {
         GlStateManager.popMatrix();
         GlStateManager.resetColor();
@@ -145,18 +290,24 @@ public class TemplateTessellator
         GlStateManager.popMatrix();
     }
 
-    public BufferBuilder getBuilder()
+    /**
+     * Size of the vertex data, used to bound the cache.
+     *
+     * @return the size in bytes.
+     */
+    public int getVertexBytes()
     {
-        if (isReadOnly)
-        {
-            throw new IllegalStateException("Cannot retrieve BufferBuilder when Tessellator is in readonly.");
-        }
-
-        return this.builder;
+        return vertexBytes;
     }
 
-    public VertexBuffer getBuffer()
+    /**
+     * Free the VBO, has to be called on the render thread.
+     */
+    public void deleteGlBuffers()
     {
-        return buffer;
+        if (buffer != null)
+        {
+            buffer.deleteGlBuffers();
+        }
     }
 }
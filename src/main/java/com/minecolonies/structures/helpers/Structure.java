@@ -1,5 +1,7 @@
 package com.minecolonies.structures.helpers;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.ImmutableList;
 import com.minecolonies.api.configuration.Configurations;
 import com.minecolonies.api.util.Log;
@@ -75,6 +77,21 @@ public class Structure
      */
     private static final int BUFFER_SIZE = 1024;
 
+    /**
+     * Max amount of parsed templates kept in the cache.
+     */
+    private static final int MAX_CACHED_TEMPLATES = 100;
+
+    /**
+     * Parsed templates by structure name and md5 hash, shared by all structures loading the same schematic.
+     */
+    private static final Cache<String, Template> templateCache = CacheBuilder.newBuilder().maximumSize(MAX_CACHED_TEMPLATES).softValues().build();
+
+    /**
+     * Datafixer shared by all structures, creating one registers all the fixes again.
+     */
+    private static DataFixer sharedFixer;
+
     /**
      * Required Datafixer
      */
@@ -108,7 +125,19 @@ public class Structure
             this.settings = settings;
             this.mc = Minecraft.getMinecraft();
         }
-        this.fixer = DataFixesManager.createFixer();
+        this.fixer = getSharedFixer();
+
+        final String knownMD5 = Structures.getMD5(structureName);
+        if (knownMD5 != null)
+        {
+            final Template cachedTemplate = templateCache.getIfPresent(getCacheKey(structureName, knownMD5));
+            if (cachedTemplate != null)
+            {
+                this.template = cachedTemplate;
+                this.md5 = knownMD5;
+                return;
+            }
+        }
 
         InputStream inputStream = null;
         try
@@ -138,6 +167,10 @@ public class Structure
             {
                 this.md5 = Structure.calculateMD5(Structure.getStream(correctStructureName));
                 this.template = readTemplateFromStream(inputStream, fixer);
+                if (knownMD5 != null && knownMD5.equals(md5))
+                {
+                    templateCache.put(getCacheKey(structureName, md5), template);
+                }
             }
             catch (final IOException e)
             {
@@ -150,6 +183,32 @@ public class Structure
         }
     }
 
+    /**
+     * Get the datafixer shared by all structures, creating it on first use.
+     *
+     * @return the datafixer.
+     */
+    private static synchronized DataFixer getSharedFixer()
+    {
+        if (sharedFixer == null)
+        {
+            sharedFixer = DataFixesManager.createFixer();
+        }
+        return sharedFixer;
+    }
+
+    /**
+     * Get the key of a structure in the template cache.
+     *
+     * @param structureName the name of the structure.
+     * @param md5           the md5 hash of the structure.
+     * @return the cache key.
+     */
+    public static String getCacheKey(final String structureName, final String md5)
+    {
+        return structureName + ':' + md5;
+    }
+
     /**
      * get a InputStream for a give structureName.
      * <p>
@@ -384,7 +443,7 @@ public class Structure
             this.settings = settings;
             this.mc = Minecraft.getMinecraft();
         }
-        this.fixer = DataFixesManager.createFixer();
+        this.fixer = getSharedFixer();
     }
 
     public static byte[] compress(final byte[] data)
@@ -432,6 +491,17 @@ public class Structure
         return this.template;
     }
 
+    /**
+     * Get the md5 hash of the structure.
+     *
+     * @return the md5 hash or null if the template could not be loaded.
+     */
+    @Nullable
+    public String getMD5()
+    {
+        return md5;
+    }
+
     /**
      * Compare the md5 from the structure with an other md5 hash.
      *
@@ -1,6 +1,9 @@
 package com.minecolonies.structures.helpers;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.minecolonies.api.util.BlockPosUtil;
+import com.minecolonies.api.util.Log;
 import com.minecolonies.coremod.blocks.AbstractBlockHut;
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.nbt.NBTTagCompound;
@@ -14,7 +17,11 @@ import net.minecraft.world.gen.structure.template.Template;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
 
 import static com.minecolonies.api.util.constant.Constants.*;
 
@@ -23,13 +30,29 @@ import static com.minecolonies.api.util.constant.Constants.*;
  */
 public class StructureProxy
 {
-    private final Structure                 structure;
-    private       Template.EntityInfo[][][] entities;
-    private       Template.BlockInfo[][][]  blocks;
-    private       int                       width;
-    private       int                       height;
-    private       int                       length;
-    private       BlockPos                  offset;
+    /**
+     * Max amount of rotated and mirrored block layouts kept in the cache.
+     */
+    private static final int MAX_CACHED_LAYOUTS = 200;
+
+    /**
+     * Block layouts by structure name, md5 hash, rotation and mirror, shared by all proxies of the same schematic.
+     */
+    private static final Cache<String, Layout> layoutCache = CacheBuilder.newBuilder().maximumSize(MAX_CACHED_LAYOUTS).softValues().build();
+
+    /**
+     * Layout variant of the structure as loaded, before any rotation.
+     */
+    private static final String UNROTATED_LAYOUT = "unrotated";
+
+    private final Structure                          structure;
+    private final String                             name;
+    private final Map<BlockPos, Template.EntityInfo> entities = new HashMap<>();
+    private       Template.BlockInfo[][][]           blocks;
+    private       int                                width;
+    private       int                                height;
+    private       int                                length;
+    private       BlockPos                           offset;
 
     /**
      * @param worldObj the world.
@@ -38,25 +61,83 @@ public class StructureProxy
     public StructureProxy(final World worldObj, final String name)
     {
         this.structure = new Structure(worldObj, name, new PlacementSettings());
+        this.name = name;
 
         if (structure.isTemplateMissing())
         {
             return;
         }
-        final BlockPos size = structure.getSize(Rotation.NONE);
 
-        this.width = size.getX();
-        this.height = size.getY();
-        this.length = size.getZ();
+        applyLayout(getLayout(UNROTATED_LAYOUT, () -> createLayout(structure)));
+
+        for (final Template.EntityInfo info : structure.getTileEntities())
+        {
+            entities.put(info.blockPos, info);
+        }
+    }
+
+    /**
+     * Get a layout from the cache or create it.
+     *
+     * @param variant the rotation and mirror of the layout.
+     * @param loader  creates the layout when it is not in the cache.
+     * @return the layout.
+     */
+    private Layout getLayout(final String variant, final Callable<Layout> loader)
+    {
+        final String md5 = structure.getMD5();
+        if (md5 != null)
+        {
+            try
+            {
+                return layoutCache.get(Structure.getCacheKey(name, md5) + ':' + variant, loader);
+            }
+            catch (final ExecutionException e)
+            {
+                Log.getLogger().warn("Could not cache the layout of " + name, e);
+            }
+        }
+
+        try
+        {
+            return loader.call();
+        }
+        catch (final Exception e)
+        {
+            throw new IllegalStateException("Could not create the layout of " + name, e);
+        }
+    }
+
+    /**
+     * Apply a layout to this proxy.
+     *
+     * @param layout the layout.
+     */
+    private void applyLayout(final Layout layout)
+    {
+        this.blocks = layout.blocks;
+        this.width = layout.width;
+        this.height = layout.height;
+        this.length = layout.length;
+        this.offset = layout.offset;
+    }
 
-        this.blocks = new Template.BlockInfo[width][height][length];
-        this.entities = new Template.EntityInfo[width][height][length];
+    /**
+     * Create the layout of a structure without rotation or mirror.
+     *
+     * @param structure the structure.
+     * @return the layout.
+     */
+    private static Layout createLayout(final Structure structure)
+    {
+        final BlockPos size = structure.getSize(Rotation.NONE);
+        final Template.BlockInfo[][][] blocks = new Template.BlockInfo[size.getX()][size.getY()][size.getZ()];
+        BlockPos offset = null;
 
         for (final Template.BlockInfo info : structure.getBlockInfo())
         {
             final BlockPos tempPos = info.pos;
             blocks[tempPos.getX()][tempPos.getY()][tempPos.getZ()] = info;
-            entities[tempPos.getX()][tempPos.getY()][tempPos.getZ()] = null;
 
             if (info.blockState.getBlock() instanceof AbstractBlockHut)
             {
@@ -64,11 +145,7 @@ public class StructureProxy
             }
         }
 
-        for (final Template.EntityInfo info : structure.getTileEntities())
-        {
-            final BlockPos tempPos = info.blockPos;
-            entities[tempPos.getX()][tempPos.getY()][tempPos.getZ()] = info;
-        }
+        return new Layout(blocks, size, offset, null);
     }
 
     /**
@@ -166,11 +243,7 @@ public class StructureProxy
     @Nullable
     public Template.EntityInfo getEntityinfo(@NotNull final BlockPos pos)
     {
-        if (entities[pos.getX()][pos.getY()].length == 0)
-        {
-            return null;
-        }
-        return entities[pos.getX()][pos.getY()][pos.getZ()];
+        return entities.get(pos);
     }
 
     /**
@@ -228,22 +301,43 @@ public class StructureProxy
             default:
                 rotation = Rotation.NONE;
         }
-        structure.setPlacementSettings(new PlacementSettings().setRotation(rotation).setMirror(mirror));
+        final PlacementSettings settings = new PlacementSettings().setRotation(rotation).setMirror(mirror);
+        structure.setPlacementSettings(settings);
 
-        final BlockPos size = structure.getSize(rotation);
+        final Layout layout = getLayout(rotation.toString() + ':' + mirror, () -> createRotatedLayout(structure, times, world, rotation, mirror));
+        applyLayout(layout);
 
-        this.width = size.getX();
-        this.height = size.getY();
-        this.length = size.getZ();
+        entities.clear();
+        for (final Template.EntityInfo info : structure.getTileEntities())
+        {
+            final Template.EntityInfo newInfo = structure.transformEntityInfoWithSettings(info, world, rotatePos.subtract(offset).add(layout.min), settings);
+            //289 74 157 - 289.9 76.5, 157.5
+            entities.put(Template.transformedBlockPos(settings, info.blockPos).add(layout.min), newInfo);
+        }
+    }
 
-        this.blocks = new Template.BlockInfo[width][height][length];
-        this.entities = new Template.EntityInfo[width][height][length];
+    /**
+     * Create the layout of a structure with a rotation and mirror.
+     *
+     * @param structure the structure.
+     * @param times     times to rotateWithMirror.
+     * @param world     the world to create the tile entities in.
+     * @param rotation  the rotation.
+     * @param mirror    the mirror.
+     * @return the layout.
+     */
+    private static Layout createRotatedLayout(final Structure structure, final int times, final World world, final Rotation rotation, final Mirror mirror)
+    {
+        final PlacementSettings settings = new PlacementSettings().setRotation(rotation).setMirror(mirror);
+        final BlockPos size = structure.getSize(rotation);
+        final Template.BlockInfo[][][] blocks = new Template.BlockInfo[size.getX()][size.getY()][size.getZ()];
+        final List<Template.BlockInfo> infos = structure.getBlockInfoWithSettings(settings);
 
         int minX = 0;
         int minY = 0;
         int minZ = 0;
 
-        for (final Template.BlockInfo info : structure.getBlockInfoWithSettings(new PlacementSettings().setRotation(rotation).setMirror(mirror)))
+        for (final Template.BlockInfo info : infos)
         {
             final BlockPos tempPos = info.pos;
             final int x = tempPos.getX();
@@ -268,22 +362,19 @@ public class StructureProxy
         minX = Math.abs(minX);
         minY = Math.abs(minY);
         minZ = Math.abs(minZ);
-        boolean foundHut = false;
-        final PlacementSettings settings = new PlacementSettings().setRotation(rotation).setMirror(mirror);
+        BlockPos offset = null;
 
-        for (final Template.BlockInfo info : structure.getBlockInfoWithSettings(settings))
+        for (final Template.BlockInfo info : infos)
         {
             final BlockPos tempPos = info.pos;
             final int x = tempPos.getX() + minX;
             final int y = tempPos.getY() + minY;
             final int z = tempPos.getZ() + minZ;
 
-            this.blocks[x][y][z] = info;
-            this.entities[x][y][z] = null;
+            blocks[x][y][z] = info;
 
             if (info.blockState.getBlock() instanceof AbstractBlockHut)
             {
-                foundHut = true;
                 offset = info.pos.add(minX, minY, minZ);
             }
 
@@ -294,49 +385,72 @@ public class StructureProxy
                 {
                     entity.rotate(rotation);
                     entity.mirror(mirror);
-                    this.blocks[x][y][z] = new Template.BlockInfo(info.pos, info.blockState, entity.writeToNBT(new NBTTagCompound()));
+                    blocks[x][y][z] = new Template.BlockInfo(info.pos, info.blockState, entity.writeToNBT(new NBTTagCompound()));
                 }
             }
         }
 
-        updateOffSetIfDecoration(foundHut, size, times, minX, minY, minZ);
-
-        for (final Template.EntityInfo info : structure.getTileEntities())
+        if (offset == null)
         {
-            final Template.EntityInfo newInfo = structure.transformEntityInfoWithSettings(info, world, rotatePos.subtract(offset).add(new BlockPos(minX, minY, minZ)), settings);
-            //289 74 157 - 289.9 76.5, 157.5
-            final BlockPos tempPos = Template.transformedBlockPos(settings, info.blockPos);
-            final int x = tempPos.getX() + minX;
-            final int y = tempPos.getY() + minY;
-            final int z = tempPos.getZ() + minZ;
-            this.entities[x][y][z] = newInfo;
+            offset = getDecorationOffset(size, times, minX, minY, minZ);
         }
+
+        return new Layout(blocks, size, offset, new BlockPos(minX, minY, minZ));
     }
 
     /**
-     * Updates the offset if the structure is a decoration.
+     * Calculates the offset of a structure without hut block.
      *
-     * @param foundHut if false update.
+     * @return the offset.
      */
-    private void updateOffSetIfDecoration(final boolean foundHut, final BlockPos size, final int rotation, final int minX, final int minY, final int minZ)
+    private static BlockPos getDecorationOffset(final BlockPos size, final int rotation, final int minX, final int minY, final int minZ)
     {
-        if (!foundHut)
+        BlockPos tempSize = size;
+        if (rotation == ROTATE_ONCE)
         {
-            BlockPos tempSize = size;
-            if (rotation == ROTATE_ONCE)
-            {
-                tempSize = new BlockPos(-size.getX(), size.getY(), size.getZ());
-            }
-            if (rotation == ROTATE_TWICE)
-            {
-                tempSize = new BlockPos(-size.getX(), size.getY(), -size.getZ());
-            }
-            if (rotation == ROTATE_THREE_TIMES)
-            {
-                tempSize = new BlockPos(size.getX(), size.getY(), -size.getZ());
-            }
+            tempSize = new BlockPos(-size.getX(), size.getY(), size.getZ());
+        }
+        if (rotation == ROTATE_TWICE)
+        {
+            tempSize = new BlockPos(-size.getX(), size.getY(), -size.getZ());
+        }
+        if (rotation == ROTATE_THREE_TIMES)
+        {
+            tempSize = new BlockPos(size.getX(), size.getY(), -size.getZ());
+        }
+
+        return new BlockPos(tempSize.getX() / 2, 0, tempSize.getZ() / 2).add(minX, minY, minZ);
+    }
 
-            offset = new BlockPos(tempSize.getX() / 2, 0, tempSize.getZ() / 2).add(minX, minY, minZ);
+    /**
+     * Immutable block layout of a structure for one rotation and mirror.
+     * The block array is shared between proxies and must not be modified.
+     */
+    private static final class Layout
+    {
+        private final Template.BlockInfo[][][] blocks;
+        private final int                      width;
+        private final int                      height;
+        private final int                      length;
+        private final BlockPos                 offset;
+        private final BlockPos                 min;
+
+        /**
+         * Create a new layout.
+         *
+         * @param blocks the blocks by local position.
+         * @param size   the size of the structure.
+         * @param offset the offset of the structure.
+         * @param min    the translation applied to the rotated positions, null when not rotated.
+         */
+        private Layout(final Template.BlockInfo[][][] blocks, final BlockPos size, final BlockPos offset, final BlockPos min)
+        {
+            this.blocks = blocks;
+            this.width = size.getX();
+            this.height = size.getY();
+            this.length = size.getZ();
+            this.offset = offset;
+            this.min = min == null ? BlockPos.ORIGIN : min;
         }
     }
 }
@@ -0,0 +1,89 @@
+package com.minecolonies.api.crafting;
+
+import com.minecolonies.api.colony.requestsystem.token.IToken;
+import com.minecolonies.api.colony.requestsystem.token.StandardToken;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link RecipeOutputIndex}.
+ */
+public class RecipeOutputIndexTest
+{
+    private static final ItemFingerprint PLANKS = new ItemFingerprint(null, 1, null);
+    private static final ItemFingerprint STICKS = new ItemFingerprint(null, 2, null);
+
+    private final RecipeOutputIndex index = new RecipeOutputIndex();
+
+    @Test
+    public void tokensAreKeptInInsertionOrder()
+    {
+        final IToken first = new StandardToken();
+        final IToken second = new StandardToken();
+        final IToken other = new StandardToken();
+
+        index.add(first, PLANKS);
+        index.add(other, STICKS);
+        index.add(second, PLANKS);
+
+        assertEquals(Arrays.asList(first, second), index.get(PLANKS));
+        assertEquals(Collections.singletonList(other), index.get(STICKS));
+        assertEquals(Arrays.asList(first, second), index.get(new ItemFingerprint(null, 1, null)));
+        assertTrue(index.get(new ItemFingerprint(null, 3, null)).isEmpty());
+    }
+
+    @Test
+    public void removeDropsOnlyThatToken()
+    {
+        final IToken first = new StandardToken();
+        final IToken second = new StandardToken();
+        index.add(first, PLANKS);
+        index.add(second, PLANKS);
+
+        index.remove(first);
+        assertEquals(Collections.singletonList(second), index.get(PLANKS));
+        assertFalse(index.contains(first));
+
+        index.remove(second);
+        index.remove(second);
+        assertTrue(index.get(PLANKS).isEmpty());
+    }
+
+    @Test
+    public void addingAgainMovesTheToken()
+    {
+        final IToken first = new StandardToken();
+        final IToken second = new StandardToken();
+        index.add(first, PLANKS);
+        index.add(second, PLANKS);
+
+        index.add(first, PLANKS);
+        assertEquals(Arrays.asList(second, first), index.get(PLANKS));
+
+        index.add(first, STICKS);
+        assertEquals(Collections.singletonList(second), index.get(PLANKS));
+        assertEquals(Collections.singletonList(first), index.get(STICKS));
+    }
+
+    @Test
+    public void clearEmptiesTheIndex()
+    {
+        final IToken token = new StandardToken();
+        index.add(token, PLANKS);
+        index.clear();
+
+        assertFalse(index.contains(token));
+        assertTrue(index.get(PLANKS).isEmpty());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void viewsAreUnmodifiable()
+    {
+        index.add(new StandardToken(), PLANKS);
+        index.get(PLANKS).clear();
+    }
+}
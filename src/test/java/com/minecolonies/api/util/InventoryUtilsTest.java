@@ -0,0 +1,275 @@
+package com.minecolonies.api.util;
+
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import net.minecraft.tileentity.TileEntity;
+import net.minecraft.util.EnumFacing;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.chunk.IChunkProvider;
+import net.minecraftforge.common.capabilities.Capability;
+import net.minecraftforge.common.capabilities.ICapabilityProvider;
+import net.minecraftforge.items.IItemHandler;
+import org.junit.Test;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Pins the behaviour of the provider helpers of {@link InventoryUtils} and the handler caching of {@link ItemHandlerCache}.
+ * Items can't be created without the minecraft bootstrap, so the stacks are item-less stacks forced to be non empty.
+ */
+public class InventoryUtilsTest
+{
+    private static final int SIDES = EnumFacing.VALUES.length + 1;
+
+    @Test
+    public void countSumsDistinctHandlersOnce() throws ReflectiveOperationException
+    {
+        final IItemHandler sides = handler(stack(3), ItemStack.EMPTY, stack(5));
+        assertEquals(8, InventoryUtils.getItemCountInProvider(tile(sides, sides), stack -> true));
+
+        final IItemHandler internal = handler(stack(2));
+        assertEquals(10, InventoryUtils.getItemCountInProvider(tile(sides, internal), stack -> true));
+    }
+
+    @Test
+    public void countOnlyMatchingStacks() throws ReflectiveOperationException
+    {
+        final ItemStack wanted = stack(4);
+        final IItemHandler sides = handler(stack(3), wanted, stack(5), wanted);
+        final ICapabilityProvider provider = tile(sides, sides);
+
+        assertEquals(8, InventoryUtils.getItemCountInProvider(provider, stack -> stack == wanted));
+        assertTrue(InventoryUtils.hasItemInProvider(provider, stack -> stack == wanted));
+        assertFalse(InventoryUtils.hasItemInProvider(provider, stack -> false));
+        assertEquals(Arrays.asList(wanted, wanted), InventoryUtils.filterProvider(provider, stack -> stack == wanted));
+    }
+
+    @Test
+    public void emptyStacksNeverMatch()
+    {
+        final ICapabilityProvider provider = tile(handler(ItemStack.EMPTY, ItemStack.EMPTY), null);
+
+        assertEquals(0, InventoryUtils.getItemCountInProvider(provider, stack -> true));
+        assertFalse(InventoryUtils.hasItemInProvider(provider, stack -> true));
+        assertEquals(-1, InventoryUtils.findFirstSlotInProviderNotEmptyWith(provider, stack -> true));
+        assertEquals(0, InventoryUtils.getFirstOpenSlotFromProvider(provider));
+    }
+
+    @Test
+    public void findFirstSlotLooksAtTheSidesFirst() throws ReflectiveOperationException
+    {
+        final ItemStack wanted = stack(1);
+        final IItemHandler sides = handler(stack(2), ItemStack.EMPTY, wanted);
+        final IItemHandler internal = handler(wanted);
+        final ICapabilityProvider provider = tile(sides, internal);
+
+        assertEquals(2, InventoryUtils.findFirstSlotInProviderWith(provider, stack -> stack == wanted));
+        assertEquals(2, InventoryUtils.findFirstSlotInProviderNotEmptyWith(provider, stack -> stack == wanted));
+        assertEquals(-1, InventoryUtils.findFirstSlotInProviderWith(provider, stack -> false));
+        assertEquals(1, InventoryUtils.getFirstOpenSlotFromProvider(provider));
+    }
+
+    @Test
+    public void fullProviderHasNoOpenSlot() throws ReflectiveOperationException
+    {
+        final ICapabilityProvider provider = tile(handler(stack(1), stack(1)), handler(stack(1)));
+
+        assertEquals(-1, InventoryUtils.getFirstOpenSlotFromProvider(provider));
+        assertTrue(InventoryUtils.isProviderFull(provider));
+    }
+
+    @Test
+    public void scanVisitsMatchesInOrderAndStops() throws ReflectiveOperationException
+    {
+        final ItemStack first = stack(1);
+        final ItemStack second = stack(2);
+        final ItemStack third = stack(3);
+        final IItemHandler sides = handler(first, ItemStack.EMPTY, second);
+        final ICapabilityProvider provider = tile(sides, handler(third));
+
+        final List<ItemStack> visited = new ArrayList<>();
+        assertFalse(InventoryUtils.scanProvider(provider, stack -> true, (handler, slot, stack) ->
+        {
+            visited.add(stack);
+            return false;
+        }));
+        assertEquals(Arrays.asList(first, second, third), visited);
+
+        visited.clear();
+        assertTrue(InventoryUtils.scanProvider(provider, stack -> stack != first, (handler, slot, stack) ->
+        {
+            visited.add(stack);
+            return slot == 2;
+        }));
+        assertEquals(Arrays.asList(second), visited);
+    }
+
+    @Test
+    public void handlersFromProviderAreDistinct()
+    {
+        final IItemHandler sides = handler(ItemStack.EMPTY);
+        final IItemHandler internal = handler(ItemStack.EMPTY);
+
+        assertEquals(1, InventoryUtils.getItemHandlersFromProvider(tile(sides, sides)).size());
+        assertEquals(2, InventoryUtils.getItemHandlersFromProvider(tile(sides, internal)).size());
+        assertTrue(InventoryUtils.isProviderSided(tile(sides, internal)));
+        assertFalse(InventoryUtils.hasProviderIItemHandler(mock(TileEntity.class)));
+    }
+
+    @Test
+    public void tileEntityHandlersAreResolvedOnce()
+    {
+        final TileEntity tile = tile(handler(ItemStack.EMPTY), handler(ItemStack.EMPTY));
+
+        InventoryUtils.getItemCountInProvider(tile, stack -> true);
+        InventoryUtils.hasItemInProvider(tile, stack -> true);
+        InventoryUtils.findFirstSlotInProviderWith(tile, stack -> true);
+
+        // All sides once, the internal handler twice to check it is kept and once per later lookup to validate the entry.
+        verify(tile, times(SIDES + 4)).getCapability(any(Capability.class), any(EnumFacing.class));
+    }
+
+    @Test
+    public void invalidatedTileEntityIsResolvedAgain()
+    {
+        final TileEntity tile = tile(handler(ItemStack.EMPTY), handler(ItemStack.EMPTY));
+
+        InventoryUtils.getItemCountInProvider(tile, stack -> true);
+        ItemHandlerCache.invalidate(tile);
+        InventoryUtils.getItemCountInProvider(tile, stack -> true);
+
+        verify(tile, times((SIDES + 2) * 2)).getCapability(any(Capability.class), any(EnumFacing.class));
+    }
+
+    @Test
+    public void blockChangeInvalidatesNeighbours()
+    {
+        final BlockPos pos = new BlockPos(1, 64, 1);
+        final TileEntity tile = tile(handler(ItemStack.EMPTY), handler(ItemStack.EMPTY));
+        final Chunk chunk = mock(Chunk.class);
+        when(chunk.getTileEntity(eq(pos.east()), eq(Chunk.EnumCreateEntityType.CHECK))).thenReturn(tile);
+        final IChunkProvider chunkProvider = mock(IChunkProvider.class);
+        when(chunkProvider.getLoadedChunk(anyInt(), anyInt())).thenReturn(chunk);
+        final World world = mock(World.class);
+        when(world.getChunkProvider()).thenReturn(chunkProvider);
+
+        InventoryUtils.getItemCountInProvider(tile, stack -> true);
+        ItemHandlerCache.invalidate(world, pos);
+        InventoryUtils.getItemCountInProvider(tile, stack -> true);
+
+        verify(tile, times((SIDES + 2) * 2)).getCapability(any(Capability.class), any(EnumFacing.class));
+        verify(chunk, never()).getTileEntity(any(BlockPos.class), eq(Chunk.EnumCreateEntityType.IMMEDIATE));
+    }
+
+    @Test
+    public void transitionalTileEntityIsNotCached()
+    {
+        final IItemHandler sides = handler(ItemStack.EMPTY);
+        final TileEntity tile = mock(TileEntity.class);
+        when(tile.hasCapability(any(Capability.class), any(EnumFacing.class))).thenReturn(true);
+        when(tile.getCapability(any(Capability.class), any(EnumFacing.class))).thenAnswer(invocation -> invocation.getArguments()[1] == null ? null : sides);
+
+        assertEquals(1, InventoryUtils.getItemHandlersFromProvider(tile).size());
+        assertEquals(1, InventoryUtils.getItemHandlersFromProvider(tile).size());
+
+        // Once strict and once lenient per call.
+        verify(tile, times(SIDES * 4)).getCapability(any(Capability.class), any(EnumFacing.class));
+    }
+
+    @Test
+    public void handlersBuiltPerCallAreNotCached()
+    {
+        final IItemHandler sides = handler(ItemStack.EMPTY);
+        final TileEntity tile = mock(TileEntity.class);
+        when(tile.hasCapability(any(Capability.class), any(EnumFacing.class))).thenReturn(true);
+        when(tile.getCapability(any(Capability.class), any(EnumFacing.class)))
+          .thenAnswer(invocation -> invocation.getArguments()[1] == null ? handler(ItemStack.EMPTY) : sides);
+
+        assertEquals(2, InventoryUtils.getItemHandlersFromProvider(tile).size());
+        assertEquals(2, InventoryUtils.getItemHandlersFromProvider(tile).size());
+
+        // Resolved on every call, like a double rack wrapping whichever other half is loaded.
+        verify(tile, times((SIDES + 2) * 2)).getCapability(any(Capability.class), any(EnumFacing.class));
+    }
+
+    @Test
+    public void replacedInternalHandlerIsResolvedAgain()
+    {
+        final IItemHandler sides = handler(ItemStack.EMPTY);
+        final IItemHandler[] internal = {handler(ItemStack.EMPTY)};
+        final TileEntity tile = mock(TileEntity.class);
+        when(tile.hasCapability(any(Capability.class), any(EnumFacing.class))).thenReturn(true);
+        when(tile.getCapability(any(Capability.class), any(EnumFacing.class)))
+          .thenAnswer(invocation -> invocation.getArguments()[1] == null ? internal[0] : sides);
+
+        final IItemHandler first = internal[0];
+        assertTrue(InventoryUtils.getItemHandlersFromProvider(tile).contains(first));
+
+        // Like a double chest whose other half was unloaded and loaded again with its chunk.
+        internal[0] = handler(ItemStack.EMPTY);
+        assertTrue(InventoryUtils.getItemHandlersFromProvider(tile).contains(internal[0]));
+        assertFalse(InventoryUtils.getItemHandlersFromProvider(tile).contains(first));
+    }
+
+    @Test
+    public void otherProvidersAreNotCached()
+    {
+        final IItemHandler sides = handler(ItemStack.EMPTY);
+        final ICapabilityProvider provider = mock(ICapabilityProvider.class);
+        when(provider.hasCapability(any(Capability.class), any(EnumFacing.class))).thenReturn(true);
+        when(provider.getCapability(any(Capability.class), any(EnumFacing.class))).thenReturn(sides);
+
+        InventoryUtils.getItemCountInProvider(provider, stack -> true);
+        InventoryUtils.getItemCountInProvider(provider, stack -> true);
+
+        verify(provider, times(SIDES * 2)).getCapability(any(Capability.class), any(EnumFacing.class));
+    }
+
+    /**
+     * Create a tile entity exposing one handler on all sides and another internally.
+     *
+     * @param sides    the handler of the sides.
+     * @param internal the internal handler or null if there is none.
+     * @return the mocked tile entity.
+     */
+    private static TileEntity tile(final IItemHandler sides, final IItemHandler internal)
+    {
+        final TileEntity tile = mock(TileEntity.class);
+        when(tile.hasCapability(any(Capability.class), any(EnumFacing.class)))
+          .thenAnswer(invocation -> invocation.getArguments()[1] != null || internal != null);
+        when(tile.getCapability(any(Capability.class), any(EnumFacing.class)))
+          .thenAnswer(invocation -> invocation.getArguments()[1] == null ? internal : sides);
+        return tile;
+    }
+
+    private static IItemHandler handler(final ItemStack... stacks)
+    {
+        final IItemHandler handler = mock(IItemHandler.class);
+        when(handler.getSlots()).thenReturn(stacks.length);
+        when(handler.getStackInSlot(anyInt())).thenAnswer(invocation -> stacks[(Integer) invocation.getArguments()[0]]);
+        return handler;
+    }
+
+    /**
+     * Create a non empty stack without an item, real items need the minecraft bootstrap.
+     */
+    private static ItemStack stack(final int count) throws ReflectiveOperationException
+    {
+        final ItemStack stack = new ItemStack((Item) null, count);
+        final Field isEmpty = ItemStack.class.getDeclaredField("isEmpty");
+        isEmpty.setAccessible(true);
+        isEmpty.setBoolean(stack, false);
+        return stack;
+    }
+}
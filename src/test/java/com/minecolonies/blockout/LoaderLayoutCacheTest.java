@@ -0,0 +1,104 @@
+package com.minecolonies.blockout;
+
+import net.minecraft.util.ResourceLocation;
+import org.junit.After;
+import org.junit.Test;
+import org.w3c.dom.Document;
+import org.w3c.dom.NamedNodeMap;
+import org.w3c.dom.Node;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import static org.junit.Assert.*;
+
+public class LoaderLayoutCacheTest
+{
+    private static final String           LAYOUT_PATH = "/assets/minecolonies/gui/windowtownhall.xml";
+    private static final ResourceLocation LAYOUT      = new ResourceLocation("minecolonies", "gui/windowtownhall.xml");
+
+    private static final Supplier<InputStream> SOURCE = () -> LoaderLayoutCacheTest.class.getResourceAsStream(LAYOUT_PATH);
+
+    @After
+    public void clearCache()
+    {
+        Loader.clearLayoutCache();
+    }
+
+    @Test
+    public void testLayoutIsCached()
+    {
+        final LayoutNode first = Loader.getLayout(LAYOUT, SOURCE);
+        assertNotNull("Layout could not be parsed", first);
+
+        final LayoutNode second = Loader.getLayout(LAYOUT, () -> {
+            fail("Cached layout was parsed again");
+            return null;
+        });
+        assertSame(first, second);
+
+        Loader.clearLayoutCache();
+        assertNotSame(first, Loader.getLayout(LAYOUT, SOURCE));
+    }
+
+    @Test
+    public void testCachedLayoutMatchesFreshParse() throws Exception
+    {
+        Loader.getLayout(LAYOUT, SOURCE);
+        final LayoutNode cached = Loader.getLayout(LAYOUT, SOURCE);
+        assertNotNull(cached);
+
+        final Document doc;
+        try (InputStream stream = SOURCE.get())
+        {
+            doc = DocumentBuilderFactory.newInstance().newDocumentBuilder().parse(stream);
+        }
+        doc.getDocumentElement().normalize();
+
+        assertSameTree(doc.getDocumentElement(), new PaneParams(cached), cached);
+    }
+
+    private static void assertSameTree(final Node expected, final PaneParams params, final LayoutNode layout)
+    {
+        assertEquals(expected.getNodeName(), params.getType());
+        assertEquals(expected.getTextContent().trim(), params.getText());
+
+        final Map<String, String> attributes = new HashMap<>();
+        final NamedNodeMap nodeAttributes = expected.getAttributes();
+        for (int i = 0; i < nodeAttributes.getLength(); i++)
+        {
+            final Node attribute = nodeAttributes.item(i);
+            attributes.put(attribute.getNodeName(), attribute.getNodeValue());
+            assertEquals(attribute.getNodeValue(), params.getStringAttribute(attribute.getNodeName(), null));
+        }
+        assertEquals("Attributes of " + expected.getNodeName(), attributes, layout.getAttributes());
+
+        final List<Node> expectedChildren = new ArrayList<>();
+        for (Node child = expected.getFirstChild(); child != null; child = child.getNextSibling())
+        {
+            if (child.getNodeType() == Node.ELEMENT_NODE)
+            {
+                expectedChildren.add(child);
+            }
+        }
+
+        final List<PaneParams> children = params.getChildren();
+        if (expectedChildren.isEmpty())
+        {
+            assertNull(children);
+            return;
+        }
+
+        assertNotNull(children);
+        assertEquals("Children of " + expected.getNodeName(), expectedChildren.size(), children.size());
+        for (int i = 0; i < children.size(); i++)
+        {
+            assertSameTree(expectedChildren.get(i), children.get(i), layout.getChildren().get(i));
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.minecolonies.coremod.colony;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks the ordering and paging of {@link ColonyAbandonmentIndex}.
+ */
+public class ColonyAbandonmentIndexTest
+{
+    @Test
+    public void findsColoniesAbandonedLongestFirst()
+    {
+        final ColonyAbandonmentIndex index = new ColonyAbandonmentIndex();
+        index.update(1, 5);
+        index.update(2, 50);
+        index.update(3, 0);
+        index.update(4, 50);
+        index.update(5, 20);
+
+        assertEquals(4, index.countAbandonedSince(5));
+        assertEquals(Arrays.asList(2, 4, 5, 1), index.getAbandonedSince(5, 0, Integer.MAX_VALUE));
+        assertEquals(Arrays.asList(4, 5), index.getAbandonedSince(5, 1, 2));
+        assertEquals(Collections.singletonList(1), index.getAbandonedSince(5, 3, 9));
+        assertTrue(index.getAbandonedSince(5, 4, 9).isEmpty());
+        assertEquals(0, index.countAbandonedSince(51));
+    }
+
+    @Test
+    public void updatesMoveAndRemoveColonies()
+    {
+        final ColonyAbandonmentIndex index = new ColonyAbandonmentIndex();
+        index.update(1, 10);
+        index.update(2, 10);
+
+        index.update(1, 0);
+        assertEquals(Collections.singletonList(2), index.getAbandonedSince(1, 0, 9));
+
+        index.update(1, 11);
+        assertEquals(Arrays.asList(1, 2), index.getAbandonedSince(10, 0, 9));
+
+        index.remove(2);
+        index.remove(3);
+        assertEquals(1, index.countAbandonedSince(0));
+
+        index.clear();
+        assertEquals(0, index.countAbandonedSince(0));
+    }
+}
@@ -0,0 +1,224 @@
+package com.minecolonies.coremod.colony;
+
+import com.minecolonies.api.colony.IColonyTagCapability;
+import com.minecolonies.api.configuration.Configurations;
+import com.minecolonies.coremod.MineColonies;
+import com.minecolonies.coremod.entity.EntityCitizen;
+import net.minecraft.command.ICommandSender;
+import net.minecraft.util.DamageSource;
+import net.minecraft.util.EnumFacing;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.text.ITextComponent;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraftforge.common.DimensionManager;
+import net.minecraftforge.common.capabilities.Capability;
+import net.minecraftforge.fml.common.network.simpleimpl.SimpleNetworkWrapper;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.minecolonies.coremod.colony.ColonyManager.CHUNK_INFO_PATH;
+import static com.minecolonies.coremod.colony.ColonyManager.FILENAME_COLONY;
+import static com.minecolonies.coremod.colony.ColonyManager.FILENAME_MINECOLONIES_PATH;
+import static org.junit.Assert.*;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Deletes simulated colonies through the {@link ColonyDeletionQueue} and checks the order of the steps and the time budget per tick.
+ */
+public class ColonyDeletionQueueTest
+{
+    private static final int CITIZENS = 3;
+    private static final int RANGE    = 1;
+    private static final int BUFFER   = 0;
+
+    /**
+     * The chunk columns released per colony and the chunks per column, from the range above.
+     */
+    private static final int COLUMNS = (RANGE * 2 + BUFFER) * 2 + 1;
+
+    /**
+     * A budget large enough for any deletion.
+     */
+    private static final int UNLIMITED_BUDGET = 60_000;
+
+    private ColonySimulation     simulation;
+    private IColonyTagCapability centralChunkCap;
+    private ICommandSender       sender;
+    private Field                networkField;
+    private Object               originalNetwork;
+
+    /**
+     * The entities of the citizens by colony, in the order the queue kills them.
+     * Kept here as the citizens only hold them weakly.
+     */
+    private final Map<Integer, List<EntityCitizen>> entitiesByColony = new HashMap<>();
+
+    private int originalRange;
+    private int originalBuffer;
+    private int originalBudget;
+
+    @Before
+    public void setUp() throws Exception
+    {
+        originalRange = Configurations.gameplay.workingRangeTownHallChunks;
+        originalBuffer = Configurations.gameplay.townHallPaddingChunk;
+        originalBudget = Configurations.gameplay.maxDeletionTimePerTick;
+        Configurations.gameplay.workingRangeTownHallChunks = RANGE;
+        Configurations.gameplay.townHallPaddingChunk = BUFFER;
+
+        networkField = MineColonies.class.getDeclaredField("network");
+        networkField.setAccessible(true);
+        originalNetwork = networkField.get(null);
+        networkField.set(null, mock(SimpleNetworkWrapper.class));
+
+        simulation = new ColonySimulation(2, CITIZENS, 49);
+        simulation.setUp();
+
+        final Chunk centralChunk = mock(Chunk.class);
+        centralChunkCap = mock(IColonyTagCapability.class);
+        when(centralChunk.getCapability(any(Capability.class), any(EnumFacing.class))).thenReturn(centralChunkCap);
+        for (final Colony colony : simulation.getSimulatedColonies())
+        {
+            when(colony.getWorld().getChunkFromBlockCoords(any(BlockPos.class))).thenReturn(centralChunk);
+            final List<EntityCitizen> entities = new ArrayList<>();
+            for (final CitizenData citizen : colony.getCitizenManager().getCitizens())
+            {
+                final EntityCitizen entity = mock(EntityCitizen.class);
+                when(entity.getEntityWorld()).thenReturn(colony.getWorld());
+                citizen.setCitizenEntity(entity);
+                entities.add(entity);
+            }
+            entitiesByColony.put(colony.getID(), entities);
+            assertTrue(getSaveFile(colony).getParentFile().mkdirs() || getSaveFile(colony).getParentFile().isDirectory());
+            assertTrue(getSaveFile(colony).createNewFile());
+        }
+        sender = mock(ICommandSender.class);
+    }
+
+    @After
+    public void tearDown() throws ReflectiveOperationException
+    {
+        try
+        {
+            ColonyDeletionQueue.finishAll();
+            simulation.tearDown();
+        }
+        finally
+        {
+            networkField.set(null, originalNetwork);
+            Configurations.gameplay.workingRangeTownHallChunks = originalRange;
+            Configurations.gameplay.townHallPaddingChunk = originalBuffer;
+            Configurations.gameplay.maxDeletionTimePerTick = originalBudget;
+        }
+    }
+
+    @Test
+    public void stepsRunInOrderOnePerTickWithoutBudget()
+    {
+        Configurations.gameplay.maxDeletionTimePerTick = 0;
+        final Colony colony = simulation.getSimulatedColonies().get(0);
+        final List<EntityCitizen> entities = entitiesByColony.get(colony.getID());
+
+        ColonyDeletionQueue.enqueue(colony, false, sender);
+        assertNull(ColonyManager.getColony(colony.getID()));
+
+        ColonyDeletionQueue.onServerTick();
+        verify(centralChunkCap).removeColony(colony.getID());
+        assertEquals(0, countChunkFiles());
+
+        for (int column = 1; column <= COLUMNS; column++)
+        {
+            ColonyDeletionQueue.onServerTick();
+            assertEquals(column * COLUMNS, countChunkFiles());
+        }
+        for (final EntityCitizen entity : entities)
+        {
+            verify(entity, never()).onDeath(any(DamageSource.class));
+        }
+
+        for (int killed = 0; killed < entities.size(); killed++)
+        {
+            ColonyDeletionQueue.onServerTick();
+            for (int citizen = 0; citizen < entities.size(); citizen++)
+            {
+                verify(entities.get(citizen), times(citizen <= killed ? 1 : 0)).onDeath(any(DamageSource.class));
+            }
+            assertTrue(getSaveFile(colony).exists());
+        }
+        verify(sender, never()).sendMessage(any(ITextComponent.class));
+
+        ColonyDeletionQueue.onServerTick();
+        assertFalse(getSaveFile(colony).exists());
+        verify(sender).sendMessage(any(ITextComponent.class));
+    }
+
+    @Test
+    public void budgetBoundsTheStepsOfATick()
+    {
+        final Colony first = simulation.getSimulatedColonies().get(0);
+        final Colony second = simulation.getSimulatedColonies().get(1);
+        ColonyDeletionQueue.enqueue(first, false, sender);
+        ColonyDeletionQueue.enqueue(second, false, sender);
+
+        // Without budget a tick still does one step, the colonies are deleted one after the other.
+        Configurations.gameplay.maxDeletionTimePerTick = 0;
+        ColonyDeletionQueue.onServerTick();
+        verify(centralChunkCap).removeColony(first.getID());
+        verify(centralChunkCap, never()).removeColony(second.getID());
+
+        Configurations.gameplay.maxDeletionTimePerTick = UNLIMITED_BUDGET;
+        ColonyDeletionQueue.onServerTick();
+        assertFalse(getSaveFile(first).exists());
+        assertFalse(getSaveFile(second).exists());
+        assertEquals(2 * COLUMNS * COLUMNS, countChunkFiles());
+        verify(sender, times(2)).sendMessage(any(ITextComponent.class));
+    }
+
+    @Test
+    public void stoppingFinishesQueuedDeletions()
+    {
+        Configurations.gameplay.maxDeletionTimePerTick = 0;
+        final Colony first = simulation.getSimulatedColonies().get(0);
+        final Colony second = simulation.getSimulatedColonies().get(1);
+        ColonyDeletionQueue.enqueue(first, false, sender);
+        ColonyDeletionQueue.enqueue(second, false, sender);
+        ColonyDeletionQueue.onServerTick();
+
+        ColonyDeletionQueue.finishAll();
+        assertFalse(getSaveFile(first).exists());
+        assertFalse(getSaveFile(second).exists());
+        assertEquals(2 * COLUMNS * COLUMNS, countChunkFiles());
+        for (final List<EntityCitizen> entities : entitiesByColony.values())
+        {
+            for (final EntityCitizen entity : entities)
+            {
+                verify(entity).onDeath(any(DamageSource.class));
+            }
+        }
+        verify(sender, times(2)).sendMessage(any(ITextComponent.class));
+    }
+
+    private static File getSaveFile(final Colony colony)
+    {
+        final File saveDir = new File(DimensionManager.getWorld(0).getSaveHandler().getWorldDirectory(), FILENAME_MINECOLONIES_PATH);
+        return new File(saveDir, String.format(FILENAME_COLONY, colony.getID()));
+    }
+
+    /**
+     * Count the stored claims of unloaded chunks, one file per released chunk.
+     */
+    private static int countChunkFiles()
+    {
+        final File[] files = new File(DimensionManager.getWorld(0).getSaveHandler().getWorldDirectory(), CHUNK_INFO_PATH).listFiles();
+        return files == null ? 0 : files.length;
+    }
+}
@@ -0,0 +1,217 @@
+package com.minecolonies.coremod.colony;
+
+import com.minecolonies.api.configuration.Configurations;
+import com.minecolonies.api.util.Log;
+import com.minecolonies.coremod.entity.EntityCitizen;
+import com.minecolonies.coremod.entity.citizenhandlers.CitizenColonyHandler;
+import com.minecolonies.coremod.entity.citizenhandlers.CitizenRestHandler;
+import com.minecolonies.coremod.entity.citizenhandlers.CitizenSleepHandler;
+import com.minecolonies.coremod.util.ColonyProfiler;
+import net.minecraft.world.World;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Checks the phases of {@link ColonyRestSchedule} and measures the citizen updates of a stubbed colony over a night,
+ * through the {@link CitizenRestHandler} of every citizen.
+ */
+public class ColonyRestScheduleTest
+{
+    private static final int COLONY_ID     = 1;
+    private static final int INTERVAL      = 20;
+    private static final int CITIZENS      = 10;
+    private static final int DUSK          = 100;
+    private static final int NIGHT_TICKS   = 2400;
+    private static final int MAX_WALK_HOME = 600;
+    private static final int HURT_AT       = DUSK + NIGHT_TICKS / 2;
+
+    /**
+     * Ticks a hurt citizen stays awake, like the rest handler does.
+     */
+    private static final int HURT_AWAKE_TICKS = 200;
+
+    /**
+     * Rounds of busy work standing in for the AI and entity scans of a full citizen update.
+     */
+    private static final int FULL_UPDATE_WORK = 50_000;
+
+    /**
+     * The profiler keys of the citizen updates, as the citizen entity records them.
+     */
+    private static final String PROFILE_AWAKE   = "awake";
+    private static final String PROFILE_RESTING = "resting";
+
+    /**
+     * The current tick of the night being run.
+     */
+    private int tick;
+
+    /**
+     * Result of the busy work, kept so it is not optimized away.
+     */
+    private long workResult;
+
+    private int originalInterval;
+
+    @Before
+    public void setUp()
+    {
+        originalInterval = Configurations.gameplay.restingCitizenUpdateInterval;
+    }
+
+    @After
+    public void tearDown()
+    {
+        Configurations.gameplay.restingCitizenUpdateInterval = originalInterval;
+        ColonyProfiler.setEnabled(false);
+        ColonyProfiler.reset();
+    }
+
+    @Test
+    public void citizensRestOnlyAtNightUntilTheColonyWakesUp()
+    {
+        final ColonyRestSchedule schedule = new ColonyRestSchedule();
+        assertEquals(ColonyRestSchedule.AWAKE, schedule.rest());
+
+        schedule.update(false, false);
+        final int token = schedule.rest();
+        assertTrue(schedule.isResting(token));
+        assertFalse(schedule.isResting(ColonyRestSchedule.AWAKE));
+        assertTrue(schedule.isFullUpdateTick(token, INTERVAL * 3, INTERVAL));
+        assertFalse(schedule.isFullUpdateTick(token, INTERVAL * 3 + 1, INTERVAL));
+        assertFalse(schedule.isFullUpdateTick(token, -1, INTERVAL));
+        assertTrue(schedule.isFullUpdateTick(ColonyRestSchedule.AWAKE, 1, INTERVAL));
+
+        schedule.update(false, true);
+        assertEquals(ColonyRestSchedule.Phase.RAID, schedule.getPhase());
+        assertFalse(schedule.isResting(token));
+        assertEquals(ColonyRestSchedule.AWAKE, schedule.rest());
+
+        // Once the raid is over the citizens have to fall asleep again to rest.
+        schedule.update(false, false);
+        assertFalse(schedule.isResting(token));
+        final int afterRaid = schedule.rest();
+        assertTrue(schedule.isResting(afterRaid));
+
+        schedule.update(true, false);
+        assertFalse(schedule.isResting(afterRaid));
+        schedule.update(false, false);
+        assertFalse(schedule.isResting(afterRaid));
+    }
+
+    @Test
+    public void restingCutsTheCostOfTheNight()
+    {
+        final long awake = measureNight(1);
+        final long resting = measureNight(INTERVAL);
+        Log.getLogger().info(String.format("Night citizen updates: %.1f ms awake, %.1f ms resting", awake / 1_000_000D, resting / 1_000_000D));
+
+        // Walking home and the hurt citizen still update every tick, the rest of the night only every interval.
+        assertTrue(resting + " of " + awake + " ns at night", resting < awake / 2);
+    }
+
+    /**
+     * Runs a night of a colony whose citizens walk home at dusk, fall asleep there and one of them gets hurt at midnight.
+     * Every citizen tick goes through its rest handler and is profiled like the citizen entity does.
+     *
+     * @param interval the ticks between the updates of resting citizens.
+     * @return the nano seconds the profiler attributed to the awake and resting citizen updates.
+     */
+    private long measureNight(final int interval)
+    {
+        Configurations.gameplay.restingCitizenUpdateInterval = interval;
+        final Random random = new Random(50);
+        final ColonyRestSchedule schedule = new ColonyRestSchedule();
+        final Colony colony = mock(Colony.class);
+        when(colony.getID()).thenReturn(COLONY_ID);
+        when(colony.getRestSchedule()).thenReturn(schedule);
+        final World world = mock(World.class);
+
+        final CitizenRestHandler[] handlers = new CitizenRestHandler[CITIZENS];
+        for (int citizen = 0; citizen < CITIZENS; citizen++)
+        {
+            final int asleepAt = DUSK + random.nextInt(MAX_WALK_HOME);
+            final int offset = citizen;
+            final CitizenSleepHandler sleepHandler = mock(CitizenSleepHandler.class);
+            when(sleepHandler.isAsleep()).thenAnswer(invocation -> tick >= asleepAt);
+            final CitizenColonyHandler colonyHandler = mock(CitizenColonyHandler.class);
+            when(colonyHandler.getColony()).thenReturn(colony);
+
+            final EntityCitizen entity = mock(EntityCitizen.class);
+            entity.world = world;
+            when(entity.getCitizenSleepHandler()).thenReturn(sleepHandler);
+            when(entity.getCitizenColonyHandler()).thenReturn(colonyHandler);
+            when(entity.getOffsetTicks()).thenAnswer(invocation -> tick + offset);
+            handlers[citizen] = new CitizenRestHandler(entity);
+        }
+
+        ColonyProfiler.setEnabled(false);
+        for (tick = 0; tick < DUSK + NIGHT_TICKS; tick++)
+        {
+            if (tick == DUSK)
+            {
+                ColonyProfiler.setEnabled(true);
+            }
+            schedule.update(tick < DUSK, false);
+
+            if (tick == HURT_AT)
+            {
+                handlers[0].wakeUp();
+            }
+            for (final CitizenRestHandler handler : handlers)
+            {
+                final long profile = ColonyProfiler.start();
+                handler.onUpdate();
+                final boolean resting = handler.isResting();
+                if (handler.isFullUpdateTick())
+                {
+                    workResult += simulateFullUpdate();
+                }
+                ColonyProfiler.end(profile, COLONY_ID, ColonyProfiler.Category.CITIZEN, resting ? PROFILE_RESTING : PROFILE_AWAKE);
+            }
+
+            if (tick >= HURT_AT && tick <= HURT_AT + HURT_AWAKE_TICKS)
+            {
+                // The hurt citizen stays awake for the window, then rests again.
+                assertEquals("Resting " + (tick - HURT_AT) + " ticks after getting hurt", tick == HURT_AT + HURT_AWAKE_TICKS, handlers[0].isResting());
+            }
+        }
+        ColonyProfiler.setEnabled(false);
+
+        long nanos = 0;
+        long calls = 0;
+        for (final ColonyProfiler.Summary summary : ColonyProfiler.getTopEntries(COLONY_ID, Integer.MAX_VALUE))
+        {
+            if (summary.getCategory() == ColonyProfiler.Category.CITIZEN
+                  && (PROFILE_AWAKE.equals(summary.getKey()) || PROFILE_RESTING.equals(summary.getKey())))
+            {
+                nanos += Math.round(summary.getTotalMillis() * 1_000_000D);
+                calls += summary.getCalls();
+            }
+        }
+        assertEquals((long) CITIZENS * NIGHT_TICKS, calls);
+        return nanos;
+    }
+
+    /**
+     * Busy work standing in for a full citizen update.
+     *
+     * @return the result of the work.
+     */
+    private static long simulateFullUpdate()
+    {
+        long value = FULL_UPDATE_WORK;
+        for (int i = 0; i < FULL_UPDATE_WORK; i++)
+        {
+            value = value * 6364136223846793005L + 1442695040888963407L;
+        }
+        return value;
+    }
+}
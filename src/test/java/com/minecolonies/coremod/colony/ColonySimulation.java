@@ -0,0 +1,464 @@
+package com.minecolonies.coremod.colony;
+
+import com.minecolonies.api.colony.requestsystem.StandardFactoryController;
+import com.minecolonies.api.util.BlockPosUtil;
+import com.minecolonies.coremod.colony.buildings.AbstractBuilding;
+import com.minecolonies.coremod.colony.requestsystem.init.StandardFactoryControllerInitializer;
+import com.minecolonies.coremod.test.ReflectionUtil;
+import com.minecolonies.coremod.util.ColonyProfiler;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.nbt.NBTTagList;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.EnumDifficulty;
+import net.minecraft.world.WorldProvider;
+import net.minecraft.world.WorldServer;
+import net.minecraft.world.storage.ISaveHandler;
+import net.minecraftforge.common.DimensionManager;
+import net.minecraftforge.common.MinecraftForge;
+import net.minecraftforge.fml.common.eventhandler.EventBus;
+import net.minecraftforge.fml.common.gameevent.TickEvent;
+import net.minecraftforge.fml.relauncher.Side;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static com.minecolonies.api.util.constant.NbtTagConstants.*;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Headless colony simulation: builds colonies with synthetic homes and citizens in a stubbed overworld
+ * and drives the {@link ColonyManager} world and server ticks, measuring throughput, allocation and the
+ * time spent per manager through the {@link ColonyProfiler}.
+ * <p>
+ * The world is a mockito stub, so everything depending on loaded chunks, citizen entities or
+ * connected players (citizen spawning, building world ticks, view sync) is not exercised.
+ */
+public final class ColonySimulation
+{
+    /**
+     * Distance between the colony centers.
+     */
+    private static final int COLONY_DISTANCE = 1000;
+
+    /**
+     * Y level of the colony centers.
+     */
+    private static final int GROUND = 64;
+
+    /**
+     * Level of the synthetic homes.
+     */
+    private static final int HOME_LEVEL = 5;
+
+    /**
+     * Distance between the synthetic homes.
+     */
+    private static final int HOME_SPACING = 12;
+
+    /**
+     * Homes per row around the colony center.
+     */
+    private static final int HOMES_PER_ROW = 8;
+
+    /**
+     * Ticks per minecraft day and per half day.
+     */
+    private static final int TICKS_PER_DAY      = 24000;
+    private static final int TICKS_PER_HALF_DAY = 12000;
+
+    /**
+     * Ticks run before measuring, to warm up the jit and the lazy caches.
+     */
+    private static final int WARMUP_TICKS = 200;
+
+    /**
+     * Conversion constants.
+     */
+    private static final double NANOS_PER_SECOND = 1_000_000_000D;
+
+    /**
+     * Profiler entries kept in the result.
+     */
+    private static final int PROFILE_ENTRIES = 15;
+
+    /**
+     * Amount of colonies and citizens per colony of the scenario.
+     */
+    private final int coloniesAmount;
+    private final int citizensPerColony;
+
+    /**
+     * The seed of the world random.
+     */
+    private final long seed;
+
+    /**
+     * The stubbed overworld and its time.
+     */
+    private WorldServer world;
+    private long        worldTime;
+
+    /**
+     * The directory the colonies are saved into.
+     */
+    private File saveDirectory;
+
+    /**
+     * The colonies of the scenario.
+     */
+    private final List<Colony> simulatedColonies = new ArrayList<>();
+
+    /**
+     * The forge event bus replaced by a mock while the simulation runs.
+     */
+    private EventBus originalEventBus;
+
+    /**
+     * Creates a new simulation scenario.
+     *
+     * @param coloniesAmount    the amount of colonies.
+     * @param citizensPerColony the amount of citizens in each colony.
+     * @param seed              the seed of the world random.
+     */
+    public ColonySimulation(final int coloniesAmount, final int citizensPerColony, final long seed)
+    {
+        this.coloniesAmount = coloniesAmount;
+        this.citizensPerColony = citizensPerColony;
+        this.seed = seed;
+    }
+
+    /**
+     * Creates the stubbed world and the colonies and registers them with the {@link ColonyManager}.
+     *
+     * @throws ReflectiveOperationException if the minecraft or colony manager internals could not be set.
+     * @throws IOException                  if the save directory could not be created.
+     */
+    public void setUp() throws ReflectiveOperationException, IOException
+    {
+        saveDirectory = Files.createTempDirectory("minecolonies-simulation").toFile();
+
+        final WorldProvider provider = mock(WorldProvider.class);
+        when(provider.getDimension()).thenReturn(0);
+        final ISaveHandler saveHandler = mock(ISaveHandler.class);
+        when(saveHandler.getWorldDirectory()).thenReturn(saveDirectory);
+
+        world = mock(WorldServer.class);
+        ReflectionUtil.setFinalField(world, "provider", provider);
+        ReflectionUtil.setFinalField(world, "rand", new Random(seed));
+        when(world.getSaveHandler()).thenReturn(saveHandler);
+        when(world.getDifficulty()).thenReturn(EnumDifficulty.PEACEFUL);
+        when(world.getWorldTime()).thenAnswer(invocation -> worldTime);
+        when(world.getTotalWorldTime()).thenAnswer(invocation -> worldTime);
+        when(world.isDaytime()).thenAnswer(invocation -> worldTime % TICKS_PER_DAY < TICKS_PER_HALF_DAY);
+        when(world.isBlockLoaded(any(BlockPos.class))).thenReturn(false);
+        getWorlds().put(0, world);
+
+        originalEventBus = MinecraftForge.EVENT_BUS;
+        ReflectionUtil.setStaticFinalField(MinecraftForge.class, "EVENT_BUS", mock(EventBus.class));
+        StandardFactoryControllerInitializer.onPreInit();
+
+        final Method addColonyByWorld = ColonyManager.class.getDeclaredMethod("addColonyByWorld", Colony.class);
+        addColonyByWorld.setAccessible(true);
+        for (int i = 0; i < coloniesAmount; i++)
+        {
+            final Colony colony = getColonies().create(world, new BlockPos(i * COLONY_DISTANCE, GROUND, 0));
+            populate(colony);
+            simulatedColonies.add(colony);
+            try
+            {
+                addColonyByWorld.invoke(null, colony);
+            }
+            catch (final InvocationTargetException e)
+            {
+                throw new IllegalStateException("Could not register the simulated colony", e.getCause());
+            }
+        }
+    }
+
+    /**
+     * The colonies of the scenario, for tests driving them directly.
+     *
+     * @return the colonies in creation order.
+     */
+    @NotNull
+    public List<Colony> getSimulatedColonies()
+    {
+        return Collections.unmodifiableList(simulatedColonies);
+    }
+
+    /**
+     * Adds the synthetic citizens and enough homes for them to the colony.
+     *
+     * @param colony the colony to populate.
+     */
+    private void populate(@NotNull final Colony colony)
+    {
+        final NBTTagList citizenList = new NBTTagList();
+        for (int id = 1; id <= citizensPerColony; id++)
+        {
+            final NBTTagCompound citizen = new NBTTagCompound();
+            citizen.setInteger(TAG_ID, id);
+            citizen.setString(TAG_NAME, "Citizen " + id);
+            citizenList.appendTag(citizen);
+        }
+        final NBTTagCompound citizens = new NBTTagCompound();
+        citizens.setInteger(TAG_MAX_CITIZENS, citizensPerColony);
+        citizens.setTag(TAG_CITIZENS, citizenList);
+        colony.getCitizenManager().readFromNBT(citizens);
+
+        final int homes = (citizensPerColony + HOME_LEVEL - 1) / HOME_LEVEL;
+        final NBTTagList buildingList = new NBTTagList();
+        for (int i = 0; i < homes; i++)
+        {
+            final NBTTagCompound building = new NBTTagCompound();
+            building.setString(TAG_BUILDING_TYPE, "Home");
+            building.setInteger(TAG_BUILDING_LEVEL, HOME_LEVEL);
+            BlockPosUtil.writeToNBT(building, TAG_LOCATION,
+              colony.getCenter().add((i % HOMES_PER_ROW + 1) * HOME_SPACING, 0, (i / HOMES_PER_ROW + 1) * HOME_SPACING));
+            buildingList.appendTag(building);
+        }
+        final NBTTagCompound buildings = new NBTTagCompound();
+        buildings.setTag(TAG_BUILDINGS, buildingList);
+        colony.getBuildingManager().readFromNBT(buildings);
+
+        // Homes only capture citizens on their world tick, which needs loaded chunks, so house them here.
+        final List<CitizenData> homeless = new ArrayList<>(colony.getCitizenManager().getCitizens());
+        for (final AbstractBuilding home : colony.getBuildingManager().getBuildings().values())
+        {
+            while (!homeless.isEmpty() && home.assignCitizen(homeless.get(0)))
+            {
+                homeless.remove(0);
+            }
+        }
+    }
+
+    /**
+     * Runs the scenario for the given amount of ticks after a short warm up.
+     *
+     * @param ticks the ticks to measure.
+     * @return the measured result.
+     */
+    @NotNull
+    public Result run(final int ticks)
+    {
+        final TickEvent.WorldTickEvent worldTick = new TickEvent.WorldTickEvent(Side.SERVER, TickEvent.Phase.END, world);
+        final TickEvent.ServerTickEvent serverTick = new TickEvent.ServerTickEvent(TickEvent.Phase.END);
+
+        ColonyProfiler.setEnabled(false);
+        tick(worldTick, serverTick, WARMUP_TICKS);
+
+        final long allocatedBefore = getAllocatedBytes();
+        final long start = System.nanoTime();
+        tick(worldTick, serverTick, ticks);
+        final long elapsed = System.nanoTime() - start;
+        final long allocated = getAllocatedBytes() - allocatedBefore;
+
+        // Profile a separate pass, so the profiler overhead does not end up in the throughput.
+        ColonyProfiler.reset();
+        ColonyProfiler.setEnabled(true);
+        tick(worldTick, serverTick, ticks);
+        ColonyProfiler.setEnabled(false);
+
+        final List<ColonyProfiler.Summary> sections = ColonyProfiler.getTopEntries(null, PROFILE_ENTRIES);
+        return new Result(coloniesAmount, citizensPerColony, ticks, elapsed, allocatedBefore < 0 ? -1 : allocated, sections);
+    }
+
+    /**
+     * Advances the world by the given amount of ticks, the same way the event handler does.
+     */
+    private void tick(final TickEvent.WorldTickEvent worldTick, final TickEvent.ServerTickEvent serverTick, final int ticks)
+    {
+        for (int i = 0; i < ticks; i++)
+        {
+            worldTime++;
+            ColonyManager.onWorldTick(worldTick);
+            ColonyManager.onServerTick(serverTick);
+        }
+    }
+
+    /**
+     * Removes the colonies and the world from the static registries, restores the event bus and deletes the saves.
+     *
+     * @throws ReflectiveOperationException if the static registries could not be accessed.
+     */
+    public void tearDown() throws ReflectiveOperationException
+    {
+        ColonyProfiler.setEnabled(false);
+        ColonyProfiler.reset();
+        if (world != null)
+        {
+            getColonies().clear();
+            getColoniesByWorld().clear();
+            getSpatialIndexByWorld().clear();
+            getAbandonmentIndex().clear();
+            simulatedColonies.clear();
+            getWorlds().remove(0);
+        }
+        StandardFactoryController.reset();
+        if (originalEventBus != null)
+        {
+            ReflectionUtil.setStaticFinalField(MinecraftForge.class, "EVENT_BUS", originalEventBus);
+            originalEventBus = null;
+        }
+        if (saveDirectory != null)
+        {
+            deleteRecursively(saveDirectory);
+        }
+    }
+
+    /**
+     * Bytes allocated by the current thread so far, or -1 if the jvm can't tell.
+     */
+    private static long getAllocatedBytes()
+    {
+        final ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean)
+        {
+            return ((com.sun.management.ThreadMXBean) bean).getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return -1;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ColonyList<Colony> getColonies() throws ReflectiveOperationException
+    {
+        final Field field = ColonyManager.class.getDeclaredField("colonies");
+        field.setAccessible(true);
+        return (ColonyList<Colony>) field.get(null);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<Integer, List<Colony>> getColoniesByWorld() throws ReflectiveOperationException
+    {
+        final Field field = ColonyManager.class.getDeclaredField("coloniesByWorld");
+        field.setAccessible(true);
+        return (Map<Integer, List<Colony>>) field.get(null);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<Integer, ColonySpatialIndex> getSpatialIndexByWorld() throws ReflectiveOperationException
+    {
+        final Field field = ColonyManager.class.getDeclaredField("spatialIndexByWorld");
+        field.setAccessible(true);
+        return (Map<Integer, ColonySpatialIndex>) field.get(null);
+    }
+
+    private static ColonyAbandonmentIndex getAbandonmentIndex() throws ReflectiveOperationException
+    {
+        final Field field = ColonyManager.class.getDeclaredField("abandonmentIndex");
+        field.setAccessible(true);
+        return (ColonyAbandonmentIndex) field.get(null);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<Integer, WorldServer> getWorlds() throws ReflectiveOperationException
+    {
+        final Field field = DimensionManager.class.getDeclaredField("worlds");
+        field.setAccessible(true);
+        return (Map<Integer, WorldServer>) field.get(null);
+    }
+
+    private static void deleteRecursively(final File file)
+    {
+        final File[] children = file.listFiles();
+        if (children != null)
+        {
+            for (final File child : children)
+            {
+                deleteRecursively(child);
+            }
+        }
+        if (!file.delete())
+        {
+            file.deleteOnExit();
+        }
+    }
+
+    /**
+     * The measurements of one scenario run.
+     */
+    public static final class Result
+    {
+        private final int                          colonies;
+        private final int                          citizens;
+        private final int                          ticks;
+        private final long                         elapsedNanos;
+        private final long                         allocatedBytes;
+        private final List<ColonyProfiler.Summary> sections;
+
+        private Result(
+          final int colonies,
+          final int citizens,
+          final int ticks,
+          final long elapsedNanos,
+          final long allocatedBytes,
+          @NotNull final List<ColonyProfiler.Summary> sections)
+        {
+            this.colonies = colonies;
+            this.citizens = citizens;
+            this.ticks = ticks;
+            this.elapsedNanos = elapsedNanos;
+            this.allocatedBytes = allocatedBytes;
+            this.sections = Collections.unmodifiableList(sections);
+        }
+
+        /**
+         * The simulated ticks per wall clock second.
+         *
+         * @return the ticks per second.
+         */
+        public double getTicksPerSecond()
+        {
+            return ticks * NANOS_PER_SECOND / Math.max(1, elapsedNanos);
+        }
+
+        /**
+         * The bytes allocated per simulated tick.
+         *
+         * @return the bytes per tick, or -1 if the jvm does not support allocation counting.
+         */
+        public long getAllocatedBytesPerTick()
+        {
+            return allocatedBytes < 0 ? -1 : allocatedBytes / ticks;
+        }
+
+        /**
+         * The most expensive profiler sections of the profiled pass.
+         *
+         * @return the sections, most expensive first.
+         */
+        @NotNull
+        public List<ColonyProfiler.Summary> getSections()
+        {
+            return sections;
+        }
+
+        @Override
+        public String toString()
+        {
+            final StringBuilder builder = new StringBuilder(String.format("%d colonies x %d citizens: %.1f ticks/s, %d bytes/tick over %d ticks",
+              colonies, citizens, getTicksPerSecond(), getAllocatedBytesPerTick(), ticks));
+            for (final ColonyProfiler.Summary section : sections)
+            {
+                builder.append(String.format("%n  #%d %s %s: %d calls, %.3f ms total, %.4f ms avg, %.3f ms max",
+                  section.getColonyId(), section.getCategory(), section.getKey(), section.getCalls(),
+                  section.getTotalMillis(), section.getAverageMillis(), section.getMaxMillis()));
+            }
+            return builder.toString();
+        }
+    }
+}
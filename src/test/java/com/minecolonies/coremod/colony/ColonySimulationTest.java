@@ -0,0 +1,67 @@
+package com.minecolonies.coremod.colony;
+
+import com.minecolonies.api.util.Log;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Throughput scenarios of the {@link ColonySimulation}.
+ * Only run through the colonySimulation gradle task, or with -Dminecolonies.simulation=true.
+ * A regression bound can be set with -Dminecolonies.simulation.minTicksPerSecond.
+ */
+public class ColonySimulationTest
+{
+    private static final long SEED  = 42L;
+    private static final int  TICKS = Integer.getInteger("minecolonies.simulation.ticks", 2000);
+
+    private ColonySimulation simulation;
+
+    @Before
+    public void setUp()
+    {
+        assumeTrue(Boolean.getBoolean("minecolonies.simulation"));
+    }
+
+    @After
+    public void tearDown() throws ReflectiveOperationException
+    {
+        if (simulation != null)
+        {
+            simulation.tearDown();
+        }
+    }
+
+    @Test
+    public void oneColonyFiftyCitizens() throws Exception
+    {
+        runScenario(1, 50);
+    }
+
+    @Test
+    public void tenColoniesFiftyCitizens() throws Exception
+    {
+        runScenario(10, 50);
+    }
+
+    @Test
+    public void oneColonyThreeHundredCitizens() throws Exception
+    {
+        runScenario(1, 300);
+    }
+
+    private void runScenario(final int colonies, final int citizens) throws Exception
+    {
+        simulation = new ColonySimulation(colonies, citizens, SEED);
+        simulation.setUp();
+        final ColonySimulation.Result result = simulation.run(TICKS);
+        Log.getLogger().info(result.toString());
+
+        final double minTicksPerSecond = Double.parseDouble(System.getProperty("minecolonies.simulation.minTicksPerSecond", "0"));
+        assertTrue(String.format("%.1f ticks/s is below the bound of %.1f", result.getTicksPerSecond(), minTicksPerSecond),
+          result.getTicksPerSecond() > minTicksPerSecond);
+    }
+}
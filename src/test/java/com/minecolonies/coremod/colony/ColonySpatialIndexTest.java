@@ -0,0 +1,200 @@
+package com.minecolonies.coremod.colony;
+
+import net.minecraft.nbt.NBTTagCompound;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks that {@link ColonySpatialIndex} answers like the chunk claims and the scan over all colonies it replaces.
+ */
+public class ColonySpatialIndexTest
+{
+    private static final int RANGE  = 8;
+    private static final int BUFFER = 1;
+
+    @Test
+    public void emptyIndexKnowsNoColony()
+    {
+        final ColonySpatialIndex index = new ColonySpatialIndex();
+
+        assertTrue(index.isEmpty());
+        assertEquals(0, index.getOwningColony(0, 0));
+        assertTrue(index.getCloseColonies(0, 0).isEmpty());
+        assertEquals(0, index.getClosestColony(0, 0));
+    }
+
+    @Test
+    public void claimsOwnTheRangeAndAreCloseWithinTheBuffer()
+    {
+        final ColonySpatialIndex index = new ColonySpatialIndex();
+        index.claim(1, 10, -20, RANGE, BUFFER);
+
+        assertEquals(1, index.getOwningColony(10, -20));
+        assertEquals(1, index.getOwningColony(10 + RANGE, -20 - RANGE));
+        assertEquals(0, index.getOwningColony(10 + RANGE + 1, -20));
+        assertEquals(Collections.singleton(1), index.getCloseColonies(10 + RANGE * 2 + BUFFER, -20));
+        assertTrue(index.getCloseColonies(10 + RANGE * 2 + BUFFER + 1, -20).isEmpty());
+    }
+
+    @Test
+    public void laterClaimsTakeOwnershipAndUnclaimingReleasesTheOwnedChunks()
+    {
+        final ColonySpatialIndex index = new ColonySpatialIndex();
+        index.claim(1, 0, 0, RANGE, BUFFER);
+        index.claim(2, 5, 0, 2, 0);
+
+        assertEquals(2, index.getOwningColony(5, 0));
+        assertEquals(1, index.getOwningColony(0, 0));
+        assertEquals(new HashSet<>(Arrays.asList(1, 2)), index.getCloseColonies(5, 0));
+
+        // Like the chunk capability, the released chunks do not go back to the older claim.
+        index.unclaim(2, 5, 0, 2, 0);
+        assertEquals(0, index.getOwningColony(5, 0));
+        assertEquals(1, index.getOwningColony(2, 0));
+        assertEquals(Collections.singleton(1), index.getCloseColonies(5, 0));
+        assertTrue(index.hasClaim(5, 0));
+        assertFalse(index.hasClaims(2));
+
+        // Releases the chunks from 1 to 5 on both axes.
+        index.unclaim(1, 3, 3, 1, 0);
+        assertEquals(0, index.getOwningColony(3, 3));
+        assertEquals(0, index.getOwningColony(1, 5));
+        assertEquals(1, index.getOwningColony(0, 0));
+        assertEquals(1, index.getOwningColony(6, 3));
+        assertEquals(1, index.getOwningColony(3, 6));
+        assertEquals(1, index.getOwningColony(3, -3));
+        assertEquals(0, index.getOwningColony(3, 0));
+        assertTrue(index.getCloseColonies(4, 4).isEmpty());
+        assertEquals(Collections.singleton(1), index.getCloseColonies(6, 6));
+
+        index.removeColony(1);
+        assertTrue(index.isEmpty());
+        assertEquals(0, index.getOwningColony(0, 0));
+    }
+
+    @Test
+    public void releasedChunksCanBeClaimedAgain()
+    {
+        final ColonySpatialIndex index = new ColonySpatialIndex();
+        index.claim(1, 0, 0, RANGE, BUFFER);
+        index.claim(2, 5, 0, 2, 0);
+        index.removeColony(2);
+        assertEquals(0, index.getOwningColony(5, 0));
+        assertEquals(Collections.singleton(1), index.getCloseColonies(5, 0));
+
+        index.claim(3, 6, 0, 1, 0);
+        assertEquals(3, index.getOwningColony(6, 0));
+        assertEquals(0, index.getOwningColony(4, 0));
+
+        // Claiming the same area again takes the ownership back.
+        index.claim(1, 0, 0, RANGE, BUFFER);
+        assertEquals(1, index.getOwningColony(6, 0));
+        assertEquals(1, index.getOwningColony(4, 0));
+    }
+
+    @Test
+    public void singleChunksCanBeClaimedAndReleased()
+    {
+        final ColonySpatialIndex index = new ColonySpatialIndex();
+        index.claim(1, 0, 0, RANGE, BUFFER);
+        index.claimChunk(2, 1, 0, true);
+        index.claimChunk(3, 2, 0, false);
+        assertEquals(2, index.getOwningColony(1, 0));
+        assertEquals(1, index.getOwningColony(2, 0));
+        assertEquals(new HashSet<>(Arrays.asList(1, 3)), index.getCloseColonies(2, 0));
+        assertEquals(Collections.singleton(1), index.getCloseColonies(3, 0));
+
+        index.releaseChunk(0, 0);
+        assertEquals(0, index.getOwningColony(0, 0));
+        assertEquals(1, index.getOwningColony(0, 1));
+        assertEquals(Collections.singleton(1), index.getCloseColonies(0, 0));
+    }
+
+    @Test
+    public void claimsSurviveSaving()
+    {
+        final ColonySpatialIndex index = new ColonySpatialIndex();
+        index.claim(1, 0, 0, RANGE, BUFFER);
+        index.claim(2, 5, 0, 2, 0);
+        index.claim(3, -5, 0, 1, 0);
+        index.unclaim(3, -5, 0, 1, 0);
+        final NBTTagCompound compound = new NBTTagCompound();
+        index.writeClaimsToNBT(compound, "claims");
+
+        final ColonySpatialIndex loaded = new ColonySpatialIndex();
+        loaded.readClaimsFromNBT(compound, "claims");
+        assertTrue(loaded.hasClaims(1));
+        assertTrue(loaded.hasClaims(2));
+        assertFalse(loaded.hasClaims(3));
+        for (int x = -20; x <= 20; x++)
+        {
+            for (int z = -20; z <= 20; z++)
+            {
+                assertEquals(index.getOwningColony(x, z), loaded.getOwningColony(x, z));
+                assertEquals(index.getCloseColonies(x, z), loaded.getCloseColonies(x, z));
+            }
+        }
+
+        // Claims after loading still take the ownership.
+        loaded.claim(1, 0, 0, RANGE, BUFFER);
+        assertEquals(1, loaded.getOwningColony(5, 0));
+    }
+
+    @Test
+    public void closestColonyMatchesScan()
+    {
+        final Random random = new Random(48);
+        for (int round = 0; round < 20; round++)
+        {
+            final ColonySpatialIndex index = new ColonySpatialIndex();
+            final int amount = 1 + random.nextInt(60);
+            final int spread = 1 + random.nextInt(100_000);
+            final int[][] centers = new int[amount + 1][];
+            for (int id = 1; id <= amount; id++)
+            {
+                centers[id] = new int[] {random.nextInt(spread) - spread / 2, random.nextInt(spread) - spread / 2};
+                index.setCenter(id, centers[id][0], centers[id][1]);
+            }
+
+            // Moving and removing colonies has to keep the cells right.
+            centers[1] = new int[] {random.nextInt(spread) - spread / 2, random.nextInt(spread) - spread / 2};
+            index.setCenter(1, centers[1][0], centers[1][1]);
+            if (amount > 1)
+            {
+                index.removeColony(amount);
+                centers[amount] = null;
+            }
+
+            for (int query = 0; query < 100; query++)
+            {
+                final int x = random.nextInt(spread * 2) - spread;
+                final int z = random.nextInt(spread * 2) - spread;
+                long expected = Long.MAX_VALUE;
+                for (final int[] center : centers)
+                {
+                    if (center != null)
+                    {
+                        expected = Math.min(expected, distanceSquared(center, x, z));
+                    }
+                }
+
+                final int closest = index.getClosestColony(x, z);
+                assertNotNull(centers[closest]);
+                assertEquals(expected, distanceSquared(centers[closest], x, z));
+            }
+        }
+    }
+
+    private static long distanceSquared(final int[] center, final int x, final int z)
+    {
+        final long xDiff = (long) center[0] - x;
+        final long zDiff = (long) center[1] - z;
+        return xDiff * xDiff + zDiff * zDiff;
+    }
+}
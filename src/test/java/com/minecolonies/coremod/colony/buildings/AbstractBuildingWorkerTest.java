@@ -0,0 +1,90 @@
+package com.minecolonies.coremod.colony.buildings;
+
+import com.minecolonies.api.colony.requestsystem.token.IToken;
+import com.minecolonies.api.colony.requestsystem.token.StandardToken;
+import com.minecolonies.api.crafting.IRecipeStorage;
+import com.minecolonies.api.crafting.ItemFingerprint;
+import com.minecolonies.coremod.colony.ColonyManager;
+import com.minecolonies.coremod.colony.ColonySimulation;
+import com.minecolonies.coremod.colony.buildings.workerbuildings.BuildingStonemason;
+import net.minecraft.init.Bootstrap;
+import net.minecraft.init.Items;
+import net.minecraft.item.ItemStack;
+import net.minecraft.util.math.BlockPos;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Checks the recipe lookups by output of a worker building against the recipes of the colony manager.
+ */
+public class AbstractBuildingWorkerTest
+{
+    private ColonySimulation       simulation;
+    private AbstractBuildingWorker building;
+
+    @BeforeClass
+    public static void setupItems()
+    {
+        Bootstrap.register();
+    }
+
+    @Before
+    public void setUp() throws Exception
+    {
+        simulation = new ColonySimulation(1, 0, 40);
+        simulation.setUp();
+        building = new BuildingStonemason(simulation.getSimulatedColonies().get(0), new BlockPos(0, 64, 0));
+    }
+
+    @After
+    public void tearDown() throws ReflectiveOperationException
+    {
+        simulation.tearDown();
+    }
+
+    @Test
+    public void recipesAreFoundByOutputUntilRemoved()
+    {
+        final IRecipeStorage recipe = recipe(new ItemStack(Items.STICK));
+        ColonyManager.getRecipeManager().addRecipe(recipe);
+
+        building.addRecipe(recipe.getToken());
+        assertSame(recipe, building.getFirstRecipe(new ItemStack(Items.STICK, 4)));
+        assertNull(building.getFirstRecipe(new ItemStack(Items.APPLE)));
+
+        building.removeRecipe(recipe.getToken());
+        assertNull(building.getFirstRecipe(new ItemStack(Items.STICK)));
+    }
+
+    @Test
+    public void recipesRegisteredAfterTheLookupAreFound()
+    {
+        final IRecipeStorage recipe = recipe(new ItemStack(Items.BREAD));
+
+        // The building knows the token before the manager knows the recipe, like while loading.
+        building.addRecipe(recipe.getToken());
+        assertNull(building.getFirstRecipe(new ItemStack(Items.BREAD)));
+
+        ColonyManager.getRecipeManager().addRecipe(recipe);
+        assertSame(recipe, building.getFirstRecipe(new ItemStack(Items.BREAD)));
+
+        building.removeRecipe(recipe.getToken());
+        assertNull(building.getFirstRecipe(new ItemStack(Items.BREAD)));
+    }
+
+    private static IRecipeStorage recipe(final ItemStack output)
+    {
+        final IToken token = new StandardToken();
+        final IRecipeStorage recipe = mock(IRecipeStorage.class);
+        when(recipe.getToken()).thenReturn(token);
+        when(recipe.getPrimaryOutput()).thenReturn(output);
+        when(recipe.getOutputFingerprint()).thenReturn(ItemFingerprint.withoutNBT(output));
+        return recipe;
+    }
+}
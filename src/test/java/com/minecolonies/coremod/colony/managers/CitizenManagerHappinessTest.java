@@ -0,0 +1,237 @@
+package com.minecolonies.coremod.colony.managers;
+
+import com.minecolonies.api.util.BlockPosUtil;
+import com.minecolonies.coremod.colony.CitizenData;
+import com.minecolonies.coremod.colony.Colony;
+import com.minecolonies.coremod.colony.ColonySimulation;
+import com.minecolonies.coremod.colony.buildings.AbstractBuilding;
+import com.minecolonies.coremod.colony.buildings.AbstractBuildingGuards;
+import com.minecolonies.coremod.colony.buildings.AbstractBuildingWorker;
+import com.minecolonies.coremod.colony.buildings.workerbuildings.BuildingHome;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.nbt.NBTTagList;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static com.minecolonies.api.util.constant.NbtTagConstants.*;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Drives the real hooks keeping the happiness totals of the {@link CitizenManager} up to date with random events in a simulated colony:
+ * spawning and removing citizens, moving them between homes and workplaces, changing building levels and saturation.
+ * After every event the totals are compared with a recount over all citizens, like {@link CitizenManager#checkCitizensForHappiness()} did it.
+ */
+public class CitizenManagerHappinessTest
+{
+    private static final long   SEED              = 43L;
+    private static final int    CITIZENS          = 20;
+    private static final int    EVENTS            = 2000;
+    private static final int    WORKPLACE_SPACING = 12;
+    private static final int    MAX_LEVEL         = 5;
+    private static final double MAX_SATURATION    = 10;
+
+    /**
+     * The building types of the workplaces, guards and other workers are counted apart.
+     */
+    private static final String[] WORKPLACES = {"Fisherman", "Fisherman", "Fisherman", "GuardTower", "GuardTower"};
+
+    private ColonySimulation simulation;
+    private Colony           colony;
+    private CitizenManager   citizenManager;
+
+    private final List<BuildingHome>           homes      = new ArrayList<>();
+    private final List<AbstractBuildingWorker> workplaces = new ArrayList<>();
+
+    @Before
+    public void setUp() throws Exception
+    {
+        simulation = new ColonySimulation(1, CITIZENS, SEED);
+        simulation.setUp();
+        colony = simulation.getSimulatedColonies().get(0);
+        citizenManager = (CitizenManager) colony.getCitizenManager();
+        addWorkplaces();
+
+        for (final AbstractBuilding building : colony.getBuildingManager().getBuildings().values())
+        {
+            if (building instanceof BuildingHome)
+            {
+                homes.add((BuildingHome) building);
+            }
+            else if (building instanceof AbstractBuildingWorker)
+            {
+                workplaces.add((AbstractBuildingWorker) building);
+            }
+        }
+    }
+
+    @After
+    public void tearDown() throws ReflectiveOperationException
+    {
+        simulation.tearDown();
+    }
+
+    @Test
+    public void loadedColonyMatchesRecount()
+    {
+        assertMatchesRecount("after loading");
+    }
+
+    @Test
+    public void randomEventsMatchRecount()
+    {
+        final Random random = new Random(SEED);
+        int nextId = CITIZENS + 1;
+
+        for (int event = 0; event < EVENTS; event++)
+        {
+            final List<CitizenData> citizens = citizenManager.getCitizens();
+            final CitizenData target = citizens.isEmpty() ? null : citizens.get(random.nextInt(citizens.size()));
+            switch (random.nextInt(6))
+            {
+                case 0:
+                    final CitizenData citizen = new CitizenData(nextId++, colony);
+                    citizenManager.registerCitizen(citizen);
+                    citizen.increaseSaturation(random.nextDouble() * MAX_SATURATION);
+                    break;
+                case 1:
+                    if (target != null)
+                    {
+                        citizenManager.removeCitizen(target);
+                    }
+                    break;
+                case 2:
+                    if (target != null)
+                    {
+                        moveHome(random, target);
+                    }
+                    break;
+                case 3:
+                    if (target != null)
+                    {
+                        changeWork(random, target);
+                    }
+                    break;
+                case 4:
+                    final AbstractBuilding building = random.nextBoolean()
+                                                        ? homes.get(random.nextInt(homes.size()))
+                                                        : workplaces.get(random.nextInt(workplaces.size()));
+                    building.setBuildingLevel(random.nextInt(MAX_LEVEL + 1));
+                    break;
+                default:
+                    if (target != null)
+                    {
+                        final double change = random.nextDouble() * MAX_SATURATION / 2;
+                        if (random.nextBoolean())
+                        {
+                            target.increaseSaturation(change);
+                        }
+                        else
+                        {
+                            target.decreaseSaturation(change);
+                        }
+                    }
+                    break;
+            }
+
+            assertMatchesRecount("after event " + event);
+        }
+    }
+
+    /**
+     * Move a citizen out of its home, or into another home which drops it from its old one.
+     */
+    private void moveHome(final Random random, final CitizenData citizen)
+    {
+        final AbstractBuilding current = citizen.getHomeBuilding();
+        if (current != null && random.nextInt(3) == 0)
+        {
+            current.removeCitizen(citizen);
+            return;
+        }
+
+        final BuildingHome home = homes.get(random.nextInt(homes.size()));
+        if (!home.hasAssignedCitizen(citizen))
+        {
+            home.assignCitizen(citizen);
+        }
+    }
+
+    /**
+     * Fire a citizen or hire it at a workplace.
+     */
+    private void changeWork(final Random random, final CitizenData citizen)
+    {
+        final AbstractBuildingWorker current = citizen.getWorkBuilding();
+        if (current != null)
+        {
+            current.removeCitizen(citizen);
+        }
+        else
+        {
+            workplaces.get(random.nextInt(workplaces.size())).assignCitizen(citizen);
+        }
+    }
+
+    /**
+     * Add the workplaces to the colony like they are loaded.
+     */
+    private void addWorkplaces()
+    {
+        final NBTTagList buildingList = new NBTTagList();
+        for (int i = 0; i < WORKPLACES.length; i++)
+        {
+            final NBTTagCompound building = new NBTTagCompound();
+            building.setString(TAG_BUILDING_TYPE, WORKPLACES[i]);
+            building.setInteger(TAG_BUILDING_LEVEL, 1 + i % MAX_LEVEL);
+            BlockPosUtil.writeToNBT(building, TAG_LOCATION, colony.getCenter().add(-(i + 1) * WORKPLACE_SPACING, 0, -WORKPLACE_SPACING));
+            buildingList.appendTag(building);
+        }
+        final NBTTagCompound buildings = new NBTTagCompound();
+        buildings.setTag(TAG_BUILDINGS, buildingList);
+        colony.getBuildingManager().readFromNBT(buildings);
+    }
+
+    /**
+     * Compare the running totals with a recount over all citizens.
+     */
+    private void assertMatchesRecount(final String message)
+    {
+        int guards = 0;
+        int workers = 0;
+        int housing = 0;
+        double saturation = 0;
+        final List<CitizenData> citizens = citizenManager.getCitizens();
+        for (final CitizenData citizen : citizens)
+        {
+            final AbstractBuildingWorker work = citizen.getWorkBuilding();
+            if (work instanceof AbstractBuildingGuards)
+            {
+                guards += work.getBuildingLevel();
+            }
+            else if (work != null)
+            {
+                workers += work.getBuildingLevel();
+            }
+
+            final AbstractBuilding home = citizen.getHomeBuilding();
+            if (home != null)
+            {
+                housing += home.getBuildingLevel();
+            }
+            saturation += citizen.getSaturation();
+        }
+
+        final HappinessTotals totals = citizenManager.getHappinessTotals();
+        assertEquals(message, citizens.size(), totals.getCitizenCount());
+        assertEquals(message, guards, totals.getGuardLevels());
+        assertEquals(message, workers, totals.getWorkerLevels());
+        assertEquals(message, housing, totals.getHousingLevels());
+        // The totals sum saturation in fixed point, so allow the rounding of each share.
+        assertEquals(message, saturation, totals.getSaturation(), (citizens.size() + 1) / 1024.0);
+    }
+}
@@ -0,0 +1,71 @@
+package com.minecolonies.coremod.colony.managers;
+
+import net.minecraft.item.ItemStack;
+import net.minecraft.util.math.BlockPos;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks that {@link FieldRegistry} keeps its free fields in line with the data of the fields.
+ */
+public class FieldRegistryTest
+{
+    private static final BlockPos FIRST  = new BlockPos(1, 64, 1);
+    private static final BlockPos SECOND = new BlockPos(10, 64, -3);
+
+    @Test
+    public void newFieldsAreFree()
+    {
+        final FieldRegistry registry = new FieldRegistry();
+        registry.put(field(FIRST, 0, false));
+        registry.put(field(SECOND, 0, false));
+
+        assertEquals(2, registry.size());
+        assertTrue(registry.contains(FIRST));
+        assertEquals(new HashSet<>(Arrays.asList(FIRST, SECOND)), registry.getFreeFields());
+        assertEquals(registry.getPositions(), registry.getFreeFields());
+    }
+
+    @Test
+    public void takingAndReleasingMovesFieldsInAndOutOfTheFreeSet()
+    {
+        final FieldRegistry registry = new FieldRegistry();
+        registry.put(field(FIRST, 0, false));
+        registry.put(field(SECOND, 0, false));
+
+        registry.put(field(FIRST, 7, true));
+        assertEquals(Collections.singleton(SECOND), registry.getFreeFields());
+        assertEquals(7, registry.get(FIRST).getOwnerId());
+        assertTrue(registry.get(FIRST).isTaken());
+
+        registry.put(field(FIRST, 0, false));
+        assertEquals(new HashSet<>(Arrays.asList(FIRST, SECOND)), registry.getFreeFields());
+    }
+
+    @Test
+    public void removedFieldsAreForgotten()
+    {
+        final FieldRegistry registry = new FieldRegistry();
+        registry.put(field(FIRST, 0, false));
+        registry.put(field(SECOND, 3, true));
+
+        assertTrue(registry.remove(FIRST));
+        assertTrue(registry.remove(SECOND));
+        assertFalse(registry.remove(SECOND));
+
+        assertEquals(0, registry.size());
+        assertNull(registry.get(FIRST));
+        assertTrue(registry.getFreeFields().isEmpty());
+        assertTrue(registry.getAll().isEmpty());
+    }
+
+    private static FieldData field(final BlockPos pos, final int owner, final boolean taken)
+    {
+        return new FieldData(pos, owner, taken, ItemStack.EMPTY, 2, 2, 3, 3);
+    }
+}
@@ -0,0 +1,176 @@
+package com.minecolonies.coremod.colony.managers;
+
+import org.junit.Test;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks that {@link HappinessTotals} updated per event match a full recount, like the citizen manager keeps them.
+ */
+public class HappinessTotalsTest
+{
+    private static final int BUILDINGS = 12;
+    private static final int EVENTS    = 5000;
+
+    @Test
+    public void emptyTotalsAreZero()
+    {
+        final HappinessTotals totals = new HappinessTotals();
+
+        assertEquals(0, totals.getCitizenCount());
+        assertEquals(0, totals.getGuardLevels());
+        assertEquals(0, totals.getWorkerLevels());
+        assertEquals(0, totals.getHousingLevels());
+        assertEquals(0, totals.getSaturation(), 0);
+    }
+
+    @Test
+    public void updateReplacesTheShareOfACitizen()
+    {
+        final HappinessTotals totals = new HappinessTotals();
+        totals.update(1, 2, 0, 3, 5.5);
+        totals.update(2, 0, 4, 1, 2.25);
+        totals.update(1, 0, 1, 2, 3);
+
+        assertEquals(2, totals.getCitizenCount());
+        assertEquals(0, totals.getGuardLevels());
+        assertEquals(5, totals.getWorkerLevels());
+        assertEquals(3, totals.getHousingLevels());
+        assertEquals(5.25, totals.getSaturation(), 0);
+    }
+
+    @Test
+    public void removeAndClearDropShares()
+    {
+        final HappinessTotals totals = new HappinessTotals();
+        totals.update(1, 2, 0, 3, 5.5);
+        totals.update(2, 0, 4, 1, 2.25);
+
+        totals.remove(1);
+        totals.remove(7);
+        assertEquals(1, totals.getCitizenCount());
+        assertEquals(0, totals.getGuardLevels());
+        assertEquals(4, totals.getWorkerLevels());
+        assertEquals(1, totals.getHousingLevels());
+        assertEquals(2.25, totals.getSaturation(), 0);
+
+        totals.clear();
+        assertTrue(totals.hasSameTotals(new HappinessTotals()));
+    }
+
+    @Test
+    public void randomEventsMatchRecount()
+    {
+        final Random random = new Random(43);
+        final int[] levels = new int[BUILDINGS];
+        final boolean[] guardBuilding = new boolean[BUILDINGS];
+        for (int i = 0; i < BUILDINGS; i++)
+        {
+            levels[i] = 1 + random.nextInt(5);
+            guardBuilding[i] = i % 3 == 0;
+        }
+
+        final Map<Integer, Citizen> citizens = new HashMap<>();
+        final HappinessTotals totals = new HappinessTotals();
+        int nextId = 0;
+
+        for (int event = 0; event < EVENTS; event++)
+        {
+            final List<Citizen> present = new ArrayList<>(citizens.values());
+            final Citizen target = present.isEmpty() ? null : present.get(random.nextInt(present.size()));
+            switch (random.nextInt(6))
+            {
+                case 0:
+                    final Citizen citizen = new Citizen(nextId++);
+                    citizen.saturation = random.nextInt(21) / 2.0;
+                    citizens.put(citizen.id, citizen);
+                    share(totals, citizen, levels, guardBuilding);
+                    break;
+                case 1:
+                    if (target != null)
+                    {
+                        citizens.remove(target.id);
+                        totals.remove(target.id);
+                    }
+                    break;
+                case 2:
+                    if (target != null)
+                    {
+                        target.work = random.nextInt(BUILDINGS + 1) - 1;
+                        share(totals, target, levels, guardBuilding);
+                    }
+                    break;
+                case 3:
+                    if (target != null)
+                    {
+                        target.home = random.nextInt(BUILDINGS + 1) - 1;
+                        share(totals, target, levels, guardBuilding);
+                    }
+                    break;
+                case 4:
+                    final int building = random.nextInt(BUILDINGS);
+                    levels[building] = random.nextInt(6);
+                    for (final Citizen assigned : citizens.values())
+                    {
+                        if (assigned.work == building || assigned.home == building)
+                        {
+                            share(totals, assigned, levels, guardBuilding);
+                        }
+                    }
+                    break;
+                default:
+                    if (target != null)
+                    {
+                        target.saturation = Math.max(0, Math.min(10, target.saturation + (random.nextDouble() - 0.5) * 3));
+                        share(totals, target, levels, guardBuilding);
+                    }
+                    break;
+            }
+
+            final HappinessTotals recount = new HappinessTotals();
+            for (final Citizen existing : citizens.values())
+            {
+                share(recount, existing, levels, guardBuilding);
+            }
+
+            assertTrue("after event " + event + ": " + totals + " vs " + recount, totals.hasSameTotals(recount));
+            assertEquals(recount.getCitizenCount(), totals.getCitizenCount());
+            assertEquals(recount.getGuardLevels(), totals.getGuardLevels());
+            assertEquals(recount.getWorkerLevels(), totals.getWorkerLevels());
+            assertEquals(recount.getHousingLevels(), totals.getHousingLevels());
+            assertEquals(recount.getSaturation(), totals.getSaturation(), 0);
+        }
+    }
+
+    /**
+     * Set the share of a model citizen the way the citizen manager does.
+     */
+    private static void share(final HappinessTotals totals, final Citizen citizen, final int[] levels, final boolean[] guardBuilding)
+    {
+        final int workLevel = citizen.work < 0 ? 0 : levels[citizen.work];
+        final boolean guard = citizen.work >= 0 && guardBuilding[citizen.work];
+        totals.update(citizen.id,
+          guard ? workLevel : 0,
+          guard ? 0 : workLevel,
+          citizen.home < 0 ? 0 : levels[citizen.home],
+          citizen.saturation);
+    }
+
+    /**
+     * A citizen referencing its buildings by index, -1 for none.
+     */
+    private static final class Citizen
+    {
+        private final int    id;
+        private       int    work = -1;
+        private       int    home = -1;
+        private       double saturation;
+
+        private Citizen(final int id)
+        {
+            this.id = id;
+        }
+    }
+}
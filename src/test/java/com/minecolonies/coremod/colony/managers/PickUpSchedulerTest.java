@@ -0,0 +1,139 @@
+package com.minecolonies.coremod.colony.managers;
+
+import net.minecraft.util.math.BlockPos;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link PickUpScheduler}, including the distribution of the draws.
+ */
+public class PickUpSchedulerTest
+{
+    private static final int  DRAWS = 200_000;
+    private static final long SEED  = 42L;
+
+    /**
+     * Allowed relative difference between the expected and the observed share of a building.
+     */
+    private static final double TOLERANCE = 0.05;
+
+    private final PickUpScheduler scheduler = new PickUpScheduler();
+
+    @Test
+    public void emptySchedulerDrawsNothing()
+    {
+        assertNull(scheduler.sample(new Random(SEED)));
+
+        scheduler.update(pos(0), 0);
+        assertNull(scheduler.sample(new Random(SEED)));
+        assertEquals(0, scheduler.size());
+    }
+
+    @Test
+    public void weightsAndTotalFollowUpdates()
+    {
+        scheduler.update(pos(0), 3);
+        scheduler.update(pos(1), 5);
+        scheduler.update(pos(0), 1);
+        scheduler.update(pos(2), -4);
+
+        assertEquals(1, scheduler.getWeight(pos(0)));
+        assertEquals(5, scheduler.getWeight(pos(1)));
+        assertEquals(0, scheduler.getWeight(pos(2)));
+        assertEquals(6, scheduler.getTotalWeight());
+
+        scheduler.remove(pos(1));
+        scheduler.remove(pos(1));
+        assertEquals(1, scheduler.getTotalWeight());
+        assertEquals(1, scheduler.size());
+    }
+
+    @Test
+    public void zeroWeightIsNeverDrawn()
+    {
+        scheduler.update(pos(0), 4);
+        scheduler.update(pos(1), 4);
+        scheduler.update(pos(0), 0);
+
+        final Random random = new Random(SEED);
+        for (int i = 0; i < 1000; i++)
+        {
+            assertEquals(pos(1), scheduler.sample(random));
+        }
+    }
+
+    @Test
+    public void drawsAreProportionalToTheWeights()
+    {
+        final Map<BlockPos, Integer> weights = new HashMap<>();
+        for (int i = 0; i < 10; i++)
+        {
+            weights.put(pos(i), i + 1);
+        }
+        weights.forEach(scheduler::update);
+
+        assertDistribution(weights);
+    }
+
+    @Test
+    public void distributionSurvivesGrowthAndRemovals()
+    {
+        final Random random = new Random(SEED);
+        final Map<BlockPos, Integer> weights = new HashMap<>();
+        for (int i = 0; i < 100; i++)
+        {
+            final int weight = 1 + random.nextInt(50);
+            weights.put(pos(i), weight);
+            scheduler.update(pos(i), weight);
+        }
+        for (int i = 0; i < 100; i += 3)
+        {
+            weights.remove(pos(i));
+            scheduler.remove(pos(i));
+        }
+        for (int i = 100; i < 110; i++)
+        {
+            weights.put(pos(i), 20);
+            scheduler.update(pos(i), 20);
+        }
+
+        assertEquals(weights.size(), scheduler.size());
+        assertDistribution(weights);
+    }
+
+    /**
+     * Draw many times and compare the share of every building with its share of the total weight.
+     */
+    private void assertDistribution(final Map<BlockPos, Integer> weights)
+    {
+        final int total = weights.values().stream().mapToInt(Integer::intValue).sum();
+        assertEquals(total, scheduler.getTotalWeight());
+
+        final Map<BlockPos, Integer> counts = new HashMap<>();
+        final Random random = new Random(SEED);
+        for (int i = 0; i < DRAWS; i++)
+        {
+            counts.merge(scheduler.sample(random), 1, Integer::sum);
+        }
+
+        assertTrue(weights.keySet().containsAll(counts.keySet()));
+        for (final Map.Entry<BlockPos, Integer> entry : weights.entrySet())
+        {
+            final double expected = (double) DRAWS * entry.getValue() / total;
+            final double observed = counts.getOrDefault(entry.getKey(), 0);
+            // Binomial standard deviation, small weights get a wider band.
+            final double deviation = Math.sqrt(expected * (1 - (double) entry.getValue() / total));
+            assertEquals("share of " + entry.getKey(), expected, observed, Math.max(expected * TOLERANCE, 5 * deviation));
+        }
+    }
+
+    private static BlockPos pos(final int index)
+    {
+        return new BlockPos(index, 64, 0);
+    }
+}
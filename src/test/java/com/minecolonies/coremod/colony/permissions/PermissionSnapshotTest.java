@@ -0,0 +1,107 @@
+package com.minecolonies.coremod.colony.permissions;
+
+import com.minecolonies.api.colony.permissions.Action;
+import com.minecolonies.api.colony.permissions.Player;
+import com.minecolonies.api.colony.permissions.Rank;
+import org.junit.Test;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks that {@link PermissionSnapshot} answers like the scans over the players it replaces.
+ */
+public class PermissionSnapshotTest
+{
+    @Test
+    public void emptySnapshotTreatsEveryoneAsNeutral()
+    {
+        final PermissionSnapshot snapshot = new PermissionSnapshot(Collections.emptyList(), new EnumMap<>(Rank.class));
+        final UUID id = UUID.randomUUID();
+
+        assertEquals(Rank.NEUTRAL, snapshot.getRank(id));
+        assertFalse(snapshot.isPlayer(id));
+        assertTrue(snapshot.getMessagePlayers().isEmpty());
+        assertTrue(snapshot.getPlayersByRank(Rank.OWNER).isEmpty());
+        assertFalse(snapshot.hasPermission(Rank.NEUTRAL, Action.ACCESS_HUTS));
+    }
+
+    @Test
+    public void ownerMayDoAllButGetAttacked()
+    {
+        final Map<Rank, Integer> permissionMap = new EnumMap<>(Rank.class);
+        permissionMap.put(Rank.OWNER, 0);
+        final PermissionSnapshot snapshot = new PermissionSnapshot(Collections.emptyList(), permissionMap);
+
+        for (final Action action : Action.values())
+        {
+            assertEquals(action != Action.GUARDS_ATTACK, snapshot.hasPermission(Rank.OWNER, action));
+        }
+    }
+
+    @Test
+    public void lookupsMatchScans()
+    {
+        final Random random = new Random(44);
+        for (int round = 0; round < 50; round++)
+        {
+            final Map<Rank, Integer> permissionMap = new EnumMap<>(Rank.class);
+            for (final Rank rank : Rank.values())
+            {
+                permissionMap.put(rank, random.nextInt());
+            }
+
+            final List<Player> players = new ArrayList<>();
+            final int amount = random.nextInt(200);
+            for (int i = 0; i < amount; i++)
+            {
+                players.add(new Player(new UUID(random.nextLong(), random.nextLong()), "player" + i, Rank.values()[random.nextInt(Rank.values().length)]));
+            }
+            // Colliding halves must still be told apart.
+            players.add(new Player(new UUID(1, 2), "left", Rank.OFFICER));
+            players.add(new Player(new UUID(2, 1), "right", Rank.HOSTILE));
+
+            final PermissionSnapshot snapshot = new PermissionSnapshot(players, permissionMap);
+
+            for (final Player player : players)
+            {
+                assertEquals(player.getRank(), snapshot.getRank(player.getID()));
+                assertTrue(snapshot.isPlayer(player.getID()));
+            }
+            final UUID stranger = new UUID(random.nextLong(), random.nextLong());
+            assertEquals(Rank.NEUTRAL, snapshot.getRank(stranger));
+            assertFalse(snapshot.isPlayer(stranger));
+
+            for (final Rank rank : Rank.values())
+            {
+                for (final Action action : Action.values())
+                {
+                    final boolean expected = (rank == Rank.OWNER && action != Action.GUARDS_ATTACK)
+                                               || (permissionMap.get(rank) & action.getFlag()) == action.getFlag();
+                    assertEquals(expected, snapshot.hasPermission(rank, action));
+                }
+
+                final Set<Player> byRank = new HashSet<>();
+                for (final Player player : players)
+                {
+                    if (player.getRank() == rank)
+                    {
+                        byRank.add(player);
+                    }
+                }
+                assertEquals(byRank, snapshot.getPlayersByRank(rank));
+            }
+
+            final Set<UUID> receivers = new HashSet<>();
+            for (final Player player : players)
+            {
+                if (snapshot.hasPermission(player.getRank(), Action.RECEIVE_MESSAGES))
+                {
+                    receivers.add(player.getID());
+                }
+            }
+            assertEquals(receivers, snapshot.getMessagePlayers());
+        }
+    }
+}
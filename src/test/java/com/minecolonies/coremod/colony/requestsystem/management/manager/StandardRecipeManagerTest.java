@@ -0,0 +1,219 @@
+package com.minecolonies.coremod.colony.requestsystem.management.manager;
+
+import com.google.common.reflect.TypeToken;
+import com.minecolonies.api.colony.requestsystem.StandardFactoryController;
+import com.minecolonies.api.colony.requestsystem.factory.IFactory;
+import com.minecolonies.api.colony.requestsystem.factory.IFactoryController;
+import com.minecolonies.api.colony.requestsystem.token.IToken;
+import com.minecolonies.api.colony.requestsystem.token.StandardToken;
+import com.minecolonies.api.crafting.IRecipeStorage;
+import com.minecolonies.api.crafting.ItemFingerprint;
+import com.minecolonies.coremod.colony.requestsystem.init.StandardFactoryControllerInitializer;
+import net.minecraft.block.Block;
+import net.minecraft.item.ItemStack;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraftforge.items.IItemHandler;
+import org.jetbrains.annotations.NotNull;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for the recipe lookups of {@link StandardRecipeManager}.
+ */
+public class StandardRecipeManagerTest
+{
+    private StandardRecipeManager manager;
+
+    @Before
+    public void setUp()
+    {
+        StandardFactoryControllerInitializer.onPreInit();
+        StandardFactoryController.getInstance().registerNewFactory(new TestRecipeFactory());
+        manager = new StandardRecipeManager();
+    }
+
+    @After
+    public void tearDown()
+    {
+        StandardFactoryController.reset();
+    }
+
+    @Test
+    public void addedRecipesAreFoundByTokenAndOutput()
+    {
+        final TestRecipe first = new TestRecipe(new StandardToken(), 1);
+        final TestRecipe second = new TestRecipe(new StandardToken(), 1);
+        final TestRecipe other = new TestRecipe(new StandardToken(), 2);
+
+        assertEquals(first.getToken(), manager.addRecipe(first));
+        manager.addRecipe(other);
+        manager.addRecipe(second);
+
+        assertSame(first, manager.getRecipe(first.getToken()));
+        assertNull(manager.getRecipe(new StandardToken()));
+        assertEquals(Arrays.asList(first.getToken(), second.getToken()), manager.getRecipesFor(output(1)));
+        assertEquals(Collections.singletonList(other.getToken()), manager.getRecipesFor(output(2)));
+        assertTrue(manager.getRecipesFor(output(3)).isEmpty());
+    }
+
+    @Test
+    public void checkOrAddDoesNotDuplicate()
+    {
+        final TestRecipe recipe = new TestRecipe(new StandardToken(), 1);
+
+        assertEquals(recipe.getToken(), manager.checkOrAddRecipe(recipe));
+        assertEquals(recipe.getToken(), manager.checkOrAddRecipe(recipe));
+        assertEquals(Collections.singletonList(recipe.getToken()), manager.getRecipesFor(output(1)));
+    }
+
+    @Test
+    public void replacingARecipeMovesItsOutput()
+    {
+        final IToken token = new StandardToken();
+        manager.addRecipe(new TestRecipe(token, 1));
+        manager.addRecipe(new TestRecipe(token, 2));
+
+        assertTrue(manager.getRecipesFor(output(1)).isEmpty());
+        assertEquals(Collections.singletonList(token), manager.getRecipesFor(output(2)));
+        assertEquals(1, manager.getRecipes().size());
+    }
+
+    @Test
+    public void indexSurvivesAPersistRoundTrip()
+    {
+        final TestRecipe first = new TestRecipe(new StandardToken(), 1);
+        final TestRecipe second = new TestRecipe(new StandardToken(), 2);
+        manager.addRecipe(first);
+        manager.addRecipe(second);
+
+        final NBTTagCompound compound = new NBTTagCompound();
+        manager.writeToNBT(compound);
+        final StandardRecipeManager loaded = new StandardRecipeManager();
+        loaded.readFromNBT(compound);
+
+        assertEquals(2, loaded.getRecipes().size());
+        assertEquals(Collections.singletonList(first.getToken()), loaded.getRecipesFor(output(1)));
+        assertEquals(Collections.singletonList(second.getToken()), loaded.getRecipesFor(output(2)));
+        assertEquals(2, ((TestRecipe) loaded.getRecipe(second.getToken())).damage);
+    }
+
+    /**
+     * The fingerprint of a test output, items can't be created without the minecraft bootstrap.
+     */
+    private static ItemFingerprint output(final int damage)
+    {
+        return new ItemFingerprint(null, damage, null);
+    }
+
+    /**
+     * Recipe only made of a token and an output damage value.
+     */
+    private static class TestRecipe implements IRecipeStorage
+    {
+        private final IToken token;
+        private final int    damage;
+
+        private TestRecipe(final IToken token, final int damage)
+        {
+            this.token = token;
+            this.damage = damage;
+        }
+
+        @Override
+        public List<ItemStack> getInput()
+        {
+            return Collections.emptyList();
+        }
+
+        @Override
+        public ItemStack getPrimaryOutput()
+        {
+            return ItemStack.EMPTY;
+        }
+
+        @NotNull
+        @Override
+        public ItemFingerprint getOutputFingerprint()
+        {
+            return output(damage);
+        }
+
+        @Override
+        public int getGridSize()
+        {
+            return 2;
+        }
+
+        @Override
+        public Block getIntermediate()
+        {
+            return null;
+        }
+
+        @Override
+        public boolean canFullFillRecipe(@NotNull final IItemHandler... inventories)
+        {
+            return false;
+        }
+
+        @Override
+        public boolean fullfillRecipe(final List<IItemHandler> handlers)
+        {
+            return false;
+        }
+
+        @Override
+        public IToken getToken()
+        {
+            return token;
+        }
+    }
+
+    private static class TestRecipeFactory implements IFactory<Integer, TestRecipe>
+    {
+        @NotNull
+        @Override
+        public TypeToken<? extends TestRecipe> getFactoryOutputType()
+        {
+            return TypeToken.of(TestRecipe.class);
+        }
+
+        @NotNull
+        @Override
+        public TypeToken<? extends Integer> getFactoryInputType()
+        {
+            return TypeToken.of(Integer.class);
+        }
+
+        @NotNull
+        @Override
+        public TestRecipe getNewInstance(@NotNull final IFactoryController factoryController, @NotNull final Integer damage, @NotNull final Object... context)
+        {
+            return new TestRecipe(new StandardToken(), damage);
+        }
+
+        @NotNull
+        @Override
+        public NBTTagCompound serialize(@NotNull final IFactoryController controller, @NotNull final TestRecipe recipe)
+        {
+            final NBTTagCompound compound = new NBTTagCompound();
+            compound.setTag("token", controller.serialize(recipe.getToken()));
+            compound.setInteger("damage", recipe.damage);
+            return compound;
+        }
+
+        @NotNull
+        @Override
+        public TestRecipe deserialize(@NotNull final IFactoryController controller, @NotNull final NBTTagCompound nbt)
+        {
+            return new TestRecipe(controller.deserialize(nbt.getCompoundTag("token")), nbt.getInteger("damage"));
+        }
+    }
+}
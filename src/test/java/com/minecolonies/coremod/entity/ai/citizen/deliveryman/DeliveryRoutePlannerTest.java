@@ -0,0 +1,112 @@
+package com.minecolonies.coremod.entity.ai.citizen.deliveryman;
+
+import net.minecraft.util.math.BlockPos;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Function;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link DeliveryRoutePlanner}.
+ */
+public class DeliveryRoutePlannerTest
+{
+    private static final BlockPos WAREHOUSE = new BlockPos(0, 64, 0);
+
+    private static final Function<BlockPos, BlockPos> POSITION = pos -> pos;
+
+    @Test
+    public void noCandidatesNoTrip()
+    {
+        assertTrue(DeliveryRoutePlanner.plan(WAREHOUSE, Collections.<BlockPos>emptyList(), POSITION, pos -> 1, 5, 10).isEmpty());
+    }
+
+    @Test
+    public void oldestRequestIsAlwaysCarried()
+    {
+        final BlockPos far = pos(1000, 0);
+        assertEquals(Collections.singletonList(far), DeliveryRoutePlanner.plan(WAREHOUSE, Arrays.asList(far, pos(5, 0)), POSITION, pos -> 64, 5, 1));
+    }
+
+    @Test
+    public void onlyCloseTargetsJoinTheTrip()
+    {
+        final BlockPos first = pos(100, 0);
+        final BlockPos close = pos(100, 20);
+        final BlockPos far = pos(-100, 0);
+
+        final List<BlockPos> trip = DeliveryRoutePlanner.plan(WAREHOUSE, Arrays.asList(first, far, close), POSITION, pos -> 1, 5, 10);
+        assertEquals(2, trip.size());
+        assertTrue(trip.containsAll(Arrays.asList(first, close)));
+    }
+
+    @Test
+    public void tripRespectsStopsAndSlots()
+    {
+        final List<BlockPos> candidates = Arrays.asList(pos(10, 0), pos(12, 0), pos(14, 0), pos(16, 0));
+
+        assertEquals(2, DeliveryRoutePlanner.plan(WAREHOUSE, candidates, POSITION, pos -> 1, 2, 10).size());
+        assertEquals(3, DeliveryRoutePlanner.plan(WAREHOUSE, candidates, POSITION, pos -> 2, 5, 7).size());
+    }
+
+    @Test
+    public void stopsAreDroppedAlongTheWay()
+    {
+        final BlockPos a = pos(10, 0);
+        final BlockPos b = pos(20, 0);
+        final BlockPos c = pos(30, 0);
+        final BlockPos d = pos(30, 10);
+
+        final List<BlockPos> trip = DeliveryRoutePlanner.plan(WAREHOUSE, Arrays.asList(c, a, d, b), POSITION, pos -> 1, 4, 10);
+        final double length = DeliveryRoutePlanner.getTourLength(WAREHOUSE, trip);
+
+        final double optimal = DeliveryRoutePlanner.getTourLength(WAREHOUSE, Arrays.asList(a, b, c, d));
+        assertEquals(optimal, length, 1.0E-6);
+    }
+
+    /**
+     * Simulates a colony: all pending deliveries are carried away in trips and the walked distance is compared with single deliveries.
+     */
+    @Test
+    public void tripsWalkLessPerDelivery()
+    {
+        final Random random = new Random(42L);
+        final List<BlockPos> pending = new ArrayList<>();
+        for (int i = 0; i < 200; i++)
+        {
+            pending.add(pos(random.nextInt(121) - 60, random.nextInt(121) - 60));
+        }
+
+        double single = 0;
+        for (final BlockPos target : pending)
+        {
+            single += DeliveryRoutePlanner.getTourLength(WAREHOUSE, Collections.singletonList(target));
+        }
+
+        double batched = 0;
+        int trips = 0;
+        while (!pending.isEmpty())
+        {
+            final List<BlockPos> trip = DeliveryRoutePlanner.plan(WAREHOUSE, pending, POSITION, pos -> 1, 5, 27);
+            assertFalse(trip.isEmpty());
+            assertTrue(trip.size() <= 5);
+            batched += DeliveryRoutePlanner.getTourLength(WAREHOUSE, trip);
+            pending.removeAll(trip);
+            trips++;
+        }
+
+        assertTrue("only " + trips + " trips for 200 deliveries expected", trips <= 50);
+        assertTrue(String.format("batched %.0f blocks against %.0f blocks", batched, single), batched < single * 0.6);
+    }
+
+    private static BlockPos pos(final int x, final int z)
+    {
+        return new BlockPos(x, 64, z);
+    }
+}
@@ -0,0 +1,208 @@
+package com.minecolonies.coremod.entity.ai.citizen.farmer;
+
+import com.minecolonies.coremod.test.ReflectionUtil;
+import com.minecolonies.coremod.tileentities.ScarecrowTileEntity;
+import net.minecraft.block.BlockCrops;
+import net.minecraft.block.material.Material;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.init.Blocks;
+import net.minecraft.init.Bootstrap;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import net.minecraft.world.WorldProvider;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static com.minecolonies.coremod.entity.ai.citizen.farmer.FieldWorkQueue.Work.*;
+import static org.junit.Assert.*;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Fills {@link FieldWorkQueue}s from a stubbed world and checks how they follow block changes, the tile order and the rescans.
+ */
+public class FieldWorkQueueTest
+{
+    /**
+     * The scarecrow, at the border of two chunks so the field overlaps both.
+     */
+    private static final BlockPos FIELD = new BlockPos(15, 65, 8);
+
+    /**
+     * The ticks after which a queue is scanned again.
+     */
+    private static final int RESCAN_INTERVAL = 1200;
+
+    /**
+     * The age of fully grown wheat.
+     */
+    private static final int WHEAT_MAX_AGE = 7;
+
+    private final Map<BlockPos, IBlockState> blocks = new HashMap<>();
+
+    private World               world;
+    private ScarecrowTileEntity field;
+    private long                worldTime;
+
+    @BeforeClass
+    public static void setupBlocks()
+    {
+        Bootstrap.register();
+    }
+
+    @Before
+    public void setUp()
+    {
+        final WorldProvider provider = mock(WorldProvider.class);
+        when(provider.getDimension()).thenReturn(0);
+        world = mock(World.class);
+        ReflectionUtil.setFinalField(world, "provider", provider);
+        when(world.getBlockState(any(BlockPos.class))).thenAnswer(invocation -> getBlock((BlockPos) invocation.getArguments()[0]));
+        when(world.isAirBlock(any(BlockPos.class))).thenAnswer(invocation -> getBlock((BlockPos) invocation.getArguments()[0]).getMaterial() == Material.AIR);
+        when(world.getTotalWorldTime()).thenAnswer(invocation -> worldTime);
+
+        field = mock(ScarecrowTileEntity.class);
+        when(field.getPos()).thenReturn(FIELD);
+        when(field.getLengthMinusX()).thenReturn(1);
+        when(field.getLengthPlusX()).thenReturn(1);
+        when(field.getWidthMinusZ()).thenReturn(1);
+        when(field.getWidthPlusZ()).thenReturn(1);
+        when(field.isNoPartOfField(any(World.class), any(BlockPos.class))).thenCallRealMethod();
+
+        for (int x = -3; x <= 3; x++)
+        {
+            for (int z = -3; z <= 3; z++)
+            {
+                blocks.put(FIELD.add(x, -1, z), Blocks.GRASS.getDefaultState());
+            }
+        }
+    }
+
+    @After
+    public void tearDown()
+    {
+        FieldWorkQueue.onWorldUnload(world);
+    }
+
+    @Test
+    public void blockChangesMoveTilesBetweenTheKindsOfWork()
+    {
+        final FieldWorkQueue queue = FieldWorkQueue.get(world, field);
+        assertTrue(queue.hasWork(HOE));
+        assertFalse(queue.hasWork(PLANT));
+        assertFalse(queue.hasWork(HARVEST));
+
+        // The tile is in the other chunk than the scarecrow.
+        final BlockPos offset = new BlockPos(1, 0, 0);
+        final BlockPos ground = FIELD.add(offset).down();
+        changeBlock(ground, Blocks.FARMLAND.getDefaultState());
+        assertWork(queue, offset, PLANT);
+
+        changeBlock(ground.up(), ((BlockCrops) Blocks.WHEAT).withAge(0));
+        assertWork(queue, offset, null);
+
+        changeBlock(ground.up(), ((BlockCrops) Blocks.WHEAT).withAge(WHEAT_MAX_AGE));
+        assertWork(queue, offset, HARVEST);
+
+        changeBlock(ground.up(), Blocks.AIR.getDefaultState());
+        assertWork(queue, offset, PLANT);
+
+        changeBlock(ground, Blocks.DIRT.getDefaultState());
+        assertWork(queue, offset, HOE);
+
+        // Changes next to the field or in chunks without fields do not touch it.
+        changeBlock(FIELD.add(2, -1, 0), Blocks.FARMLAND.getDefaultState());
+        changeBlock(FIELD.add(40, -1, 0), Blocks.FARMLAND.getDefaultState());
+        assertFalse(queue.hasWork(PLANT));
+        assertWork(queue, offset, HOE);
+    }
+
+    @Test
+    public void nextIsTheClosestTileNotDoneYet()
+    {
+        final FieldWorkQueue queue = FieldWorkQueue.get(world, field);
+        final BlockPos corner = FIELD.add(1, 0, 1);
+        assertEquals(new BlockPos(1, 0, 1), queue.next(HOE, corner));
+        assertEquals(new BlockPos(1, 0, -1), queue.next(HOE, FIELD.add(10, 0, -10)));
+
+        // Ties go to the lower x.
+        queue.done(HOE, new BlockPos(1, 0, 1));
+        assertEquals(new BlockPos(0, 0, 1), queue.next(HOE, corner));
+        queue.done(HOE, new BlockPos(0, 0, 1));
+        assertEquals(new BlockPos(1, 0, 0), queue.next(HOE, corner));
+
+        for (int x = -1; x <= 1; x++)
+        {
+            for (int z = -1; z <= 1; z++)
+            {
+                queue.done(HOE, new BlockPos(x, 0, z));
+            }
+        }
+        assertFalse(queue.hasWork(HOE));
+        assertNull(queue.next(HOE, corner));
+
+        // A done tile comes back once a block change shows it needs the work.
+        changeBlock(FIELD.add(-1, -1, -1), Blocks.DIRT.getDefaultState());
+        assertEquals(new BlockPos(-1, 0, -1), queue.next(HOE, corner));
+    }
+
+    @Test
+    public void queuesAreScannedAgainAfterTheInterval()
+    {
+        final FieldWorkQueue queue = FieldWorkQueue.get(world, field);
+        final BlockPos offset = new BlockPos(-1, 0, 0);
+
+        // Like bonemeal, a change no event reports.
+        blocks.put(FIELD.add(offset).down(), Blocks.FARMLAND.getDefaultState());
+        worldTime = RESCAN_INTERVAL - 1;
+        assertSame(queue, FieldWorkQueue.get(world, field));
+        assertWork(queue, offset, HOE);
+
+        worldTime = RESCAN_INTERVAL;
+        final FieldWorkQueue rescanned = FieldWorkQueue.get(world, field);
+        assertNotSame(queue, rescanned);
+        assertWork(rescanned, offset, PLANT);
+
+        // Only the current queue follows the block changes, until the field is removed.
+        final BlockPos other = new BlockPos(0, 0, -1);
+        changeBlock(FIELD.add(other).down(), Blocks.FARMLAND.getDefaultState());
+        assertWork(queue, other, HOE);
+        assertWork(rescanned, other, PLANT);
+
+        FieldWorkQueue.remove(world, FIELD);
+        changeBlock(FIELD.add(other).down(), Blocks.DIRT.getDefaultState());
+        assertWork(rescanned, other, PLANT);
+    }
+
+    /**
+     * Check that a tile needs exactly one kind of work, or none.
+     *
+     * @param queue  the queue.
+     * @param offset the offset of the tile to the scarecrow.
+     * @param work   the work the tile needs or null.
+     */
+    private static void assertWork(final FieldWorkQueue queue, final BlockPos offset, final FieldWorkQueue.Work work)
+    {
+        for (final FieldWorkQueue.Work kind : FieldWorkQueue.Work.values())
+        {
+            assertEquals(kind + " at " + offset, kind == work, offset.equals(queue.next(kind, FIELD.add(offset))));
+        }
+    }
+
+    private IBlockState getBlock(final BlockPos pos)
+    {
+        return blocks.getOrDefault(pos, Blocks.AIR.getDefaultState());
+    }
+
+    private void changeBlock(final BlockPos pos, final IBlockState state)
+    {
+        blocks.put(pos, state);
+        FieldWorkQueue.onBlockChanged(world, pos);
+    }
+}
@@ -0,0 +1,160 @@
+package com.minecolonies.coremod.inventory;
+
+import com.minecolonies.api.util.ItemStackUtils;
+import net.minecraft.init.Bootstrap;
+import net.minecraft.init.Items;
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import net.minecraft.nbt.NBTTagList;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.*;
+
+/**
+ * Mutates an {@link InventoryCitizen} through its public methods and compares the slot index with a linear scan.
+ */
+public class InventoryCitizenIndexTest
+{
+    private static final int MAIN_SIZE  = 36;
+    private static final int TOTAL_SIZE = 41;
+
+    private static Item[] items;
+
+    private InventoryCitizen inventory;
+
+    @BeforeClass
+    public static void setupItems()
+    {
+        Bootstrap.register();
+        items = new Item[] {Items.STICK, Items.APPLE, Items.BREAD, Items.IRON_INGOT, Items.COAL};
+    }
+
+    @Before
+    public void setupInventory()
+    {
+        inventory = new InventoryCitizen("Citizen", false);
+    }
+
+    @Test
+    public void testEmptyInventory()
+    {
+        assertConsistent();
+    }
+
+    @Test
+    public void testSetDecreaseAndRemove()
+    {
+        inventory.setInventorySlotContents(0, new ItemStack(Items.STICK, 3));
+        inventory.setInventorySlotContents(5, new ItemStack(Items.STICK, 1));
+        inventory.setInventorySlotContents(MAIN_SIZE, new ItemStack(Items.APPLE, 1));
+        assertConsistent();
+
+        inventory.decrStackSize(5, 1);
+        assertConsistent();
+
+        inventory.removeStackFromSlot(0);
+        assertConsistent();
+        assertEquals(-1, inventory.getNextCandidateSlot(Items.STICK, 0));
+
+        inventory.setInventorySlotContents(MAIN_SIZE, ItemStackUtils.EMPTY);
+        assertConsistent();
+        assertEquals(-1, inventory.getNextCandidateSlot(Items.APPLE, 0));
+    }
+
+    @Test
+    public void testFullMainInventory()
+    {
+        for (int slot = 0; slot < MAIN_SIZE; slot++)
+        {
+            inventory.setInventorySlotContents(slot, new ItemStack(Items.COAL, 1));
+        }
+        assertEquals(-1, inventory.getFirstEmptyStack());
+        assertConsistent();
+
+        inventory.decrStackSize(17, 1);
+        assertEquals(17, inventory.getFirstEmptyStack());
+        assertConsistent();
+    }
+
+    @Test
+    public void testNbtRoundTrip()
+    {
+        inventory.setInventorySlotContents(3, new ItemStack(Items.BREAD, 4));
+        inventory.setInventorySlotContents(MAIN_SIZE + 1, new ItemStack(Items.IRON_INGOT, 1));
+        final NBTTagList saved = inventory.writeToNBT(new NBTTagList());
+
+        inventory.setInventorySlotContents(3, new ItemStack(Items.STICK, 1));
+        inventory.setInventorySlotContents(7, new ItemStack(Items.APPLE, 1));
+        inventory.readFromNBT(saved);
+
+        assertConsistent();
+        assertEquals(3, inventory.getNextCandidateSlot(Items.BREAD, 0));
+        assertEquals(-1, inventory.getNextCandidateSlot(Items.APPLE, 0));
+    }
+
+    @Test
+    public void testConsistentUnderRandomMutations()
+    {
+        final Random random = new Random(31);
+        NBTTagList saved = new NBTTagList();
+        for (int step = 0; step < 5_000; step++)
+        {
+            final int slot = random.nextInt(TOTAL_SIZE);
+            switch (random.nextInt(10))
+            {
+                case 0:
+                    inventory.removeStackFromSlot(slot);
+                    break;
+                case 1:
+                case 2:
+                    inventory.decrStackSize(slot, 1 + random.nextInt(8));
+                    break;
+                case 3:
+                    inventory.setInventorySlotContents(slot, ItemStackUtils.EMPTY);
+                    break;
+                case 4:
+                    if (random.nextInt(20) == 0)
+                    {
+                        saved = inventory.writeToNBT(new NBTTagList());
+                    }
+                    else if (random.nextInt(20) == 0)
+                    {
+                        inventory.readFromNBT(saved);
+                    }
+                    else if (random.nextInt(50) == 0)
+                    {
+                        inventory.clear();
+                    }
+                    break;
+                default:
+                    inventory.setInventorySlotContents(slot, new ItemStack(items[random.nextInt(items.length)], 1 + random.nextInt(16)));
+                    break;
+            }
+            assertConsistent();
+        }
+    }
+
+    private void assertConsistent()
+    {
+        for (final Item item : items)
+        {
+            final int[] expected = IntStream.range(0, TOTAL_SIZE)
+                                     .filter(slot -> !ItemStackUtils.isEmpty(inventory.getStackInSlot(slot)) && inventory.getStackInSlot(slot).getItem() == item)
+                                     .toArray();
+            final IntStream.Builder actual = IntStream.builder();
+            for (int slot = inventory.getNextCandidateSlot(item, 0); slot >= 0; slot = inventory.getNextCandidateSlot(item, slot + 1))
+            {
+                actual.add(slot);
+            }
+            assertArrayEquals("Wrong slots for " + item, expected, actual.build().toArray());
+        }
+
+        final int expectedFree = IntStream.range(0, MAIN_SIZE).filter(slot -> ItemStackUtils.isEmpty(inventory.getStackInSlot(slot))).findFirst().orElse(-1);
+        assertEquals(expectedFree, inventory.getFirstEmptyStack());
+    }
+}
@@ -0,0 +1,121 @@
+package com.minecolonies.coremod.inventory;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.*;
+
+public class SlotIndexTest
+{
+    private static final int      SIZE      = 41;
+    private static final int      MAIN_SIZE = 36;
+    private static final String[] KEYS      = {"stone", "dirt", "log", "sapling", "bread"};
+
+    private SlotIndex<String> index;
+    private String[]          model;
+
+    @Before
+    public void setupIndex()
+    {
+        index = new SlotIndex<>(SIZE);
+        model = new String[SIZE];
+    }
+
+    @Test
+    public void testEmptyIndex()
+    {
+        assertEquals(0, index.getFirstFree(MAIN_SIZE));
+        for (final String key : KEYS)
+        {
+            assertFalse(index.contains(key));
+            assertEquals(0, slotsOf(key).length);
+        }
+    }
+
+    @Test
+    public void testSetAndFree()
+    {
+        index.set(0, "stone");
+        index.set(3, "stone");
+        index.set(1, "dirt");
+
+        assertArrayEquals(new int[] {0, 3}, slotsOf("stone"));
+        assertEquals(2, index.getFirstFree(MAIN_SIZE));
+
+        index.set(0, null);
+        assertArrayEquals(new int[] {3}, slotsOf("stone"));
+        assertEquals(0, index.getFirstFree(MAIN_SIZE));
+
+        index.set(3, "dirt");
+        assertFalse(index.contains("stone"));
+        assertArrayEquals(new int[] {1, 3}, slotsOf("dirt"));
+    }
+
+    @Test
+    public void testFullMainInventory()
+    {
+        for (int i = 0; i < MAIN_SIZE; i++)
+        {
+            index.set(i, "stone");
+        }
+        assertEquals(-1, index.getFirstFree(MAIN_SIZE));
+        assertEquals(MAIN_SIZE, index.getFirstFree(SIZE));
+    }
+
+    @Test
+    public void testConsistentUnderRandomMutations()
+    {
+        final Random random = new Random(42);
+        for (int step = 0; step < 10_000; step++)
+        {
+            final int slot = random.nextInt(SIZE);
+            final String key = random.nextInt(4) == 0 ? null : KEYS[random.nextInt(KEYS.length)];
+            index.set(slot, key);
+            model[slot] = key;
+
+            if (random.nextInt(500) == 0)
+            {
+                index.clear();
+                Arrays.fill(model, null);
+            }
+
+            if (step % 50 == 0)
+            {
+                assertConsistent();
+            }
+        }
+        assertConsistent();
+    }
+
+    private void assertConsistent()
+    {
+        for (int slot = 0; slot < SIZE; slot++)
+        {
+            assertEquals("Wrong key in slot " + slot, model[slot], index.get(slot));
+        }
+
+        for (final String key : KEYS)
+        {
+            final int[] expected = IntStream.range(0, SIZE).filter(slot -> key.equals(model[slot])).toArray();
+            assertArrayEquals("Wrong slots for " + key, expected, slotsOf(key));
+            assertEquals(expected.length > 0, index.contains(key));
+        }
+
+        final int expectedFree = IntStream.range(0, MAIN_SIZE).filter(slot -> model[slot] == null).findFirst().orElse(-1);
+        assertEquals(expectedFree, index.getFirstFree(MAIN_SIZE));
+    }
+
+    private int[] slotsOf(final String key)
+    {
+        final IntStream.Builder slots = IntStream.builder();
+        for (int slot = index.nextSlot(key, 0); slot >= 0; slot = index.nextSlot(key, slot + 1))
+        {
+            slots.add(slot);
+        }
+        return slots.build().toArray();
+    }
+}